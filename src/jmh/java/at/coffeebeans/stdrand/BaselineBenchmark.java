@@ -0,0 +1,66 @@
+package at.coffeebeans.stdrand;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDK generators with the same modes and units as {@link BigRand32Benchmark} and {@link BigRand64Benchmark} to have
+ * something to compare against.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BaselineBenchmark {
+
+    private static final long SEED = 42L;
+
+    private SplittableRandom splittableRandom;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        splittableRandom = new SplittableRandom(SEED);
+        random = new Random(SEED);
+    }
+
+    @Benchmark
+    public void splittableRandomLong(final Blackhole bh) {
+        bh.consume(splittableRandom.nextLong());
+    }
+
+    @Benchmark
+    public void splittableRandomInt(final Blackhole bh) {
+        bh.consume(splittableRandom.nextInt());
+    }
+
+    @Benchmark
+    public void threadLocalRandomLong(final Blackhole bh) {
+        bh.consume(ThreadLocalRandom.current().nextLong());
+    }
+
+    @Benchmark
+    public void threadLocalRandomInt(final Blackhole bh) {
+        bh.consume(ThreadLocalRandom.current().nextInt());
+    }
+
+    @Benchmark
+    public void randomLong(final Blackhole bh) {
+        bh.consume(random.nextLong());
+    }
+
+    @Benchmark
+    public void randomInt(final Blackhole bh) {
+        bh.consume(random.nextInt());
+    }
+}
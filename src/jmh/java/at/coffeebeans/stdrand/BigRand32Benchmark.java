@@ -0,0 +1,82 @@
+package at.coffeebeans.stdrand;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for every rand/randSeeded arity of {@link BigRand32}. The coordinates are non-final state fields
+ * that change on every invocation, so the JIT can neither constant fold nor hoist the calculation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BigRand32Benchmark {
+
+    @Param({"default", "custom"})
+    public String constants;
+
+    private BigRand32 bean;
+    private int x;
+    private int y;
+    private int z;
+    private int seed;
+
+    @Setup
+    public void setUp() {
+        if ("custom".equals(constants)) {
+            bean = new BigRand32(
+                    7,
+                    0b01011010111100001010010111000011,
+                    0b11001010010110100011110001010011,
+                    0b00110110100101110110100100111011,
+                    0b0000101011111001010001000011,
+                    0b0000000011010011110000100011
+            );
+        } else {
+            bean = new BigRand32();
+        }
+        x = 1;
+        y = 2;
+        z = 3;
+        seed = BigRand32.toSeed("benchmark");
+    }
+
+    @Benchmark
+    public void randX(final Blackhole bh) {
+        bh.consume(bean.rand(x++));
+    }
+
+    @Benchmark
+    public void randXY(final Blackhole bh) {
+        bh.consume(bean.rand(x++, y));
+    }
+
+    @Benchmark
+    public void randXYZ(final Blackhole bh) {
+        bh.consume(bean.rand(x++, y, z));
+    }
+
+    @Benchmark
+    public void randSeededX(final Blackhole bh) {
+        bh.consume(bean.randSeeded(x++, seed));
+    }
+
+    @Benchmark
+    public void randSeededXY(final Blackhole bh) {
+        bh.consume(bean.randSeeded(x++, y, seed));
+    }
+
+    @Benchmark
+    public void randSeededXYZ(final Blackhole bh) {
+        bh.consume(bean.randSeeded(x++, y, z, seed));
+    }
+}
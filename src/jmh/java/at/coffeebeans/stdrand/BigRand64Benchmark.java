@@ -0,0 +1,91 @@
+package at.coffeebeans.stdrand;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for every rand/randSeeded arity of {@link BigRand64}. The coordinates are non-final state fields
+ * that change on every invocation, so the JIT can neither constant fold nor hoist the calculation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BigRand64Benchmark {
+
+    @Param({"default", "custom", "specialized"})
+    public String constants;
+
+    private BigRand64 bean;
+    private long x;
+    private long y;
+    private long z;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        if ("custom".equals(constants)) {
+            bean = new BigRand64(
+                    7L,
+                    BigRand32.BIT_NOISE_1,
+                    BigRand32.BIT_NOISE_2,
+                    BigRand32.BIT_NOISE_3,
+                    BigRand32.PRIME_1,
+                    BigRand32.PRIME_2
+            );
+        } else if ("specialized".equals(constants)) {
+            bean = BigRand64.withConstants(
+                    7L,
+                    BigRand64.BIT_NOISE_1,
+                    BigRand64.BIT_NOISE_2,
+                    BigRand64.BIT_NOISE_3,
+                    BigRand64.PRIME_1,
+                    BigRand64.PRIME_2
+            );
+        } else {
+            bean = new BigRand64();
+        }
+        x = 1L;
+        y = 2L;
+        z = 3L;
+        seed = BigRand64.toSeed("benchmark");
+    }
+
+    @Benchmark
+    public void randX(final Blackhole bh) {
+        bh.consume(bean.rand(x++));
+    }
+
+    @Benchmark
+    public void randXY(final Blackhole bh) {
+        bh.consume(bean.rand(x++, y));
+    }
+
+    @Benchmark
+    public void randXYZ(final Blackhole bh) {
+        bh.consume(bean.rand(x++, y, z));
+    }
+
+    @Benchmark
+    public void randSeededX(final Blackhole bh) {
+        bh.consume(bean.randSeeded(x++, seed));
+    }
+
+    @Benchmark
+    public void randSeededXY(final Blackhole bh) {
+        bh.consume(bean.randSeeded(x++, y, seed));
+    }
+
+    @Benchmark
+    public void randSeededXYZ(final Blackhole bh) {
+        bh.consume(bean.randSeeded(x++, y, z, seed));
+    }
+}
@@ -0,0 +1,62 @@
+package at.coffeebeans.stdrand;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for one 32x32x32 chunk of {@link BigRand32}, calling randSeeded per voxel compared to the tile
+ * functions. The chunk origin moves on every invocation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TileBenchmark {
+
+    private static final int SIZE = 32;
+
+    @Param({"ROW_MAJOR", "MORTON"})
+    public TileLayout layout;
+
+    private BigRand32 bean;
+    private int[] chunk;
+    private int originX;
+    private int seed;
+
+    @Setup
+    public void setUp() {
+        bean = new BigRand32();
+        chunk = new int[SIZE * SIZE * SIZE];
+        originX = 0;
+        seed = BigRand32.toSeed("benchmark");
+    }
+
+    @Benchmark
+    public int[] perVoxel() {
+        final int x0 = originX;
+        originX += SIZE;
+        for (int k = 0; k < SIZE; k++) {
+            for (int j = 0; j < SIZE; j++) {
+                for (int i = 0; i < SIZE; i++) {
+                    chunk[layout.index(i, j, k, SIZE, SIZE, SIZE)] = bean.randSeeded(x0 + i, j, k, seed);
+                }
+            }
+        }
+        return chunk;
+    }
+
+    @Benchmark
+    public int[] tile() {
+        final int x0 = originX;
+        originX += SIZE;
+        bean.fillTileSeeded(chunk, 0, layout, x0, 0, 0, SIZE, SIZE, SIZE, seed);
+        return chunk;
+    }
+}
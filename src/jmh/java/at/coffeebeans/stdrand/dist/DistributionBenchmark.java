@@ -0,0 +1,66 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand64;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for 4096 normal values: Box-Muller on two randDoubleSeeded calls compared to the ziggurat, value by
+ * value and as bulk fill.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DistributionBenchmark {
+
+    private static final int SIZE = 4096;
+    private static final long SEED = 42L;
+
+    private final BigRand64 rand = new BigRand64();
+    private final NormalDistribution normal = new NormalDistribution();
+    private double[] values;
+    private long startX;
+
+    @Setup
+    public void setUp() {
+        values = new double[SIZE];
+        startX = 0;
+    }
+
+    @Benchmark
+    public double[] boxMuller() {
+        final long x0 = startX;
+        startX += SIZE;
+        for (int i = 0; i < SIZE; i++) {
+            final double u1 = rand.randDoubleSeeded(2 * (x0 + i), SEED);
+            final double u2 = rand.randDoubleSeeded(2 * (x0 + i) + 1, SEED);
+            values[i] = Math.sqrt(-2 * Math.log(1 - u1)) * Math.cos(2 * Math.PI * u2);
+        }
+        return values;
+    }
+
+    @Benchmark
+    public double[] zigguratSample() {
+        final long x0 = startX;
+        startX += SIZE;
+        for (int i = 0; i < SIZE; i++) {
+            values[i] = normal.sample(rand, x0 + i, SEED);
+        }
+        return values;
+    }
+
+    @Benchmark
+    public double[] zigguratFill() {
+        final long x0 = startX;
+        startX += SIZE;
+        normal.fill(rand, values, 0, SIZE, x0, SEED);
+        return values;
+    }
+}
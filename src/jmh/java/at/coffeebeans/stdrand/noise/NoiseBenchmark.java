@@ -0,0 +1,60 @@
+package at.coffeebeans.stdrand.noise;
+
+import at.coffeebeans.stdrand.BigRand32;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmarks for one 256x256 chunk of 6 octaves fBm, sampled point by point compared to the chunk fill.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NoiseBenchmark {
+
+    private static final int SIZE = 256;
+    private static final double STEP = 1.0 / 32;
+
+    @Param({"VALUE", "GRADIENT"})
+    public NoiseType type;
+
+    private FractalNoise noise;
+    private float[] chunk;
+    private double originX;
+
+    @Setup
+    public void setUp() {
+        final Noise base = new Noise(new BigRand32(), type, BigRand32.toSeed("benchmark"));
+        noise = new FractalNoise(base, Fractal.FBM, 6, 2, 0.5);
+        chunk = new float[SIZE * SIZE];
+        originX = 0;
+    }
+
+    @Benchmark
+    public float[] perSample() {
+        final double x0 = originX;
+        originX += SIZE * STEP;
+        for (int j = 0; j < SIZE; j++) {
+            for (int i = 0; i < SIZE; i++) {
+                chunk[i + SIZE * j] = noise.sample(x0 + i * STEP, j * STEP);
+            }
+        }
+        return chunk;
+    }
+
+    @Benchmark
+    public float[] chunk() {
+        final double x0 = originX;
+        originX += SIZE * STEP;
+        noise.fill(chunk, 0, x0, 0, STEP, SIZE, SIZE);
+        return chunk;
+    }
+}
@@ -0,0 +1,36 @@
+package at.coffeebeans.stdrand;
+
+/**
+ * One batch recorded for {@link BigRandMetrics}. This is the Java 8 version from the base of the multi-release jar
+ * which only updates the counters, the Java 17 version also emits a JDK Flight Recorder event.
+ */
+final class BatchRecording {
+
+    private final long start;
+
+    private BatchRecording(final long start) {
+        this.start = start;
+    }
+
+    /**
+     * @return recording of a batch starting now, null if nothing is recorded
+     */
+    static BatchRecording begin() {
+        return BigRandMetrics.isEnabled() ? new BatchRecording(System.nanoTime()) : null;
+    }
+
+    /**
+     * @param counters   Counters of the generator.
+     * @param operation  Name of the bulk function.
+     * @param values     Number of values generated.
+     * @param dimensions Number of dimensions of the coordinates.
+     */
+    void end(
+            final BigRandMetrics.Counters counters,
+            final String operation,
+            final long values,
+            final int dimensions
+    ) {
+        BigRandMetrics.record(counters, values, System.nanoTime() - start);
+    }
+}
@@ -1,5 +1,11 @@
 package at.coffeebeans.stdrand;
 
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
 /**
  * Random data generator (32-bit version). This implementation will create reproducible random data based on a seed and
  * the noise and prime numbers given. Not using an interface to stick to primitives.<br/>
@@ -20,12 +26,24 @@ public class BigRand32 {
     public static final int PRIME_1 = 0b1011110101001011110010110101;
     public static final int PRIME_2 = 0b0000011000111101011010001101;
 
+    // 2^32 divided by the golden ratio, spreads sub-seeds over the whole range
+    private static final int SUB_SEED_STEP = 0x9E3779B9;
+
+    private static final AtomicReferenceFieldUpdater<BigRand32, BigRandMetrics.Counters> METRICS =
+            AtomicReferenceFieldUpdater.newUpdater(BigRand32.class, BigRandMetrics.Counters.class, "metrics");
+
     private final int defaultSeed;
     private final int bitNoise1;
     private final int bitNoise2;
     private final int bitNoise3;
     private final int prime1;
     private final int prime2;
+    // multiplicative inverses of the odd id multipliers bitNoise1 | 1 and bitNoise3 | 1
+    private final int idInverse1;
+    private final int idInverse3;
+
+    // counters of BigRandMetrics, created on the first recorded batch and never touched by the generating functions
+    private volatile BigRandMetrics.Counters metrics;
 
     /**
      * Default constructor using default values.
@@ -37,6 +55,8 @@ public class BigRand32 {
         this.bitNoise3 = BIT_NOISE_3;
         this.prime1 = PRIME_1;
         this.prime2 = PRIME_2;
+        this.idInverse1 = inverseOdd(BIT_NOISE_1 | 1);
+        this.idInverse3 = inverseOdd(BIT_NOISE_3 | 1);
     }
 
     /**
@@ -57,6 +77,41 @@ public class BigRand32 {
         this.bitNoise3 = bitNoise3;
         this.prime1 = prime1;
         this.prime2 = prime2;
+        this.idInverse1 = inverseOdd(bitNoise1 | 1);
+        this.idInverse3 = inverseOdd(bitNoise3 | 1);
+    }
+
+    public int getDefaultSeed() {
+        return defaultSeed;
+    }
+
+    public int getBitNoise1() {
+        return bitNoise1;
+    }
+
+    public int getBitNoise2() {
+        return bitNoise2;
+    }
+
+    public int getBitNoise3() {
+        return bitNoise3;
+    }
+
+    public int getPrime1() {
+        return prime1;
+    }
+
+    public int getPrime2() {
+        return prime2;
+    }
+
+    BigRandMetrics.Counters metrics() {
+        final BigRandMetrics.Counters current = metrics;
+        if (null != current) {
+            return current;
+        }
+        METRICS.compareAndSet(this, null, BigRandMetrics.counters("BigRand32"));
+        return metrics;
     }
 
     /**
@@ -66,10 +121,24 @@ public class BigRand32 {
      * @param seed Does nothing if 0.
      * @return pseudo random number
      */
-    @SuppressWarnings("DuplicatedCode")
     public int randSeeded(
             final int x,
             final int seed
+    ) {
+        return mix(x, seed, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * The actual mixing function behind {@link BigRand32#randSeeded(int, int)}. Static and only working on its
+     * arguments so loops can keep the noise values in registers.
+     */
+    @SuppressWarnings("DuplicatedCode")
+    static int mix(
+            final int x,
+            final int seed,
+            final int bitNoise1,
+            final int bitNoise2,
+            final int bitNoise3
     ) {
         int result = x;
         result *= bitNoise1;
@@ -150,6 +219,1316 @@ public class BigRand32 {
         return randSeeded(x, y, z, defaultSeed);
     }
 
+    // ======================= bulk functions =======================
+
+    /**
+     * Fill dst with random numbers for consecutive x values. Same result as calling
+     * {@link BigRand32#randSeeded(int, int)} for every element, but without re-reading the noise values per element.
+     *
+     * @param dst    Array to write to.
+     * @param offset First index in dst to write.
+     * @param length Number of values to generate.
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param seed   Does nothing if 0.
+     */
+    public void fillSeeded(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        fillScalar(dst, offset, length, startX, seed);
+        if (null != recording) {
+            recording.end(metrics(), "fillSeeded", length, 1);
+        }
+    }
+
+    /**
+     * fillSeeded without recording, the scalar fallback of {@link BigRandVector}.
+     */
+    void fillScalar(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final int n1 = bitNoise1;
+        final int n2 = bitNoise2;
+        final int n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = mix(startX + i, seed, n1, n2, n3);
+        }
+    }
+
+    /**
+     * Fill dst with random numbers for consecutive x values in row y.
+     *
+     * @see BigRand32#fillSeeded(int[], int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int)
+     */
+    public void fillSeeded(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int y,
+            final int seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        fillScalar(dst, offset, length, startX + (prime1 * y), seed);
+        if (null != recording) {
+            recording.end(metrics(), "fillSeeded", length, 2);
+        }
+    }
+
+    /**
+     * Fill dst with random numbers for consecutive x values in row y of layer z.
+     *
+     * @see BigRand32#fillSeeded(int[], int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     */
+    public void fillSeeded(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int y,
+            final int z,
+            final int seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        fillScalar(dst, offset, length, startX + (prime1 * y) + (prime2 * z), seed);
+        if (null != recording) {
+            recording.end(metrics(), "fillSeeded", length, 3);
+        }
+    }
+
+    /**
+     * Map every x in xs to its random number. Same result as calling {@link BigRand32#randSeeded(int, int)} for
+     * every element. xs and dst may be the same array if both offsets are the same.
+     *
+     * @param xs      Base numbers for calculation.
+     * @param xOffset First index in xs to read.
+     * @param dst     Array to write to.
+     * @param offset  First index in dst to write.
+     * @param length  Number of values to generate.
+     * @param seed    Does nothing if 0.
+     */
+    public void gatherSeeded(
+            final int[] xs,
+            final int xOffset,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        gatherScalar(xs, xOffset, dst, offset, length, seed);
+        if (null != recording) {
+            recording.end(metrics(), "gatherSeeded", length, 1);
+        }
+    }
+
+    /**
+     * gatherSeeded without recording, the scalar fallback of {@link BigRandVector}.
+     */
+    void gatherScalar(
+            final int[] xs,
+            final int xOffset,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int seed
+    ) {
+        Preconditions.checkFromIndexSize(xOffset, length, xs.length);
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final int n1 = bitNoise1;
+        final int n2 = bitNoise2;
+        final int n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = mix(xs[xOffset + i], seed, n1, n2, n3);
+        }
+    }
+
+    /**
+     * Map every (x, y) pair read from xs and ys to its random number.
+     *
+     * @see BigRand32#gatherSeeded(int[], int, int[], int, int, int)
+     * @see BigRand32#randSeeded(int, int, int)
+     */
+    public void gatherSeeded(
+            final int[] xs,
+            final int[] ys,
+            final int srcOffset,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int seed
+    ) {
+        Preconditions.checkFromIndexSize(srcOffset, length, xs.length);
+        Preconditions.checkFromIndexSize(srcOffset, length, ys.length);
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final int n1 = bitNoise1;
+        final int n2 = bitNoise2;
+        final int n3 = bitNoise3;
+        final int p1 = prime1;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = mix(xs[srcOffset + i] + (p1 * ys[srcOffset + i]), seed, n1, n2, n3);
+        }
+        if (null != recording) {
+            recording.end(metrics(), "gatherSeeded", length, 2);
+        }
+    }
+
+    /**
+     * Map every (x, y, z) triple read from xs, ys and zs to its random number.
+     *
+     * @see BigRand32#gatherSeeded(int[], int, int[], int, int, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     */
+    public void gatherSeeded(
+            final int[] xs,
+            final int[] ys,
+            final int[] zs,
+            final int srcOffset,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int seed
+    ) {
+        Preconditions.checkFromIndexSize(srcOffset, length, xs.length);
+        Preconditions.checkFromIndexSize(srcOffset, length, ys.length);
+        Preconditions.checkFromIndexSize(srcOffset, length, zs.length);
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final int n1 = bitNoise1;
+        final int n2 = bitNoise2;
+        final int n3 = bitNoise3;
+        final int p1 = prime1;
+        final int p2 = prime2;
+        for (int i = 0; i < length; i++) {
+            final int src = srcOffset + i;
+            dst[offset + i] = mix(xs[src] + (p1 * ys[src]) + (p2 * zs[src]), seed, n1, n2, n3);
+        }
+        if (null != recording) {
+            recording.end(metrics(), "gatherSeeded", length, 3);
+        }
+    }
+
+    /**
+     * @see BigRand32#fillSeeded(int[], int, int, int, int) with seed=0
+     */
+    public void fill(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX
+    ) {
+        fillSeeded(dst, offset, length, startX, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#fillSeeded(int[], int, int, int, int, int) with seed=0
+     */
+    public void fill(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int y
+    ) {
+        fillSeeded(dst, offset, length, startX, y, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#fillSeeded(int[], int, int, int, int, int, int) with seed=0
+     */
+    public void fill(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int y,
+            final int z
+    ) {
+        fillSeeded(dst, offset, length, startX, y, z, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#gatherSeeded(int[], int, int[], int, int, int) with seed=0
+     */
+    public void gather(
+            final int[] xs,
+            final int xOffset,
+            final int[] dst,
+            final int offset,
+            final int length
+    ) {
+        gatherSeeded(xs, xOffset, dst, offset, length, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#gatherSeeded(int[], int[], int, int[], int, int, int) with seed=0
+     */
+    public void gather(
+            final int[] xs,
+            final int[] ys,
+            final int srcOffset,
+            final int[] dst,
+            final int offset,
+            final int length
+    ) {
+        gatherSeeded(xs, ys, srcOffset, dst, offset, length, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#gatherSeeded(int[], int[], int[], int, int[], int, int, int) with seed=0
+     */
+    public void gather(
+            final int[] xs,
+            final int[] ys,
+            final int[] zs,
+            final int srcOffset,
+            final int[] dst,
+            final int offset,
+            final int length
+    ) {
+        gatherSeeded(xs, ys, zs, srcOffset, dst, offset, length, defaultSeed);
+    }
+
+    // ======================= tiles =======================
+
+    /**
+     * Fill dst with the random numbers of a width x height tile starting at (originX, originY). Same result as calling
+     * {@link BigRand32#randSeeded(int, int, int)} for every cell, but the linear combination of the coordinates is
+     * updated incrementally and rows run through the bulk functions.
+     *
+     * @param dst     Array to write to.
+     * @param offset  First index in dst to write.
+     * @param layout  Order of the cells in dst, see {@link TileLayout#index(int, int, int, int)}.
+     * @param originX x of the first cell.
+     * @param originY y of the first cell.
+     * @param width   Number of cells in x direction.
+     * @param height  Number of cells in y direction.
+     * @param seed    Does nothing if 0.
+     * @throws IllegalArgumentException if the extents are invalid for the layout
+     */
+    @SuppressWarnings("DuplicatedCode")
+    public void fillTileSeeded(
+            final int[] dst,
+            final int offset,
+            final TileLayout layout,
+            final int originX,
+            final int originY,
+            final int width,
+            final int height,
+            final int seed
+    ) {
+        final int size = layout.size(width, height);
+        Preconditions.checkFromIndexSize(offset, size, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final int p1 = prime1;
+        final int base = originX + (p1 * originY);
+        if (layout == TileLayout.ROW_MAJOR) {
+            int row = base;
+            for (int j = 0; j < height; j++) {
+                BigRandVector.fill(this, dst, offset + j * width, width, row, seed);
+                row += p1;
+            }
+        } else if (size == 1) {
+            dst[offset] = mix(base, seed, bitNoise1, bitNoise2, bitNoise3);
+        } else if (size > 1) {
+            final int n1 = bitNoise1;
+            final int n2 = bitNoise2;
+            final int n3 = bitNoise3;
+            final int[] rows = axisOffsets(p1, height);
+            // one 2x2 quad per step, the lowest two Morton bits are x and y
+            for (int m = 0; m < size; m += 4) {
+                final int c = base + TileLayout.compact2(m) + rows[TileLayout.compact2(m >>> 1)];
+                final int o = offset + m;
+                dst[o] = mix(c, seed, n1, n2, n3);
+                dst[o + 1] = mix(c + 1, seed, n1, n2, n3);
+                dst[o + 2] = mix(c + p1, seed, n1, n2, n3);
+                dst[o + 3] = mix(c + p1 + 1, seed, n1, n2, n3);
+            }
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillTileSeeded", size, 2);
+        }
+    }
+
+    /**
+     * Fill dst with the random numbers of a width x height x depth tile starting at (originX, originY, originZ).
+     *
+     * @see BigRand32#fillTileSeeded(int[], int, TileLayout, int, int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     * @see TileLayout#index(int, int, int, int, int, int)
+     */
+    @SuppressWarnings("DuplicatedCode")
+    public void fillTileSeeded(
+            final int[] dst,
+            final int offset,
+            final TileLayout layout,
+            final int originX,
+            final int originY,
+            final int originZ,
+            final int width,
+            final int height,
+            final int depth,
+            final int seed
+    ) {
+        final int size = layout.size(width, height, depth);
+        Preconditions.checkFromIndexSize(offset, size, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final int p1 = prime1;
+        final int p2 = prime2;
+        final int base = originX + (p1 * originY) + (p2 * originZ);
+        if (layout == TileLayout.ROW_MAJOR) {
+            int layer = base;
+            int o = offset;
+            for (int k = 0; k < depth; k++) {
+                int row = layer;
+                for (int j = 0; j < height; j++) {
+                    BigRandVector.fill(this, dst, o, width, row, seed);
+                    o += width;
+                    row += p1;
+                }
+                layer += p2;
+            }
+        } else if (size == 1) {
+            dst[offset] = mix(base, seed, bitNoise1, bitNoise2, bitNoise3);
+        } else if (size > 1) {
+            final int n1 = bitNoise1;
+            final int n2 = bitNoise2;
+            final int n3 = bitNoise3;
+            final int[] rows = axisOffsets(p1, height);
+            final int[] layers = axisOffsets(p2, depth);
+            // one 2x2x2 cube per step, the lowest three Morton bits are x, y and z
+            for (int m = 0; m < size; m += 8) {
+                final int c = base + TileLayout.compact3(m) + rows[TileLayout.compact3(m >>> 1)]
+                        + layers[TileLayout.compact3(m >>> 2)];
+                final int cz = c + p2;
+                final int o = offset + m;
+                dst[o] = mix(c, seed, n1, n2, n3);
+                dst[o + 1] = mix(c + 1, seed, n1, n2, n3);
+                dst[o + 2] = mix(c + p1, seed, n1, n2, n3);
+                dst[o + 3] = mix(c + p1 + 1, seed, n1, n2, n3);
+                dst[o + 4] = mix(cz, seed, n1, n2, n3);
+                dst[o + 5] = mix(cz + 1, seed, n1, n2, n3);
+                dst[o + 6] = mix(cz + p1, seed, n1, n2, n3);
+                dst[o + 7] = mix(cz + p1 + 1, seed, n1, n2, n3);
+            }
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillTileSeeded", size, 3);
+        }
+    }
+
+    /**
+     * @see BigRand32#fillTileSeeded(int[], int, TileLayout, int, int, int, int, int) with seed=0
+     */
+    public void fillTile(
+            final int[] dst,
+            final int offset,
+            final TileLayout layout,
+            final int originX,
+            final int originY,
+            final int width,
+            final int height
+    ) {
+        fillTileSeeded(dst, offset, layout, originX, originY, width, height, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#fillTileSeeded(int[], int, TileLayout, int, int, int, int, int, int, int) with seed=0
+     */
+    public void fillTile(
+            final int[] dst,
+            final int offset,
+            final TileLayout layout,
+            final int originX,
+            final int originY,
+            final int originZ,
+            final int width,
+            final int height,
+            final int depth
+    ) {
+        fillTileSeeded(dst, offset, layout, originX, originY, originZ, width, height, depth, defaultSeed);
+    }
+
+    /**
+     * @return step * i for i in [0, count), built by addition
+     */
+    private static int[] axisOffsets(
+            final int step,
+            final int count
+    ) {
+        final int[] result = new int[count];
+        for (int i = 1; i < count; i++) {
+            result[i] = result[i - 1] + step;
+        }
+        return result;
+    }
+
+    // ======================= streams =======================
+
+    /**
+     * Stream of random numbers for x in [startX, startX + count). Backed by a spliterator that splits evenly without
+     * generating anything, so it works well with parallel streams. x wraps around after Integer.MAX_VALUE.
+     *
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param count  Number of values in the stream.
+     * @param seed   Does nothing if 0.
+     * @return sized and ordered stream of pseudo random numbers
+     */
+    public IntStream ints(
+            final int startX,
+            final long count,
+            final int seed
+    ) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        return StreamSupport.intStream(
+                new BigRand32Spliterator(startX, seed, bitNoise1, bitNoise2, bitNoise3, 0, count),
+                false
+        );
+    }
+
+    /**
+     * Stream of random numbers for x in [startX, startX + count) in row y.
+     *
+     * @see BigRand32#ints(int, long, int)
+     * @see BigRand32#randSeeded(int, int, int)
+     */
+    public IntStream ints(
+            final int startX,
+            final int y,
+            final long count,
+            final int seed
+    ) {
+        return ints(startX + (prime1 * y), count, seed);
+    }
+
+    /**
+     * Stream of random numbers for x in [startX, startX + count) in row y of layer z.
+     *
+     * @see BigRand32#ints(int, long, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     */
+    public IntStream ints(
+            final int startX,
+            final int y,
+            final int z,
+            final long count,
+            final int seed
+    ) {
+        return ints(startX + (prime1 * y) + (prime2 * z), count, seed);
+    }
+
+    // ======================= bijective ids =======================
+
+    /**
+     * Unique id for counter. Same pipeline as {@link BigRand32#randSeeded(int, int)} but with the multipliers forced
+     * odd (bitNoise1 | 1, bitNoise3 | 1) and logical shifts in the xorshifts, so every step and thereby the whole
+     * function is a bijection of the 32-bit values. {@link BigRand32#inverseIdSeeded(int, int)} recovers the counter.
+     *
+     * @param counter Number to turn into an id.
+     * @param seed    Different seeds give different permutations.
+     * @return id of counter
+     * @see BigRand64#idSeeded(long, long)
+     */
+    @SuppressWarnings("DuplicatedCode")
+    public int idSeeded(
+            final int counter,
+            final int seed
+    ) {
+        int result = counter;
+        result *= bitNoise1 | 1;
+        result += seed;
+        result ^= (result >>> 8);
+        result += bitNoise2;
+        result ^= (result << 8);
+        result *= bitNoise3 | 1;
+        result ^= (result >>> 8);
+        return result;
+    }
+
+    /**
+     * Inverse of {@link BigRand32#idSeeded(int, int)}, every step undone in reverse order.
+     *
+     * @param id   Value returned by idSeeded.
+     * @param seed Seed the id was created with.
+     * @return counter with idSeeded(counter, seed) == id
+     */
+    public int inverseIdSeeded(
+            final int id,
+            final int seed
+    ) {
+        int result = unshiftRight8(id);
+        result *= idInverse3;
+        result = unshiftLeft8(result);
+        result -= bitNoise2;
+        result = unshiftRight8(result);
+        result -= seed;
+        result *= idInverse1;
+        return result;
+    }
+
+    /**
+     * @see BigRand32#idSeeded(int, int) with the default seed
+     */
+    public int id(final int counter) {
+        return idSeeded(counter, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#inverseIdSeeded(int, int) with the default seed
+     */
+    public int inverseId(final int id) {
+        return inverseIdSeeded(id, defaultSeed);
+    }
+
+    /**
+     * @return the inverse of odd modulo 2^32, by Newton's iteration doubling the correct low bits each step
+     */
+    static int inverseOdd(final int odd) {
+        // odd * odd == 1 modulo 8, so odd itself is correct in the lowest 3 bits
+        int inverse = odd;
+        for (int i = 0; i < 4; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+        return inverse;
+    }
+
+    /**
+     * Inverse of v ^= v >>> 8.
+     */
+    private static int unshiftRight8(final int v) {
+        final int result = v ^ (v >>> 8);
+        return result ^ (result >>> 16);
+    }
+
+    /**
+     * Inverse of v ^= v << 8.
+     */
+    private static int unshiftLeft8(final int v) {
+        final int result = v ^ (v << 8);
+        return result ^ (result << 16);
+    }
+
+    // ======================= bounded and floating point =======================
+
+    /**
+     * Seed of an additional stream derived from seed. Used wherever one coordinate needs more than one random number,
+     * for example the rejected samples of the bounded functions: attempt n draws randSeeded(x, subSeed(seed, n)).
+     * Stream 0 is seed itself.
+     *
+     * @param seed   Base seed.
+     * @param stream Number of the stream.
+     * @return seed for the stream
+     */
+    public static int subSeed(
+            final int seed,
+            final int stream
+    ) {
+        return seed + stream * SUB_SEED_STEP;
+    }
+
+    /**
+     * Generate an unbiased random number in [0, bound) based on x and seed. Uses Lemire's multiply-shift instead of a
+     * division. The rare rejected samples are redrawn from x with {@link BigRand32#subSeed(int, int)}, so the result
+     * only depends on the arguments.
+     *
+     * @param bound Upper bound (exclusive), must be positive.
+     * @param x     Base number for calculation.
+     * @param seed  Does nothing if 0.
+     * @return pseudo random number in [0, bound)
+     */
+    public int randBoundedSeeded(
+            final int bound,
+            final int x,
+            final int seed
+    ) {
+        checkBound(bound);
+        return bounded(x, seed, bound, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand32#randBoundedSeeded(int, int, int)
+     * @see BigRand32#randSeeded(int, int, int)
+     */
+    public int randBoundedSeeded(
+            final int bound,
+            final int x,
+            final int y,
+            final int seed
+    ) {
+        checkBound(bound);
+        return bounded(x + (prime1 * y), seed, bound, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand32#randBoundedSeeded(int, int, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     */
+    public int randBoundedSeeded(
+            final int bound,
+            final int x,
+            final int y,
+            final int z,
+            final int seed
+    ) {
+        checkBound(bound);
+        return bounded(x + (prime1 * y) + (prime2 * z), seed, bound, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand32#randBoundedSeeded(int, int, int) with seed=0
+     */
+    public int randBounded(
+            final int bound,
+            final int x
+    ) {
+        return randBoundedSeeded(bound, x, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#randBoundedSeeded(int, int, int, int) with seed=0
+     */
+    public int randBounded(
+            final int bound,
+            final int x,
+            final int y
+    ) {
+        return randBoundedSeeded(bound, x, y, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#randBoundedSeeded(int, int, int, int, int) with seed=0
+     */
+    public int randBounded(
+            final int bound,
+            final int x,
+            final int y,
+            final int z
+    ) {
+        return randBoundedSeeded(bound, x, y, z, defaultSeed);
+    }
+
+    /**
+     * Generate an unbiased random number in [lo, hi) based on x and seed. hi - lo may exceed Integer.MAX_VALUE.
+     *
+     * @param lo   Lower bound (inclusive).
+     * @param hi   Upper bound (exclusive), must be greater than lo.
+     * @param x    Base number for calculation.
+     * @param seed Does nothing if 0.
+     * @return pseudo random number in [lo, hi)
+     * @see BigRand32#randBoundedSeeded(int, int, int)
+     */
+    public int randRangeSeeded(
+            final int lo,
+            final int hi,
+            final int x,
+            final int seed
+    ) {
+        checkRange(lo, hi);
+        return lo + bounded(x, seed, hi - lo, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand32#randRangeSeeded(int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int)
+     */
+    public int randRangeSeeded(
+            final int lo,
+            final int hi,
+            final int x,
+            final int y,
+            final int seed
+    ) {
+        checkRange(lo, hi);
+        return lo + bounded(x + (prime1 * y), seed, hi - lo, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand32#randRangeSeeded(int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     */
+    public int randRangeSeeded(
+            final int lo,
+            final int hi,
+            final int x,
+            final int y,
+            final int z,
+            final int seed
+    ) {
+        checkRange(lo, hi);
+        return lo + bounded(x + (prime1 * y) + (prime2 * z), seed, hi - lo, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand32#randRangeSeeded(int, int, int, int) with seed=0
+     */
+    public int randRange(
+            final int lo,
+            final int hi,
+            final int x
+    ) {
+        return randRangeSeeded(lo, hi, x, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#randRangeSeeded(int, int, int, int, int) with seed=0
+     */
+    public int randRange(
+            final int lo,
+            final int hi,
+            final int x,
+            final int y
+    ) {
+        return randRangeSeeded(lo, hi, x, y, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#randRangeSeeded(int, int, int, int, int, int) with seed=0
+     */
+    public int randRange(
+            final int lo,
+            final int hi,
+            final int x,
+            final int y,
+            final int z
+    ) {
+        return randRangeSeeded(lo, hi, x, y, z, defaultSeed);
+    }
+
+    /**
+     * Generate a random double in [0, 1) based on x and seed. randSeeded only delivers 31 bits (its sign bit is always
+     * 0), so the result is a multiple of 2^-31. Use {@link BigRand64#randDoubleSeeded(long, long)} for the full
+     * 53 bits.
+     *
+     * @param x    Base number for calculation.
+     * @param seed Does nothing if 0.
+     * @return pseudo random number in [0, 1)
+     */
+    public double randDoubleSeeded(
+            final int x,
+            final int seed
+    ) {
+        return toDouble(mix(x, seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand32#randDoubleSeeded(int, int)
+     * @see BigRand32#randSeeded(int, int, int)
+     */
+    public double randDoubleSeeded(
+            final int x,
+            final int y,
+            final int seed
+    ) {
+        return toDouble(mix(x + (prime1 * y), seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand32#randDoubleSeeded(int, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     */
+    public double randDoubleSeeded(
+            final int x,
+            final int y,
+            final int z,
+            final int seed
+    ) {
+        return toDouble(mix(x + (prime1 * y) + (prime2 * z), seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand32#randDoubleSeeded(int, int) with seed=0
+     */
+    public double randDouble(
+            final int x
+    ) {
+        return randDoubleSeeded(x, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#randDoubleSeeded(int, int, int) with seed=0
+     */
+    public double randDouble(
+            final int x,
+            final int y
+    ) {
+        return randDoubleSeeded(x, y, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#randDoubleSeeded(int, int, int, int) with seed=0
+     */
+    public double randDouble(
+            final int x,
+            final int y,
+            final int z
+    ) {
+        return randDoubleSeeded(x, y, z, defaultSeed);
+    }
+
+    /**
+     * Generate a random float in [0, 1) based on x and seed, built from the upper 24 of the 31 bits randSeeded
+     * delivers (its sign bit is always 0).
+     *
+     * @param x    Base number for calculation.
+     * @param seed Does nothing if 0.
+     * @return pseudo random number in [0, 1)
+     */
+    public float randFloatSeeded(
+            final int x,
+            final int seed
+    ) {
+        return toFloat(mix(x, seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand32#randFloatSeeded(int, int)
+     * @see BigRand32#randSeeded(int, int, int)
+     */
+    public float randFloatSeeded(
+            final int x,
+            final int y,
+            final int seed
+    ) {
+        return toFloat(mix(x + (prime1 * y), seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand32#randFloatSeeded(int, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     */
+    public float randFloatSeeded(
+            final int x,
+            final int y,
+            final int z,
+            final int seed
+    ) {
+        return toFloat(mix(x + (prime1 * y) + (prime2 * z), seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand32#randFloatSeeded(int, int) with seed=0
+     */
+    public float randFloat(
+            final int x
+    ) {
+        return randFloatSeeded(x, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#randFloatSeeded(int, int, int) with seed=0
+     */
+    public float randFloat(
+            final int x,
+            final int y
+    ) {
+        return randFloatSeeded(x, y, defaultSeed);
+    }
+
+    /**
+     * @see BigRand32#randFloatSeeded(int, int, int, int) with seed=0
+     */
+    public float randFloat(
+            final int x,
+            final int y,
+            final int z
+    ) {
+        return randFloatSeeded(x, y, z, defaultSeed);
+    }
+
+    /**
+     * Bulk version of {@link BigRand32#randBoundedSeeded(int, int, int)} for consecutive x values.
+     *
+     * @param dst    Array to write to.
+     * @param offset First index in dst to write.
+     * @param length Number of values to generate.
+     * @param bound  Upper bound (exclusive), must be positive.
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param seed   Does nothing if 0.
+     */
+    public void fillBoundedSeeded(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int bound,
+            final int startX,
+            final int seed
+    ) {
+        fillBounded(dst, offset, length, bound, startX, seed, 1);
+    }
+
+    private void fillBounded(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int bound,
+            final int startX,
+            final int seed,
+            final int dimensions
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        checkBound(bound);
+        final BatchRecording recording = BatchRecording.begin();
+        final int n1 = bitNoise1;
+        final int n2 = bitNoise2;
+        final int n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = bounded(startX + i, seed, bound, n1, n2, n3);
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillBoundedSeeded", length, dimensions);
+        }
+    }
+
+    /**
+     * @see BigRand32#fillBoundedSeeded(int[], int, int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int)
+     */
+    public void fillBoundedSeeded(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int bound,
+            final int startX,
+            final int y,
+            final int seed
+    ) {
+        fillBounded(dst, offset, length, bound, startX + (prime1 * y), seed, 2);
+    }
+
+    /**
+     * @see BigRand32#fillBoundedSeeded(int[], int, int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     */
+    public void fillBoundedSeeded(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int bound,
+            final int startX,
+            final int y,
+            final int z,
+            final int seed
+    ) {
+        fillBounded(dst, offset, length, bound, startX + (prime1 * y) + (prime2 * z), seed, 3);
+    }
+
+    /**
+     * Bulk version of {@link BigRand32#randRangeSeeded(int, int, int, int)} for consecutive x values.
+     *
+     * @param dst    Array to write to.
+     * @param offset First index in dst to write.
+     * @param length Number of values to generate.
+     * @param lo     Lower bound (inclusive).
+     * @param hi     Upper bound (exclusive), must be greater than lo.
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param seed   Does nothing if 0.
+     */
+    public void fillRangeSeeded(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int lo,
+            final int hi,
+            final int startX,
+            final int seed
+    ) {
+        fillRange(dst, offset, length, lo, hi, startX, seed, 1);
+    }
+
+    private void fillRange(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int lo,
+            final int hi,
+            final int startX,
+            final int seed,
+            final int dimensions
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        checkRange(lo, hi);
+        final BatchRecording recording = BatchRecording.begin();
+        final int bound = hi - lo;
+        final int n1 = bitNoise1;
+        final int n2 = bitNoise2;
+        final int n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = lo + bounded(startX + i, seed, bound, n1, n2, n3);
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillRangeSeeded", length, dimensions);
+        }
+    }
+
+    /**
+     * @see BigRand32#fillRangeSeeded(int[], int, int, int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int)
+     */
+    public void fillRangeSeeded(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int lo,
+            final int hi,
+            final int startX,
+            final int y,
+            final int seed
+    ) {
+        fillRange(dst, offset, length, lo, hi, startX + (prime1 * y), seed, 2);
+    }
+
+    /**
+     * @see BigRand32#fillRangeSeeded(int[], int, int, int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     */
+    public void fillRangeSeeded(
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int lo,
+            final int hi,
+            final int startX,
+            final int y,
+            final int z,
+            final int seed
+    ) {
+        fillRange(dst, offset, length, lo, hi, startX + (prime1 * y) + (prime2 * z), seed, 3);
+    }
+
+    /**
+     * Bulk version of {@link BigRand32#randDoubleSeeded(int, int)} for consecutive x values.
+     *
+     * @param dst    Array to write to.
+     * @param offset First index in dst to write.
+     * @param length Number of values to generate.
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param seed   Does nothing if 0.
+     */
+    public void fillDoubleSeeded(
+            final double[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed
+    ) {
+        fillDouble(dst, offset, length, startX, seed, 1);
+    }
+
+    private void fillDouble(
+            final double[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed,
+            final int dimensions
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final int n1 = bitNoise1;
+        final int n2 = bitNoise2;
+        final int n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = toDouble(mix(startX + i, seed, n1, n2, n3));
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillDoubleSeeded", length, dimensions);
+        }
+    }
+
+    /**
+     * @see BigRand32#fillDoubleSeeded(double[], int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int)
+     */
+    public void fillDoubleSeeded(
+            final double[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int y,
+            final int seed
+    ) {
+        fillDouble(dst, offset, length, startX + (prime1 * y), seed, 2);
+    }
+
+    /**
+     * @see BigRand32#fillDoubleSeeded(double[], int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     */
+    public void fillDoubleSeeded(
+            final double[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int y,
+            final int z,
+            final int seed
+    ) {
+        fillDouble(dst, offset, length, startX + (prime1 * y) + (prime2 * z), seed, 3);
+    }
+
+    /**
+     * Bulk version of {@link BigRand32#randFloatSeeded(int, int)} for consecutive x values.
+     *
+     * @param dst    Array to write to.
+     * @param offset First index in dst to write.
+     * @param length Number of values to generate.
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param seed   Does nothing if 0.
+     */
+    public void fillFloatSeeded(
+            final float[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed
+    ) {
+        fillFloat(dst, offset, length, startX, seed, 1);
+    }
+
+    private void fillFloat(
+            final float[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed,
+            final int dimensions
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final int n1 = bitNoise1;
+        final int n2 = bitNoise2;
+        final int n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = toFloat(mix(startX + i, seed, n1, n2, n3));
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillFloatSeeded", length, dimensions);
+        }
+    }
+
+    /**
+     * @see BigRand32#fillFloatSeeded(float[], int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int)
+     */
+    public void fillFloatSeeded(
+            final float[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int y,
+            final int seed
+    ) {
+        fillFloat(dst, offset, length, startX + (prime1 * y), seed, 2);
+    }
+
+    /**
+     * @see BigRand32#fillFloatSeeded(float[], int, int, int, int)
+     * @see BigRand32#randSeeded(int, int, int, int)
+     */
+    public void fillFloatSeeded(
+            final float[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int y,
+            final int z,
+            final int seed
+    ) {
+        fillFloat(dst, offset, length, startX + (prime1 * y) + (prime2 * z), seed, 3);
+    }
+
+    /**
+     * Unbiased number in [0, bound) for the combined coordinate c with unsigned bound != 0. Lemire's multiply-shift
+     * works on the 31 bits mix() delivers, bounds from 2^31 on need 32 bits which are taken from two draws.
+     */
+    @SuppressWarnings("DuplicatedCode")
+    static int bounded(
+            final int c,
+            final int seed,
+            final int bound,
+            final int bitNoise1,
+            final int bitNoise2,
+            final int bitNoise3
+    ) {
+        if (bound > 0) {
+            final long m = (long) mix(c, seed, bitNoise1, bitNoise2, bitNoise3) * bound;
+            // low bits >= bound are always above the rejection threshold
+            if ((m & Integer.MAX_VALUE) >= bound) {
+                return (int) (m >>> 31);
+            }
+        }
+        return boundedRejecting(c, seed, bound, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    private static int boundedRejecting(
+            final int c,
+            final int seed,
+            final int bound,
+            final int bitNoise1,
+            final int bitNoise2,
+            final int bitNoise3
+    ) {
+        if (bound > 0) {
+            // 2^31 mod bound
+            final long threshold = (1L << 31) % bound;
+            for (int attempt = 0; ; attempt++) {
+                final long m = (long) mix(c, subSeed(seed, attempt), bitNoise1, bitNoise2, bitNoise3) * bound;
+                if ((m & Integer.MAX_VALUE) >= threshold) {
+                    return (int) (m >>> 31);
+                }
+            }
+        }
+        for (int attempt = 0; ; attempt += 2) {
+            final int r = (mix(c, subSeed(seed, attempt), bitNoise1, bitNoise2, bitNoise3) << 1)
+                    | (mix(c, subSeed(seed, attempt + 1), bitNoise1, bitNoise2, bitNoise3) & 1);
+            if (Integer.compareUnsigned(r, bound) < 0) {
+                return r;
+            }
+        }
+    }
+
+    static double toDouble(final int r) {
+        return r * 0x1.0p-31;
+    }
+
+    static float toFloat(final int r) {
+        return (r >>> 7) * 0x1.0p-24f;
+    }
+
+    private static void checkBound(final int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+    }
+
+    private static void checkRange(
+            final int lo,
+            final int hi
+    ) {
+        if (hi <= lo) {
+            throw new IllegalArgumentException(String.format("hi must be greater than lo: lo=%d, hi=%d", lo, hi));
+        }
+    }
+
+    /**
+     * Legacy seed of a string, the sum of the chars plus a constant per char. Kept for compatibility with existing
+     * seeds, but anagrams like "ab" and "ba" get the same seed. Use {@link SeedHash#hash32(CharSequence)} or a
+     * {@link SeedCache} for new code.
+     */
     public static int toSeed(final String str) {
         if (null == str || str.length() < 1) {
             return 0;
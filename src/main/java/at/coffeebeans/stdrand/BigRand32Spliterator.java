@@ -0,0 +1,87 @@
+package at.coffeebeans.stdrand;
+
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+
+/**
+ * Spliterator over randSeeded(baseX + i, seed) for i in [index, fence). Splits in halves without touching any values.
+ * x wraps around after Integer.MAX_VALUE, so ranges longer than 2^32 repeat.
+ *
+ * @see BigRand32#ints(int, long, int)
+ */
+final class BigRand32Spliterator implements Spliterator.OfInt {
+
+    private static final int CHARACTERISTICS = SIZED | SUBSIZED | ORDERED | IMMUTABLE | NONNULL;
+
+    private final int baseX;
+    private final int seed;
+    private final int bitNoise1;
+    private final int bitNoise2;
+    private final int bitNoise3;
+    private long index;
+    private final long fence;
+
+    BigRand32Spliterator(
+            final int baseX,
+            final int seed,
+            final int bitNoise1,
+            final int bitNoise2,
+            final int bitNoise3,
+            final long index,
+            final long fence
+    ) {
+        this.baseX = baseX;
+        this.seed = seed;
+        this.bitNoise1 = bitNoise1;
+        this.bitNoise2 = bitNoise2;
+        this.bitNoise3 = bitNoise3;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public OfInt trySplit() {
+        final long lo = index;
+        final long mid = lo + ((fence - lo) >>> 1);
+        if (mid <= lo) {
+            return null;
+        }
+        index = mid;
+        return new BigRand32Spliterator(baseX, seed, bitNoise1, bitNoise2, bitNoise3, lo, mid);
+    }
+
+    @Override
+    public boolean tryAdvance(final IntConsumer action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(BigRand32.mix(baseX + (int) index, seed, bitNoise1, bitNoise2, bitNoise3));
+        index++;
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+        final long from = index;
+        final long to = fence;
+        index = to;
+        final int s = seed;
+        final int n1 = bitNoise1;
+        final int n2 = bitNoise2;
+        final int n3 = bitNoise3;
+        int x = baseX + (int) from;
+        for (long i = from; i < to; i++) {
+            action.accept(BigRand32.mix(x++, s, n1, n2, n3));
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+}
@@ -1,5 +1,17 @@
 package at.coffeebeans.stdrand;
 
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
 /**
  * Random data generator (64-bit version). This implementation will create reproducible random data based on a seed and
  * the noise and prime numbers given. Not using an interface to stick to primitives.<br/>
@@ -21,12 +33,27 @@ public class BigRand64 {
     public static final  long PRIME_1 = 0b0000101011111001010001000010000101011100000100000100000011110111L;
     public static final  long PRIME_2 = 0b0000000011010011110000100001101111001111010001100110110110100001L;
 
+    // 2^64 divided by the golden ratio, spreads sub-seeds over the whole range
+    private static final long SUB_SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    // odd 64-bit constant with balanced bits for the 128-bit products of the wide output
+    private static final long WIDE_MULTIPLIER = 0xA0761D6478BD642FL;
+
+    private static final AtomicReferenceFieldUpdater<BigRand64, BigRandMetrics.Counters> METRICS =
+            AtomicReferenceFieldUpdater.newUpdater(BigRand64.class, BigRandMetrics.Counters.class, "metrics");
+
     private final long defaultSeed;
     private final long bitNoise1;
     private final long bitNoise2;
     private final long bitNoise3;
     private final long prime1;
     private final long prime2;
+    // multiplicative inverses of the odd id multipliers bitNoise1 | 1 and bitNoise3 | 1
+    private final long idInverse1;
+    private final long idInverse3;
+
+    // counters of BigRandMetrics, created on the first recorded batch and never touched by the generating functions
+    private volatile BigRandMetrics.Counters metrics;
 
     /**
      * Default constructor using default values.
@@ -38,10 +65,14 @@ public class BigRand64 {
         this.bitNoise3 = BIT_NOISE_3;
         this.prime1 = PRIME_1;
         this.prime2 = PRIME_2;
+        this.idInverse1 = inverseOdd(BIT_NOISE_1 | 1);
+        this.idInverse3 = inverseOdd(BIT_NOISE_3 | 1);
     }
 
     /**
-     * Full constructor using custom values.
+     * Full constructor using custom values. The 32-bit values are sign extended.
+     *
+     * @see BigRand64#BigRand64(long, long, long, long, long, long)
      */
     @SuppressWarnings("unused")
     public BigRand64(
@@ -51,6 +82,22 @@ public class BigRand64 {
             final int bitNoise3,
             final int prime1,
             final int prime2
+    ) {
+        this(defaultSeed, (long) bitNoise1, (long) bitNoise2, (long) bitNoise3, (long) prime1, (long) prime2);
+    }
+
+    /**
+     * Full constructor using custom 64-bit values. The values are kept in fields which have to be loaded on every
+     * call, {@link BigRand64#withConstants(long, long, long, long, long, long)} creates a generator with the values
+     * compiled in.
+     */
+    public BigRand64(
+            final long defaultSeed,
+            final long bitNoise1,
+            final long bitNoise2,
+            final long bitNoise3,
+            final long prime1,
+            final long prime2
     ) {
         this.defaultSeed = defaultSeed;
         this.bitNoise1 = bitNoise1;
@@ -58,6 +105,58 @@ public class BigRand64 {
         this.bitNoise3 = bitNoise3;
         this.prime1 = prime1;
         this.prime2 = prime2;
+        this.idInverse1 = inverseOdd(bitNoise1 | 1);
+        this.idInverse3 = inverseOdd(bitNoise3 | 1);
+    }
+
+    /**
+     * Generator with custom 64-bit values which are constants for the JIT instead of fields. On Java 17+ a hidden
+     * class with the values in its constant pool is defined for every call, so create the generator once and keep
+     * it. On Java 8 or if the class can't be defined this is the same as the full constructor. The results are
+     * always the same as with {@link BigRand64#BigRand64(long, long, long, long, long, long)}.
+     */
+    public static BigRand64 withConstants(
+            final long defaultSeed,
+            final long bitNoise1,
+            final long bitNoise2,
+            final long bitNoise3,
+            final long prime1,
+            final long prime2
+    ) {
+        return BigRand64Specializer.create(defaultSeed, bitNoise1, bitNoise2, bitNoise3, prime1, prime2);
+    }
+
+    public long getDefaultSeed() {
+        return defaultSeed;
+    }
+
+    public long getBitNoise1() {
+        return bitNoise1;
+    }
+
+    public long getBitNoise2() {
+        return bitNoise2;
+    }
+
+    public long getBitNoise3() {
+        return bitNoise3;
+    }
+
+    public long getPrime1() {
+        return prime1;
+    }
+
+    public long getPrime2() {
+        return prime2;
+    }
+
+    BigRandMetrics.Counters metrics() {
+        final BigRandMetrics.Counters current = metrics;
+        if (null != current) {
+            return current;
+        }
+        METRICS.compareAndSet(this, null, BigRandMetrics.counters("BigRand64"));
+        return metrics;
     }
 
     /**
@@ -67,10 +166,24 @@ public class BigRand64 {
      * @param seed Does nothing if 0.
      * @return pseudo random number
      */
-    @SuppressWarnings("DuplicatedCode")
     public long randSeeded(
             final long x,
             final long seed
+    ) {
+        return mix(x, seed, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * The actual mixing function behind {@link BigRand64#randSeeded(long, long)}. Static and only working on its
+     * arguments so loops can keep the noise values in registers.
+     */
+    @SuppressWarnings("DuplicatedCode")
+    static long mix(
+            final long x,
+            final long seed,
+            final long bitNoise1,
+            final long bitNoise2,
+            final long bitNoise3
     ) {
         long result = x;
         result *= bitNoise1;
@@ -151,6 +264,1672 @@ public class BigRand64 {
         return randSeeded(x, y, z, defaultSeed);
     }
 
+    // ======================= bulk functions =======================
+
+    /**
+     * Fill dst with random numbers for consecutive x values. Same result as calling
+     * {@link BigRand64#randSeeded(long, long)} for every element, but without re-reading the noise values per element.
+     *
+     * @param dst    Array to write to.
+     * @param offset First index in dst to write.
+     * @param length Number of values to generate.
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param seed   Does nothing if 0.
+     */
+    public void fillSeeded(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        fillScalar(dst, offset, length, startX, seed);
+        if (null != recording) {
+            recording.end(metrics(), "fillSeeded", length, 1);
+        }
+    }
+
+    /**
+     * fillSeeded without recording, the scalar fallback of {@link BigRandVector}.
+     */
+    void fillScalar(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = mix(startX + i, seed, n1, n2, n3);
+        }
+    }
+
+    /**
+     * Fill dst with random numbers for consecutive x values in row y.
+     *
+     * @see BigRand64#fillSeeded(long[], int, int, long, long)
+     * @see BigRand64#randSeeded(long, long, long)
+     */
+    public void fillSeeded(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long y,
+            final long seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        fillScalar(dst, offset, length, startX + (prime1 * y), seed);
+        if (null != recording) {
+            recording.end(metrics(), "fillSeeded", length, 2);
+        }
+    }
+
+    /**
+     * Fill dst with random numbers for consecutive x values in row y of layer z.
+     *
+     * @see BigRand64#fillSeeded(long[], int, int, long, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     */
+    public void fillSeeded(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long y,
+            final long z,
+            final long seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        fillScalar(dst, offset, length, startX + (prime1 * y) + (prime2 * z), seed);
+        if (null != recording) {
+            recording.end(metrics(), "fillSeeded", length, 3);
+        }
+    }
+
+    /**
+     * Map every x in xs to its random number. Same result as calling {@link BigRand64#randSeeded(long, long)} for
+     * every element. xs and dst may be the same array if both offsets are the same.
+     *
+     * @param xs      Base numbers for calculation.
+     * @param xOffset First index in xs to read.
+     * @param dst     Array to write to.
+     * @param offset  First index in dst to write.
+     * @param length  Number of values to generate.
+     * @param seed    Does nothing if 0.
+     */
+    public void gatherSeeded(
+            final long[] xs,
+            final int xOffset,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        gatherScalar(xs, xOffset, dst, offset, length, seed);
+        if (null != recording) {
+            recording.end(metrics(), "gatherSeeded", length, 1);
+        }
+    }
+
+    /**
+     * gatherSeeded without recording, the scalar fallback of {@link BigRandVector}.
+     */
+    void gatherScalar(
+            final long[] xs,
+            final int xOffset,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(xOffset, length, xs.length);
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = mix(xs[xOffset + i], seed, n1, n2, n3);
+        }
+    }
+
+    /**
+     * Map every (x, y) pair read from xs and ys to its random number.
+     *
+     * @see BigRand64#gatherSeeded(long[], int, long[], int, int, long)
+     * @see BigRand64#randSeeded(long, long, long)
+     */
+    public void gatherSeeded(
+            final long[] xs,
+            final long[] ys,
+            final int srcOffset,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(srcOffset, length, xs.length);
+        Preconditions.checkFromIndexSize(srcOffset, length, ys.length);
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        final long p1 = prime1;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = mix(xs[srcOffset + i] + (p1 * ys[srcOffset + i]), seed, n1, n2, n3);
+        }
+        if (null != recording) {
+            recording.end(metrics(), "gatherSeeded", length, 2);
+        }
+    }
+
+    /**
+     * Map every (x, y, z) triple read from xs, ys and zs to its random number.
+     *
+     * @see BigRand64#gatherSeeded(long[], int, long[], int, int, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     */
+    public void gatherSeeded(
+            final long[] xs,
+            final long[] ys,
+            final long[] zs,
+            final int srcOffset,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(srcOffset, length, xs.length);
+        Preconditions.checkFromIndexSize(srcOffset, length, ys.length);
+        Preconditions.checkFromIndexSize(srcOffset, length, zs.length);
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        final long p1 = prime1;
+        final long p2 = prime2;
+        for (int i = 0; i < length; i++) {
+            final int src = srcOffset + i;
+            dst[offset + i] = mix(xs[src] + (p1 * ys[src]) + (p2 * zs[src]), seed, n1, n2, n3);
+        }
+        if (null != recording) {
+            recording.end(metrics(), "gatherSeeded", length, 3);
+        }
+    }
+
+    /**
+     * @see BigRand64#fillSeeded(long[], int, int, long, long) with seed=0
+     */
+    public void fill(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX
+    ) {
+        fillSeeded(dst, offset, length, startX, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#fillSeeded(long[], int, int, long, long, long) with seed=0
+     */
+    public void fill(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long y
+    ) {
+        fillSeeded(dst, offset, length, startX, y, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#fillSeeded(long[], int, int, long, long, long, long) with seed=0
+     */
+    public void fill(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long y,
+            final long z
+    ) {
+        fillSeeded(dst, offset, length, startX, y, z, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#gatherSeeded(long[], int, long[], int, int, long) with seed=0
+     */
+    public void gather(
+            final long[] xs,
+            final int xOffset,
+            final long[] dst,
+            final int offset,
+            final int length
+    ) {
+        gatherSeeded(xs, xOffset, dst, offset, length, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#gatherSeeded(long[], long[], int, long[], int, int, long) with seed=0
+     */
+    public void gather(
+            final long[] xs,
+            final long[] ys,
+            final int srcOffset,
+            final long[] dst,
+            final int offset,
+            final int length
+    ) {
+        gatherSeeded(xs, ys, srcOffset, dst, offset, length, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#gatherSeeded(long[], long[], long[], int, long[], int, int, long) with seed=0
+     */
+    public void gather(
+            final long[] xs,
+            final long[] ys,
+            final long[] zs,
+            final int srcOffset,
+            final long[] dst,
+            final int offset,
+            final int length
+    ) {
+        gatherSeeded(xs, ys, zs, srcOffset, dst, offset, length, defaultSeed);
+    }
+
+    // ======================= tiles =======================
+
+    /**
+     * Fill dst with the random numbers of a width x height tile starting at (originX, originY). Same result as calling
+     * {@link BigRand64#randSeeded(long, long, long)} for every cell, but the linear combination of the coordinates is
+     * updated incrementally and rows run through the bulk functions.
+     *
+     * @param dst     Array to write to.
+     * @param offset  First index in dst to write.
+     * @param layout  Order of the cells in dst, see {@link TileLayout#index(int, int, int, int)}.
+     * @param originX x of the first cell.
+     * @param originY y of the first cell.
+     * @param width   Number of cells in x direction.
+     * @param height  Number of cells in y direction.
+     * @param seed    Does nothing if 0.
+     * @throws IllegalArgumentException if the extents are invalid for the layout
+     */
+    @SuppressWarnings("DuplicatedCode")
+    public void fillTileSeeded(
+            final long[] dst,
+            final int offset,
+            final TileLayout layout,
+            final long originX,
+            final long originY,
+            final int width,
+            final int height,
+            final long seed
+    ) {
+        final int size = layout.size(width, height);
+        Preconditions.checkFromIndexSize(offset, size, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final long p1 = prime1;
+        final long base = originX + (p1 * originY);
+        if (layout == TileLayout.ROW_MAJOR) {
+            long row = base;
+            for (int j = 0; j < height; j++) {
+                BigRandVector.fill(this, dst, offset + j * width, width, row, seed);
+                row += p1;
+            }
+        } else if (size == 1) {
+            dst[offset] = mix(base, seed, bitNoise1, bitNoise2, bitNoise3);
+        } else if (size > 1) {
+            final long n1 = bitNoise1;
+            final long n2 = bitNoise2;
+            final long n3 = bitNoise3;
+            final long[] rows = axisOffsets(p1, height);
+            // one 2x2 quad per step, the lowest two Morton bits are x and y
+            for (int m = 0; m < size; m += 4) {
+                final long c = base + TileLayout.compact2(m) + rows[TileLayout.compact2(m >>> 1)];
+                final int o = offset + m;
+                dst[o] = mix(c, seed, n1, n2, n3);
+                dst[o + 1] = mix(c + 1, seed, n1, n2, n3);
+                dst[o + 2] = mix(c + p1, seed, n1, n2, n3);
+                dst[o + 3] = mix(c + p1 + 1, seed, n1, n2, n3);
+            }
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillTileSeeded", size, 2);
+        }
+    }
+
+    /**
+     * Fill dst with the random numbers of a width x height x depth tile starting at (originX, originY, originZ).
+     *
+     * @see BigRand64#fillTileSeeded(long[], int, TileLayout, long, long, int, int, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     * @see TileLayout#index(int, int, int, int, int, int)
+     */
+    @SuppressWarnings("DuplicatedCode")
+    public void fillTileSeeded(
+            final long[] dst,
+            final int offset,
+            final TileLayout layout,
+            final long originX,
+            final long originY,
+            final long originZ,
+            final int width,
+            final int height,
+            final int depth,
+            final long seed
+    ) {
+        final int size = layout.size(width, height, depth);
+        Preconditions.checkFromIndexSize(offset, size, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final long p1 = prime1;
+        final long p2 = prime2;
+        final long base = originX + (p1 * originY) + (p2 * originZ);
+        if (layout == TileLayout.ROW_MAJOR) {
+            long layer = base;
+            int o = offset;
+            for (int k = 0; k < depth; k++) {
+                long row = layer;
+                for (int j = 0; j < height; j++) {
+                    BigRandVector.fill(this, dst, o, width, row, seed);
+                    o += width;
+                    row += p1;
+                }
+                layer += p2;
+            }
+        } else if (size == 1) {
+            dst[offset] = mix(base, seed, bitNoise1, bitNoise2, bitNoise3);
+        } else if (size > 1) {
+            final long n1 = bitNoise1;
+            final long n2 = bitNoise2;
+            final long n3 = bitNoise3;
+            final long[] rows = axisOffsets(p1, height);
+            final long[] layers = axisOffsets(p2, depth);
+            // one 2x2x2 cube per step, the lowest three Morton bits are x, y and z
+            for (int m = 0; m < size; m += 8) {
+                final long c = base + TileLayout.compact3(m) + rows[TileLayout.compact3(m >>> 1)]
+                        + layers[TileLayout.compact3(m >>> 2)];
+                final long cz = c + p2;
+                final int o = offset + m;
+                dst[o] = mix(c, seed, n1, n2, n3);
+                dst[o + 1] = mix(c + 1, seed, n1, n2, n3);
+                dst[o + 2] = mix(c + p1, seed, n1, n2, n3);
+                dst[o + 3] = mix(c + p1 + 1, seed, n1, n2, n3);
+                dst[o + 4] = mix(cz, seed, n1, n2, n3);
+                dst[o + 5] = mix(cz + 1, seed, n1, n2, n3);
+                dst[o + 6] = mix(cz + p1, seed, n1, n2, n3);
+                dst[o + 7] = mix(cz + p1 + 1, seed, n1, n2, n3);
+            }
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillTileSeeded", size, 3);
+        }
+    }
+
+    /**
+     * @see BigRand64#fillTileSeeded(long[], int, TileLayout, long, long, int, int, long) with seed=0
+     */
+    public void fillTile(
+            final long[] dst,
+            final int offset,
+            final TileLayout layout,
+            final long originX,
+            final long originY,
+            final int width,
+            final int height
+    ) {
+        fillTileSeeded(dst, offset, layout, originX, originY, width, height, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#fillTileSeeded(long[], int, TileLayout, long, long, long, int, int, int, long) with seed=0
+     */
+    public void fillTile(
+            final long[] dst,
+            final int offset,
+            final TileLayout layout,
+            final long originX,
+            final long originY,
+            final long originZ,
+            final int width,
+            final int height,
+            final int depth
+    ) {
+        fillTileSeeded(dst, offset, layout, originX, originY, originZ, width, height, depth, defaultSeed);
+    }
+
+    /**
+     * @return step * i for i in [0, count), built by addition
+     */
+    private static long[] axisOffsets(
+            final long step,
+            final int count
+    ) {
+        final long[] result = new long[count];
+        for (int i = 1; i < count; i++) {
+            result[i] = result[i - 1] + step;
+        }
+        return result;
+    }
+
+    // ======================= streams =======================
+
+    /**
+     * Stream of random numbers for x in [startX, startX + count). Backed by a spliterator that splits evenly without
+     * generating anything, so it works well with parallel streams.
+     *
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param count  Number of values in the stream.
+     * @param seed   Does nothing if 0.
+     * @return sized and ordered stream of pseudo random numbers
+     */
+    public LongStream longs(
+            final long startX,
+            final long count,
+            final long seed
+    ) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        return StreamSupport.longStream(
+                new BigRand64Spliterator(startX, seed, bitNoise1, bitNoise2, bitNoise3, 0, count),
+                false
+        );
+    }
+
+    /**
+     * Stream of random numbers for x in [startX, startX + count) in row y.
+     *
+     * @see BigRand64#longs(long, long, long)
+     * @see BigRand64#randSeeded(long, long, long)
+     */
+    public LongStream longs(
+            final long startX,
+            final long y,
+            final long count,
+            final long seed
+    ) {
+        return longs(startX + (prime1 * y), count, seed);
+    }
+
+    /**
+     * Stream of random numbers for x in [startX, startX + count) in row y of layer z.
+     *
+     * @see BigRand64#longs(long, long, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     */
+    public LongStream longs(
+            final long startX,
+            final long y,
+            final long z,
+            final long count,
+            final long seed
+    ) {
+        return longs(startX + (prime1 * y) + (prime2 * z), count, seed);
+    }
+
+    // ======================= sampling =======================
+
+    /**
+     * Uniform random sample of k distinct indices of [0, n) without replacement, in ascending order. The skips between
+     * the indices are drawn with Vitter's Algorithm D, so the stream takes O(k) time and O(1) memory no matter how big
+     * n is. The u-th uniform number used is based on randSeeded(u, seed), so the same arguments always give the same
+     * sample.
+     *
+     * @param n    Size of the population.
+     * @param k    Sample size, at most n.
+     * @param seed Selects the sample.
+     * @return sorted and distinct indices
+     * @see BigRandReservoir for samples of streams of unknown size
+     */
+    public LongStream sampleSeeded(
+            final long n,
+            final long k,
+            final long seed
+    ) {
+        if (n < 0 || k < 0 || k > n) {
+            throw new IllegalArgumentException(String.format("invalid sample size n=%d, k=%d", n, k));
+        }
+        return StreamSupport.longStream(Spliterators.spliterator(
+                new VitterSelection(this, n, k, seed), k,
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL
+                        | Spliterator.IMMUTABLE
+        ), false);
+    }
+
+    /**
+     * @see BigRand64#sampleSeeded(long, long, long) with seed=0
+     */
+    public LongStream sample(
+            final long n,
+            final long k
+    ) {
+        return sampleSeeded(n, k, defaultSeed);
+    }
+
+    // ======================= wide output =======================
+
+    /**
+     * Generate a 128-bit random number based on x and seed. Combines randSeeded(x, seed) and
+     * idSeeded(x, subSeed(seed, 1)) through the upper halves of 128-bit products, so it costs two mixes and two
+     * multiplications but no allocation.<br/>
+     * <br/>
+     * All 128 bits look random, but the value is a function of the 64-bit x, so one seed has at most 2^64 different
+     * values and not 128 bits of entropy. randSeeded alone repeats at x + 2^62 with the default constants, the
+     * bijective idSeeded half makes the pair repeat only after 2^64 values of x.
+     *
+     * @param x      Base number for calculation.
+     * @param seed   Does nothing if 0.
+     * @param dst    Array to write the upper 64 bits to dst[offset] and the lower 64 bits to dst[offset + 1].
+     * @param offset First index in dst to write.
+     */
+    public void rand128Seeded(
+            final long x,
+            final long seed,
+            final long[] dst,
+            final int offset
+    ) {
+        Preconditions.checkFromIndexSize(offset, 2, dst.length);
+        final long a = mix(x, seed, bitNoise1, bitNoise2, bitNoise3);
+        final long b = idMix(x, seed + SUB_SEED_STEP, bitNoise1, bitNoise2, bitNoise3);
+        dst[offset] = wideHigh(a, b);
+        dst[offset + 1] = wideLow(a, b);
+    }
+
+    /**
+     * @see BigRand64#rand128Seeded(long, long, long[], int) with seed=0
+     */
+    public void rand128(
+            final long x,
+            final long[] dst,
+            final int offset
+    ) {
+        rand128Seeded(x, defaultSeed, dst, offset);
+    }
+
+    /**
+     * Bulk version of {@link BigRand64#rand128Seeded(long, long, long[], int)}, writes count pairs of upper and lower
+     * 64 bits to dst[offset, offset + 2 * count) for consecutive x values.
+     */
+    public void fill128Seeded(
+            final long[] dst,
+            final int offset,
+            final int count,
+            final long startX,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, 2 * count, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        fill128(dst, offset, count, startX, seed);
+        if (null != recording) {
+            recording.end(metrics(), "fill128Seeded", count, 1);
+        }
+    }
+
+    /**
+     * Bits of a random (version 4, IETF variant) UUID based on x and seed, 122 bits from
+     * {@link BigRand64#rand128Seeded(long, long, long[], int)}. Like there these bits carry at most 64 bits of entropy
+     * per seed: UUIDs of different x and the same seed are distinct in practice, but x and seed must not be guessable
+     * if the UUIDs need to be.
+     *
+     * @param dst    Array to write the most significant bits to dst[offset] and the least significant bits to
+     *               dst[offset + 1], see {@link UUID#UUID(long, long)}.
+     * @param offset First index in dst to write.
+     */
+    public void uuidSeeded(
+            final long x,
+            final long seed,
+            final long[] dst,
+            final int offset
+    ) {
+        rand128Seeded(x, seed, dst, offset);
+        dst[offset] = toUuidMostSignificant(dst[offset]);
+        dst[offset + 1] = toUuidLeastSignificant(dst[offset + 1]);
+    }
+
+    /**
+     * @return UUID with the bits of {@link BigRand64#uuidSeeded(long, long, long[], int)}
+     */
+    public UUID uuidSeeded(
+            final long x,
+            final long seed
+    ) {
+        final long a = mix(x, seed, bitNoise1, bitNoise2, bitNoise3);
+        final long b = idMix(x, seed + SUB_SEED_STEP, bitNoise1, bitNoise2, bitNoise3);
+        return new UUID(toUuidMostSignificant(wideHigh(a, b)), toUuidLeastSignificant(wideLow(a, b)));
+    }
+
+    /**
+     * @see BigRand64#uuidSeeded(long, long) with seed=0
+     */
+    public UUID uuid(final long x) {
+        return uuidSeeded(x, defaultSeed);
+    }
+
+    /**
+     * Bulk version of {@link BigRand64#uuidSeeded(long, long, long[], int)}, writes count pairs of most and least
+     * significant bits to dst[offset, offset + 2 * count) for consecutive x values.
+     */
+    public void fillUuidSeeded(
+            final long[] dst,
+            final int offset,
+            final int count,
+            final long startX,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, 2 * count, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        fill128(dst, offset, count, startX, seed);
+        for (int i = offset; i < offset + 2 * count; i += 2) {
+            dst[i] = toUuidMostSignificant(dst[i]);
+            dst[i + 1] = toUuidLeastSignificant(dst[i + 1]);
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillUuidSeeded", count, 1);
+        }
+    }
+
+    /**
+     * Fill dst with random bytes. The bytes form one stream per seed: byte p is byte p mod 16 of the 128-bit value
+     * of x = floor(p / 16) in little-endian order, lower 64 bits first. So every byte position is reproducible and any
+     * part of the stream can be generated on its own. Whole 16 byte blocks are written 8 bytes at a time.<br/>
+     * <br/>
+     * Every long is a position, negative ones included, so the stream has 2^64 bytes from 2^60 values of x. Positions
+     * wrap around like long arithmetic: the byte after position Long.MAX_VALUE is the one at Long.MIN_VALUE, and the
+     * stream repeats after 2^64 bytes.
+     *
+     * @param dst      Array to write to.
+     * @param offset   First index in dst to write.
+     * @param length   Number of bytes to generate.
+     * @param position Position of the first byte in the stream.
+     * @param seed     Does nothing if 0.
+     */
+    public void fillBytesSeeded(
+            final byte[] dst,
+            final int offset,
+            final int length,
+            final long position,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        final long seed2 = seed + SUB_SEED_STEP;
+        int i = 0;
+        while (i < length) {
+            final long x = (position + i) >> 4;
+            final int from = (int) ((position + i) & 15);
+            final long a = mix(x, seed, n1, n2, n3);
+            final long b = idMix(x, seed2, n1, n2, n3);
+            final long low = wideLow(a, b);
+            final long high = wideHigh(a, b);
+            if (from == 0 && length - i >= 16) {
+                ByteArrays.putLongLE(dst, offset + i, low);
+                ByteArrays.putLongLE(dst, offset + i + 8, high);
+                i += 16;
+            } else {
+                // unaligned head or short tail
+                for (int k = from; k < 16 && i < length; k++) {
+                    dst[offset + i++] = wideByte(low, high, k);
+                }
+            }
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillBytesSeeded", length, 1);
+        }
+    }
+
+    /**
+     * Fill the remaining bytes of dst, heap or direct, and move its position to the limit. Same bytes as
+     * {@link BigRand64#fillBytesSeeded(byte[], int, int, long, long)} no matter the byte order of dst.
+     *
+     * @param position Position of the byte at dst.position() in the stream.
+     */
+    public void fillBytesSeeded(
+            final ByteBuffer dst,
+            final long position,
+            final long seed
+    ) {
+        if (dst.isReadOnly()) {
+            throw new ReadOnlyBufferException();
+        }
+        final BatchRecording recording = BatchRecording.begin();
+        final int start = dst.position();
+        final int length = dst.remaining();
+        final boolean swap = dst.order() != ByteOrder.LITTLE_ENDIAN;
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        final long seed2 = seed + SUB_SEED_STEP;
+        int i = 0;
+        while (i < length) {
+            final long x = (position + i) >> 4;
+            final int from = (int) ((position + i) & 15);
+            final long a = mix(x, seed, n1, n2, n3);
+            final long b = idMix(x, seed2, n1, n2, n3);
+            final long low = wideLow(a, b);
+            final long high = wideHigh(a, b);
+            if (from == 0 && length - i >= 16) {
+                dst.putLong(start + i, swap ? Long.reverseBytes(low) : low);
+                dst.putLong(start + i + 8, swap ? Long.reverseBytes(high) : high);
+                i += 16;
+            } else {
+                for (int k = from; k < 16 && i < length; k++) {
+                    dst.put(start + i++, wideByte(low, high, k));
+                }
+            }
+        }
+        dst.position(start + length);
+        if (null != recording) {
+            recording.end(metrics(), "fillBytesSeeded", length, 1);
+        }
+    }
+
+    /**
+     * @see BigRand64#fillBytesSeeded(byte[], int, int, long, long) with seed=0
+     */
+    public void fillBytes(
+            final byte[] dst,
+            final int offset,
+            final int length,
+            final long position
+    ) {
+        fillBytesSeeded(dst, offset, length, position, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#fillBytesSeeded(ByteBuffer, long, long) with seed=0
+     */
+    public void fillBytes(
+            final ByteBuffer dst,
+            final long position
+    ) {
+        fillBytesSeeded(dst, position, defaultSeed);
+    }
+
+    private void fill128(
+            final long[] dst,
+            final int offset,
+            final int count,
+            final long startX,
+            final long seed
+    ) {
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        final long seed2 = seed + SUB_SEED_STEP;
+        for (int i = 0; i < count; i++) {
+            final long a = mix(startX + i, seed, n1, n2, n3);
+            final long b = idMix(startX + i, seed2, n1, n2, n3);
+            dst[offset + 2 * i] = wideHigh(a, b);
+            dst[offset + 2 * i + 1] = wideLow(a, b);
+        }
+    }
+
+    /**
+     * The upper halves of the 128-bit products depend on all bits of a and b, the lower halves bring in the missing
+     * top bit.
+     */
+    static long wideHigh(
+            final long a,
+            final long b
+    ) {
+        return LongMath.unsignedMultiplyHigh(b, WIDE_MULTIPLIER) ^ (a * WIDE_MULTIPLIER);
+    }
+
+    /**
+     * @see BigRand64#wideHigh(long, long)
+     */
+    static long wideLow(
+            final long a,
+            final long b
+    ) {
+        return LongMath.unsignedMultiplyHigh(a, WIDE_MULTIPLIER) ^ (b * WIDE_MULTIPLIER);
+    }
+
+    private static byte wideByte(
+            final long low,
+            final long high,
+            final int k
+    ) {
+        return (byte) (k < 8 ? low >>> (8 * k) : high >>> (8 * (k - 8)));
+    }
+
+    private static long toUuidMostSignificant(final long bits) {
+        return (bits & ~0xF000L) | 0x4000L;
+    }
+
+    private static long toUuidLeastSignificant(final long bits) {
+        return (bits & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    }
+
+    // ======================= bijective ids =======================
+
+    /**
+     * Unique id for counter. Same pipeline as {@link BigRand64#randSeeded(long, long)} but with the multipliers forced
+     * odd (bitNoise1 | 1, bitNoise3 | 1) and logical shifts in the xorshifts, so every step and thereby the whole
+     * function is a bijection of the 64-bit values: different counters never give the same id and all 64 bits are
+     * used. {@link BigRand64#inverseIdSeeded(long, long)} recovers the counter, so issued ids need neither a dedupe
+     * set nor a lookup table. Not the same values as randSeeded.
+     *
+     * @param counter Number to turn into an id.
+     * @param seed    Different seeds give different permutations.
+     * @return id of counter
+     */
+    public long idSeeded(
+            final long counter,
+            final long seed
+    ) {
+        return idMix(counter, seed, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * The bijection behind {@link BigRand64#idSeeded(long, long)}, static like {@link BigRand64#mix}.
+     */
+    @SuppressWarnings("DuplicatedCode")
+    static long idMix(
+            final long counter,
+            final long seed,
+            final long bitNoise1,
+            final long bitNoise2,
+            final long bitNoise3
+    ) {
+        long result = counter;
+        result *= bitNoise1 | 1;
+        result += seed;
+        result ^= (result >>> 8);
+        result += bitNoise2;
+        result ^= (result << 8);
+        result *= bitNoise3 | 1;
+        result ^= (result >>> 8);
+        return result;
+    }
+
+    /**
+     * Inverse of {@link BigRand64#idSeeded(long, long)}, every step undone in reverse order.
+     *
+     * @param id   Value returned by idSeeded.
+     * @param seed Seed the id was created with.
+     * @return counter with idSeeded(counter, seed) == id
+     */
+    public long inverseIdSeeded(
+            final long id,
+            final long seed
+    ) {
+        long result = unshiftRight8(id);
+        result *= idInverse3;
+        result = unshiftLeft8(result);
+        result -= bitNoise2;
+        result = unshiftRight8(result);
+        result -= seed;
+        result *= idInverse1;
+        return result;
+    }
+
+    /**
+     * @see BigRand64#idSeeded(long, long) with the default seed
+     */
+    public long id(final long counter) {
+        return idSeeded(counter, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#inverseIdSeeded(long, long) with the default seed
+     */
+    public long inverseId(final long id) {
+        return inverseIdSeeded(id, defaultSeed);
+    }
+
+    /**
+     * @return the inverse of odd modulo 2^64, by Newton's iteration doubling the correct low bits each step
+     */
+    static long inverseOdd(final long odd) {
+        // odd * odd == 1 modulo 8, so odd itself is correct in the lowest 3 bits
+        long inverse = odd;
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - odd * inverse;
+        }
+        return inverse;
+    }
+
+    /**
+     * Inverse of v ^= v >>> 8.
+     */
+    private static long unshiftRight8(final long v) {
+        long result = v ^ (v >>> 8);
+        result ^= result >>> 16;
+        result ^= result >>> 32;
+        return result;
+    }
+
+    /**
+     * Inverse of v ^= v << 8.
+     */
+    private static long unshiftLeft8(final long v) {
+        long result = v ^ (v << 8);
+        result ^= result << 16;
+        result ^= result << 32;
+        return result;
+    }
+
+    // ======================= bounded and floating point =======================
+
+    /**
+     * Seed of an additional stream derived from seed. Used wherever one coordinate needs more than one random number,
+     * for example the rejected samples of the bounded functions: attempt n draws randSeeded(x, subSeed(seed, n)).
+     * Stream 0 is seed itself.
+     *
+     * @param seed   Base seed.
+     * @param stream Number of the stream.
+     * @return seed for the stream
+     */
+    public static long subSeed(
+            final long seed,
+            final long stream
+    ) {
+        return seed + stream * SUB_SEED_STEP;
+    }
+
+    /**
+     * Generate an unbiased random number in [0, bound) based on x and seed. Uses Lemire's multiply-shift instead of a
+     * division. The rare rejected samples are redrawn from x with {@link BigRand64#subSeed(long, long)}, so the result
+     * only depends on the arguments.
+     *
+     * @param bound Upper bound (exclusive), must be positive.
+     * @param x     Base number for calculation.
+     * @param seed  Does nothing if 0.
+     * @return pseudo random number in [0, bound)
+     */
+    public long randBoundedSeeded(
+            final long bound,
+            final long x,
+            final long seed
+    ) {
+        checkBound(bound);
+        return bounded(x, seed, bound, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand64#randBoundedSeeded(long, long, long)
+     * @see BigRand64#randSeeded(long, long, long)
+     */
+    public long randBoundedSeeded(
+            final long bound,
+            final long x,
+            final long y,
+            final long seed
+    ) {
+        checkBound(bound);
+        return bounded(x + (prime1 * y), seed, bound, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand64#randBoundedSeeded(long, long, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     */
+    public long randBoundedSeeded(
+            final long bound,
+            final long x,
+            final long y,
+            final long z,
+            final long seed
+    ) {
+        checkBound(bound);
+        return bounded(x + (prime1 * y) + (prime2 * z), seed, bound, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand64#randBoundedSeeded(long, long, long) with seed=0
+     */
+    public long randBounded(
+            final long bound,
+            final long x
+    ) {
+        return randBoundedSeeded(bound, x, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#randBoundedSeeded(long, long, long, long) with seed=0
+     */
+    public long randBounded(
+            final long bound,
+            final long x,
+            final long y
+    ) {
+        return randBoundedSeeded(bound, x, y, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#randBoundedSeeded(long, long, long, long, long) with seed=0
+     */
+    public long randBounded(
+            final long bound,
+            final long x,
+            final long y,
+            final long z
+    ) {
+        return randBoundedSeeded(bound, x, y, z, defaultSeed);
+    }
+
+    /**
+     * Generate an unbiased random number in [lo, hi) based on x and seed. hi - lo may exceed Long.MAX_VALUE.
+     *
+     * @param lo   Lower bound (inclusive).
+     * @param hi   Upper bound (exclusive), must be greater than lo.
+     * @param x    Base number for calculation.
+     * @param seed Does nothing if 0.
+     * @return pseudo random number in [lo, hi)
+     * @see BigRand64#randBoundedSeeded(long, long, long)
+     */
+    public long randRangeSeeded(
+            final long lo,
+            final long hi,
+            final long x,
+            final long seed
+    ) {
+        checkRange(lo, hi);
+        return lo + bounded(x, seed, hi - lo, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand64#randRangeSeeded(long, long, long, long)
+     * @see BigRand64#randSeeded(long, long, long)
+     */
+    public long randRangeSeeded(
+            final long lo,
+            final long hi,
+            final long x,
+            final long y,
+            final long seed
+    ) {
+        checkRange(lo, hi);
+        return lo + bounded(x + (prime1 * y), seed, hi - lo, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand64#randRangeSeeded(long, long, long, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     */
+    public long randRangeSeeded(
+            final long lo,
+            final long hi,
+            final long x,
+            final long y,
+            final long z,
+            final long seed
+    ) {
+        checkRange(lo, hi);
+        return lo + bounded(x + (prime1 * y) + (prime2 * z), seed, hi - lo, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    /**
+     * @see BigRand64#randRangeSeeded(long, long, long, long) with seed=0
+     */
+    public long randRange(
+            final long lo,
+            final long hi,
+            final long x
+    ) {
+        return randRangeSeeded(lo, hi, x, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#randRangeSeeded(long, long, long, long, long) with seed=0
+     */
+    public long randRange(
+            final long lo,
+            final long hi,
+            final long x,
+            final long y
+    ) {
+        return randRangeSeeded(lo, hi, x, y, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#randRangeSeeded(long, long, long, long, long, long) with seed=0
+     */
+    public long randRange(
+            final long lo,
+            final long hi,
+            final long x,
+            final long y,
+            final long z
+    ) {
+        return randRangeSeeded(lo, hi, x, y, z, defaultSeed);
+    }
+
+    /**
+     * Generate a random double in [0, 1) based on x and seed, built from the upper 53 of the 63 bits randSeeded
+     * delivers (its sign bit is always 0).
+     *
+     * @param x    Base number for calculation.
+     * @param seed Does nothing if 0.
+     * @return pseudo random number in [0, 1)
+     */
+    public double randDoubleSeeded(
+            final long x,
+            final long seed
+    ) {
+        return toDouble(mix(x, seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand64#randDoubleSeeded(long, long)
+     * @see BigRand64#randSeeded(long, long, long)
+     */
+    public double randDoubleSeeded(
+            final long x,
+            final long y,
+            final long seed
+    ) {
+        return toDouble(mix(x + (prime1 * y), seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand64#randDoubleSeeded(long, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     */
+    public double randDoubleSeeded(
+            final long x,
+            final long y,
+            final long z,
+            final long seed
+    ) {
+        return toDouble(mix(x + (prime1 * y) + (prime2 * z), seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand64#randDoubleSeeded(long, long) with seed=0
+     */
+    public double randDouble(
+            final long x
+    ) {
+        return randDoubleSeeded(x, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#randDoubleSeeded(long, long, long) with seed=0
+     */
+    public double randDouble(
+            final long x,
+            final long y
+    ) {
+        return randDoubleSeeded(x, y, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#randDoubleSeeded(long, long, long, long) with seed=0
+     */
+    public double randDouble(
+            final long x,
+            final long y,
+            final long z
+    ) {
+        return randDoubleSeeded(x, y, z, defaultSeed);
+    }
+
+    /**
+     * Generate a random float in [0, 1) based on x and seed, built from the upper 24 of the 63 bits randSeeded
+     * delivers (its sign bit is always 0).
+     *
+     * @param x    Base number for calculation.
+     * @param seed Does nothing if 0.
+     * @return pseudo random number in [0, 1)
+     */
+    public float randFloatSeeded(
+            final long x,
+            final long seed
+    ) {
+        return toFloat(mix(x, seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand64#randFloatSeeded(long, long)
+     * @see BigRand64#randSeeded(long, long, long)
+     */
+    public float randFloatSeeded(
+            final long x,
+            final long y,
+            final long seed
+    ) {
+        return toFloat(mix(x + (prime1 * y), seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand64#randFloatSeeded(long, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     */
+    public float randFloatSeeded(
+            final long x,
+            final long y,
+            final long z,
+            final long seed
+    ) {
+        return toFloat(mix(x + (prime1 * y) + (prime2 * z), seed, bitNoise1, bitNoise2, bitNoise3));
+    }
+
+    /**
+     * @see BigRand64#randFloatSeeded(long, long) with seed=0
+     */
+    public float randFloat(
+            final long x
+    ) {
+        return randFloatSeeded(x, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#randFloatSeeded(long, long, long) with seed=0
+     */
+    public float randFloat(
+            final long x,
+            final long y
+    ) {
+        return randFloatSeeded(x, y, defaultSeed);
+    }
+
+    /**
+     * @see BigRand64#randFloatSeeded(long, long, long, long) with seed=0
+     */
+    public float randFloat(
+            final long x,
+            final long y,
+            final long z
+    ) {
+        return randFloatSeeded(x, y, z, defaultSeed);
+    }
+
+    /**
+     * Bulk version of {@link BigRand64#randBoundedSeeded(long, long, long)} for consecutive x values.
+     *
+     * @param dst    Array to write to.
+     * @param offset First index in dst to write.
+     * @param length Number of values to generate.
+     * @param bound  Upper bound (exclusive), must be positive.
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param seed   Does nothing if 0.
+     */
+    public void fillBoundedSeeded(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long bound,
+            final long startX,
+            final long seed
+    ) {
+        fillBounded(dst, offset, length, bound, startX, seed, 1);
+    }
+
+    private void fillBounded(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long bound,
+            final long startX,
+            final long seed,
+            final int dimensions
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        checkBound(bound);
+        final BatchRecording recording = BatchRecording.begin();
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = bounded(startX + i, seed, bound, n1, n2, n3);
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillBoundedSeeded", length, dimensions);
+        }
+    }
+
+    /**
+     * @see BigRand64#fillBoundedSeeded(long[], int, int, long, long, long)
+     * @see BigRand64#randSeeded(long, long, long)
+     */
+    public void fillBoundedSeeded(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long bound,
+            final long startX,
+            final long y,
+            final long seed
+    ) {
+        fillBounded(dst, offset, length, bound, startX + (prime1 * y), seed, 2);
+    }
+
+    /**
+     * @see BigRand64#fillBoundedSeeded(long[], int, int, long, long, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     */
+    public void fillBoundedSeeded(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long bound,
+            final long startX,
+            final long y,
+            final long z,
+            final long seed
+    ) {
+        fillBounded(dst, offset, length, bound, startX + (prime1 * y) + (prime2 * z), seed, 3);
+    }
+
+    /**
+     * Bulk version of {@link BigRand64#randRangeSeeded(long, long, long, long)} for consecutive x values.
+     *
+     * @param dst    Array to write to.
+     * @param offset First index in dst to write.
+     * @param length Number of values to generate.
+     * @param lo     Lower bound (inclusive).
+     * @param hi     Upper bound (exclusive), must be greater than lo.
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param seed   Does nothing if 0.
+     */
+    public void fillRangeSeeded(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long lo,
+            final long hi,
+            final long startX,
+            final long seed
+    ) {
+        fillRange(dst, offset, length, lo, hi, startX, seed, 1);
+    }
+
+    private void fillRange(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long lo,
+            final long hi,
+            final long startX,
+            final long seed,
+            final int dimensions
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        checkRange(lo, hi);
+        final BatchRecording recording = BatchRecording.begin();
+        final long bound = hi - lo;
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = lo + bounded(startX + i, seed, bound, n1, n2, n3);
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillRangeSeeded", length, dimensions);
+        }
+    }
+
+    /**
+     * @see BigRand64#fillRangeSeeded(long[], int, int, long, long, long, long)
+     * @see BigRand64#randSeeded(long, long, long)
+     */
+    public void fillRangeSeeded(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long lo,
+            final long hi,
+            final long startX,
+            final long y,
+            final long seed
+    ) {
+        fillRange(dst, offset, length, lo, hi, startX + (prime1 * y), seed, 2);
+    }
+
+    /**
+     * @see BigRand64#fillRangeSeeded(long[], int, int, long, long, long, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     */
+    public void fillRangeSeeded(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long lo,
+            final long hi,
+            final long startX,
+            final long y,
+            final long z,
+            final long seed
+    ) {
+        fillRange(dst, offset, length, lo, hi, startX + (prime1 * y) + (prime2 * z), seed, 3);
+    }
+
+    /**
+     * Bulk version of {@link BigRand64#randDoubleSeeded(long, long)} for consecutive x values.
+     *
+     * @param dst    Array to write to.
+     * @param offset First index in dst to write.
+     * @param length Number of values to generate.
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param seed   Does nothing if 0.
+     */
+    public void fillDoubleSeeded(
+            final double[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        fillDouble(dst, offset, length, startX, seed, 1);
+    }
+
+    private void fillDouble(
+            final double[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed,
+            final int dimensions
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = toDouble(mix(startX + i, seed, n1, n2, n3));
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillDoubleSeeded", length, dimensions);
+        }
+    }
+
+    /**
+     * @see BigRand64#fillDoubleSeeded(double[], int, int, long, long)
+     * @see BigRand64#randSeeded(long, long, long)
+     */
+    public void fillDoubleSeeded(
+            final double[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long y,
+            final long seed
+    ) {
+        fillDouble(dst, offset, length, startX + (prime1 * y), seed, 2);
+    }
+
+    /**
+     * @see BigRand64#fillDoubleSeeded(double[], int, int, long, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     */
+    public void fillDoubleSeeded(
+            final double[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long y,
+            final long z,
+            final long seed
+    ) {
+        fillDouble(dst, offset, length, startX + (prime1 * y) + (prime2 * z), seed, 3);
+    }
+
+    /**
+     * Bulk version of {@link BigRand64#randFloatSeeded(long, long)} for consecutive x values.
+     *
+     * @param dst    Array to write to.
+     * @param offset First index in dst to write.
+     * @param length Number of values to generate.
+     * @param startX Base number for the first value, incremented by one for every further value.
+     * @param seed   Does nothing if 0.
+     */
+    public void fillFloatSeeded(
+            final float[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        fillFloat(dst, offset, length, startX, seed, 1);
+    }
+
+    private void fillFloat(
+            final float[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed,
+            final int dimensions
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = toFloat(mix(startX + i, seed, n1, n2, n3));
+        }
+        if (null != recording) {
+            recording.end(metrics(), "fillFloatSeeded", length, dimensions);
+        }
+    }
+
+    /**
+     * @see BigRand64#fillFloatSeeded(float[], int, int, long, long)
+     * @see BigRand64#randSeeded(long, long, long)
+     */
+    public void fillFloatSeeded(
+            final float[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long y,
+            final long seed
+    ) {
+        fillFloat(dst, offset, length, startX + (prime1 * y), seed, 2);
+    }
+
+    /**
+     * @see BigRand64#fillFloatSeeded(float[], int, int, long, long)
+     * @see BigRand64#randSeeded(long, long, long, long)
+     */
+    public void fillFloatSeeded(
+            final float[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long y,
+            final long z,
+            final long seed
+    ) {
+        fillFloat(dst, offset, length, startX + (prime1 * y) + (prime2 * z), seed, 3);
+    }
+
+    /**
+     * Unbiased number in [0, bound) for the combined coordinate c with unsigned bound != 0. Lemire's multiply-shift
+     * works on the 63 bits mix() delivers, bounds from 2^63 on need 64 bits which are taken from two draws.
+     */
+    @SuppressWarnings("DuplicatedCode")
+    static long bounded(
+            final long c,
+            final long seed,
+            final long bound,
+            final long bitNoise1,
+            final long bitNoise2,
+            final long bitNoise3
+    ) {
+        if (bound > 0) {
+            final long r = mix(c, seed, bitNoise1, bitNoise2, bitNoise3);
+            final long low = r * bound;
+            // low bits >= bound are always above the rejection threshold
+            if ((low & Long.MAX_VALUE) >= bound) {
+                return (LongMath.multiplyHigh(r, bound) << 1) | (low >>> 63);
+            }
+        }
+        return boundedRejecting(c, seed, bound, bitNoise1, bitNoise2, bitNoise3);
+    }
+
+    private static long boundedRejecting(
+            final long c,
+            final long seed,
+            final long bound,
+            final long bitNoise1,
+            final long bitNoise2,
+            final long bitNoise3
+    ) {
+        if (bound > 0) {
+            // 2^63 mod bound
+            final long threshold = Long.remainderUnsigned(Long.MIN_VALUE, bound);
+            for (long attempt = 0; ; attempt++) {
+                final long r = mix(c, subSeed(seed, attempt), bitNoise1, bitNoise2, bitNoise3);
+                final long low = r * bound;
+                if ((low & Long.MAX_VALUE) >= threshold) {
+                    return (LongMath.multiplyHigh(r, bound) << 1) | (low >>> 63);
+                }
+            }
+        }
+        for (long attempt = 0; ; attempt += 2) {
+            final long r = (mix(c, subSeed(seed, attempt), bitNoise1, bitNoise2, bitNoise3) << 1)
+                    | (mix(c, subSeed(seed, attempt + 1), bitNoise1, bitNoise2, bitNoise3) & 1L);
+            if (Long.compareUnsigned(r, bound) < 0) {
+                return r;
+            }
+        }
+    }
+
+    static double toDouble(final long r) {
+        return (r >>> 10) * 0x1.0p-53;
+    }
+
+    static float toFloat(final long r) {
+        return (int) (r >>> 39) * 0x1.0p-24f;
+    }
+
+    private static void checkBound(final long bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound must be positive: " + bound);
+        }
+    }
+
+    private static void checkRange(
+            final long lo,
+            final long hi
+    ) {
+        if (hi <= lo) {
+            throw new IllegalArgumentException(String.format("hi must be greater than lo: lo=%d, hi=%d", lo, hi));
+        }
+    }
+
+    /**
+     * Legacy seed of a string, the sum of the chars plus a constant per char. Kept for compatibility with existing
+     * seeds, but anagrams like "ab" and "ba" get the same seed. Use {@link SeedHash#hash64(CharSequence)} or a
+     * {@link SeedCache} for new code.
+     */
     public static long toSeed(final String str) {
         if (null == str || str.length() < 1) {
             return 0L;
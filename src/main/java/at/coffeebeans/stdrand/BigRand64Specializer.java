@@ -0,0 +1,26 @@
+package at.coffeebeans.stdrand;
+
+/**
+ * Creates {@link BigRand64} instances with custom constants. This is the Java 8 version from the base of the
+ * multi-release jar which just uses the full constructor, the Java 17 version compiles the constants into a hidden
+ * class.
+ */
+final class BigRand64Specializer {
+
+    private BigRand64Specializer() {
+    }
+
+    /**
+     * @see BigRand64#withConstants(long, long, long, long, long, long)
+     */
+    static BigRand64 create(
+            final long defaultSeed,
+            final long bitNoise1,
+            final long bitNoise2,
+            final long bitNoise3,
+            final long prime1,
+            final long prime2
+    ) {
+        return new BigRand64(defaultSeed, bitNoise1, bitNoise2, bitNoise3, prime1, prime2);
+    }
+}
@@ -0,0 +1,86 @@
+package at.coffeebeans.stdrand;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * Spliterator over randSeeded(baseX + i, seed) for i in [index, fence). Splits in halves without touching any values.
+ *
+ * @see BigRand64#longs(long, long, long)
+ */
+final class BigRand64Spliterator implements Spliterator.OfLong {
+
+    private static final int CHARACTERISTICS = SIZED | SUBSIZED | ORDERED | IMMUTABLE | NONNULL;
+
+    private final long baseX;
+    private final long seed;
+    private final long bitNoise1;
+    private final long bitNoise2;
+    private final long bitNoise3;
+    private long index;
+    private final long fence;
+
+    BigRand64Spliterator(
+            final long baseX,
+            final long seed,
+            final long bitNoise1,
+            final long bitNoise2,
+            final long bitNoise3,
+            final long index,
+            final long fence
+    ) {
+        this.baseX = baseX;
+        this.seed = seed;
+        this.bitNoise1 = bitNoise1;
+        this.bitNoise2 = bitNoise2;
+        this.bitNoise3 = bitNoise3;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    @Override
+    public OfLong trySplit() {
+        final long lo = index;
+        final long mid = lo + ((fence - lo) >>> 1);
+        if (mid <= lo) {
+            return null;
+        }
+        index = mid;
+        return new BigRand64Spliterator(baseX, seed, bitNoise1, bitNoise2, bitNoise3, lo, mid);
+    }
+
+    @Override
+    public boolean tryAdvance(final LongConsumer action) {
+        if (index >= fence) {
+            return false;
+        }
+        action.accept(BigRand64.mix(baseX + index, seed, bitNoise1, bitNoise2, bitNoise3));
+        index++;
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final LongConsumer action) {
+        final long from = index;
+        final long to = fence;
+        index = to;
+        final long x = baseX;
+        final long s = seed;
+        final long n1 = bitNoise1;
+        final long n2 = bitNoise2;
+        final long n3 = bitNoise3;
+        for (long i = from; i < to; i++) {
+            action.accept(BigRand64.mix(x + i, s, n1, n2, n3));
+        }
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return CHARACTERISTICS;
+    }
+}
@@ -0,0 +1,239 @@
+package at.coffeebeans.stdrand;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the bulk generation per generator instance and in total: values generated, batches and time spent. A
+ * batch is one call of a public bulk function of {@link BigRand64}, {@link BigRand32}, {@link BigRandVector} or
+ * {@link BigRandPermutation}, one tile fill or one whole {@link BigRandParallel} operation, whose chunks are not
+ * recorded on their own. The counters are striped {@link LongAdder}s, so threads filling in parallel don't contend.
+ * Every generator is named by its type and a running number like "BigRand64#3" in the snapshots and events.<br/>
+ * <br/>
+ * Disabled by default, enable with {@link BigRandMetrics#setEnabled(boolean)} or the system property
+ * {@code -Dbigrand.metrics=true}. When disabled a batch costs one volatile read and the scalar randSeeded functions
+ * are never instrumented. On Java 17+ every batch can additionally be recorded as JDK Flight Recorder event
+ * {@code at.coffeebeans.stdrand.Batch}, which is disabled by default as well and enabled in the recording settings.
+ */
+public final class BigRandMetrics {
+
+    public static final String OBJECT_NAME = "at.coffeebeans.stdrand:type=BigRandMetrics";
+
+    private static final Counters TOTAL = new Counters("total");
+
+    private static final AtomicLong GENERATORS = new AtomicLong();
+
+    private static volatile boolean enabled = Boolean.getBoolean("bigrand.metrics");
+
+    private BigRandMetrics() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled) {
+        BigRandMetrics.enabled = enabled;
+    }
+
+    /**
+     * @return counters of rand since its first recorded batch
+     */
+    public static Snapshot snapshot(final BigRand64 rand) {
+        return rand.metrics().snapshot();
+    }
+
+    /**
+     * @return counters of rand since its first recorded batch
+     */
+    public static Snapshot snapshot(final BigRand32 rand) {
+        return rand.metrics().snapshot();
+    }
+
+    /**
+     * @return counters of all generators since start or the last {@link BigRandMetrics#reset()}
+     */
+    public static Snapshot total() {
+        return TOTAL.snapshot();
+    }
+
+    /**
+     * Reset the totals, the counters per generator keep counting.
+     */
+    public static void reset() {
+        TOTAL.reset();
+    }
+
+    /**
+     * Register the {@link BigRandMetricsMXBean} under {@link BigRandMetrics#OBJECT_NAME} with the platform MBean
+     * server, does nothing if it is already registered.
+     *
+     * @return name of the MBean
+     * @throws IllegalStateException if the registration fails
+     */
+    public static synchronized ObjectName registerMBean() {
+        try {
+            final ObjectName name = new ObjectName(OBJECT_NAME);
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new MXBean(), name);
+            }
+            return name;
+        } catch (JMException e) {
+            throw new IllegalStateException("registering " + OBJECT_NAME + " failed", e);
+        }
+    }
+
+    /**
+     * @return new counters for a generator of the given type, named with the next running number
+     */
+    static Counters counters(final String type) {
+        return new Counters(type + "#" + GENERATORS.incrementAndGet());
+    }
+
+    static void record(
+            final Counters counters,
+            final long values,
+            final long nanos
+    ) {
+        counters.add(values, nanos);
+        TOTAL.add(values, nanos);
+    }
+
+    // ======================= counters =======================
+
+    /**
+     * Immutable state of the counters at one point in time.
+     */
+    public static final class Snapshot {
+
+        private final String generator;
+        private final long values;
+        private final long batches;
+        private final long nanos;
+
+        Snapshot(
+                final String generator,
+                final long values,
+                final long batches,
+                final long nanos
+        ) {
+            this.generator = generator;
+            this.values = values;
+            this.batches = batches;
+            this.nanos = nanos;
+        }
+
+        /**
+         * @return name of the generator like "BigRand64#3" as in the Flight Recorder events, "total" for the totals
+         */
+        public String getGenerator() {
+            return generator;
+        }
+
+        public long getValues() {
+            return values;
+        }
+
+        public long getBatches() {
+            return batches;
+        }
+
+        /**
+         * @return time spent in the batches in nanoseconds, summed over all threads
+         */
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * @return values per second and thread, 0 if nothing was recorded
+         */
+        public double valuesPerSecond() {
+            return nanos == 0 ? 0 : values * 1e9 / nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "generator=%s, values=%d, batches=%d, nanos=%d, valuesPerSecond=%.0f",
+                    generator, values, batches, nanos, valuesPerSecond()
+            );
+        }
+    }
+
+    /**
+     * Counters of one generator, created on its first recorded batch.
+     */
+    static final class Counters {
+
+        private final String generator;
+        private final LongAdder values = new LongAdder();
+        private final LongAdder batches = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+
+        Counters(final String generator) {
+            this.generator = generator;
+        }
+
+        String getGenerator() {
+            return generator;
+        }
+
+        void add(
+                final long count,
+                final long elapsed
+        ) {
+            values.add(count);
+            batches.increment();
+            nanos.add(elapsed);
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(generator, values.sum(), batches.sum(), nanos.sum());
+        }
+
+        void reset() {
+            values.reset();
+            batches.reset();
+            nanos.reset();
+        }
+    }
+
+    private static final class MXBean implements BigRandMetricsMXBean {
+
+        @Override
+        public boolean isEnabled() {
+            return BigRandMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(final boolean enabled) {
+            BigRandMetrics.setEnabled(enabled);
+        }
+
+        @Override
+        public long getValues() {
+            return total().getValues();
+        }
+
+        @Override
+        public long getBatches() {
+            return total().getBatches();
+        }
+
+        @Override
+        public long getNanos() {
+            return total().getNanos();
+        }
+
+        @Override
+        public void reset() {
+            BigRandMetrics.reset();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package at.coffeebeans.stdrand;
+
+/**
+ * JMX view of the totals of {@link BigRandMetrics}, registered with {@link BigRandMetrics#registerMBean()}.
+ */
+public interface BigRandMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    /**
+     * @return values generated by recorded batches of all generators
+     */
+    long getValues();
+
+    /**
+     * @return number of recorded batches of all generators
+     */
+    long getBatches();
+
+    /**
+     * @return time spent in recorded batches of all generators in nanoseconds, summed over all threads
+     */
+    long getNanos();
+
+    /**
+     * Reset the totals, the counters per generator keep counting.
+     */
+    void reset();
+}
@@ -0,0 +1,351 @@
+package at.coffeebeans.stdrand;
+
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parallel bulk generation on a {@link ForkJoinPool}. Every value only depends on its own x, so a range is split into
+ * chunks of {@link BigRandParallel#CHUNK_SIZE} values which are generated independently. The chunk boundaries are
+ * always multiples of the chunk size from the start of the range, so the result doesn't depend on the pool or on the
+ * number of threads and is the same as a single threaded fill.<br/>
+ * <br/>
+ * Every operation is recorded as one batch for {@link BigRandMetrics}, named after the function with a "parallel"
+ * prefix, and its chunks are not recorded on their own. The time of the generate functions includes the sink.
+ */
+public final class BigRandParallel {
+
+    /**
+     * Values per chunk. 16k longs are 128KiB which still fits into the L2 cache of most cores.
+     */
+    public static final int CHUNK_SIZE = 1 << 14;
+
+    private BigRandParallel() {
+    }
+
+    /**
+     * Receives the chunks of a range split by {@link BigRandParallel#forEachChunk}.
+     */
+    @FunctionalInterface
+    public interface ChunkConsumer {
+
+        /**
+         * @param index  First position of the chunk within the range.
+         * @param length Number of positions in the chunk, never more than the chunk size.
+         */
+        void accept(
+                long index,
+                int length
+        );
+    }
+
+    /**
+     * Split [0, count) into chunks of chunkSize positions and run the consumer for all of them in the pool. The
+     * consumer is called concurrently. Returns after all chunks are done. Ranges with only one chunk are run in the
+     * calling thread.
+     *
+     * @param pool      Pool to run in.
+     * @param count     Number of positions.
+     * @param chunkSize Positions per chunk.
+     * @param consumer  Called once per chunk.
+     */
+    public static void forEachChunk(
+            final ForkJoinPool pool,
+            final long count,
+            final int chunkSize,
+            final ChunkConsumer consumer
+    ) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        if (count <= chunkSize) {
+            if (count > 0) {
+                consumer.accept(0, (int) count);
+            }
+            return;
+        }
+        pool.invoke(new ChunkAction(0, count, chunkSize, consumer));
+    }
+
+    // ======================= arrays =======================
+
+    /**
+     * Parallel version of {@link BigRand64#fillSeeded(long[], int, int, long, long)} in the common pool.
+     */
+    public static void fillSeeded(
+            final BigRand64 rand,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        fillSeeded(ForkJoinPool.commonPool(), rand, dst, offset, length, startX, seed);
+    }
+
+    /**
+     * Parallel version of {@link BigRand64#fillSeeded(long[], int, int, long, long)} in the given pool.
+     */
+    public static void fillSeeded(
+            final ForkJoinPool pool,
+            final BigRand64 rand,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        forEachChunk(pool, length, CHUNK_SIZE, (index, chunkLength) -> BigRandVector.fill(
+                rand, dst, offset + (int) index, chunkLength, startX + index, seed
+        ));
+        if (null != recording) {
+            recording.end(rand.metrics(), "parallelFillSeeded", length, 1);
+        }
+    }
+
+    /**
+     * Parallel version of {@link BigRand32#fillSeeded(int[], int, int, int, int)} in the common pool.
+     */
+    public static void fillSeeded(
+            final BigRand32 rand,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed
+    ) {
+        fillSeeded(ForkJoinPool.commonPool(), rand, dst, offset, length, startX, seed);
+    }
+
+    /**
+     * Parallel version of {@link BigRand32#fillSeeded(int[], int, int, int, int)} in the given pool.
+     */
+    public static void fillSeeded(
+            final ForkJoinPool pool,
+            final BigRand32 rand,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final BatchRecording recording = BatchRecording.begin();
+        forEachChunk(pool, length, CHUNK_SIZE, (index, chunkLength) -> BigRandVector.fill(
+                rand, dst, offset + (int) index, chunkLength, startX + (int) index, seed
+        ));
+        if (null != recording) {
+            recording.end(rand.metrics(), "parallelFillSeeded", length, 1);
+        }
+    }
+
+    // ======================= sinks =======================
+
+    /**
+     * Generate [startX, startX + count) in the common pool and hand the chunks to the sink.
+     *
+     * @see BigRandParallel#generateSeeded(ForkJoinPool, BigRand64, long, long, long, LongBlockSink)
+     */
+    public static void generateSeeded(
+            final BigRand64 rand,
+            final long startX,
+            final long count,
+            final long seed,
+            final LongBlockSink sink
+    ) {
+        generateSeeded(ForkJoinPool.commonPool(), rand, startX, count, seed, sink);
+    }
+
+    /**
+     * Generate [startX, startX + count) in the given pool and hand the chunks to the sink. The sink is called
+     * concurrently with blocks of at most {@link BigRandParallel#CHUNK_SIZE} values. Every chunk gets a new block
+     * array, so the sink may keep it and may run other tasks of the pool, even nested parallel operations, while it
+     * reads the block.
+     *
+     * @param pool   Pool to run in.
+     * @param rand   Generator to use.
+     * @param startX Base number for the first value.
+     * @param count  Number of values to generate.
+     * @param seed   Does nothing if 0.
+     * @param sink   Receives the generated values.
+     */
+    public static void generateSeeded(
+            final ForkJoinPool pool,
+            final BigRand64 rand,
+            final long startX,
+            final long count,
+            final long seed,
+            final LongBlockSink sink
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        forEachChunk(pool, count, CHUNK_SIZE, (index, length) -> {
+            final long[] block = new long[length];
+            BigRandVector.fill(rand, block, 0, length, startX + index, seed);
+            sink.accept(index, block, length);
+        });
+        if (null != recording) {
+            recording.end(rand.metrics(), "parallelGenerateSeeded", count, 1);
+        }
+    }
+
+    /**
+     * Generate [startX, startX + count) in the common pool and hand the chunks to the sink.
+     *
+     * @see BigRandParallel#generateSeeded(ForkJoinPool, BigRand32, int, long, int, IntBlockSink)
+     */
+    public static void generateSeeded(
+            final BigRand32 rand,
+            final int startX,
+            final long count,
+            final int seed,
+            final IntBlockSink sink
+    ) {
+        generateSeeded(ForkJoinPool.commonPool(), rand, startX, count, seed, sink);
+    }
+
+    /**
+     * Generate [startX, startX + count) in the given pool and hand the chunks to the sink. x wraps around after
+     * Integer.MAX_VALUE like it does in {@link BigRand32#fillSeeded(int[], int, int, int, int)}.
+     *
+     * @see BigRandParallel#generateSeeded(ForkJoinPool, BigRand64, long, long, long, LongBlockSink)
+     */
+    public static void generateSeeded(
+            final ForkJoinPool pool,
+            final BigRand32 rand,
+            final int startX,
+            final long count,
+            final int seed,
+            final IntBlockSink sink
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        forEachChunk(pool, count, CHUNK_SIZE, (index, length) -> {
+            final int[] block = new int[length];
+            BigRandVector.fill(rand, block, 0, length, startX + (int) index, seed);
+            sink.accept(index, block, length);
+        });
+        if (null != recording) {
+            recording.end(rand.metrics(), "parallelGenerateSeeded", count, 1);
+        }
+    }
+
+    // ======================= permutations =======================
+
+    /**
+     * Parallel version of {@link BigRandPermutation#permute(long[], int, int, long)} in the common pool.
+     */
+    public static void fillPermuted(
+            final BigRandPermutation permutation,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long fromIndex
+    ) {
+        fillPermuted(ForkJoinPool.commonPool(), permutation, dst, offset, length, fromIndex);
+    }
+
+    /**
+     * Parallel version of {@link BigRandPermutation#permute(long[], int, int, long)} in the given pool.
+     */
+    public static void fillPermuted(
+            final ForkJoinPool pool,
+            final BigRandPermutation permutation,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long fromIndex
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        permutation.checkRange(fromIndex, length);
+        final BatchRecording recording = BatchRecording.begin();
+        forEachChunk(pool, length, CHUNK_SIZE, (index, chunkLength) -> permutation.permuteUnrecorded(
+                dst, offset + (int) index, chunkLength, fromIndex + index
+        ));
+        if (null != recording) {
+            recording.end(permutation.metrics(), "parallelFillPermuted", length, 1);
+        }
+    }
+
+    /**
+     * Map [fromIndex, fromIndex + count) through the permutation in the common pool and hand the chunks to the sink.
+     *
+     * @see BigRandParallel#generatePermuted(ForkJoinPool, BigRandPermutation, long, long, LongBlockSink)
+     */
+    public static void generatePermuted(
+            final BigRandPermutation permutation,
+            final long fromIndex,
+            final long count,
+            final LongBlockSink sink
+    ) {
+        generatePermuted(ForkJoinPool.commonPool(), permutation, fromIndex, count, sink);
+    }
+
+    /**
+     * Map [fromIndex, fromIndex + count) through the permutation in the given pool and hand the chunks to the sink,
+     * for example to visit all rows of a huge table in shuffled order. Index 0 of the sink is fromIndex. Every chunk
+     * gets a new block array like in
+     * {@link BigRandParallel#generateSeeded(ForkJoinPool, BigRand64, long, long, long, LongBlockSink)}.
+     */
+    public static void generatePermuted(
+            final ForkJoinPool pool,
+            final BigRandPermutation permutation,
+            final long fromIndex,
+            final long count,
+            final LongBlockSink sink
+    ) {
+        permutation.checkRange(fromIndex, count);
+        final BatchRecording recording = BatchRecording.begin();
+        forEachChunk(pool, count, CHUNK_SIZE, (index, length) -> {
+            final long[] block = new long[length];
+            permutation.permuteUnrecorded(block, 0, length, fromIndex + index);
+            sink.accept(index, block, length);
+        });
+        if (null != recording) {
+            recording.end(permutation.metrics(), "parallelGeneratePermuted", count, 1);
+        }
+    }
+
+    /**
+     * Halves the range at a chunk boundary until only one chunk is left.
+     */
+    private static final class ChunkAction extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final long from;
+        private final long to;
+        private final int chunkSize;
+        private final transient ChunkConsumer consumer;
+
+        private ChunkAction(
+                final long from,
+                final long to,
+                final int chunkSize,
+                final ChunkConsumer consumer
+        ) {
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            final long chunks = (to - from - 1) / chunkSize + 1;
+            if (chunks <= 1) {
+                consumer.accept(from, (int) (to - from));
+                return;
+            }
+            final long mid = from + (chunks >>> 1) * chunkSize;
+            invokeAll(
+                    new ChunkAction(from, mid, chunkSize, consumer),
+                    new ChunkAction(mid, to, chunkSize, consumer)
+            );
+        }
+    }
+}
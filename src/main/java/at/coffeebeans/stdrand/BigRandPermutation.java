@@ -0,0 +1,200 @@
+package at.coffeebeans.stdrand;
+
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+/**
+ * Pseudo random permutation of [0, size) that is evaluated lazily: nothing is stored, every position is mapped on
+ * demand in both directions. Shuffling billions of rows this way needs neither a materialized index array nor a pass
+ * before the first element.<br/>
+ * <br/>
+ * Internally a balanced Feistel network works on the smallest even number of bits that covers size. Round k uses the
+ * highest bits of {@link BigRand64#randSeeded(long, long)} with seed {@link BigRand64#subSeed(long, long)} of the seed
+ * as round function. Results outside of [0, size) are encrypted again (cycle walking) until they fall into the range,
+ * which takes less than 4 rounds of the network on average.<br/>
+ * <br/>
+ * Instances are immutable and thread safe. See {@link BigRandParallel#fillPermuted} for parallel bulk mapping.<br/>
+ * <br/>
+ * <b>!!! Don't use this for security applications as this is NOT a real RNG!!!</b>
+ */
+public final class BigRandPermutation {
+
+    /**
+     * Feistel rounds of the default constructor.
+     */
+    public static final int DEFAULT_ROUNDS = 6;
+
+    private final BigRand64 rand;
+    private final long size;
+    private final int halfBits;
+    private final long mask;
+    private final long[] roundSeeds;
+
+    /**
+     * Permutation with {@link BigRandPermutation#DEFAULT_ROUNDS} rounds.
+     */
+    public BigRandPermutation(
+            final BigRand64 rand,
+            final long size,
+            final long seed
+    ) {
+        this(rand, size, seed, DEFAULT_ROUNDS);
+    }
+
+    /**
+     * @param rand   Generator for the round function.
+     * @param size   Number of positions, at least 1.
+     * @param seed   Selects the permutation.
+     * @param rounds Number of Feistel rounds, at least 3.
+     */
+    public BigRandPermutation(
+            final BigRand64 rand,
+            final long size,
+            final long seed,
+            final int rounds
+    ) {
+        if (size < 1) {
+            throw new IllegalArgumentException("size must be positive: " + size);
+        }
+        if (rounds < 3) {
+            throw new IllegalArgumentException("rounds must be at least 3: " + rounds);
+        }
+        this.rand = rand;
+        this.size = size;
+        final int bits = Long.SIZE - Long.numberOfLeadingZeros(size - 1);
+        this.halfBits = Math.max(1, (bits + 1) / 2);
+        this.mask = (1L << halfBits) - 1;
+        this.roundSeeds = new long[rounds];
+        for (int k = 0; k < rounds; k++) {
+            roundSeeds[k] = BigRand64.subSeed(seed, k);
+        }
+    }
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return position index is moved to
+     * @throws IndexOutOfBoundsException if index is not in [0, size)
+     */
+    public long permute(final long index) {
+        checkIndex(index);
+        long result = encrypt(index);
+        while (Long.compareUnsigned(result, size) >= 0) {
+            result = encrypt(result);
+        }
+        return result;
+    }
+
+    /**
+     * @return index that is moved to value, inverse of {@link BigRandPermutation#permute(long)}
+     * @throws IndexOutOfBoundsException if value is not in [0, size)
+     */
+    public long inverse(final long value) {
+        checkIndex(value);
+        long result = decrypt(value);
+        while (Long.compareUnsigned(result, size) >= 0) {
+            result = decrypt(result);
+        }
+        return result;
+    }
+
+    /**
+     * Write permute(fromIndex + i) to dst[offset + i] for i in [0, length).
+     *
+     * @throws IndexOutOfBoundsException if the range doesn't fit into dst or into [0, size)
+     */
+    public void permute(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long fromIndex
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        permuteUnrecorded(dst, offset, length, fromIndex);
+        if (null != recording) {
+            recording.end(metrics(), "permute", length, 1);
+        }
+    }
+
+    /**
+     * permute without recording, for the chunks of {@link BigRandParallel} which record the whole operation.
+     */
+    void permuteUnrecorded(
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long fromIndex
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        checkRange(fromIndex, length);
+        for (int i = 0; i < length; i++) {
+            long result = encrypt(fromIndex + i);
+            while (Long.compareUnsigned(result, size) >= 0) {
+                result = encrypt(result);
+            }
+            dst[offset + i] = result;
+        }
+    }
+
+    /**
+     * @return counters of the generator behind the round function
+     */
+    BigRandMetrics.Counters metrics() {
+        return rand.metrics();
+    }
+
+    /**
+     * Check that [fromIndex, fromIndex + count) is within [0, size).
+     */
+    void checkRange(
+            final long fromIndex,
+            final long count
+    ) {
+        if (fromIndex < 0 || count < 0 || count > size - fromIndex) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Range [%d, %d + %d) out of bounds for size %d", fromIndex, fromIndex, count, size)
+            );
+        }
+    }
+
+    private void checkIndex(final long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for size %d", index, size));
+        }
+    }
+
+    // ======================= Feistel network =======================
+
+    private long encrypt(final long value) {
+        long left = value >>> halfBits;
+        long right = value & mask;
+        for (final long roundSeed : roundSeeds) {
+            final long next = left ^ round(right, roundSeed);
+            left = right;
+            right = next;
+        }
+        return (left << halfBits) | right;
+    }
+
+    private long decrypt(final long value) {
+        long left = value >>> halfBits;
+        long right = value & mask;
+        for (int k = roundSeeds.length - 1; k >= 0; k--) {
+            final long previous = right ^ round(left, roundSeeds[k]);
+            right = left;
+            left = previous;
+        }
+        return (left << halfBits) | right;
+    }
+
+    /**
+     * @return highest halfBits bits of the hash, the lowest bits of consecutive x are less independent
+     */
+    private long round(
+            final long half,
+            final long roundSeed
+    ) {
+        return rand.randSeeded(half, roundSeed) >>> (Long.SIZE - 1 - halfBits);
+    }
+}
@@ -0,0 +1,168 @@
+package at.coffeebeans.stdrand;
+
+import java.util.Arrays;
+
+/**
+ * Reservoir sample of at most capacity items of a stream. Every item gets the key randSeeded(itemIndex, seed) and the
+ * reservoir keeps the items with the smallest keys (bottom-k sampling), which is a uniform sample without
+ * replacement. As the key only depends on the index of the item, independent partitions of a stream can be sampled
+ * separately and merged afterwards: the result is the same as sampling the whole stream in one reservoir, no matter
+ * how the stream was split. The partitions must not overlap.<br/>
+ * <br/>
+ * The reservoir stores the item indices only, O(capacity) memory in two primitive arrays. Instances are not thread
+ * safe, use one per partition and {@link BigRandReservoir#merge(BigRandReservoir)} them.
+ */
+public final class BigRandReservoir {
+
+    private final BigRand64 rand;
+    private final long seed;
+    /**
+     * Max-heap on (key, index), the root is the item that is evicted next.
+     */
+    private final long[] keys;
+    private final long[] indices;
+    private int size;
+
+    /**
+     * @param rand     Generator for the keys.
+     * @param capacity Maximum sample size, at least 1.
+     * @param seed     Selects the sample.
+     */
+    public BigRandReservoir(
+            final BigRand64 rand,
+            final int capacity,
+            final long seed
+    ) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        }
+        this.rand = rand;
+        this.seed = seed;
+        this.keys = new long[capacity];
+        this.indices = new long[capacity];
+    }
+
+    public int capacity() {
+        return keys.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Offer the item with the given index.
+     *
+     * @return true if the item is in the sample now
+     */
+    public boolean offer(final long itemIndex) {
+        return offer(rand.randSeeded(itemIndex, seed), itemIndex);
+    }
+
+    /**
+     * Offer the items [fromIndex, fromIndex + count). The keys are generated in blocks with the bulk functions.
+     */
+    public void offerRange(
+            final long fromIndex,
+            final long count
+    ) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        final long[] block = new long[(int) Math.min(count, BigRandParallel.CHUNK_SIZE)];
+        for (long done = 0; done < count; done += block.length) {
+            final int length = (int) Math.min(block.length, count - done);
+            BigRandVector.fillSeeded(rand, block, 0, length, fromIndex + done, seed);
+            for (int i = 0; i < length; i++) {
+                offer(block[i], fromIndex + done + i);
+            }
+        }
+    }
+
+    /**
+     * Add the sample of other to this one. Both reservoirs need the same seed and capacity and have to be filled from
+     * disjoint parts of the stream with generators using the same constants.
+     *
+     * @throws IllegalArgumentException if seed or capacity differ
+     */
+    public void merge(final BigRandReservoir other) {
+        if (other.seed != seed || other.keys.length != keys.length) {
+            throw new IllegalArgumentException("reservoirs differ in seed or capacity");
+        }
+        for (int i = 0; i < other.size; i++) {
+            offer(other.keys[i], other.indices[i]);
+        }
+    }
+
+    /**
+     * @return indices of the sampled items in ascending order
+     */
+    public long[] indices() {
+        final long[] result = Arrays.copyOf(indices, size);
+        Arrays.sort(result);
+        return result;
+    }
+
+    // ======================= heap =======================
+
+    private boolean offer(
+            final long key,
+            final long itemIndex
+    ) {
+        if (size < keys.length) {
+            int child = size++;
+            while (child > 0) {
+                final int parent = (child - 1) >>> 1;
+                if (!greater(key, itemIndex, keys[parent], indices[parent])) {
+                    break;
+                }
+                keys[child] = keys[parent];
+                indices[child] = indices[parent];
+                child = parent;
+            }
+            keys[child] = key;
+            indices[child] = itemIndex;
+            return true;
+        }
+        if (!greater(keys[0], indices[0], key, itemIndex)) {
+            return false;
+        }
+        // replace the root and sift down
+        int parent = 0;
+        while (true) {
+            final int left = 2 * parent + 1;
+            if (left >= size) {
+                break;
+            }
+            int child = left;
+            if (left + 1 < size && greater(keys[left + 1], indices[left + 1], keys[left], indices[left])) {
+                child = left + 1;
+            }
+            if (!greater(keys[child], indices[child], key, itemIndex)) {
+                break;
+            }
+            keys[parent] = keys[child];
+            indices[parent] = indices[child];
+            parent = child;
+        }
+        keys[parent] = key;
+        indices[parent] = itemIndex;
+        return true;
+    }
+
+    /**
+     * Orders by key and breaks ties with the index, so the sample never depends on the order of the offers.
+     */
+    private static boolean greater(
+            final long key1,
+            final long index1,
+            final long key2,
+            final long index2
+    ) {
+        return key1 > key2 || (key1 == key2 && index1 > index2);
+    }
+}
@@ -0,0 +1,125 @@
+package at.coffeebeans.stdrand;
+
+/**
+ * Bulk generation using SIMD instructions where the runtime supports it. This is the Java 8 version from the base of
+ * the multi-release jar which always uses the scalar bulk functions. On Java 17+ the version from
+ * META-INF/versions/17 is loaded instead which uses the Vector API if the jdk.incubator.vector module was added with
+ * {@code --add-modules jdk.incubator.vector}.<br/>
+ * <br/>
+ * The results are always bit-exact with {@link BigRand64#fillSeeded(long[], int, int, long, long)} and
+ * {@link BigRand32#fillSeeded(int[], int, int, int, int)}. Every call is one batch for {@link BigRandMetrics}.
+ */
+public final class BigRandVector {
+
+    private BigRandVector() {
+    }
+
+    /**
+     * @return true if the Vector API is used, false if the calculation falls back to the scalar bulk functions
+     */
+    public static boolean isAccelerated() {
+        return false;
+    }
+
+    /**
+     * @see BigRand64#fillSeeded(long[], int, int, long, long)
+     */
+    public static void fillSeeded(
+            final BigRand64 rand,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        fill(rand, dst, offset, length, startX, seed);
+        if (null != recording) {
+            recording.end(rand.metrics(), "fillSeeded", length, 1);
+        }
+    }
+
+    /**
+     * fillSeeded without recording, for callers which record the whole operation themselves.
+     */
+    static void fill(
+            final BigRand64 rand,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        rand.fillScalar(dst, offset, length, startX, seed);
+    }
+
+    /**
+     * @see BigRand64#gatherSeeded(long[], int, long[], int, int, long)
+     */
+    public static void gatherSeeded(
+            final BigRand64 rand,
+            final long[] xs,
+            final int xOffset,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        rand.gatherScalar(xs, xOffset, dst, offset, length, seed);
+        if (null != recording) {
+            recording.end(rand.metrics(), "gatherSeeded", length, 1);
+        }
+    }
+
+    /**
+     * @see BigRand32#fillSeeded(int[], int, int, int, int)
+     */
+    public static void fillSeeded(
+            final BigRand32 rand,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        fill(rand, dst, offset, length, startX, seed);
+        if (null != recording) {
+            recording.end(rand.metrics(), "fillSeeded", length, 1);
+        }
+    }
+
+    /**
+     * fillSeeded without recording, for callers which record the whole operation themselves.
+     */
+    static void fill(
+            final BigRand32 rand,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed
+    ) {
+        rand.fillScalar(dst, offset, length, startX, seed);
+    }
+
+    /**
+     * @see BigRand32#gatherSeeded(int[], int, int[], int, int, int)
+     */
+    public static void gatherSeeded(
+            final BigRand32 rand,
+            final int[] xs,
+            final int xOffset,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int seed
+    ) {
+        final BatchRecording recording = BatchRecording.begin();
+        rand.gatherScalar(xs, xOffset, dst, offset, length, seed);
+        if (null != recording) {
+            recording.end(rand.metrics(), "gatherSeeded", length, 1);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package at.coffeebeans.stdrand;
+
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Random walk over {@link BigRand64} increments with random access to every position. Step i adds
+ * randRangeSeeded(lo, hi, i, seed), the position at step t is the sum of the increments of the steps [0, t), so
+ * position(0) is 0. All sums wrap around modulo 2^64 like long arithmetic.<br/>
+ * <br/>
+ * The position at every interval-th step is stored as checkpoint, so any position costs one lookup plus less than
+ * interval increments. The checkpoints are built in parallel: the sums of the blocks between two checkpoints are
+ * independent, only the final prefix sum over the blocks runs sequentially. They are kept in a long[] or in a memory
+ * mapped file which can be reopened later without building it again.<br/>
+ * <br/>
+ * Instances are immutable after the build and thread safe.
+ */
+public final class BigRandWalk {
+
+    /**
+     * Steps between two checkpoints of the constructors without interval.
+     */
+    public static final int CHECKPOINT_INTERVAL = 4096;
+
+    private static final int BUFFER_SIZE = 1 << 12;
+
+    private final BigRand64 rand;
+    private final long lo;
+    private final long hi;
+    private final long steps;
+    private final long seed;
+    private final int interval;
+    private final LongBuffer checkpoints;
+
+    /**
+     * Walk with a checkpoint every {@link BigRandWalk#CHECKPOINT_INTERVAL} steps, built in the common pool.
+     */
+    public BigRandWalk(
+            final BigRand64 rand,
+            final long lo,
+            final long hi,
+            final long steps,
+            final long seed
+    ) {
+        this(ForkJoinPool.commonPool(), rand, lo, hi, steps, seed, CHECKPOINT_INTERVAL);
+    }
+
+    /**
+     * Walk with the checkpoints in a long[], built in pool.
+     *
+     * @param pool     Pool to build the checkpoints in.
+     * @param rand     Generator for the increments.
+     * @param lo       Lowest increment (inclusive).
+     * @param hi       Upper bound of the increments (exclusive), must be greater than lo.
+     * @param steps    Number of steps, positions are defined for [0, steps].
+     * @param seed     Seed of the increments.
+     * @param interval Steps between two checkpoints, at least 1.
+     */
+    public BigRandWalk(
+            final ForkJoinPool pool,
+            final BigRand64 rand,
+            final long lo,
+            final long hi,
+            final long steps,
+            final long seed,
+            final int interval
+    ) {
+        this(rand, lo, hi, steps, seed, interval, LongBuffer.wrap(new long[checkpointCount(steps, interval)]));
+        build(pool);
+    }
+
+    private BigRandWalk(
+            final BigRand64 rand,
+            final long lo,
+            final long hi,
+            final long steps,
+            final long seed,
+            final int interval,
+            final LongBuffer checkpoints
+    ) {
+        if (hi <= lo) {
+            throw new IllegalArgumentException(String.format("hi must be greater than lo: lo=%d, hi=%d", lo, hi));
+        }
+        this.rand = rand;
+        this.lo = lo;
+        this.hi = hi;
+        this.steps = steps;
+        this.seed = seed;
+        this.interval = interval;
+        this.checkpoints = checkpoints;
+    }
+
+    /**
+     * Build the checkpoints in pool into file, stored as little endian longs. An existing file is overwritten.
+     *
+     * @see BigRandWalk#BigRandWalk(ForkJoinPool, BigRand64, long, long, long, long, int)
+     */
+    public static BigRandWalk mapped(
+            final ForkJoinPool pool,
+            final BigRand64 rand,
+            final long lo,
+            final long hi,
+            final long steps,
+            final long seed,
+            final int interval,
+            final Path file
+    ) throws IOException {
+        final int count = checkpointCount(steps, interval);
+        final LongBuffer checkpoints;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            checkpoints = map(channel, FileChannel.MapMode.READ_WRITE, count);
+        }
+        final BigRandWalk walk = new BigRandWalk(rand, lo, hi, steps, seed, interval, checkpoints);
+        walk.build(pool);
+        return walk;
+    }
+
+    /**
+     * Map the checkpoints written by {@link BigRandWalk#mapped} before, read only and without building them again.
+     * The parameters must be the same as for the build.
+     *
+     * @throws IllegalArgumentException if the file size doesn't match steps and interval
+     */
+    public static BigRandWalk openMapped(
+            final BigRand64 rand,
+            final long lo,
+            final long hi,
+            final long steps,
+            final long seed,
+            final int interval,
+            final Path file
+    ) throws IOException {
+        final int count = checkpointCount(steps, interval);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() != (long) count * Long.BYTES) {
+                throw new IllegalArgumentException(String.format(
+                        "%s has %d bytes instead of %d checkpoints", file, channel.size(), count
+                ));
+            }
+            return new BigRandWalk(rand, lo, hi, steps, seed, interval,
+                    map(channel, FileChannel.MapMode.READ_ONLY, count));
+        }
+    }
+
+    public long getSteps() {
+        return steps;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return increment of step, the difference between position(step + 1) and position(step)
+     */
+    public long increment(final long step) {
+        return rand.randRangeSeeded(lo, hi, step, seed);
+    }
+
+    /**
+     * @return position after step steps, sum of the increments [0, step)
+     * @throws IndexOutOfBoundsException if step is not in [0, steps]
+     */
+    public long position(final long step) {
+        if (step < 0 || step > steps) {
+            throw new IndexOutOfBoundsException("step " + step + " out of bounds for " + steps + " steps");
+        }
+        final long checkpoint = step / interval;
+        long result = checkpoints.get((int) checkpoint);
+        for (long i = checkpoint * interval; i < step; i++) {
+            result += rand.randRangeSeeded(lo, hi, i, seed);
+        }
+        return result;
+    }
+
+    /**
+     * Write the positions [fromStep, fromStep + length) to dst[offset, offset + length). Costs one position lookup
+     * plus one bulk generated increment per value.
+     */
+    public void fill(
+            final long[] dst,
+            final int offset,
+            final long fromStep,
+            final int length
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        if (fromStep < 0 || fromStep > steps + 1 - length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Range [%d, %d + %d) out of bounds for %d steps", fromStep, fromStep, length, steps
+            ));
+        }
+        if (0 == length) {
+            return;
+        }
+        // increments of the steps [fromStep, fromStep + length - 1) behind the first position, then prefix sums
+        rand.fillRangeSeeded(dst, offset + 1, length - 1, lo, hi, fromStep, seed);
+        dst[offset] = position(fromStep);
+        for (int i = offset + 1; i < offset + length; i++) {
+            dst[i] += dst[i - 1];
+        }
+    }
+
+    /**
+     * Generate the positions [fromStep, fromStep + count) in the given pool and hand them to the sink in blocks of
+     * at most {@link BigRandParallel#CHUNK_SIZE} values. Every block starts with a position lookup, so the blocks are
+     * independent. The sink is called concurrently and index is relative to fromStep.
+     */
+    public void generate(
+            final ForkJoinPool pool,
+            final long fromStep,
+            final long count,
+            final LongBlockSink sink
+    ) {
+        if (fromStep < 0 || count < 0 || fromStep > steps + 1 - count) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Range [%d, %d + %d) out of bounds for %d steps", fromStep, fromStep, count, steps
+            ));
+        }
+        BigRandParallel.forEachChunk(pool, count, BigRandParallel.CHUNK_SIZE, (index, length) -> {
+            final long[] block = new long[length];
+            fill(block, 0, fromStep + index, length);
+            sink.accept(index, block, length);
+        });
+    }
+
+    /**
+     * Sum the increments of every block in parallel into the following checkpoint, then turn the block sums into
+     * positions.
+     */
+    private void build(final ForkJoinPool pool) {
+        final int count = checkpoints.capacity();
+        checkpoints.put(0, 0);
+        BigRandParallel.forEachChunk(pool, (long) (count - 1) * interval, interval, (index, length) -> {
+            final long[] buffer = new long[Math.min(BUFFER_SIZE, length)];
+            long sum = 0;
+            for (int done = 0; done < length; done += buffer.length) {
+                final int n = Math.min(buffer.length, length - done);
+                rand.fillRangeSeeded(buffer, 0, n, lo, hi, index + done, seed);
+                for (int i = 0; i < n; i++) {
+                    sum += buffer[i];
+                }
+            }
+            checkpoints.put((int) (index / interval) + 1, sum);
+        });
+        for (int i = 1; i < count; i++) {
+            checkpoints.put(i, checkpoints.get(i) + checkpoints.get(i - 1));
+        }
+    }
+
+    /**
+     * @return number of checkpoints for the positions [0, steps]
+     * @throws IllegalArgumentException if the arguments are invalid or there are too many checkpoints for one array
+     */
+    private static int checkpointCount(
+            final long steps,
+            final int interval
+    ) {
+        if (steps < 0) {
+            throw new IllegalArgumentException("steps must not be negative: " + steps);
+        }
+        if (interval < 1) {
+            throw new IllegalArgumentException("interval must be positive: " + interval);
+        }
+        final long count = steps / interval + 1;
+        // one mapped region holds at most Integer.MAX_VALUE bytes, count overflows for steps / interval = MAX_VALUE
+        if (count < 1 || count > Integer.MAX_VALUE / Long.BYTES) {
+            throw new IllegalArgumentException(String.format(
+                    "%d steps need too many checkpoints for interval %d", steps, interval
+            ));
+        }
+        return (int) count;
+    }
+
+    private static LongBuffer map(
+            final FileChannel channel,
+            final FileChannel.MapMode mode,
+            final int count
+    ) throws IOException {
+        return channel.map(mode, 0, (long) count * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+    }
+}
@@ -0,0 +1,29 @@
+package at.coffeebeans.stdrand;
+
+/**
+ * Multi-byte writes into byte arrays. This is the Java 8 version from the base of the multi-release jar, the Java 17
+ * version writes all 8 bytes at once with a byte array view VarHandle.
+ */
+final class ByteArrays {
+
+    private ByteArrays() {
+    }
+
+    /**
+     * Write v to a[index, index + 8) in little-endian order.
+     */
+    static void putLongLE(
+            final byte[] a,
+            final int index,
+            final long v
+    ) {
+        a[index] = (byte) v;
+        a[index + 1] = (byte) (v >>> 8);
+        a[index + 2] = (byte) (v >>> 16);
+        a[index + 3] = (byte) (v >>> 24);
+        a[index + 4] = (byte) (v >>> 32);
+        a[index + 5] = (byte) (v >>> 40);
+        a[index + 6] = (byte) (v >>> 48);
+        a[index + 7] = (byte) (v >>> 56);
+    }
+}
@@ -0,0 +1,20 @@
+package at.coffeebeans.stdrand;
+
+/**
+ * Receives blocks of generated 32-bit values. Used by the parallel generators which call it concurrently from
+ * multiple threads, every call with a different part of the range.
+ */
+@FunctionalInterface
+public interface IntBlockSink {
+
+    /**
+     * @param index  Position of block[0] within the generated range, 0 for the value at startX.
+     * @param block  Generated values. Only [0, length) is used and the array is reused after the call returns.
+     * @param length Number of values in block.
+     */
+    void accept(
+            long index,
+            int[] block,
+            int length
+    );
+}
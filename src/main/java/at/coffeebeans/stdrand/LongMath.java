@@ -0,0 +1,42 @@
+package at.coffeebeans.stdrand;
+
+/**
+ * 128-bit multiplication helpers. This is the Java 8 version from the base of the multi-release jar, the Java 17
+ * version uses the intrinsic Math.multiplyHigh.
+ */
+final class LongMath {
+
+    private LongMath() {
+    }
+
+    /**
+     * @return the upper 64 bits of the signed 128-bit product of x and y
+     */
+    static long multiplyHigh(
+            final long x,
+            final long y
+    ) {
+        // Hacker's Delight, 8-2: split into 32-bit halves
+        final long x1 = x >> 32;
+        final long x2 = x & 0xFFFFFFFFL;
+        final long y1 = y >> 32;
+        final long y2 = y & 0xFFFFFFFFL;
+        final long z2 = x2 * y2;
+        final long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        final long z0 = t >> 32;
+        z1 += x2 * y1;
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    /**
+     * @return the upper 64 bits of the unsigned 128-bit product of x and y
+     */
+    static long unsignedMultiplyHigh(
+            final long x,
+            final long y
+    ) {
+        // a negative operand is 2^64 too small when read as unsigned, add the other operand back
+        return multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+}
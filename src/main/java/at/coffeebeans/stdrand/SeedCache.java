@@ -0,0 +1,108 @@
+package at.coffeebeans.stdrand;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache from hot string keys to their {@link SeedHash} seeds, safe for concurrent use. The keys are spread over
+ * independent stripes, each a small LRU map with its own lock, so threads rarely wait for each other. Every stripe
+ * evicts its least recently used key once it holds more than its share of the capacity.<br/>
+ * <br/>
+ * Seeds from the cache are always the same as the ones computed directly, so the cache can be added or removed without
+ * changing any generated values.
+ */
+public class SeedCache {
+
+    private static final int MAX_STRIPES = 64;
+    private static final int MIN_STRIPE_CAPACITY = 16;
+
+    private final Stripe[] stripes;
+    private final int mask;
+
+    /**
+     * @param capacity Maximum number of cached keys, at least 1.
+     */
+    public SeedCache(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        }
+        int count = 1;
+        while (count < MAX_STRIPES && capacity / (count * 2) >= MIN_STRIPE_CAPACITY) {
+            count *= 2;
+        }
+        stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            // spread the remainder so the total never exceeds capacity
+            stripes[i] = new Stripe(capacity / count + (i < capacity % count ? 1 : 0));
+        }
+        mask = count - 1;
+    }
+
+    /**
+     * @return {@link SeedHash#hash64(CharSequence)} of key
+     */
+    public long seed64(final String key) {
+        final Stripe stripe = stripes[spread(key.hashCode()) & mask];
+        synchronized (stripe) {
+            final Long cached = stripe.get(key);
+            if (null != cached) {
+                return cached;
+            }
+        }
+        // hash outside of the lock, a concurrent miss on the same key computes the same value
+        final long seed = SeedHash.hash64(key);
+        synchronized (stripe) {
+            stripe.put(key, seed);
+        }
+        return seed;
+    }
+
+    /**
+     * @return {@link SeedHash#hash32(CharSequence)} of key
+     */
+    public int seed32(final String key) {
+        return SeedHash.fold(seed64(key));
+    }
+
+    /**
+     * @return number of cached keys
+     */
+    public int size() {
+        int result = 0;
+        for (final Stripe stripe : stripes) {
+            synchronized (stripe) {
+                result += stripe.size();
+            }
+        }
+        return result;
+    }
+
+    public void clear() {
+        for (final Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.clear();
+            }
+        }
+    }
+
+    private static int spread(final int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Stripe extends LinkedHashMap<String, Long> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Stripe(final int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+            return size() > capacity;
+        }
+    }
+}
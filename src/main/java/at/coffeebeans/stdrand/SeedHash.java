@@ -0,0 +1,164 @@
+package at.coffeebeans.stdrand;
+
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Derives seeds from names and binary keys. The input is consumed 8 bytes per step (one long, little endian) and the
+ * result goes through the MurmurHash3 finalizer, so every input bit affects every output bit and reordered input like
+ * anagrams gives different seeds. Nothing is allocated.<br/>
+ * <br/>
+ * Character sequences are hashed as their UTF-16 code units without encoding them first, four chars per step.
+ * hash64(s) is the same as hash64 of the UTF-16LE bytes of s, and hash64(byte[]) the same as hash64(ByteBuffer) of the
+ * same bytes.
+ *
+ * @see SeedCache
+ */
+public final class SeedHash {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+    private static final long LENGTH_MIX = 0x9E3779B97F4A7C15L;
+
+    private SeedHash() {
+    }
+
+    /**
+     * @return 64-bit seed of the UTF-16 code units of s
+     */
+    public static long hash64(final CharSequence s) {
+        final int length = s.length();
+        long h = start(2L * length);
+        int i = 0;
+        for (; i + 4 <= length; i += 4) {
+            h = step(h, s.charAt(i)
+                    | ((long) s.charAt(i + 1) << 16)
+                    | ((long) s.charAt(i + 2) << 32)
+                    | ((long) s.charAt(i + 3) << 48));
+        }
+        long tail = 0;
+        for (int shift = 0; i < length; i++, shift += 16) {
+            tail |= (long) s.charAt(i) << shift;
+        }
+        return finish(h, tail, 2L * length);
+    }
+
+    /**
+     * @return 64-bit seed of all bytes
+     */
+    public static long hash64(final byte[] bytes) {
+        return hash64(bytes, 0, bytes.length);
+    }
+
+    /**
+     * @return 64-bit seed of bytes [offset, offset + length)
+     */
+    public static long hash64(
+            final byte[] bytes,
+            final int offset,
+            final int length
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, bytes.length);
+        final int end = offset + length;
+        long h = start(length);
+        int i = offset;
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            h = step(h, (bytes[i] & 0xFFL)
+                    | ((bytes[i + 1] & 0xFFL) << 8)
+                    | ((bytes[i + 2] & 0xFFL) << 16)
+                    | ((bytes[i + 3] & 0xFFL) << 24)
+                    | ((bytes[i + 4] & 0xFFL) << 32)
+                    | ((bytes[i + 5] & 0xFFL) << 40)
+                    | ((bytes[i + 6] & 0xFFL) << 48)
+                    | ((bytes[i + 7] & 0xFFL) << 56));
+        }
+        long tail = 0;
+        for (int shift = 0; i < end; i++, shift += 8) {
+            tail |= (bytes[i] & 0xFFL) << shift;
+        }
+        return finish(h, tail, length);
+    }
+
+    /**
+     * @return 64-bit seed of the remaining bytes of buffer, the position stays unchanged
+     */
+    public static long hash64(final ByteBuffer buffer) {
+        final int end = buffer.limit();
+        final int length = buffer.remaining();
+        final boolean littleEndian = buffer.order() == ByteOrder.LITTLE_ENDIAN;
+        long h = start(length);
+        int i = buffer.position();
+        for (; i + Long.BYTES <= end; i += Long.BYTES) {
+            final long word = buffer.getLong(i);
+            h = step(h, littleEndian ? word : Long.reverseBytes(word));
+        }
+        long tail = 0;
+        for (int shift = 0; i < end; i++, shift += 8) {
+            tail |= (buffer.get(i) & 0xFFL) << shift;
+        }
+        return finish(h, tail, length);
+    }
+
+    /**
+     * @return 32-bit seed of the UTF-16 code units of s, the upper half of {@link SeedHash#hash64(CharSequence)}
+     */
+    public static int hash32(final CharSequence s) {
+        return fold(hash64(s));
+    }
+
+    /**
+     * @return 32-bit seed of all bytes, the upper half of {@link SeedHash#hash64(byte[])}
+     */
+    public static int hash32(final byte[] bytes) {
+        return fold(hash64(bytes));
+    }
+
+    /**
+     * @return 32-bit seed of the remaining bytes of buffer, the upper half of {@link SeedHash#hash64(ByteBuffer)}
+     */
+    public static int hash32(final ByteBuffer buffer) {
+        return fold(hash64(buffer));
+    }
+
+    static int fold(final long hash) {
+        return (int) (hash >>> 32);
+    }
+
+    // ======================= MurmurHash3 x64 steps =======================
+
+    private static long start(final long length) {
+        return length * LENGTH_MIX;
+    }
+
+    private static long step(
+            final long h,
+            final long word
+    ) {
+        final long result = h ^ scramble(word);
+        return Long.rotateLeft(result, 27) * 5 + 0x52dce729;
+    }
+
+    private static long finish(
+            final long h,
+            final long tail,
+            final long length
+    ) {
+        return fmix64(h ^ scramble(tail) ^ length);
+    }
+
+    private static long scramble(final long word) {
+        return Long.rotateLeft(word * C1, 31) * C2;
+    }
+
+    private static long fmix64(final long h) {
+        long result = h;
+        result ^= result >>> 33;
+        result *= 0xff51afd7ed558ccdL;
+        result ^= result >>> 33;
+        result *= 0xc4ceb9fe1a85ec53L;
+        result ^= result >>> 33;
+        return result;
+    }
+}
@@ -0,0 +1,176 @@
+package at.coffeebeans.stdrand;
+
+/**
+ * Order of the values of a 2D or 3D tile in the destination array.
+ *
+ * @see BigRand64#fillTileSeeded(long[], int, TileLayout, long, long, int, int, long)
+ * @see BigRand32#fillTileSeeded(int[], int, TileLayout, int, int, int, int, int)
+ */
+public enum TileLayout {
+
+    /**
+     * x runs fastest, then y, then z.
+     */
+    ROW_MAJOR {
+        @Override
+        public int index(
+                final int i,
+                final int j,
+                final int width,
+                final int height
+        ) {
+            return i + width * j;
+        }
+
+        @Override
+        public int index(
+                final int i,
+                final int j,
+                final int k,
+                final int width,
+                final int height,
+                final int depth
+        ) {
+            return i + width * (j + height * k);
+        }
+    },
+
+    /**
+     * Z-order curve with the bits of the x, y (and z) offsets interleaved, x in the lowest bit. Neighbours in all
+     * directions stay close in memory. Needs equal extents which are a power of two.
+     */
+    MORTON {
+        @Override
+        public int index(
+                final int i,
+                final int j,
+                final int width,
+                final int height
+        ) {
+            return spread2(i) | (spread2(j) << 1);
+        }
+
+        @Override
+        public int index(
+                final int i,
+                final int j,
+                final int k,
+                final int width,
+                final int height,
+                final int depth
+        ) {
+            return spread3(i) | (spread3(j) << 1) | (spread3(k) << 2);
+        }
+    };
+
+    /**
+     * @return position of the value at offset (i, j) from the origin in a width x height tile
+     */
+    public abstract int index(
+            int i,
+            int j,
+            int width,
+            int height
+    );
+
+    /**
+     * @return position of the value at offset (i, j, k) from the origin in a width x height x depth tile
+     */
+    public abstract int index(
+            int i,
+            int j,
+            int k,
+            int width,
+            int height,
+            int depth
+    );
+
+    /**
+     * @return number of values in the tile
+     * @throws IllegalArgumentException if the extents don't fit the layout or the tile doesn't fit into an array
+     */
+    public int size(
+            final int width,
+            final int height
+    ) {
+        if (width < 0 || height < 0 || (this == MORTON && (width != height || Integer.bitCount(width) > 1))) {
+            throw new IllegalArgumentException(String.format("invalid %s extents %dx%d", this, width, height));
+        }
+        return toSize((long) width * height);
+    }
+
+    /**
+     * @return number of values in the tile
+     * @throws IllegalArgumentException if the extents don't fit the layout or the tile doesn't fit into an array
+     */
+    public int size(
+            final int width,
+            final int height,
+            final int depth
+    ) {
+        if (width < 0 || height < 0 || depth < 0
+                || (this == MORTON && (width != height || width != depth || Integer.bitCount(width) > 1))) {
+            throw new IllegalArgumentException(
+                    String.format("invalid %s extents %dx%dx%d", this, width, height, depth)
+            );
+        }
+        return toSize((long) width * height * depth);
+    }
+
+    private static int toSize(final long size) {
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("tile too big: " + size);
+        }
+        return (int) size;
+    }
+
+    // ======================= bit interleaving =======================
+
+    /**
+     * Put the lower 16 bits of v into the even bits.
+     */
+    static int spread2(final int v) {
+        int result = v & 0x0000FFFF;
+        result = (result | (result << 8)) & 0x00FF00FF;
+        result = (result | (result << 4)) & 0x0F0F0F0F;
+        result = (result | (result << 2)) & 0x33333333;
+        result = (result | (result << 1)) & 0x55555555;
+        return result;
+    }
+
+    /**
+     * Collect the even bits of m, inverse of {@link TileLayout#spread2(int)}.
+     */
+    static int compact2(final int m) {
+        int result = m & 0x55555555;
+        result = (result | (result >>> 1)) & 0x33333333;
+        result = (result | (result >>> 2)) & 0x0F0F0F0F;
+        result = (result | (result >>> 4)) & 0x00FF00FF;
+        result = (result | (result >>> 8)) & 0x0000FFFF;
+        return result;
+    }
+
+    /**
+     * Put the lower 10 bits of v into every third bit.
+     */
+    static int spread3(final int v) {
+        int result = v & 0x000003FF;
+        result = (result | (result << 16)) & 0x030000FF;
+        result = (result | (result << 8)) & 0x0300F00F;
+        result = (result | (result << 4)) & 0x030C30C3;
+        result = (result | (result << 2)) & 0x09249249;
+        return result;
+    }
+
+    /**
+     * Collect every third bit of m, inverse of {@link TileLayout#spread3(int)}.
+     */
+    static int compact3(final int m) {
+        int result = m & 0x09249249;
+        result = (result | (result >>> 2)) & 0x030C30C3;
+        result = (result | (result >>> 4)) & 0x0300F00F;
+        result = (result | (result >>> 8)) & 0x030000FF;
+        result = (result | (result >>> 16)) & 0x000003FF;
+        return result;
+    }
+}
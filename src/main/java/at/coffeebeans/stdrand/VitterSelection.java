@@ -0,0 +1,161 @@
+package at.coffeebeans.stdrand;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Sequential random sampling of k out of n indices in ascending order with Vitter's Algorithm D (J. S. Vitter,
+ * "An Efficient Algorithm for Sequential Random Sampling", ACM TOMS 13(1), 1987). Instead of testing every index it
+ * draws the number of indices to skip, so the whole sample takes O(k) time. Once the remaining population gets small
+ * compared to the remaining sample it switches to Algorithm A as recommended in the paper.<br/>
+ * <br/>
+ * The u-th uniform number of the run is randSeeded(u, seed), so the sample only depends on the constants, the seed,
+ * n and k.
+ */
+final class VitterSelection implements PrimitiveIterator.OfLong {
+
+    /**
+     * Algorithm D is used while n * ALPHA_INV < N, the value is from the paper.
+     */
+    private static final int ALPHA_INV = 13;
+
+    private final BigRand64 rand;
+    private final long seed;
+    private long draws;
+    /**
+     * Remaining population.
+     */
+    private long populationLeft;
+    /**
+     * Remaining sample size.
+     */
+    private long sampleLeft;
+    /**
+     * First index of the remaining population.
+     */
+    private long position;
+    private boolean methodD;
+    private double vPrime;
+
+    VitterSelection(
+            final BigRand64 rand,
+            final long n,
+            final long k,
+            final long seed
+    ) {
+        this.rand = rand;
+        this.seed = seed;
+        this.populationLeft = n;
+        this.sampleLeft = k;
+        this.methodD = true;
+        if (k > 0) {
+            this.vPrime = Math.exp(Math.log(uniform()) / k);
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return sampleLeft > 0;
+    }
+
+    @Override
+    public long nextLong() {
+        if (sampleLeft <= 0) {
+            throw new NoSuchElementException();
+        }
+        long skip;
+        if (sampleLeft == 1) {
+            skip = (long) (populationLeft * (methodD ? vPrime : uniform()));
+        } else if (methodD && ALPHA_INV * (double) sampleLeft < populationLeft) {
+            skip = skipD();
+        } else {
+            methodD = false;
+            skip = skipA();
+        }
+        // guards against rounding at the very end of the population
+        skip = Math.min(skip, populationLeft - sampleLeft);
+        final long result = position + skip;
+        position = result + 1;
+        populationLeft -= skip + 1;
+        sampleLeft--;
+        return result;
+    }
+
+    /**
+     * Algorithm D for sampleLeft >= 2: rejection sampling of the skip with an envelope, vPrime is carried over to the
+     * next call as in the paper.
+     */
+    private long skipD() {
+        final double bigN = populationLeft;
+        final double n = sampleLeft;
+        final double nMin1Inv = 1.0 / (n - 1);
+        final double qu1 = bigN - n + 1;
+        long s;
+        while (true) {
+            double x;
+            while (true) {
+                // D2: skip from the envelope
+                x = bigN * (1.0 - vPrime);
+                s = (long) x;
+                if (s < qu1) {
+                    break;
+                }
+                vPrime = Math.exp(Math.log(uniform()) / n);
+            }
+            // D3: quick acceptance test
+            final double u = uniform();
+            final double y1 = Math.exp(Math.log(u * bigN / qu1) * nMin1Inv);
+            vPrime = y1 * (1.0 - x / bigN) * (qu1 / (qu1 - s));
+            if (vPrime <= 1.0) {
+                return s;
+            }
+            // D4: exact acceptance test
+            double y2 = 1.0;
+            double top = bigN - 1;
+            double bottom;
+            final double limit;
+            if (n - 1 > s) {
+                bottom = bigN - n;
+                limit = bigN - s;
+            } else {
+                bottom = bigN - s - 1;
+                limit = qu1;
+            }
+            for (double t = bigN - 1; t >= limit; t--) {
+                y2 = y2 * top / bottom;
+                top--;
+                bottom--;
+            }
+            if (bigN / (bigN - x) >= y1 * Math.exp(Math.log(y2) * nMin1Inv)) {
+                vPrime = Math.exp(Math.log(uniform()) * nMin1Inv);
+                return s;
+            }
+            vPrime = Math.exp(Math.log(uniform()) / n);
+        }
+    }
+
+    /**
+     * Algorithm A for sampleLeft >= 2: walks the skip distribution, O(populationLeft) for the whole rest.
+     */
+    private long skipA() {
+        final double v = uniform();
+        double top = populationLeft - sampleLeft;
+        double bigN = populationLeft;
+        double quot = top / bigN;
+        long s = 0;
+        while (quot > v) {
+            s++;
+            top--;
+            bigN--;
+            quot = quot * top / bigN;
+        }
+        return s;
+    }
+
+    /**
+     * @return next uniform number in (0, 1]
+     */
+    private double uniform() {
+        return ((rand.randSeeded(draws++, seed) >>> 10) + 1) * 0x1.0p-53;
+    }
+}
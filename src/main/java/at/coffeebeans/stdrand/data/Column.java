@@ -0,0 +1,281 @@
+package at.coffeebeans.stdrand.data;
+
+import at.coffeebeans.stdrand.dist.AliasTable;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Immutable definition of a generated column. Create columns with the static factories and make them nullable with
+ * {@link Column#withNullRatio(double)}. The raw value of every cell is a long, see {@link ColumnType}.
+ */
+public final class Column {
+
+    private static final double TWO_POW_63 = 0x1.0p63;
+
+    private final String name;
+    private final ColumnType type;
+    private final long lo;
+    private final long hi;
+    private final int scale;
+    private final String[] dictionary;
+    private final AliasTable choice;
+    private final Table target;
+    private final double nullRatio;
+    private final long nullThreshold;
+
+    private Column(
+            final String name,
+            final ColumnType type,
+            final long lo,
+            final long hi,
+            final int scale,
+            final String[] dictionary,
+            final AliasTable choice,
+            final Table target,
+            final double nullRatio
+    ) {
+        if (null == name || name.isEmpty()) {
+            throw new IllegalArgumentException("name must not be empty");
+        }
+        if (hi <= lo) {
+            throw new IllegalArgumentException(String.format("hi must be greater than lo: lo=%d, hi=%d", lo, hi));
+        }
+        if (!(nullRatio >= 0 && nullRatio <= 1)) {
+            throw new IllegalArgumentException("nullRatio must be in [0, 1]: " + nullRatio);
+        }
+        this.name = name;
+        this.type = type;
+        this.lo = lo;
+        this.hi = hi;
+        this.scale = scale;
+        this.dictionary = dictionary;
+        this.choice = choice;
+        this.target = target;
+        this.nullRatio = nullRatio;
+        // the cast saturates at Long.MAX_VALUE for a ratio of 1
+        this.nullThreshold = (long) (nullRatio * TWO_POW_63);
+    }
+
+    // ======================= factories =======================
+
+    /**
+     * Integers in [lo, hi).
+     */
+    public static Column longs(
+            final String name,
+            final long lo,
+            final long hi
+    ) {
+        return new Column(name, ColumnType.LONG, lo, hi, 0, null, null, null, 0);
+    }
+
+    /**
+     * Decimals with scale fraction digits in [lo, hi), both given as unscaled values. For example lo=0, hi=100000 and
+     * scale=2 generates 0.00 to 999.99.
+     */
+    public static Column decimals(
+            final String name,
+            final long lo,
+            final long hi,
+            final int scale
+    ) {
+        if (scale < 0 || scale > 18) {
+            throw new IllegalArgumentException("scale must be in [0, 18]: " + scale);
+        }
+        return new Column(name, ColumnType.DECIMAL, lo, hi, scale, null, null, null, 0);
+    }
+
+    /**
+     * Timestamps in [from, to) with millisecond precision.
+     */
+    public static Column timestamps(
+            final String name,
+            final Instant from,
+            final Instant to
+    ) {
+        return new Column(name, ColumnType.TIMESTAMP, from.toEpochMilli(), to.toEpochMilli(), 0, null, null, null, 0);
+    }
+
+    /**
+     * Strings chosen uniformly from dictionary.
+     */
+    public static Column strings(
+            final String name,
+            final String... dictionary
+    ) {
+        final double[] weights = new double[dictionary.length];
+        Arrays.fill(weights, 1);
+        return strings(name, dictionary, weights);
+    }
+
+    /**
+     * Strings chosen from dictionary with the given relative weights, drawn with an {@link AliasTable}.
+     */
+    public static Column strings(
+            final String name,
+            final String[] dictionary,
+            final double[] weights
+    ) {
+        if (dictionary.length != weights.length) {
+            throw new IllegalArgumentException(String.format(
+                    "dictionary and weights differ in length: %d != %d", dictionary.length, weights.length
+            ));
+        }
+        for (final String value : dictionary) {
+            if (null == value) {
+                throw new IllegalArgumentException("dictionary must not contain null, use withNullRatio");
+            }
+        }
+        return new Column(
+                name, ColumnType.STRING, 0, dictionary.length, 0, dictionary.clone(),
+                new AliasTable(weights), null, 0
+        );
+    }
+
+    /**
+     * Row numbers of target, uniform over all its rows.
+     */
+    public static Column foreignKey(
+            final String name,
+            final Table target
+    ) {
+        return new Column(name, ColumnType.FOREIGN_KEY, 0, target.getRows(), 0, null, null, target, 0);
+    }
+
+    /**
+     * @param ratio Fraction of null cells in [0, 1].
+     * @return copy of this column with the null ratio
+     */
+    public Column withNullRatio(final double ratio) {
+        return new Column(name, type, lo, hi, scale, dictionary, choice, target, ratio);
+    }
+
+    // ======================= getters =======================
+
+    public String getName() {
+        return name;
+    }
+
+    public ColumnType getType() {
+        return type;
+    }
+
+    /**
+     * @return lower bound (inclusive) of the raw values
+     */
+    public long getLo() {
+        return lo;
+    }
+
+    /**
+     * @return upper bound (exclusive) of the raw values
+     */
+    public long getHi() {
+        return hi;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public double getNullRatio() {
+        return nullRatio;
+    }
+
+    /**
+     * @return referenced table of a {@link ColumnType#FOREIGN_KEY} column, null for other types
+     */
+    public Table getTarget() {
+        return target;
+    }
+
+    /**
+     * @return dictionary value at index of a {@link ColumnType#STRING} column
+     */
+    public String dictionaryValue(final int index) {
+        return dictionary[index];
+    }
+
+    public boolean isNullable() {
+        return nullThreshold > 0;
+    }
+
+    // ======================= values =======================
+
+    /**
+     * @return the raw value converted to its Java type: Long, BigDecimal, Instant or String
+     */
+    public Object toObject(final long raw) {
+        switch (type) {
+            case DECIMAL:
+                return BigDecimal.valueOf(raw, scale);
+            case TIMESTAMP:
+                return Instant.ofEpochMilli(raw);
+            case STRING:
+                return dictionary[(int) raw];
+            default:
+                return raw;
+        }
+    }
+
+    /**
+     * Append the raw value as text, strings as they are without quoting.
+     */
+    public void appendTo(
+            final StringBuilder sb,
+            final long raw
+    ) {
+        switch (type) {
+            case DECIMAL:
+                appendDecimal(sb, raw, scale);
+                break;
+            case TIMESTAMP:
+                sb.append(Instant.ofEpochMilli(raw));
+                break;
+            case STRING:
+                sb.append(dictionary[(int) raw]);
+                break;
+            default:
+                sb.append(raw);
+        }
+    }
+
+    AliasTable getChoice() {
+        return choice;
+    }
+
+    long getNullThreshold() {
+        return nullThreshold;
+    }
+
+    /**
+     * Plain decimal notation of unscaled / 10^scale without creating a BigDecimal.
+     */
+    static void appendDecimal(
+            final StringBuilder sb,
+            final long unscaled,
+            final int scale
+    ) {
+        if (scale == 0) {
+            sb.append(unscaled);
+            return;
+        }
+        final String digits = Long.toString(unscaled);
+        final int sign = unscaled < 0 ? 1 : 0;
+        final int integerDigits = digits.length() - sign - scale;
+        sb.append(digits, 0, sign);
+        if (integerDigits > 0) {
+            sb.append(digits, sign, sign + integerDigits)
+                    .append('.')
+                    .append(digits, sign + integerDigits, digits.length());
+        } else {
+            sb.append("0.");
+            for (int i = integerDigits; i < 0; i++) {
+                sb.append('0');
+            }
+            sb.append(digits, sign, digits.length());
+        }
+    }
+}
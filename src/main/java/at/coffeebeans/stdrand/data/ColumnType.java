@@ -0,0 +1,32 @@
+package at.coffeebeans.stdrand.data;
+
+/**
+ * Value type of a {@link Column}, decides how the raw long of a cell is read.
+ */
+public enum ColumnType {
+
+    /**
+     * Integer in [lo, hi).
+     */
+    LONG,
+
+    /**
+     * Fixed point number, the raw value is the unscaled value in [lo, hi) of value * 10^scale.
+     */
+    DECIMAL,
+
+    /**
+     * Milliseconds since the epoch in [lo, hi).
+     */
+    TIMESTAMP,
+
+    /**
+     * Index into the dictionary of the column, optionally weighted.
+     */
+    STRING,
+
+    /**
+     * Row number of the target table, in [0, rows of the target).
+     */
+    FOREIGN_KEY
+}
@@ -0,0 +1,216 @@
+package at.coffeebeans.stdrand.data;
+
+import at.coffeebeans.stdrand.BigRand64;
+import at.coffeebeans.stdrand.BigRandVector;
+import at.coffeebeans.stdrand.SeedHash;
+
+/**
+ * Synthetic table with random access to every cell. The raw value of row r in column c comes from the coordinate
+ * (x = r, y = c) with the table seed, for example randRangeSeeded(lo, hi, r, c, seed) for a {@link ColumnType#LONG}
+ * column. Whether a cell is null is decided by the same coordinate in stream subSeed(seed, 1). Nothing is stored, so
+ * any row of a table with billions of rows can be regenerated on any node without generating its predecessors.
+ * Use {@link TableBatch} to generate consecutive rows column by column and {@link TableWriter} to write them.
+ */
+public final class Table {
+
+    private final BigRand64 rand;
+    private final String name;
+    private final long rows;
+    private final long seed;
+    private final long nullSeed;
+    private final Column[] columns;
+
+    /**
+     * Table with the seed derived from its name by {@link SeedHash#hash64(CharSequence)}, so tables are reproducible
+     * by name alone.
+     */
+    public Table(
+            final BigRand64 rand,
+            final String name,
+            final long rows,
+            final Column... columns
+    ) {
+        this(rand, name, rows, SeedHash.hash64(name), columns);
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param rand    Generator with the constants to use.
+     * @param name    Name of the table, used for the header of written files.
+     * @param rows    Number of rows, at least 1.
+     * @param seed    Seed of all values of the table.
+     * @param columns Columns with distinct names, at least one.
+     */
+    public Table(
+            final BigRand64 rand,
+            final String name,
+            final long rows,
+            final long seed,
+            final Column... columns
+    ) {
+        if (rows < 1) {
+            throw new IllegalArgumentException("rows must be positive: " + rows);
+        }
+        if (columns.length < 1) {
+            throw new IllegalArgumentException("a table needs at least one column");
+        }
+        for (int i = 0; i < columns.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (columns[i].getName().equals(columns[j].getName())) {
+                    throw new IllegalArgumentException("duplicate column name: " + columns[i].getName());
+                }
+            }
+        }
+        this.rand = rand;
+        this.name = name;
+        this.rows = rows;
+        this.seed = seed;
+        this.nullSeed = BigRand64.subSeed(seed, 1);
+        this.columns = columns.clone();
+    }
+
+    public BigRand64 getRand() {
+        return rand;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getColumnCount() {
+        return columns.length;
+    }
+
+    public Column getColumn(final int column) {
+        return columns[column];
+    }
+
+    /**
+     * @return position of the column with the name, -1 if there is none
+     */
+    public int indexOf(final String columnName) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].getName().equals(columnName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // ======================= random access =======================
+
+    /**
+     * @return raw value of the cell, also defined for null cells
+     */
+    public long raw(
+            final long row,
+            final int column
+    ) {
+        checkRow(row);
+        final Column c = columns[column];
+        switch (c.getType()) {
+            case STRING:
+                return c.getChoice().draw(rand, row + rand.getPrime1() * column, seed);
+            case FOREIGN_KEY:
+                return rand.randBoundedSeeded(c.getHi(), row, column, seed);
+            default:
+                return rand.randRangeSeeded(c.getLo(), c.getHi(), row, column, seed);
+        }
+    }
+
+    public boolean isNull(
+            final long row,
+            final int column
+    ) {
+        checkRow(row);
+        final long threshold = columns[column].getNullThreshold();
+        return threshold > 0 && rand.randSeeded(row, column, nullSeed) < threshold;
+    }
+
+    /**
+     * @return value of the cell as Long, BigDecimal, Instant or String, null for null cells
+     * @see Column#toObject(long)
+     */
+    public Object get(
+            final long row,
+            final int column
+    ) {
+        return isNull(row, column) ? null : columns[column].toObject(raw(row, column));
+    }
+
+    // ======================= batches =======================
+
+    /**
+     * @return empty batch for up to capacity rows of this table
+     */
+    public TableBatch newBatch(final int capacity) {
+        return new TableBatch(this, capacity);
+    }
+
+    /**
+     * Generate the rows [fromRow, fromRow + count) into batch column by column with the bulk functions. Same values
+     * as {@link Table#raw(long, int)} and {@link Table#isNull(long, int)}.
+     */
+    public void fill(
+            final TableBatch batch,
+            final long fromRow,
+            final int count
+    ) {
+        if (batch.getTable() != this) {
+            throw new IllegalArgumentException("batch belongs to table " + batch.getTable().getName());
+        }
+        if (count < 0 || count > batch.capacity()) {
+            throw new IllegalArgumentException(String.format(
+                    "count must be in [0, %d]: %d", batch.capacity(), count
+            ));
+        }
+        if (fromRow < 0 || fromRow > rows - count) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Rows [%d, %d + %d) out of bounds for %d rows", fromRow, fromRow, count, rows
+            ));
+        }
+        for (int column = 0; column < columns.length; column++) {
+            final Column c = columns[column];
+            final long[] values = batch.values(column);
+            switch (c.getType()) {
+                case STRING:
+                    final int[] indices = batch.indices(column);
+                    c.getChoice().fill(rand, indices, 0, count, fromRow + rand.getPrime1() * column, seed);
+                    for (int i = 0; i < count; i++) {
+                        values[i] = indices[i];
+                    }
+                    break;
+                case FOREIGN_KEY:
+                    rand.fillBoundedSeeded(values, 0, count, c.getHi(), fromRow, column, seed);
+                    break;
+                default:
+                    rand.fillRangeSeeded(values, 0, count, c.getLo(), c.getHi(), fromRow, column, seed);
+            }
+            final boolean[] nulls = batch.nulls(column);
+            if (null != nulls) {
+                final long[] scratch = batch.scratch();
+                final long threshold = c.getNullThreshold();
+                BigRandVector.fillSeeded(rand, scratch, 0, count, fromRow + rand.getPrime1() * column, nullSeed);
+                for (int i = 0; i < count; i++) {
+                    nulls[i] = scratch[i] < threshold;
+                }
+            }
+        }
+        batch.setRange(fromRow, count);
+    }
+
+    private void checkRow(final long row) {
+        if (row < 0 || row >= rows) {
+            throw new IndexOutOfBoundsException(String.format("Row %d out of bounds for %d rows", row, rows));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package at.coffeebeans.stdrand.data;
+
+/**
+ * Consecutive rows of a {@link Table} stored column by column in primitive arrays, filled by
+ * {@link Table#fill(TableBatch, long, int)}. A batch is reused for every range it is filled with. Not thread safe, use
+ * one batch per thread.
+ */
+public final class TableBatch {
+
+    private final Table table;
+    private final long[][] values;
+    private final int[][] indices;
+    private final boolean[][] nulls;
+    private final long[] scratch;
+    private long fromRow;
+    private int size;
+
+    TableBatch(
+            final Table table,
+            final int capacity
+    ) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.table = table;
+        final int count = table.getColumnCount();
+        values = new long[count][];
+        indices = new int[count][];
+        nulls = new boolean[count][];
+        boolean nullable = false;
+        for (int column = 0; column < count; column++) {
+            final Column c = table.getColumn(column);
+            values[column] = new long[capacity];
+            if (c.getType() == ColumnType.STRING) {
+                indices[column] = new int[capacity];
+            }
+            if (c.isNullable()) {
+                nulls[column] = new boolean[capacity];
+                nullable = true;
+            }
+        }
+        scratch = nullable ? new long[capacity] : null;
+    }
+
+    public Table getTable() {
+        return table;
+    }
+
+    public int capacity() {
+        return values[0].length;
+    }
+
+    /**
+     * @return number of rows in the batch
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return row number of the first row in the batch
+     */
+    public long getFromRow() {
+        return fromRow;
+    }
+
+    /**
+     * @return raw values of the column, valid in [0, size())
+     */
+    public long[] values(final int column) {
+        return values[column];
+    }
+
+    /**
+     * @return null flags of the column, valid in [0, size()), null if the column isn't nullable
+     */
+    public boolean[] nulls(final int column) {
+        return nulls[column];
+    }
+
+    public boolean isNull(
+            final int column,
+            final int i
+    ) {
+        return null != nulls[column] && nulls[column][i];
+    }
+
+    /**
+     * Dictionary indices of a {@link ColumnType#STRING} column, written by the alias table before they are copied to
+     * the raw values.
+     */
+    int[] indices(final int column) {
+        return indices[column];
+    }
+
+    long[] scratch() {
+        return scratch;
+    }
+
+    void setRange(
+            final long fromRow,
+            final int size
+    ) {
+        this.fromRow = fromRow;
+        this.size = size;
+    }
+}
@@ -0,0 +1,279 @@
+package at.coffeebeans.stdrand.data;
+
+import at.coffeebeans.stdrand.BigRandParallel;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Writes row ranges of a {@link Table} as CSV or binary. The rows are generated in chunks of {@link TableBatch}es in
+ * parallel.<br/>
+ * <br/>
+ * CSV has a header line with the column names, null cells are empty and strings are quoted if needed (RFC 4180). The
+ * chunks are encoded in parallel and written in order, with a bounded number of chunks in flight, so the output can be
+ * streamed.<br/>
+ * <br/>
+ * The binary format has fixed size rows: a null bitmap of (columns + 7) / 8 bytes if any column is nullable (bit c of
+ * byte c / 8 set for null), then the raw value of every column as 8 byte little-endian long (the dictionary index for
+ * strings). Row r is stored at byte position r * {@link TableWriter#rowBytes(Table)}, so ranges are written in parallel
+ * at their final position and any part of the file can be (re)written on its own.
+ */
+public class TableWriter {
+
+    /**
+     * Rows per chunk and task.
+     */
+    public static final int CHUNK_ROWS = 1 << 13;
+
+    private final ForkJoinPool pool;
+    private final int chunkRows;
+
+    /**
+     * Writer using the common pool.
+     */
+    public TableWriter() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TableWriter(final ForkJoinPool pool) {
+        this(pool, CHUNK_ROWS);
+    }
+
+    TableWriter(
+            final ForkJoinPool pool,
+            final int chunkRows
+    ) {
+        this.pool = pool;
+        this.chunkRows = chunkRows;
+    }
+
+    // ======================= CSV =======================
+
+    /**
+     * Write the header and the rows [fromRow, fromRow + count) as UTF-8 CSV to file.
+     */
+    public void writeCsv(
+            final Table table,
+            final long fromRow,
+            final long count,
+            final Path file
+    ) throws IOException {
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            writeCsv(table, fromRow, count, out);
+        }
+    }
+
+    /**
+     * Write the header and the rows [fromRow, fromRow + count) as UTF-8 CSV to out. The stream is not closed.
+     */
+    public void writeCsv(
+            final Table table,
+            final long fromRow,
+            final long count,
+            final OutputStream out
+    ) throws IOException {
+        checkRange(table, fromRow, count);
+        final String[][] dictionaries = escapedDictionaries(table);
+        final StringBuilder header = new StringBuilder();
+        for (int column = 0; column < table.getColumnCount(); column++) {
+            if (column > 0) {
+                header.append(',');
+            }
+            header.append(escape(table.getColumn(column).getName()));
+        }
+        out.write(header.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+
+        // keep a few chunks per worker in flight and write them in order
+        final int inFlight = 2 * pool.getParallelism();
+        final ArrayDeque<ForkJoinTask<byte[]>> pending = new ArrayDeque<>();
+        long next = 0;
+        try {
+            while (next < count || !pending.isEmpty()) {
+                while (next < count && pending.size() < inFlight) {
+                    final long first = fromRow + next;
+                    final int length = (int) Math.min(chunkRows, count - next);
+                    pending.add(pool.submit(() -> encodeCsv(table, dictionaries, first, length)));
+                    next += length;
+                }
+                out.write(pending.poll().join());
+            }
+        } finally {
+            // only left over if writing failed
+            for (final ForkJoinTask<byte[]> task : pending) {
+                task.cancel(false);
+            }
+        }
+    }
+
+    private byte[] encodeCsv(
+            final Table table,
+            final String[][] dictionaries,
+            final long fromRow,
+            final int count
+    ) {
+        final TableBatch batch = table.newBatch(count);
+        table.fill(batch, fromRow, count);
+        final int columns = table.getColumnCount();
+        final StringBuilder sb = new StringBuilder(count * columns * 12);
+        for (int i = 0; i < count; i++) {
+            for (int column = 0; column < columns; column++) {
+                if (column > 0) {
+                    sb.append(',');
+                }
+                if (batch.isNull(column, i)) {
+                    continue;
+                }
+                final long raw = batch.values(column)[i];
+                if (null != dictionaries[column]) {
+                    sb.append(dictionaries[column][(int) raw]);
+                } else {
+                    table.getColumn(column).appendTo(sb, raw);
+                }
+            }
+            sb.append('\n');
+        }
+        return sb.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String[][] escapedDictionaries(final Table table) {
+        final String[][] result = new String[table.getColumnCount()][];
+        for (int column = 0; column < result.length; column++) {
+            final Column c = table.getColumn(column);
+            if (c.getType() == ColumnType.STRING) {
+                result[column] = new String[(int) c.getHi()];
+                for (int i = 0; i < result[column].length; i++) {
+                    result[column][i] = escape(c.dictionaryValue(i));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Quote value if it contains a separator, quote or line break, doubling the quotes inside.
+     */
+    static String escape(final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char ch = value.charAt(i);
+            if (ch == ',' || ch == '"' || ch == '\n' || ch == '\r') {
+                return '"' + value.replace("\"", "\"\"") + '"';
+            }
+        }
+        return value;
+    }
+
+    // ======================= binary =======================
+
+    /**
+     * @return size of one row in the binary format
+     */
+    public static int rowBytes(final Table table) {
+        return nullBitmapBytes(table) + Long.BYTES * table.getColumnCount();
+    }
+
+    /**
+     * Write the rows [fromRow, fromRow + count) in the binary format to file. The file is created if it doesn't exist
+     * and grows if needed, everything outside the range stays untouched.
+     */
+    public void writeBinary(
+            final Table table,
+            final long fromRow,
+            final long count,
+            final Path file
+    ) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            writeBinary(table, fromRow, count, channel);
+        }
+    }
+
+    /**
+     * Write the rows [fromRow, fromRow + count) in the binary format to a channel opened for writing.
+     */
+    public void writeBinary(
+            final Table table,
+            final long fromRow,
+            final long count,
+            final FileChannel channel
+    ) throws IOException {
+        checkRange(table, fromRow, count);
+        final int rowBytes = rowBytes(table);
+        if (fromRow + count > Long.MAX_VALUE / rowBytes) {
+            throw new IllegalArgumentException("range too big for the binary format: " + (fromRow + count));
+        }
+        final int bitmapBytes = nullBitmapBytes(table);
+        final int columns = table.getColumnCount();
+        try {
+            BigRandParallel.forEachChunk(pool, count, chunkRows, (index, length) -> {
+                final long first = fromRow + index;
+                final TableBatch batch = table.newBatch(length);
+                table.fill(batch, first, length);
+                final ByteBuffer buffer = ByteBuffer.allocate(length * rowBytes).order(ByteOrder.LITTLE_ENDIAN);
+                for (int i = 0; i < length; i++) {
+                    final int row = buffer.position();
+                    for (int b = 0; b < bitmapBytes; b++) {
+                        buffer.put((byte) 0);
+                    }
+                    for (int column = 0; column < columns; column++) {
+                        if (batch.isNull(column, i)) {
+                            final int at = row + column / 8;
+                            buffer.put(at, (byte) (buffer.get(at) | (1 << (column % 8))));
+                        }
+                        buffer.putLong(batch.values(column)[i]);
+                    }
+                }
+                buffer.flip();
+                write(channel, buffer, first * rowBytes);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static int nullBitmapBytes(final Table table) {
+        for (int column = 0; column < table.getColumnCount(); column++) {
+            if (table.getColumn(column).isNullable()) {
+                return (table.getColumnCount() + 7) / 8;
+            }
+        }
+        return 0;
+    }
+
+    private static void write(
+            final FileChannel channel,
+            final ByteBuffer buffer,
+            final long position
+    ) {
+        try {
+            long at = position;
+            while (buffer.hasRemaining()) {
+                at += channel.write(buffer, at);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void checkRange(
+            final Table table,
+            final long fromRow,
+            final long count
+    ) {
+        if (fromRow < 0 || count < 0 || count > table.getRows() - fromRow) {
+            throw new IllegalArgumentException(String.format(
+                    "invalid range fromRow=%d, count=%d for %d rows", fromRow, count, table.getRows()
+            ));
+        }
+    }
+}
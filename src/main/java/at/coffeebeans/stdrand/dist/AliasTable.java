@@ -0,0 +1,182 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand32;
+import at.coffeebeans.stdrand.BigRand64;
+import at.coffeebeans.stdrand.BigRandVector;
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+/**
+ * Weighted choice of an index in [0, n) with Walker's alias method, built with Vose's numerically stable algorithm.
+ * Every column of the table holds one index with a threshold and an alias, so one draw needs one random number, one
+ * comparison and no search. The table is two primitive arrays built in O(n) and is immutable, so it can be shared
+ * between threads.<br/>
+ * <br/>
+ * A draw splits the random number of a coordinate into the column (highest bits) and the coin for the threshold
+ * (remaining bits). The probabilities are exact up to about n / 2^31.
+ *
+ * @see AliasTableCache
+ */
+public final class AliasTable {
+
+    private static final double TWO_POW_31 = 0x1.0p31;
+    private static final int BLOCK = 1 << 12;
+
+    private final int[] thresholds;
+    private final int[] aliases;
+    private final double[] probabilities;
+
+    /**
+     * @param weights Relative weights, not negative, finite and with a positive sum. The array is not kept.
+     */
+    public AliasTable(final double[] weights) {
+        final int n = weights.length;
+        if (n < 1) {
+            throw new IllegalArgumentException("weights must not be empty");
+        }
+        double sum = 0;
+        for (final double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("weights must be finite and not negative: " + weight);
+            }
+            sum += weight;
+        }
+        if (!(sum > 0) || Double.isInfinite(sum)) {
+            throw new IllegalArgumentException("sum of weights must be positive and finite: " + sum);
+        }
+        thresholds = new int[n];
+        aliases = new int[n];
+        probabilities = new double[n];
+        final double[] scaled = new double[n];
+        // worklists of columns below and above the average, both stacks in one array
+        final int[] work = new int[n];
+        int small = 0;
+        int large = n;
+        for (int i = 0; i < n; i++) {
+            probabilities[i] = weights[i] / sum;
+            scaled[i] = probabilities[i] * n;
+            if (scaled[i] < 1) {
+                work[small++] = i;
+            } else {
+                work[--large] = i;
+            }
+        }
+        while (small > 0 && large < n) {
+            final int less = work[--small];
+            final int more = work[large++];
+            thresholds[less] = (int) (scaled[less] * TWO_POW_31);
+            aliases[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                work[small++] = more;
+            } else {
+                work[--large] = more;
+            }
+        }
+        // what is left is 1 up to rounding errors and always takes its own column
+        while (large < n) {
+            fillColumn(work[large++]);
+        }
+        while (small > 0) {
+            fillColumn(work[--small]);
+        }
+    }
+
+    private void fillColumn(final int column) {
+        thresholds[column] = Integer.MAX_VALUE;
+        aliases[column] = column;
+    }
+
+    public int size() {
+        return thresholds.length;
+    }
+
+    /**
+     * @return normalized weight of index i
+     */
+    public double probability(final int i) {
+        return probabilities[i];
+    }
+
+    // ======================= draws =======================
+
+    /**
+     * @return index chosen by randSeeded(x, seed)
+     */
+    public int draw(
+            final BigRand64 rand,
+            final long x,
+            final long seed
+    ) {
+        return fromLong(rand.randSeeded(x, seed));
+    }
+
+    /**
+     * @return index chosen by randSeeded(x, seed)
+     */
+    public int draw(
+            final BigRand32 rand,
+            final int x,
+            final int seed
+    ) {
+        return fromInt(rand.randSeeded(x, seed));
+    }
+
+    /**
+     * Write draw(rand, startX + i, seed) to dst[offset + i] for i in [0, length). The random numbers are generated in
+     * blocks with the bulk functions.
+     */
+    public void fill(
+            final BigRand64 rand,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final long[] block = new long[Math.min(length, BLOCK)];
+        for (int done = 0; done < length; done += block.length) {
+            final int n = Math.min(block.length, length - done);
+            BigRandVector.fillSeeded(rand, block, 0, n, startX + done, seed);
+            for (int i = 0; i < n; i++) {
+                dst[offset + done + i] = fromLong(block[i]);
+            }
+        }
+    }
+
+    /**
+     * Write draw(rand, startX + i, seed) to dst[offset + i] for i in [0, length). The random numbers are generated
+     * into dst and replaced by the chosen indices, so nothing is allocated.
+     */
+    public void fill(
+            final BigRand32 rand,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        BigRandVector.fillSeeded(rand, dst, offset, length, startX, seed);
+        for (int i = offset; i < offset + length; i++) {
+            dst[i] = fromInt(dst[i]);
+        }
+    }
+
+    /**
+     * Column from the highest 32 of the 63 random bits, coin from the lowest 31.
+     */
+    private int fromLong(final long r) {
+        final int column = (int) (((r >>> 31) * thresholds.length) >>> 32);
+        return (int) (r & Integer.MAX_VALUE) < thresholds[column] ? column : aliases[column];
+    }
+
+    /**
+     * r * n is column * 2^31 + coin for the 31 random bits of r, so one number gives both.
+     */
+    private int fromInt(final int r) {
+        final long scaled = (long) r * thresholds.length;
+        final int column = (int) (scaled >>> 31);
+        return (int) (scaled & Integer.MAX_VALUE) < thresholds[column] ? column : aliases[column];
+    }
+}
@@ -0,0 +1,93 @@
+package at.coffeebeans.stdrand.dist;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Thread safe cache of built {@link AliasTable}s keyed by the identity of the weights array, so a lookup costs a
+ * hash of the reference instead of O(n) over the weights. Meant for a bounded number of weight arrays that are
+ * reused a lot. Once capacity tables are cached, adding another one evicts the least recently used table.<br/>
+ * <br/>
+ * The table is built from the content of the array at the first call. Call {@link AliasTableCache#remove} after
+ * changing a cached array, otherwise the old table is returned.
+ */
+public class AliasTableCache {
+
+    private final Map<Key, AliasTable> tables;
+
+    /**
+     * @param capacity Maximum number of cached tables, at least 1.
+     */
+    public AliasTableCache(final int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be at least 1: " + capacity);
+        }
+        this.tables = new LinkedHashMap<Key, AliasTable>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, AliasTable> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * @return table for weights, built outside the lock if it is not cached yet
+     */
+    public AliasTable get(final double[] weights) {
+        final Key key = new Key(weights);
+        synchronized (tables) {
+            final AliasTable cached = tables.get(key);
+            if (null != cached) {
+                return cached;
+            }
+        }
+        final AliasTable table = new AliasTable(weights);
+        synchronized (tables) {
+            final AliasTable raced = tables.putIfAbsent(key, table);
+            return null == raced ? table : raced;
+        }
+    }
+
+    /**
+     * Drop the table of weights, e.g. after the array was changed.
+     */
+    public void remove(final double[] weights) {
+        synchronized (tables) {
+            tables.remove(new Key(weights));
+        }
+    }
+
+    /**
+     * @return number of cached tables
+     */
+    public int size() {
+        synchronized (tables) {
+            return tables.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (tables) {
+            tables.clear();
+        }
+    }
+
+    private static final class Key {
+
+        private final double[] weights;
+
+        private Key(final double[] weights) {
+            this.weights = weights;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof Key && weights == ((Key) o).weights;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(weights);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand64;
+
+/**
+ * Continuous distribution sampled from {@link BigRand64} coordinates. Sample x of a seed only depends on the
+ * arguments, so any value can be recomputed on its own and bulk fills match the single draws.
+ */
+public interface ContinuousDistribution {
+
+    /**
+     * @return value number x for seed
+     */
+    double sample(
+            BigRand64 rand,
+            long x,
+            long seed
+    );
+
+    /**
+     * Write sample(rand, startX + i, seed) to dst[offset + i] for i in [0, length).
+     */
+    void fill(
+            BigRand64 rand,
+            double[] dst,
+            int offset,
+            int length,
+            long startX,
+            long seed
+    );
+}
@@ -0,0 +1,57 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand64;
+
+/**
+ * Exponential distribution using the ziggurat method, most values cost one random number and one multiplication
+ * instead of a log.
+ */
+public final class ExponentialDistribution implements ContinuousDistribution {
+
+    private final double mean;
+
+    /**
+     * Standard exponential distribution with rate 1.
+     */
+    public ExponentialDistribution() {
+        this(1);
+    }
+
+    /**
+     * @param rate Events per unit, must be positive and finite.
+     */
+    public ExponentialDistribution(final double rate) {
+        if (!(rate > 0) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException("rate must be positive and finite: " + rate);
+        }
+        this.mean = 1 / rate;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    @Override
+    public double sample(
+            final BigRand64 rand,
+            final long x,
+            final long seed
+    ) {
+        return mean * Ziggurat.exponential(rand, rand.randSeeded(x, seed), x, seed);
+    }
+
+    @Override
+    public void fill(
+            final BigRand64 rand,
+            final double[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        Ziggurat.fillExponential(rand, dst, offset, length, startX, seed);
+        for (int i = offset; i < offset + length; i++) {
+            dst[i] *= mean;
+        }
+    }
+}
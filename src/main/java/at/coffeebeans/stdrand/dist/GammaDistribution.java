@@ -0,0 +1,105 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand64;
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+/**
+ * Gamma distribution using the method of Marsaglia and Tsang on top of the ziggurat normal values. Each attempt needs
+ * a normal and a uniform value and about 95% of the attempts are accepted for shape &gt;= 1. Attempt k draws from the
+ * streams subSeed(seed, k * 2^32 + j) with j &gt;= 0 for the normal value and j = -1 for the uniform value. For
+ * shape &lt; 1 the value of shape + 1 is scaled with u^(1 / shape), u from stream -2^31.
+ */
+public final class GammaDistribution implements ContinuousDistribution {
+
+    private static final long ATTEMPT_STREAMS = 1L << 32;
+    private static final long BOOST_STREAM = -(1L << 31);
+
+    private final double shape;
+    private final double scale;
+    private final double d;
+    private final double c;
+
+    /**
+     * @param shape Must be positive and finite.
+     * @param scale Must be positive and finite.
+     */
+    public GammaDistribution(
+            final double shape,
+            final double scale
+    ) {
+        if (!(shape > 0) || Double.isInfinite(shape)) {
+            throw new IllegalArgumentException("shape must be positive and finite: " + shape);
+        }
+        if (!(scale > 0) || Double.isInfinite(scale)) {
+            throw new IllegalArgumentException("scale must be positive and finite: " + scale);
+        }
+        this.shape = shape;
+        this.scale = scale;
+        this.d = (shape < 1 ? shape + 1 : shape) - 1.0 / 3;
+        this.c = 1 / Math.sqrt(9 * d);
+    }
+
+    public double getShape() {
+        return shape;
+    }
+
+    public double getScale() {
+        return scale;
+    }
+
+    @Override
+    public double sample(
+            final BigRand64 rand,
+            final long x,
+            final long seed
+    ) {
+        double value = scale * marsagliaTsang(rand, x, seed);
+        if (shape < 1) {
+            value *= Math.pow(Ziggurat.uniform(rand, x, seed, BOOST_STREAM), 1 / shape);
+        }
+        return value;
+    }
+
+    /**
+     * The attempts are rejection sampling with a varying number of random numbers, so this draws value by value.
+     */
+    @Override
+    public void fill(
+            final BigRand64 rand,
+            final double[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = sample(rand, startX + i, seed);
+        }
+    }
+
+    /**
+     * @return gamma value with shape d + 1/3 and scale 1
+     */
+    private double marsagliaTsang(
+            final BigRand64 rand,
+            final long x,
+            final long seed
+    ) {
+        for (long attempt = 0; ; attempt++) {
+            final long attemptSeed = BigRand64.subSeed(seed, attempt * ATTEMPT_STREAMS);
+            final double z = Ziggurat.normal(rand, rand.randSeeded(x, attemptSeed), x, attemptSeed);
+            final double t = 1 + c * z;
+            if (t <= 0) {
+                continue;
+            }
+            final double v = t * t * t;
+            final double u = Ziggurat.uniform(rand, x, attemptSeed, -1);
+            final double zz = z * z;
+            // cheap squeeze first, then the exact test
+            if (u < 1 - 0.0331 * zz * zz || Math.log(u) < 0.5 * zz + d * (1 - v + Math.log(v))) {
+                return d * v;
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand64;
+
+/**
+ * Log-normal distribution: exp of a {@link NormalDistribution} value, one exp per value.
+ */
+public final class LogNormalDistribution implements ContinuousDistribution {
+
+    private final double mu;
+    private final double sigma;
+
+    /**
+     * @param mu    Mean of the logarithm.
+     * @param sigma Standard deviation of the logarithm, must be positive and finite.
+     */
+    public LogNormalDistribution(
+            final double mu,
+            final double sigma
+    ) {
+        if (Double.isNaN(mu) || Double.isInfinite(mu)) {
+            throw new IllegalArgumentException("mu must be finite: " + mu);
+        }
+        if (!(sigma > 0) || Double.isInfinite(sigma)) {
+            throw new IllegalArgumentException("sigma must be positive and finite: " + sigma);
+        }
+        this.mu = mu;
+        this.sigma = sigma;
+    }
+
+    public double getMu() {
+        return mu;
+    }
+
+    public double getSigma() {
+        return sigma;
+    }
+
+    @Override
+    public double sample(
+            final BigRand64 rand,
+            final long x,
+            final long seed
+    ) {
+        return Math.exp(mu + sigma * Ziggurat.normal(rand, rand.randSeeded(x, seed), x, seed));
+    }
+
+    @Override
+    public void fill(
+            final BigRand64 rand,
+            final double[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        Ziggurat.fillNormal(rand, dst, offset, length, startX, seed);
+        for (int i = offset; i < offset + length; i++) {
+            dst[i] = Math.exp(mu + sigma * dst[i]);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand64;
+
+/**
+ * Normal distribution using the ziggurat method, most values cost one random number and one multiplication.
+ */
+public final class NormalDistribution implements ContinuousDistribution {
+
+    private final double mean;
+    private final double standardDeviation;
+
+    /**
+     * Standard normal distribution.
+     */
+    public NormalDistribution() {
+        this(0, 1);
+    }
+
+    /**
+     * @param standardDeviation Must be positive and finite.
+     */
+    public NormalDistribution(
+            final double mean,
+            final double standardDeviation
+    ) {
+        if (Double.isNaN(mean) || Double.isInfinite(mean)) {
+            throw new IllegalArgumentException("mean must be finite: " + mean);
+        }
+        if (!(standardDeviation > 0) || Double.isInfinite(standardDeviation)) {
+            throw new IllegalArgumentException("standardDeviation must be positive and finite: " + standardDeviation);
+        }
+        this.mean = mean;
+        this.standardDeviation = standardDeviation;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getStandardDeviation() {
+        return standardDeviation;
+    }
+
+    @Override
+    public double sample(
+            final BigRand64 rand,
+            final long x,
+            final long seed
+    ) {
+        return mean + standardDeviation * Ziggurat.normal(rand, rand.randSeeded(x, seed), x, seed);
+    }
+
+    @Override
+    public void fill(
+            final BigRand64 rand,
+            final double[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        Ziggurat.fillNormal(rand, dst, offset, length, startX, seed);
+        for (int i = offset; i < offset + length; i++) {
+            dst[i] = mean + standardDeviation * dst[i];
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand64;
+import at.coffeebeans.stdrand.BigRandParallel;
+import at.coffeebeans.stdrand.LongBlockSink;
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Sorted sequence of count uniform values in [0, 1], distributed like count uniform values after sorting, generated
+ * without sorting and without holding more than one block in memory. The sequence is cut into blocks of blockSize
+ * values, the last value of every block but the last one is a boundary.<br/>
+ * <br/>
+ * The boundaries form a balanced binary tree: the middle boundary of an interval between two known values vL at index
+ * posL and vR at index posR is vL + (vR - vL) * Beta(pm - posL, posR - pm) as the order statistic at index pm of the
+ * posR - posL - 1 values in between, the Beta value taken from two {@link GammaDistribution} values. Every boundary
+ * is only drawn in one place of the tree, so looking up a boundary takes O(log(count / blockSize)) draws and always
+ * gives the same value. The values within a block between its two boundaries are exponential spacings: with
+ * m values and m + 1 {@link Ziggurat} exponential values E_i the value i is a + (b - a) * (E_0 + ... + E_i) / sum(E).
+ * <br/>
+ * Any range can be generated on its own, so ranges can be filled in parallel and the output only depends on rand,
+ * count, blockSize and seed.
+ */
+public final class SortedUniforms {
+
+    /**
+     * Default number of values per block.
+     */
+    public static final int BLOCK_SIZE = 4096;
+
+    // the spacings use streams far away from the ones the gamma values need for their attempts
+    private static final long SPACING_STREAM = 1L << 48;
+
+    private final BigRand64 rand;
+    private final long count;
+    private final int blockSize;
+    private final long seed;
+    private final long spacingSeed;
+    private final long blockCount;
+
+    /**
+     * Sequence with the default block size.
+     */
+    public SortedUniforms(
+            final BigRand64 rand,
+            final long count,
+            final long seed
+    ) {
+        this(rand, count, BLOCK_SIZE, seed);
+    }
+
+    /**
+     * @param rand      Generator to use.
+     * @param count     Number of values, not negative.
+     * @param blockSize Number of values per block, at least 1.
+     * @param seed      Seed of the sequence.
+     */
+    public SortedUniforms(
+            final BigRand64 rand,
+            final long count,
+            final int blockSize,
+            final long seed
+    ) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("blockSize must be at least 1: " + blockSize);
+        }
+        this.rand = rand;
+        this.count = count;
+        this.blockSize = blockSize;
+        this.seed = seed;
+        this.spacingSeed = BigRand64.subSeed(seed, SPACING_STREAM);
+        this.blockCount = (count + blockSize - 1) / blockSize;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getBlockCount() {
+        return blockCount;
+    }
+
+    /**
+     * @return the last value of block, same as get((block + 1) * blockSize - 1)
+     * @throws IndexOutOfBoundsException if block is not in [0, blockCount - 1), the last block has no boundary
+     */
+    public double boundary(final long block) {
+        final long boundaries = blockCount - 1;
+        if (block < 0 || block >= boundaries) {
+            throw new IndexOutOfBoundsException("boundary " + block + " out of bounds for " + boundaries);
+        }
+        long lo = 0;
+        long hi = boundaries;
+        long posL = -1;
+        double vL = 0;
+        long posR = count;
+        double vR = 1;
+        while (true) {
+            final long middle = (lo + hi) >>> 1;
+            final long position = boundaryIndex(middle);
+            // x 2 * middle and 2 * middle + 1 are only used by this boundary
+            final double g1 = new GammaDistribution(position - posL, 1).sample(rand, 2 * middle, seed);
+            final double g2 = new GammaDistribution(posR - position, 1).sample(rand, 2 * middle + 1, seed);
+            final double value = Math.min(vR, vL + (vR - vL) * (g1 / (g1 + g2)));
+            if (block == middle) {
+                return value;
+            }
+            if (block < middle) {
+                hi = middle;
+                posR = position;
+                vR = value;
+            } else {
+                lo = middle + 1;
+                posL = position;
+                vL = value;
+            }
+        }
+    }
+
+    /**
+     * @return value at index, generating the block it is in
+     */
+    public double get(final long index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("index " + index + " out of bounds for count " + count);
+        }
+        final double[] dst = new double[1];
+        fill(dst, 0, index, 1);
+        return dst[0];
+    }
+
+    /**
+     * Write the values [fromIndex, fromIndex + length) to dst[offset, offset + length).
+     */
+    public void fill(
+            final double[] dst,
+            final int offset,
+            final long fromIndex,
+            final int length
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        checkRange(fromIndex, length);
+        if (0 == length) {
+            return;
+        }
+        final double[] values = new double[blockSize];
+        final double[] spacings = new double[blockSize + 1];
+        long block = fromIndex / blockSize;
+        double lower = 0 == block ? 0 : boundary(block - 1);
+        int done = 0;
+        while (done < length) {
+            final long first = block * blockSize;
+            lower = generateBlock(block, lower, values, spacings);
+            final int from = (int) (fromIndex + done - first);
+            final int n = Math.min(blockLength(block) - from, length - done);
+            System.arraycopy(values, from, dst, offset + done, n);
+            done += n;
+            block++;
+        }
+    }
+
+    /**
+     * Write the values [fromIndex, fromIndex + length) mapped to sorted keys in [lo, hi) to dst[offset, ...).
+     */
+    public void fillKeys(
+            final long[] dst,
+            final int offset,
+            final long fromIndex,
+            final int length,
+            final long lo,
+            final long hi
+    ) {
+        checkBounds(lo, hi);
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final double[] values = new double[length];
+        fill(values, 0, fromIndex, length);
+        for (int i = 0; i < length; i++) {
+            dst[offset + i] = toKey(values[i], lo, hi);
+        }
+    }
+
+    /**
+     * @return sequential stream of all values, generated block by block while it is consumed
+     */
+    public DoubleStream doubles() {
+        return StreamSupport.doubleStream(new BlockSpliterator(), false);
+    }
+
+    /**
+     * Generate all values as sorted keys in [lo, hi) in the common pool.
+     *
+     * @see SortedUniforms#generateKeys(ForkJoinPool, long, long, LongBlockSink)
+     */
+    public void generateKeys(
+            final long lo,
+            final long hi,
+            final LongBlockSink sink
+    ) {
+        generateKeys(ForkJoinPool.commonPool(), lo, hi, sink);
+    }
+
+    /**
+     * Generate all values as sorted keys in [lo, hi) in the given pool, key i is lo + floor(value i * (hi - lo)). The
+     * sink is called concurrently with one block per call, index is the index of block[0] in the sequence. The
+     * block arrays are not reused.
+     */
+    public void generateKeys(
+            final ForkJoinPool pool,
+            final long lo,
+            final long hi,
+            final LongBlockSink sink
+    ) {
+        checkBounds(lo, hi);
+        BigRandParallel.forEachChunk(pool, count, blockSize, (index, length) -> {
+            final long block = index / blockSize;
+            final double[] values = new double[blockSize];
+            generateBlock(block, 0 == block ? 0 : boundary(block - 1), values, new double[blockSize + 1]);
+            final long[] keys = new long[length];
+            for (int i = 0; i < length; i++) {
+                keys[i] = toKey(values[i], lo, hi);
+            }
+            sink.accept(index, keys, length);
+        });
+    }
+
+    /**
+     * Write the values of block to values[0, blockLength(block)).
+     *
+     * @param lower    Boundary of the previous block, 0 for the first block.
+     * @param spacings Buffer of at least blockSize + 1 values, the last block needs one spacing more than it has
+     *                 values.
+     * @return the upper boundary of the block, its last value or 1 for the last block
+     */
+    private double generateBlock(
+            final long block,
+            final double lower,
+            final double[] values,
+            final double[] spacings
+    ) {
+        final int length = blockLength(block);
+        final boolean last = block == blockCount - 1;
+        final double upper = last ? 1 : boundary(block);
+        // the boundary is the last value of the block, only the last block has no value at the upper end
+        final int inner = last ? length : length - 1;
+        Ziggurat.fillExponential(rand, spacings, 0, inner + 1, block * blockSize, spacingSeed);
+        double total = 0;
+        for (int i = 0; i <= inner; i++) {
+            total += spacings[i];
+        }
+        final double scale = (upper - lower) / total;
+        double sum = 0;
+        for (int i = 0; i < inner; i++) {
+            sum += spacings[i];
+            values[i] = Math.min(upper, lower + sum * scale);
+        }
+        if (!last) {
+            values[inner] = upper;
+        }
+        return upper;
+    }
+
+    private int blockLength(final long block) {
+        return (int) Math.min(blockSize, count - block * blockSize);
+    }
+
+    private long boundaryIndex(final long block) {
+        return (block + 1) * blockSize - 1;
+    }
+
+    private void checkRange(
+            final long fromIndex,
+            final int length
+    ) {
+        if (fromIndex < 0 || fromIndex > count - length) {
+            throw new IndexOutOfBoundsException(String.format(
+                    "Range [%d, %d + %d) out of bounds for count %d", fromIndex, fromIndex, length, count
+            ));
+        }
+    }
+
+    private static void checkBounds(
+            final long lo,
+            final long hi
+    ) {
+        if (lo >= hi || hi - lo < 0) {
+            throw new IllegalArgumentException(String.format("invalid key range [%d, %d)", lo, hi));
+        }
+    }
+
+    /**
+     * @return lo + floor(value * (hi - lo)) clamped to [lo, hi), monotonic in value
+     */
+    private static long toKey(
+            final double value,
+            final long lo,
+            final long hi
+    ) {
+        final long width = hi - lo;
+        return lo + Math.min(width - 1, (long) (value * width));
+    }
+
+    private final class BlockSpliterator extends Spliterators.AbstractDoubleSpliterator {
+
+        private final double[] values = new double[blockSize];
+        private final double[] spacings = new double[blockSize + 1];
+        private long block;
+        private double lower;
+        private int position;
+        private int length;
+
+        private BlockSpliterator() {
+            super(count, Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL | Spliterator.IMMUTABLE);
+        }
+
+        @Override
+        public boolean tryAdvance(final DoubleConsumer action) {
+            if (position == length) {
+                if (block == blockCount) {
+                    return false;
+                }
+                lower = generateBlock(block, lower, values, spacings);
+                length = blockLength(block);
+                position = 0;
+                block++;
+            }
+            action.accept(values[position++]);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand64;
+import at.coffeebeans.stdrand.BigRandVector;
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Ziggurat method of Marsaglia and Tsang for the standard normal and the standard exponential distribution. One 63-bit
+ * random number picks the layer (highest bits), the sign and the position within the layer (lowest 55 bits). About 99%
+ * of the values are accepted right away without any log, exp or sqrt. The rest falls back to the wedge or tail test,
+ * which draws the further numbers it needs for x with randSeeded(x, subSeed(seed, k)), k = 1, 2, ... like the bounded
+ * functions of {@link BigRand64}. So value x only depends on the arguments.
+ */
+final class Ziggurat {
+
+    private static final int NORMAL_LAYERS = 128;
+    private static final double NORMAL_R = 3.442619855899;
+    private static final double NORMAL_V = 9.91256303526217e-3;
+    private static final int EXPONENTIAL_LAYERS = 256;
+    private static final double EXPONENTIAL_R = 7.697117470131487;
+    private static final double EXPONENTIAL_V = 3.949659822581572e-3;
+
+    private static final long SIGN_BIT = 1L << 55;
+    private static final long POSITION_MASK = SIGN_BIT - 1;
+    private static final double TWO_POW_M55 = 0x1.0p-55;
+    private static final int BLOCK = 1 << 12;
+
+    /**
+     * Width of layer i, layer 0 is the base strip including the tail.
+     */
+    private static final double[] NORMAL_X = layers(
+            NORMAL_LAYERS, NORMAL_R, NORMAL_V, Ziggurat::normalDensity, y -> Math.sqrt(-2 * Math.log(y))
+    );
+    private static final double[] NORMAL_F = densities(NORMAL_X, Ziggurat::normalDensity);
+    private static final double[] NORMAL_RATIO = ratios(NORMAL_X);
+    private static final double[] EXPONENTIAL_X = layers(
+            EXPONENTIAL_LAYERS, EXPONENTIAL_R, EXPONENTIAL_V, Ziggurat::exponentialDensity, y -> -Math.log(y)
+    );
+    private static final double[] EXPONENTIAL_F = densities(EXPONENTIAL_X, Ziggurat::exponentialDensity);
+    private static final double[] EXPONENTIAL_RATIO = ratios(EXPONENTIAL_X);
+
+    private Ziggurat() {
+    }
+
+    // ======================= samplers =======================
+
+    /**
+     * @param r The random number randSeeded(x, seed).
+     * @return standard normal value for x
+     */
+    static double normal(
+            final BigRand64 rand,
+            final long r,
+            final long x,
+            final long seed
+    ) {
+        long bits = r;
+        long k = 0;
+        while (true) {
+            final int layer = (int) (bits >>> 56);
+            final boolean negative = (bits & SIGN_BIT) != 0;
+            final double u = (bits & POSITION_MASK) * TWO_POW_M55;
+            if (u < NORMAL_RATIO[layer]) {
+                final double z = u * NORMAL_X[layer];
+                return negative ? -z : z;
+            }
+            if (layer == 0) {
+                // Marsaglia's tail beyond R
+                double a;
+                double b;
+                do {
+                    a = -Math.log(uniform(rand, x, seed, ++k)) / NORMAL_R;
+                    b = -Math.log(uniform(rand, x, seed, ++k));
+                } while (b + b < a * a);
+                return negative ? -(NORMAL_R + a) : NORMAL_R + a;
+            }
+            final double z = u * NORMAL_X[layer];
+            final double f = NORMAL_F[layer];
+            if (f + uniform(rand, x, seed, ++k) * (NORMAL_F[layer + 1] - f) < normalDensity(z)) {
+                return negative ? -z : z;
+            }
+            bits = rand.randSeeded(x, BigRand64.subSeed(seed, ++k));
+        }
+    }
+
+    /**
+     * @param r The random number randSeeded(x, seed).
+     * @return standard exponential value for x
+     */
+    static double exponential(
+            final BigRand64 rand,
+            final long r,
+            final long x,
+            final long seed
+    ) {
+        long bits = r;
+        long k = 0;
+        double tail = 0;
+        while (true) {
+            final int layer = (int) (bits >>> 55);
+            final double u = (bits & POSITION_MASK) * TWO_POW_M55;
+            final double z = u * EXPONENTIAL_X[layer];
+            if (u < EXPONENTIAL_RATIO[layer]) {
+                return tail + z;
+            }
+            if (layer == 0) {
+                // memoryless: the tail beyond R is R plus another exponential value
+                tail += EXPONENTIAL_R;
+            } else {
+                final double f = EXPONENTIAL_F[layer];
+                if (f + uniform(rand, x, seed, ++k) * (EXPONENTIAL_F[layer + 1] - f) < exponentialDensity(z)) {
+                    return tail + z;
+                }
+            }
+            bits = rand.randSeeded(x, BigRand64.subSeed(seed, ++k));
+        }
+    }
+
+    /**
+     * @return uniform value in (0, 1] from stream k, safe for log
+     */
+    static double uniform(
+            final BigRand64 rand,
+            final long x,
+            final long seed,
+            final long k
+    ) {
+        return ((rand.randSeeded(x, BigRand64.subSeed(seed, k)) >>> 10) + 1) * 0x1.0p-53;
+    }
+
+    // ======================= bulk =======================
+
+    /**
+     * Write normal(rand, randSeeded(startX + i, seed), startX + i, seed) to dst[offset + i] for i in [0, length).
+     */
+    @SuppressWarnings("DuplicatedCode")
+    static void fillNormal(
+            final BigRand64 rand,
+            final double[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final long[] block = new long[Math.min(length, BLOCK)];
+        for (int done = 0; done < length; done += block.length) {
+            final int n = Math.min(block.length, length - done);
+            final long x = startX + done;
+            BigRandVector.fillSeeded(rand, block, 0, n, x, seed);
+            for (int i = 0; i < n; i++) {
+                dst[offset + done + i] = normal(rand, block[i], x + i, seed);
+            }
+        }
+    }
+
+    /**
+     * Write exponential(rand, randSeeded(startX + i, seed), startX + i, seed) to dst[offset + i] for i in [0, length).
+     */
+    @SuppressWarnings("DuplicatedCode")
+    static void fillExponential(
+            final BigRand64 rand,
+            final double[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final long[] block = new long[Math.min(length, BLOCK)];
+        for (int done = 0; done < length; done += block.length) {
+            final int n = Math.min(block.length, length - done);
+            final long x = startX + done;
+            BigRandVector.fillSeeded(rand, block, 0, n, x, seed);
+            for (int i = 0; i < n; i++) {
+                dst[offset + done + i] = exponential(rand, block[i], x + i, seed);
+            }
+        }
+    }
+
+    // ======================= tables =======================
+
+    private static double normalDensity(final double x) {
+        return Math.exp(-0.5 * x * x);
+    }
+
+    private static double exponentialDensity(final double x) {
+        return Math.exp(-x);
+    }
+
+    /**
+     * Layers of equal area v below the density f: x[0] = v / f(r) is the base strip, x[1] = r and each further x is
+     * where the next layer ends, down to x[n] = 0.
+     */
+    private static double[] layers(
+            final int n,
+            final double r,
+            final double v,
+            final DoubleUnaryOperator density,
+            final DoubleUnaryOperator inverse
+    ) {
+        final double[] x = new double[n + 1];
+        x[0] = v / density.applyAsDouble(r);
+        x[1] = r;
+        for (int i = 2; i < n; i++) {
+            x[i] = inverse.applyAsDouble(v / x[i - 1] + density.applyAsDouble(x[i - 1]));
+        }
+        x[n] = 0;
+        return x;
+    }
+
+    private static double[] densities(
+            final double[] x,
+            final DoubleUnaryOperator density
+    ) {
+        final double[] f = new double[x.length];
+        for (int i = 0; i < x.length; i++) {
+            f[i] = density.applyAsDouble(x[i]);
+        }
+        return f;
+    }
+
+    /**
+     * Positions below x[i + 1] / x[i] are inside the density for every height of layer i.
+     */
+    private static double[] ratios(final double[] x) {
+        final double[] ratio = new double[x.length - 1];
+        for (int i = 0; i < ratio.length; i++) {
+            ratio[i] = x[i + 1] / x[i];
+        }
+        return ratio;
+    }
+}
@@ -0,0 +1,214 @@
+package at.coffeebeans.stdrand.hash;
+
+import at.coffeebeans.stdrand.BigRand64;
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over long keys with the k bit positions of a key taken from a {@link HashFamily}. The bits are stored
+ * in an {@link AtomicLongArray}, every update is a compare-and-set of a single 64-bit word, so concurrent writers only
+ * contend on the same word and readers never block. Keys can be added but not removed.
+ */
+public final class BloomFilter {
+
+    private static final int BLOCK_SIZE = 256;
+    private static final double LN2 = Math.log(2);
+
+    private final HashFamily family;
+    private final AtomicLongArray words;
+
+    /**
+     * @param rand Generator with the constants to use.
+     * @param bits Number of bits, rounded up to a multiple of 64, at most Integer.MAX_VALUE - 63.
+     * @param k    Number of bits per key.
+     * @param seed Seed of the hash family.
+     */
+    public BloomFilter(
+            final BigRand64 rand,
+            final int bits,
+            final int k,
+            final long seed
+    ) {
+        if (bits < 1 || bits > Integer.MAX_VALUE - (Long.SIZE - 1)) {
+            throw new IllegalArgumentException("invalid number of bits: " + bits);
+        }
+        final int wordCount = (bits + Long.SIZE - 1) / Long.SIZE;
+        this.family = new HashFamily(rand, k, wordCount * Long.SIZE, seed);
+        this.words = new AtomicLongArray(wordCount);
+    }
+
+    /**
+     * Filter sized for expectedInsertions keys with a false positive probability of about fpp, using the optimal
+     * bits = -n ln(fpp) / ln(2)^2 and k = bits / n ln(2).
+     *
+     * @throws IllegalArgumentException if expectedInsertions is not positive, fpp is not in (0, 1) or the filter
+     *                                  would need more than Integer.MAX_VALUE - 63 bits
+     */
+    public static BloomFilter create(
+            final BigRand64 rand,
+            final long expectedInsertions,
+            final double fpp,
+            final long seed
+    ) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        }
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp must be in (0, 1): " + fpp);
+        }
+        final double bits = Math.ceil(-expectedInsertions * Math.log(fpp) / (LN2 * LN2));
+        if (bits > Integer.MAX_VALUE - (Long.SIZE - 1)) {
+            throw new IllegalArgumentException(String.format(
+                    "%d insertions with fpp %s need too many bits: %.0f", expectedInsertions, fpp, bits
+            ));
+        }
+        final int k = Math.max(1, (int) Math.round(bits / expectedInsertions * LN2));
+        return new BloomFilter(rand, (int) bits, k, seed);
+    }
+
+    /**
+     * @return number of bits, a multiple of 64
+     */
+    public int bitSize() {
+        return family.getRange();
+    }
+
+    public int getK() {
+        return family.getK();
+    }
+
+    /**
+     * @return number of set bits
+     */
+    public long bitCount() {
+        long count = 0;
+        for (int i = 0; i < words.length(); i++) {
+            count += Long.bitCount(words.get(i));
+        }
+        return count;
+    }
+
+    /**
+     * @return probability that mightContain returns true for a key that was never put, based on the current fill
+     */
+    public double expectedFpp() {
+        return Math.pow((double) bitCount() / bitSize(), getK());
+    }
+
+    /**
+     * Add key.
+     *
+     * @return true if a bit changed, false if key might have been added before
+     */
+    public boolean put(final long key) {
+        final int[] indices = new int[getK()];
+        family.indices(key, indices, 0);
+        return setAll(indices, 0, indices.length);
+    }
+
+    /**
+     * @return false if key was definitely never put, true if it might have been
+     */
+    public boolean mightContain(final long key) {
+        final int[] indices = new int[getK()];
+        family.indices(key, indices, 0);
+        return testAll(indices, 0, indices.length);
+    }
+
+    /**
+     * Add keys[offset, offset + length), hashing them in blocks.
+     */
+    public void putAll(
+            final long[] keys,
+            final int offset,
+            final int length
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, keys.length);
+        final int k = getK();
+        final int block = Math.max(1, Math.min(BLOCK_SIZE, length));
+        final int[] indices = new int[block * k];
+        for (int done = 0; done < length; done += block) {
+            final int n = Math.min(block, length - done);
+            family.indices(keys, offset + done, n, indices, 0);
+            for (int j = 0; j < n; j++) {
+                setAll(indices, j * k, k);
+            }
+        }
+    }
+
+    /**
+     * Check keys[offset, offset + length), result j goes to dst[dstOffset + j].
+     *
+     * @return number of keys that might be contained
+     */
+    public int mightContainAll(
+            final long[] keys,
+            final int offset,
+            final int length,
+            final boolean[] dst,
+            final int dstOffset
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, keys.length);
+        Preconditions.checkFromIndexSize(dstOffset, length, dst.length);
+        final int k = getK();
+        final int block = Math.max(1, Math.min(BLOCK_SIZE, length));
+        final int[] indices = new int[block * k];
+        int found = 0;
+        for (int done = 0; done < length; done += block) {
+            final int n = Math.min(block, length - done);
+            family.indices(keys, offset + done, n, indices, 0);
+            for (int j = 0; j < n; j++) {
+                final boolean contained = testAll(indices, j * k, k);
+                dst[dstOffset + done + j] = contained;
+                if (contained) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Remove all keys. Not atomic with respect to concurrent puts.
+     */
+    public void clear() {
+        for (int i = 0; i < words.length(); i++) {
+            words.set(i, 0);
+        }
+    }
+
+    private boolean setAll(
+            final int[] indices,
+            final int offset,
+            final int length
+    ) {
+        boolean changed = false;
+        for (int i = offset; i < offset + length; i++) {
+            final int word = indices[i] >>> 6;
+            final long mask = 1L << indices[i];
+            long current = words.get(word);
+            while (0 == (current & mask)) {
+                if (words.compareAndSet(word, current, current | mask)) {
+                    changed = true;
+                    break;
+                }
+                current = words.get(word);
+            }
+        }
+        return changed;
+    }
+
+    private boolean testAll(
+            final int[] indices,
+            final int offset,
+            final int length
+    ) {
+        for (int i = offset; i < offset + length; i++) {
+            if (0 == (words.get(indices[i] >>> 6) & (1L << indices[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+package at.coffeebeans.stdrand.hash;
+
+import at.coffeebeans.stdrand.BigRand64;
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Count-min sketch over long keys: depth rows of width counters, row i counts a key in the column given by index i
+ * of a {@link HashFamily}. The estimate of a key is the minimum of its counters, it is never below the real count and
+ * exceeds it by more than epsilon * totalCount only with probability delta for width = e / epsilon and
+ * depth = ln(1 / delta). The counters are an {@link AtomicLongArray}, concurrent updates are lock free atomic adds
+ * spread over all counters.
+ */
+public final class CountMinSketch {
+
+    private static final int BLOCK_SIZE = 256;
+
+    private final HashFamily family;
+    private final int width;
+    private final AtomicLongArray counters;
+    private final LongAdder totalCount = new LongAdder();
+
+    /**
+     * @param rand  Generator with the constants to use.
+     * @param depth Number of rows.
+     * @param width Number of counters per row.
+     * @param seed  Seed of the hash family.
+     * @throws IllegalArgumentException if depth or width is not positive or depth * width doesn't fit into an array
+     */
+    public CountMinSketch(
+            final BigRand64 rand,
+            final int depth,
+            final int width,
+            final long seed
+    ) {
+        if (depth < 1 || width < 1 || (long) depth * width > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("invalid size %dx%d", depth, width));
+        }
+        this.family = new HashFamily(rand, depth, width, seed);
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    /**
+     * Sketch with an error of at most epsilon * totalCount with probability 1 - delta.
+     *
+     * @throws IllegalArgumentException if epsilon or delta is not in (0, 1) or the sketch gets too big
+     */
+    public static CountMinSketch create(
+            final BigRand64 rand,
+            final double epsilon,
+            final double delta,
+            final long seed
+    ) {
+        if (!(epsilon > 0 && epsilon < 1) || !(delta > 0 && delta < 1)) {
+            throw new IllegalArgumentException(
+                    String.format("epsilon %s and delta %s must be in (0, 1)", epsilon, delta)
+            );
+        }
+        final double width = Math.ceil(Math.E / epsilon);
+        final double depth = Math.ceil(Math.log(1 / delta));
+        if (width * depth > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(String.format("sketch too big: %.0fx%.0f", depth, width));
+        }
+        return new CountMinSketch(rand, (int) depth, (int) width, seed);
+    }
+
+    public int getDepth() {
+        return family.getK();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return sum of all counts added
+     */
+    public long totalCount() {
+        return totalCount.sum();
+    }
+
+    public void add(final long key) {
+        add(key, 1);
+    }
+
+    /**
+     * @throws IllegalArgumentException if count is negative
+     */
+    public void add(
+            final long key,
+            final long count
+    ) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        final int[] indices = new int[getDepth()];
+        family.indices(key, indices, 0);
+        increment(indices, 0, count);
+        totalCount.add(count);
+    }
+
+    /**
+     * Count every key of keys[offset, offset + length) once, hashing them in blocks.
+     */
+    public void addAll(
+            final long[] keys,
+            final int offset,
+            final int length
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, keys.length);
+        final int depth = getDepth();
+        final int block = Math.max(1, Math.min(BLOCK_SIZE, length));
+        final int[] indices = new int[block * depth];
+        for (int done = 0; done < length; done += block) {
+            final int n = Math.min(block, length - done);
+            family.indices(keys, offset + done, n, indices, 0);
+            for (int j = 0; j < n; j++) {
+                increment(indices, j * depth, 1);
+            }
+        }
+        totalCount.add(length);
+    }
+
+    /**
+     * @return estimated count of key, at least the real count
+     */
+    public long estimate(final long key) {
+        final int[] indices = new int[getDepth()];
+        family.indices(key, indices, 0);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < indices.length; row++) {
+            min = Math.min(min, counters.get(row * width + indices[row]));
+        }
+        return min;
+    }
+
+    /**
+     * Reset all counters. Not atomic with respect to concurrent adds.
+     */
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+        totalCount.reset();
+    }
+
+    private void increment(
+            final int[] indices,
+            final int offset,
+            final long count
+    ) {
+        for (int row = 0; row < getDepth(); row++) {
+            counters.addAndGet(row * width + indices[offset + row], count);
+        }
+    }
+}
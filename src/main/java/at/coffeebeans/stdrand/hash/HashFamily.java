@@ -0,0 +1,171 @@
+package at.coffeebeans.stdrand.hash;
+
+import at.coffeebeans.stdrand.BigRand64;
+import at.coffeebeans.stdrand.BigRandVector;
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+/**
+ * Family of k hash functions over long keys mapping to [0, range), for Bloom filters and sketches. Instead of k
+ * randSeeded calls per key only two base hashes are computed: h1 from the upper 32 of the 63 output bits of
+ * randSeeded(key, seed) and the step h2 from randSeeded(key, subSeed(seed, 1)). Index i is the 32-bit value
+ * h1 + i * h2 + (i^3 - i) / 6 (enhanced double hashing by Dillinger and Manolios) reduced to the range by a
+ * multiplication and shift instead of a division, which maps a step h2 to h2 * range / 2^32 slots. A step within
+ * 2^32 / range of 0 modulo 2^32 would put all indices of a key into the same slot, so h2 is taken from the upper 31
+ * bits plus 2^30, in [2^30, 3 * 2^30): consecutive indices are at least range / 4 slots apart. The cubic term only
+ * adds a few slots for ranges close to 2^32 and k in the hundreds, it doesn't keep the indices apart.<br/>
+ * <br/>
+ * Instances are immutable and thread safe.
+ */
+public final class HashFamily {
+
+    /**
+     * Keys per block in the bulk functions.
+     */
+    private static final int BLOCK_SIZE = 256;
+
+    private final BigRand64 rand;
+    private final int k;
+    private final int range;
+    private final long seed;
+    private final long seed2;
+
+    /**
+     * @param rand  Generator with the constants to use.
+     * @param k     Number of indices per key, at least 1.
+     * @param range Number of slots the indices are mapped to, at least 1.
+     * @param seed  Seed of the family, different seeds give independent families.
+     */
+    public HashFamily(
+            final BigRand64 rand,
+            final int k,
+            final int range,
+            final long seed
+    ) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be at least 1: " + k);
+        }
+        if (range < 1) {
+            throw new IllegalArgumentException("range must be at least 1: " + range);
+        }
+        this.rand = rand;
+        this.k = k;
+        this.range = range;
+        this.seed = seed;
+        this.seed2 = BigRand64.subSeed(seed, 1);
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public int getRange() {
+        return range;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return index i in [0, k) of key, in [0, range)
+     */
+    public int index(
+            final long key,
+            final int i
+    ) {
+        if (i < 0 || i >= k) {
+            throw new IndexOutOfBoundsException("index " + i + " out of bounds for k=" + k);
+        }
+        int a = (int) (rand.randSeeded(key, seed) >>> 31);
+        int b = step(rand.randSeeded(key, seed2));
+        for (int j = 0; j < i; j++) {
+            a += b;
+            b += j + 1;
+        }
+        return reduce(a, range);
+    }
+
+    /**
+     * Write the k indices of key to dst[offset, offset + k).
+     */
+    public void indices(
+            final long key,
+            final int[] dst,
+            final int offset
+    ) {
+        Preconditions.checkFromIndexSize(offset, k, dst.length);
+        indices(
+                (int) (rand.randSeeded(key, seed) >>> 31),
+                step(rand.randSeeded(key, seed2)),
+                dst,
+                offset
+        );
+    }
+
+    /**
+     * Write the k indices of every key of keys[keyOffset, keyOffset + length) to dst, key j at
+     * dst[offset + j * k, offset + (j + 1) * k). The base hashes are computed in blocks with
+     * {@link BigRandVector#gatherSeeded(BigRand64, long[], int, long[], int, int, long)}.
+     */
+    public void indices(
+            final long[] keys,
+            final int keyOffset,
+            final int length,
+            final int[] dst,
+            final int offset
+    ) {
+        Preconditions.checkFromIndexSize(keyOffset, length, keys.length);
+        if ((long) length * k > Integer.MAX_VALUE) {
+            throw new IndexOutOfBoundsException("too many indices: " + length + " keys, k=" + k);
+        }
+        Preconditions.checkFromIndexSize(offset, length * k, dst.length);
+        final long[] hashes1 = new long[Math.min(BLOCK_SIZE, length)];
+        final long[] hashes2 = new long[hashes1.length];
+        int out = offset;
+        for (int done = 0; done < length; done += hashes1.length) {
+            final int n = Math.min(hashes1.length, length - done);
+            BigRandVector.gatherSeeded(rand, keys, keyOffset + done, hashes1, 0, n, seed);
+            BigRandVector.gatherSeeded(rand, keys, keyOffset + done, hashes2, 0, n, seed2);
+            for (int j = 0; j < n; j++, out += k) {
+                indices((int) (hashes1[j] >>> 31), step(hashes2[j]), dst, out);
+            }
+        }
+    }
+
+    private void indices(
+            final int h1,
+            final int h2,
+            final int[] dst,
+            final int offset
+    ) {
+        // a = h1 + i * h2 + (i^3 - i) / 6 incrementally, all modulo 2^32
+        int a = h1;
+        int b = h2;
+        for (int i = 0; i < k; i++) {
+            dst[offset + i] = reduce(a, range);
+            a += b;
+            b += i + 1;
+        }
+    }
+
+    /**
+     * @return upper 31 of the 63 bits of hash plus 2^30, a 32-bit step in [2^30, 3 * 2^30) that is at least a quarter
+     * of the range away from 0 modulo 2^32
+     */
+    private static int step(final long hash) {
+        return (int) (hash >>> 32) + (1 << 30);
+    }
+
+    /**
+     * Map hash, read as unsigned 32-bit value, to [0, range) with (hash * range) >>> 32 (Lemire). Uses the upper bits
+     * of hash, no division.
+     *
+     * @param range upper bound, must be positive
+     */
+    public static int reduce(
+            final int hash,
+            final int range
+    ) {
+        return (int) (((hash & 0xFFFFFFFFL) * range) >>> 32);
+    }
+}
@@ -0,0 +1,28 @@
+package at.coffeebeans.stdrand.internal;
+
+/**
+ * Argument checks shared by the bulk functions of all packages. Java 8 doesn't have Objects.checkFromIndexSize yet.
+ * Internal API, public only so the sub-packages don't need a copy each.
+ */
+public final class Preconditions {
+
+    private Preconditions() {
+    }
+
+    /**
+     * Check that the sub-range [fromIndex, fromIndex + size) is within [0, length).
+     *
+     * @throws IndexOutOfBoundsException if the sub-range is out of bounds
+     */
+    public static void checkFromIndexSize(
+            final int fromIndex,
+            final int size,
+            final int length
+    ) {
+        if ((length | fromIndex | size) < 0 || size > length - fromIndex) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Range [%d, %d + %d) out of bounds for length %d", fromIndex, fromIndex, size, length)
+            );
+        }
+    }
+}
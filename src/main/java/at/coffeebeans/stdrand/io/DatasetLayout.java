@@ -0,0 +1,91 @@
+package at.coffeebeans.stdrand.io;
+
+/**
+ * Maps the position of a value in a dataset file to its x, y and z coordinate. Values are stored row by row, so x runs
+ * fastest, followed by y and then z. Every row of width values is one consecutive range of x.
+ */
+public final class DatasetLayout {
+
+    private final long originX;
+    private final long originY;
+    private final long originZ;
+    private final long width;
+    private final long height;
+
+    private DatasetLayout(
+            final long originX,
+            final long originY,
+            final long originZ,
+            final long width,
+            final long height
+    ) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException(String.format("invalid extents width=%d, height=%d", width, height));
+        }
+        this.originX = originX;
+        this.originY = originY;
+        this.originZ = originZ;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * One dimension: value i is x = startX + i.
+     */
+    public static DatasetLayout linear(
+            final long startX
+    ) {
+        return new DatasetLayout(startX, 0, 0, Long.MAX_VALUE, 1);
+    }
+
+    /**
+     * Two dimensions: rows of width values starting at (originX, originY).
+     */
+    public static DatasetLayout plane(
+            final long originX,
+            final long originY,
+            final long width
+    ) {
+        return new DatasetLayout(originX, originY, 0, width, Long.MAX_VALUE);
+    }
+
+    /**
+     * Three dimensions: layers of height rows of width values starting at (originX, originY, originZ).
+     */
+    public static DatasetLayout volume(
+            final long originX,
+            final long originY,
+            final long originZ,
+            final long width,
+            final long height
+    ) {
+        return new DatasetLayout(originX, originY, originZ, width, height);
+    }
+
+    public long x(final long index) {
+        return originX + (index % width);
+    }
+
+    public long y(final long index) {
+        return originY + ((index / width) % height);
+    }
+
+    public long z(final long index) {
+        return originZ + ((index / width) / height);
+    }
+
+    /**
+     * @return number of values from index to the end of its row
+     */
+    public long rowRemaining(final long index) {
+        return width - (index % width);
+    }
+
+    public long getWidth() {
+        return width;
+    }
+
+    public long getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,217 @@
+package at.coffeebeans.stdrand.io;
+
+import at.coffeebeans.stdrand.BigRand64;
+import at.coffeebeans.stdrand.BigRandParallel;
+import at.coffeebeans.stdrand.BigRandVector;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Binary file of 64-bit values generated by {@link BigRand64}. Value i is stored at byte position 8 * i and is
+ * randSeeded(x, y, z, seed) for the coordinate the {@link DatasetLayout} maps i to. The file is written and verified
+ * through memory mapped regions which are processed in parallel. As every value can be recomputed any part of the
+ * file can be (re)written or verified on its own, for example to resume an aborted run.
+ */
+public class MappedDataset64 {
+
+    /**
+     * Values per mapped region and task, 32MiB.
+     */
+    public static final int REGION_VALUES = 1 << 22;
+
+    private static final int BUFFER_VALUES = 1 << 13;
+
+    private final BigRand64 rand;
+    private final DatasetLayout layout;
+    private final long seed;
+    private final ByteOrder order;
+    private final ForkJoinPool pool;
+    private final int regionValues;
+
+    /**
+     * Dataset using the common pool.
+     */
+    public MappedDataset64(
+            final BigRand64 rand,
+            final DatasetLayout layout,
+            final long seed,
+            final ByteOrder order
+    ) {
+        this(rand, layout, seed, order, ForkJoinPool.commonPool());
+    }
+
+    public MappedDataset64(
+            final BigRand64 rand,
+            final DatasetLayout layout,
+            final long seed,
+            final ByteOrder order,
+            final ForkJoinPool pool
+    ) {
+        this(rand, layout, seed, order, pool, REGION_VALUES);
+    }
+
+    MappedDataset64(
+            final BigRand64 rand,
+            final DatasetLayout layout,
+            final long seed,
+            final ByteOrder order,
+            final ForkJoinPool pool,
+            final int regionValues
+    ) {
+        this.rand = rand;
+        this.layout = layout;
+        this.seed = seed;
+        this.order = order;
+        this.pool = pool;
+        this.regionValues = regionValues;
+    }
+
+    /**
+     * @return the value stored at index
+     */
+    public long value(final long index) {
+        return rand.randSeeded(layout.x(index), layout.y(index), layout.z(index), seed);
+    }
+
+    /**
+     * Write the values [fromIndex, fromIndex + count) to file. The file is created if it doesn't exist and grows if
+     * needed, everything outside the range stays untouched.
+     */
+    public void write(
+            final Path file,
+            final long fromIndex,
+            final long count
+    ) throws IOException {
+        try (FileChannel channel = FileChannel.open(
+                file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+        )) {
+            write(channel, fromIndex, count);
+        }
+    }
+
+    /**
+     * Write the values [fromIndex, fromIndex + count) to a channel opened for reading and writing.
+     */
+    public void write(
+            final FileChannel channel,
+            final long fromIndex,
+            final long count
+    ) throws IOException {
+        checkRange(fromIndex, count);
+        try {
+            BigRandParallel.forEachChunk(pool, count, regionValues, (index, length) -> {
+                final long first = fromIndex + index;
+                final LongBuffer region = map(channel, FileChannel.MapMode.READ_WRITE, first, length);
+                final long[] buffer = new long[Math.min(BUFFER_VALUES, length)];
+                int done = 0;
+                while (done < length) {
+                    final int n = generate(first + done, buffer, length - done);
+                    region.put(buffer, 0, n);
+                    done += n;
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Compare the values [fromIndex, fromIndex + count) in file with the generator without loading the whole file.
+     *
+     * @return the lowest index that doesn't match or is missing in the file, -1 if all values match
+     */
+    public long verify(
+            final Path file,
+            final long fromIndex,
+            final long count
+    ) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return verify(channel, fromIndex, count);
+        }
+    }
+
+    /**
+     * @see MappedDataset64#verify(Path, long, long)
+     */
+    public long verify(
+            final FileChannel channel,
+            final long fromIndex,
+            final long count
+    ) throws IOException {
+        checkRange(fromIndex, count);
+        final long available = Math.max(0, Math.min(count, channel.size() / Long.BYTES - fromIndex));
+        final AtomicLong mismatch = new AtomicLong(available < count ? fromIndex + available : Long.MAX_VALUE);
+        try {
+            BigRandParallel.forEachChunk(pool, available, regionValues, (index, length) -> {
+                final long first = fromIndex + index;
+                final LongBuffer region = map(channel, FileChannel.MapMode.READ_ONLY, first, length);
+                final long[] expected = new long[Math.min(BUFFER_VALUES, length)];
+                final long[] actual = new long[expected.length];
+                int done = 0;
+                while (done < length && first + done < mismatch.get()) {
+                    final int n = generate(first + done, expected, length - done);
+                    region.get(actual, 0, n);
+                    for (int i = 0; i < n; i++) {
+                        if (expected[i] != actual[i]) {
+                            mismatch.accumulateAndGet(first + done + i, Math::min);
+                            return;
+                        }
+                    }
+                    done += n;
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        final long result = mismatch.get();
+        return Long.MAX_VALUE == result ? -1 : result;
+    }
+
+    /**
+     * Generate the values from index on, at most to the end of the row the index is in.
+     *
+     * @return number of values written to buffer
+     */
+    private int generate(
+            final long index,
+            final long[] buffer,
+            final int max
+    ) {
+        final int n = (int) Math.min(Math.min(buffer.length, max), layout.rowRemaining(index));
+        final long x = layout.x(index) + (rand.getPrime1() * layout.y(index)) + (rand.getPrime2() * layout.z(index));
+        BigRandVector.fillSeeded(rand, buffer, 0, n, x, seed);
+        return n;
+    }
+
+    private LongBuffer map(
+            final FileChannel channel,
+            final FileChannel.MapMode mode,
+            final long first,
+            final int length
+    ) {
+        try {
+            final MappedByteBuffer region = channel.map(mode, first * Long.BYTES, (long) length * Long.BYTES);
+            return region.order(order).asLongBuffer();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void checkRange(
+            final long fromIndex,
+            final long count
+    ) {
+        if (fromIndex < 0 || count < 0 || count > Long.MAX_VALUE / Long.BYTES - fromIndex) {
+            throw new IllegalArgumentException(String.format("invalid range fromIndex=%d, count=%d", fromIndex, count));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package at.coffeebeans.stdrand.noise;
+
+/**
+ * How the octaves of {@link FractalNoise} are combined.
+ */
+public enum Fractal {
+
+    /**
+     * Fractional Brownian motion: weighted sum of the octaves, in [-1, 1].
+     */
+    FBM,
+
+    /**
+     * Weighted sum of (1 - |noise|)^2 of every octave, in [0, 1]. Gives sharp ridges where the noise crosses zero.
+     */
+    RIDGED
+}
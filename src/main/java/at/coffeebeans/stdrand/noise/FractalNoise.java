@@ -0,0 +1,198 @@
+package at.coffeebeans.stdrand.noise;
+
+import at.coffeebeans.stdrand.BigRand32;
+
+import java.util.Arrays;
+
+/**
+ * Sum of several octaves of a {@link Noise}. Octave k has the frequency lacunarity^k, the amplitude gain^k and its own
+ * seed {@link BigRand32#subSeed(int, int)} of the noise seed. The amplitudes are normalized to a sum of 1, so
+ * {@link Fractal#FBM} stays in [-1, 1] and {@link Fractal#RIDGED} in [0, 1]. Octave 0 is the noise itself, so one
+ * octave of FBM gives the same values as the noise.<br/>
+ * <br/>
+ * The fill functions hash the lattice corners of every octave once and add each octave to the whole chunk before
+ * starting the next.
+ */
+public class FractalNoise {
+
+    private final Noise noise;
+    private final Fractal fractal;
+    private final double[] frequencies;
+    private final float[] amplitudes;
+    private final int[] seeds;
+
+    /**
+     * @param noise      Noise of every octave.
+     * @param fractal    How the octaves are combined.
+     * @param octaves    Number of octaves, at least 1.
+     * @param lacunarity Frequency factor from one octave to the next, usually 2.
+     * @param gain       Amplitude factor from one octave to the next, usually 0.5.
+     */
+    public FractalNoise(
+            final Noise noise,
+            final Fractal fractal,
+            final int octaves,
+            final double lacunarity,
+            final double gain
+    ) {
+        if (octaves < 1) {
+            throw new IllegalArgumentException("octaves must be at least 1: " + octaves);
+        }
+        if (!(lacunarity > 0) || !(gain > 0) || Double.isInfinite(lacunarity) || Double.isInfinite(gain)) {
+            throw new IllegalArgumentException(
+                    String.format("lacunarity and gain must be positive and finite: %s, %s", lacunarity, gain)
+            );
+        }
+        this.noise = noise;
+        this.fractal = fractal;
+        this.frequencies = new double[octaves];
+        this.amplitudes = new float[octaves];
+        this.seeds = new int[octaves];
+        double frequency = 1.0;
+        double amplitude = 1.0;
+        double sum = 0.0;
+        for (int k = 0; k < octaves; k++) {
+            frequencies[k] = frequency;
+            seeds[k] = BigRand32.subSeed(noise.getSeed(), k);
+            sum += amplitude;
+            frequency *= lacunarity;
+            amplitude *= gain;
+        }
+        amplitude = 1.0;
+        for (int k = 0; k < octaves; k++) {
+            amplitudes[k] = (float) (amplitude / sum);
+            amplitude *= gain;
+        }
+    }
+
+    public Noise getNoise() {
+        return noise;
+    }
+
+    public Fractal getFractal() {
+        return fractal;
+    }
+
+    public int getOctaves() {
+        return seeds.length;
+    }
+
+    // ======================= single points =======================
+
+    /**
+     * @return fractal noise at x
+     */
+    public float sample(final double x) {
+        final boolean ridged = fractal == Fractal.RIDGED;
+        float result = 0f;
+        for (int k = 0; k < seeds.length; k++) {
+            result += amplitudes[k] * Noise.shape(noise.octave(x, frequencies[k], seeds[k]), ridged);
+        }
+        return result;
+    }
+
+    /**
+     * @return fractal noise at (x, y)
+     */
+    public float sample(
+            final double x,
+            final double y
+    ) {
+        final boolean ridged = fractal == Fractal.RIDGED;
+        float result = 0f;
+        for (int k = 0; k < seeds.length; k++) {
+            result += amplitudes[k] * Noise.shape(noise.octave(x, y, frequencies[k], seeds[k]), ridged);
+        }
+        return result;
+    }
+
+    /**
+     * @return fractal noise at (x, y, z)
+     */
+    public float sample(
+            final double x,
+            final double y,
+            final double z
+    ) {
+        final boolean ridged = fractal == Fractal.RIDGED;
+        float result = 0f;
+        for (int k = 0; k < seeds.length; k++) {
+            result += amplitudes[k] * Noise.shape(noise.octave(x, y, z, frequencies[k], seeds[k]), ridged);
+        }
+        return result;
+    }
+
+    // ======================= chunks =======================
+
+    /**
+     * Fill dst with the fractal noise at originX + i * step for i in [0, width).
+     *
+     * @see Noise#fill(float[], int, double, double, int)
+     */
+    public void fill(
+            final float[] dst,
+            final int offset,
+            final double originX,
+            final double step,
+            final int width
+    ) {
+        final int size = Noise.checkChunk(dst, offset, step, width, 1, 1);
+        Arrays.fill(dst, offset, offset + size, 0f);
+        final boolean ridged = fractal == Fractal.RIDGED;
+        for (int k = 0; k < seeds.length; k++) {
+            noise.addOctave(dst, offset, originX, step, width, frequencies[k], seeds[k], amplitudes[k], ridged);
+        }
+    }
+
+    /**
+     * Fill dst row by row with the fractal noise of a width x height grid of samples starting at (originX, originY).
+     *
+     * @see Noise#fill(float[], int, double, double, double, int, int)
+     */
+    public void fill(
+            final float[] dst,
+            final int offset,
+            final double originX,
+            final double originY,
+            final double step,
+            final int width,
+            final int height
+    ) {
+        final int size = Noise.checkChunk(dst, offset, step, width, height, 1);
+        Arrays.fill(dst, offset, offset + size, 0f);
+        final boolean ridged = fractal == Fractal.RIDGED;
+        for (int k = 0; k < seeds.length; k++) {
+            noise.addOctave(
+                    dst, offset, originX, originY, step, width, height, frequencies[k], seeds[k], amplitudes[k], ridged
+            );
+        }
+    }
+
+    /**
+     * Fill dst row by row and layer by layer with the fractal noise of a width x height x depth grid of samples
+     * starting at (originX, originY, originZ).
+     *
+     * @see Noise#fill(float[], int, double, double, double, double, int, int, int)
+     */
+    public void fill(
+            final float[] dst,
+            final int offset,
+            final double originX,
+            final double originY,
+            final double originZ,
+            final double step,
+            final int width,
+            final int height,
+            final int depth
+    ) {
+        final int size = Noise.checkChunk(dst, offset, step, width, height, depth);
+        Arrays.fill(dst, offset, offset + size, 0f);
+        final boolean ridged = fractal == Fractal.RIDGED;
+        for (int k = 0; k < seeds.length; k++) {
+            noise.addOctave(
+                    dst, offset, originX, originY, originZ, step, width, height, depth,
+                    frequencies[k], seeds[k], amplitudes[k], ridged
+            );
+        }
+    }
+}
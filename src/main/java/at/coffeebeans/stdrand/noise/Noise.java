@@ -0,0 +1,506 @@
+package at.coffeebeans.stdrand.noise;
+
+import at.coffeebeans.stdrand.BigRand32;
+import at.coffeebeans.stdrand.BigRandVector;
+import at.coffeebeans.stdrand.TileLayout;
+
+import java.util.Arrays;
+
+/**
+ * Value or gradient noise on the integer lattice hashed by {@link BigRand32}, the corner (x, y, z) uses
+ * randSeeded(x, y, z, seed). Single points can be sampled directly, chunks should be filled with the fill functions:
+ * they hash every lattice corner of a regular grid of samples once with the bulk functions and interpolate all
+ * samples from that table.<br/>
+ * <br/>
+ * The result only depends on the constants of the generator, the seed and the position, so chunks can be generated in
+ * any order and on any thread. Lattice coordinates wrap at 2^32.
+ *
+ * @see FractalNoise
+ */
+public class Noise {
+
+    private static final float SQRT_2 = 1.4142135f;
+    private static final float DIAGONAL = 0.70710677f;
+    private static final float[] GRADIENT_2_X = {1f, -1f, 0f, 0f, DIAGONAL, -DIAGONAL, DIAGONAL, -DIAGONAL};
+    private static final float[] GRADIENT_2_Y = {0f, 0f, 1f, -1f, DIAGONAL, DIAGONAL, -DIAGONAL, -DIAGONAL};
+
+    private final BigRand32 rand;
+    private final NoiseType type;
+    private final int seed;
+
+    public Noise(
+            final BigRand32 rand,
+            final NoiseType type,
+            final int seed
+    ) {
+        this.rand = rand;
+        this.type = type;
+        this.seed = seed;
+    }
+
+    public BigRand32 getRand() {
+        return rand;
+    }
+
+    public NoiseType getType() {
+        return type;
+    }
+
+    public int getSeed() {
+        return seed;
+    }
+
+    // ======================= single points =======================
+
+    /**
+     * @return noise at x
+     */
+    public float sample(final double x) {
+        return octave(x, 1.0, seed);
+    }
+
+    /**
+     * @return noise at (x, y)
+     */
+    public float sample(
+            final double x,
+            final double y
+    ) {
+        return octave(x, y, 1.0, seed);
+    }
+
+    /**
+     * @return noise at (x, y, z)
+     */
+    public float sample(
+            final double x,
+            final double y,
+            final double z
+    ) {
+        return octave(x, y, z, 1.0, seed);
+    }
+
+    float octave(
+            final double x,
+            final double frequency,
+            final int octaveSeed
+    ) {
+        final double px = x * frequency;
+        final double floorX = Math.floor(px);
+        final int cx = (int) (long) floorX;
+        final float tx = (float) (px - floorX);
+        return interpolate(
+                rand.randSeeded(cx, octaveSeed), rand.randSeeded(cx + 1, octaveSeed),
+                tx, fade(tx)
+        );
+    }
+
+    float octave(
+            final double x,
+            final double y,
+            final double frequency,
+            final int octaveSeed
+    ) {
+        final double px = x * frequency;
+        final double py = y * frequency;
+        final double floorX = Math.floor(px);
+        final double floorY = Math.floor(py);
+        final int cx = (int) (long) floorX;
+        final int cy = (int) (long) floorY;
+        final float tx = (float) (px - floorX);
+        final float ty = (float) (py - floorY);
+        return interpolate(
+                rand.randSeeded(cx, cy, octaveSeed), rand.randSeeded(cx + 1, cy, octaveSeed),
+                rand.randSeeded(cx, cy + 1, octaveSeed), rand.randSeeded(cx + 1, cy + 1, octaveSeed),
+                tx, ty, fade(tx), fade(ty)
+        );
+    }
+
+    float octave(
+            final double x,
+            final double y,
+            final double z,
+            final double frequency,
+            final int octaveSeed
+    ) {
+        final double px = x * frequency;
+        final double py = y * frequency;
+        final double pz = z * frequency;
+        final double floorX = Math.floor(px);
+        final double floorY = Math.floor(py);
+        final double floorZ = Math.floor(pz);
+        final int cx = (int) (long) floorX;
+        final int cy = (int) (long) floorY;
+        final int cz = (int) (long) floorZ;
+        final float tx = (float) (px - floorX);
+        final float ty = (float) (py - floorY);
+        final float tz = (float) (pz - floorZ);
+        return interpolate(
+                rand.randSeeded(cx, cy, cz, octaveSeed), rand.randSeeded(cx + 1, cy, cz, octaveSeed),
+                rand.randSeeded(cx, cy + 1, cz, octaveSeed), rand.randSeeded(cx + 1, cy + 1, cz, octaveSeed),
+                rand.randSeeded(cx, cy, cz + 1, octaveSeed), rand.randSeeded(cx + 1, cy, cz + 1, octaveSeed),
+                rand.randSeeded(cx, cy + 1, cz + 1, octaveSeed), rand.randSeeded(cx + 1, cy + 1, cz + 1, octaveSeed),
+                tx, ty, tz, fade(tx), fade(ty), fade(tz)
+        );
+    }
+
+    // ======================= chunks =======================
+
+    /**
+     * Fill dst with the noise at originX + i * step for i in [0, width). Same result as calling
+     * {@link Noise#sample(double)} for every position.
+     *
+     * @param dst     Array to write to.
+     * @param offset  First index in dst to write.
+     * @param originX Position of the first sample.
+     * @param step    Distance between two samples, must be positive. The lattice has a distance of 1.
+     * @param width   Number of samples.
+     */
+    public void fill(
+            final float[] dst,
+            final int offset,
+            final double originX,
+            final double step,
+            final int width
+    ) {
+        final int size = checkChunk(dst, offset, step, width, 1, 1);
+        Arrays.fill(dst, offset, offset + size, 0f);
+        addOctave(dst, offset, originX, step, width, 1.0, seed, 1f, false);
+    }
+
+    /**
+     * Fill dst row by row with the noise of a width x height grid of samples starting at (originX, originY).
+     *
+     * @see Noise#fill(float[], int, double, double, int)
+     * @see Noise#sample(double, double)
+     */
+    public void fill(
+            final float[] dst,
+            final int offset,
+            final double originX,
+            final double originY,
+            final double step,
+            final int width,
+            final int height
+    ) {
+        final int size = checkChunk(dst, offset, step, width, height, 1);
+        Arrays.fill(dst, offset, offset + size, 0f);
+        addOctave(dst, offset, originX, originY, step, width, height, 1.0, seed, 1f, false);
+    }
+
+    /**
+     * Fill dst row by row and layer by layer with the noise of a width x height x depth grid of samples starting at
+     * (originX, originY, originZ).
+     *
+     * @see Noise#fill(float[], int, double, double, int)
+     * @see Noise#sample(double, double, double)
+     */
+    public void fill(
+            final float[] dst,
+            final int offset,
+            final double originX,
+            final double originY,
+            final double originZ,
+            final double step,
+            final int width,
+            final int height,
+            final int depth
+    ) {
+        final int size = checkChunk(dst, offset, step, width, height, depth);
+        Arrays.fill(dst, offset, offset + size, 0f);
+        addOctave(dst, offset, originX, originY, originZ, step, width, height, depth, 1.0, seed, 1f, false);
+    }
+
+    /**
+     * Add amplitude * noise (or the ridge of the noise) of one octave to every sample of the chunk.
+     */
+    void addOctave(
+            final float[] dst,
+            final int offset,
+            final double originX,
+            final double step,
+            final int width,
+            final double frequency,
+            final int octaveSeed,
+            final float amplitude,
+            final boolean ridged
+    ) {
+        final NoiseAxis ax = new NoiseAxis(originX, step, width, frequency);
+        final int[] hashes = new int[ax.cellCount];
+        hashRow(hashes, 0, ax, 0, octaveSeed);
+        for (int i = 0; i < width; i++) {
+            final int ix = ax.index[i];
+            final float n = interpolate(hashes[ix], hashes[ix + 1], ax.t[i], ax.fade[i]);
+            dst[offset + i] += amplitude * shape(n, ridged);
+        }
+    }
+
+    void addOctave(
+            final float[] dst,
+            final int offset,
+            final double originX,
+            final double originY,
+            final double step,
+            final int width,
+            final int height,
+            final double frequency,
+            final int octaveSeed,
+            final float amplitude,
+            final boolean ridged
+    ) {
+        final NoiseAxis ax = new NoiseAxis(originX, step, width, frequency);
+        final NoiseAxis ay = new NoiseAxis(originY, step, height, frequency);
+        final int cw = ax.cellCount;
+        final int[] hashes = new int[cw * ay.cellCount];
+        for (int r = 0; r < ay.cellCount; r++) {
+            hashRow(hashes, r * cw, ax, rand.getPrime1() * ay.cells[r], octaveSeed);
+        }
+        int o = offset;
+        for (int j = 0; j < height; j++) {
+            final int row0 = ay.index[j] * cw;
+            final int row1 = row0 + cw;
+            final float ty = ay.t[j];
+            final float fy = ay.fade[j];
+            for (int i = 0; i < width; i++) {
+                final int ix = ax.index[i];
+                final float n = interpolate(
+                        hashes[row0 + ix], hashes[row0 + ix + 1], hashes[row1 + ix], hashes[row1 + ix + 1],
+                        ax.t[i], ty, ax.fade[i], fy
+                );
+                dst[o++] += amplitude * shape(n, ridged);
+            }
+        }
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    void addOctave(
+            final float[] dst,
+            final int offset,
+            final double originX,
+            final double originY,
+            final double originZ,
+            final double step,
+            final int width,
+            final int height,
+            final int depth,
+            final double frequency,
+            final int octaveSeed,
+            final float amplitude,
+            final boolean ridged
+    ) {
+        final NoiseAxis ax = new NoiseAxis(originX, step, width, frequency);
+        final NoiseAxis ay = new NoiseAxis(originY, step, height, frequency);
+        final NoiseAxis az = new NoiseAxis(originZ, step, depth, frequency);
+        final int cw = ax.cellCount;
+        final int layer = cw * ay.cellCount;
+        final int[] hashes = new int[layer * az.cellCount];
+        for (int s = 0; s < az.cellCount; s++) {
+            final int z = rand.getPrime2() * az.cells[s];
+            for (int r = 0; r < ay.cellCount; r++) {
+                hashRow(hashes, s * layer + r * cw, ax, rand.getPrime1() * ay.cells[r] + z, octaveSeed);
+            }
+        }
+        int o = offset;
+        for (int k = 0; k < depth; k++) {
+            final int layer0 = az.index[k] * layer;
+            final int layer1 = layer0 + layer;
+            final float tz = az.t[k];
+            final float fz = az.fade[k];
+            for (int j = 0; j < height; j++) {
+                final int row00 = layer0 + ay.index[j] * cw;
+                final int row10 = row00 + cw;
+                final int row01 = layer1 + ay.index[j] * cw;
+                final int row11 = row01 + cw;
+                final float ty = ay.t[j];
+                final float fy = ay.fade[j];
+                for (int i = 0; i < width; i++) {
+                    final int ix = ax.index[i];
+                    final float n = interpolate(
+                            hashes[row00 + ix], hashes[row00 + ix + 1], hashes[row10 + ix], hashes[row10 + ix + 1],
+                            hashes[row01 + ix], hashes[row01 + ix + 1], hashes[row11 + ix], hashes[row11 + ix + 1],
+                            ax.t[i], ty, tz, ax.fade[i], fy, fz
+                    );
+                    dst[o++] += amplitude * shape(n, ridged);
+                }
+            }
+        }
+    }
+
+    /**
+     * Hash the corners along x for one row, yz is the already combined y and z part of the coordinate.
+     */
+    private void hashRow(
+            final int[] dst,
+            final int offset,
+            final NoiseAxis ax,
+            final int yz,
+            final int octaveSeed
+    ) {
+        if (ax.contiguous) {
+            BigRandVector.fillSeeded(rand, dst, offset, ax.cellCount, ax.cells[0] + yz, octaveSeed);
+        } else {
+            for (int i = 0; i < ax.cellCount; i++) {
+                dst[offset + i] = rand.randSeeded(ax.cells[i] + yz, octaveSeed);
+            }
+        }
+    }
+
+    /**
+     * @return number of samples in the chunk
+     * @throws IllegalArgumentException  if step isn't positive or an extent is negative
+     * @throws IndexOutOfBoundsException if the chunk doesn't fit into dst at offset
+     */
+    static int checkChunk(
+            final float[] dst,
+            final int offset,
+            final double step,
+            final int width,
+            final int height,
+            final int depth
+    ) {
+        if (!(step > 0) || Double.isInfinite(step)) {
+            throw new IllegalArgumentException("step must be positive and finite: " + step);
+        }
+        final int size = TileLayout.ROW_MAJOR.size(width, height, depth);
+        if (offset < 0 || size > dst.length - offset) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Range [%d, %d + %d) out of bounds for length %d", offset, offset, size, dst.length)
+            );
+        }
+        return size;
+    }
+
+    // ======================= interpolation =======================
+
+    private float interpolate(
+            final int h0,
+            final int h1,
+            final float tx,
+            final float fx
+    ) {
+        return lerp(corner(h0, tx), corner(h1, tx - 1f), fx);
+    }
+
+    private float interpolate(
+            final int h00,
+            final int h10,
+            final int h01,
+            final int h11,
+            final float tx,
+            final float ty,
+            final float fx,
+            final float fy
+    ) {
+        final float tx1 = tx - 1f;
+        final float ty1 = ty - 1f;
+        return lerp(
+                lerp(corner(h00, tx, ty), corner(h10, tx1, ty), fx),
+                lerp(corner(h01, tx, ty1), corner(h11, tx1, ty1), fx),
+                fy
+        );
+    }
+
+    private float interpolate(
+            final int h000,
+            final int h100,
+            final int h010,
+            final int h110,
+            final int h001,
+            final int h101,
+            final int h011,
+            final int h111,
+            final float tx,
+            final float ty,
+            final float tz,
+            final float fx,
+            final float fy,
+            final float fz
+    ) {
+        final float tx1 = tx - 1f;
+        final float ty1 = ty - 1f;
+        final float tz1 = tz - 1f;
+        return lerp(
+                lerp(
+                        lerp(corner(h000, tx, ty, tz), corner(h100, tx1, ty, tz), fx),
+                        lerp(corner(h010, tx, ty1, tz), corner(h110, tx1, ty1, tz), fx),
+                        fy
+                ),
+                lerp(
+                        lerp(corner(h001, tx, ty, tz1), corner(h101, tx1, ty, tz1), fx),
+                        lerp(corner(h011, tx, ty1, tz1), corner(h111, tx1, ty1, tz1), fx),
+                        fy
+                ),
+                fz
+        );
+    }
+
+    /**
+     * @return contribution of the corner with hash h at distance dx
+     */
+    private float corner(
+            final int h,
+            final float dx
+    ) {
+        return type == NoiseType.VALUE ? value(h) : 2f * value(h) * dx;
+    }
+
+    private float corner(
+            final int h,
+            final float dx,
+            final float dy
+    ) {
+        if (type == NoiseType.VALUE) {
+            return value(h);
+        }
+        return SQRT_2 * (GRADIENT_2_X[h & 7] * dx + GRADIENT_2_Y[h & 7] * dy);
+    }
+
+    private float corner(
+            final int h,
+            final float dx,
+            final float dy,
+            final float dz
+    ) {
+        if (type == NoiseType.VALUE) {
+            return value(h);
+        }
+        // one of the 12 edge directions of a cube, Perlin's improved noise
+        final int g = h & 15;
+        final float u = g < 8 ? dx : dy;
+        final float v = g < 4 ? dy : (g == 12 || g == 14 ? dx : dz);
+        return ((g & 1) == 0 ? u : -u) + ((g & 2) == 0 ? v : -v);
+    }
+
+    /**
+     * @return hash mapped to [-1, 1), the hashes of {@link BigRand32} have 31 bits
+     */
+    static float value(final int h) {
+        return (h >>> 7) * 0x1.0p-23f - 1f;
+    }
+
+    /**
+     * @return t smoothed with 6t^5 - 15t^4 + 10t^3, which has zero first and second derivative at 0 and 1
+     */
+    static float fade(final float t) {
+        return t * t * t * (t * (t * 6f - 15f) + 10f);
+    }
+
+    private static float lerp(
+            final float a,
+            final float b,
+            final float t
+    ) {
+        return a + t * (b - a);
+    }
+
+    static float shape(
+            final float n,
+            final boolean ridged
+    ) {
+        if (!ridged) {
+            return n;
+        }
+        final float ridge = 1f - Math.abs(n);
+        return ridge * ridge;
+    }
+}
@@ -0,0 +1,67 @@
+package at.coffeebeans.stdrand.noise;
+
+/**
+ * Sample positions along one axis of a chunk: the lattice cell every sample falls into and its position within the
+ * cell. Every lattice coordinate a sample touches appears exactly once in cells, so each corner gets hashed once.
+ */
+final class NoiseAxis {
+
+    /**
+     * Lattice coordinates in ascending order, wrapping at 2^32.
+     */
+    final int[] cells;
+    final int cellCount;
+    /**
+     * True if cells is one consecutive range, so a row of corners is one bulk fill.
+     */
+    final boolean contiguous;
+    /**
+     * Position of the lower corner of each sample in cells, the upper corner is at index + 1.
+     */
+    final int[] index;
+    /**
+     * Distance of each sample to its lower corner in [0, 1].
+     */
+    final float[] t;
+    /**
+     * Interpolation weight of each sample, t smoothed with {@link Noise#fade(float)}.
+     */
+    final float[] fade;
+
+    /**
+     * Axis of count samples at (origin + i * step) * frequency.
+     */
+    NoiseAxis(
+            final double origin,
+            final double step,
+            final int count,
+            final double frequency
+    ) {
+        final long[] lattice = new long[2 * count];
+        index = new int[count];
+        t = new float[count];
+        fade = new float[count];
+        int n = 0;
+        for (int i = 0; i < count; i++) {
+            final double p = (origin + i * step) * frequency;
+            final double floor = Math.floor(p);
+            final long cell = (long) floor;
+            // positions are ascending, so the cell is either new or one of the last two
+            if (n == 0 || lattice[n - 1] < cell) {
+                lattice[n++] = cell;
+            }
+            index[i] = lattice[n - 1] == cell ? n - 1 : n - 2;
+            if (index[i] == n - 1) {
+                lattice[n++] = cell + 1;
+            }
+            t[i] = (float) (p - floor);
+            fade[i] = Noise.fade(t[i]);
+        }
+        cellCount = n;
+        cells = new int[n];
+        for (int i = 0; i < n; i++) {
+            cells[i] = (int) lattice[i];
+        }
+        contiguous = n == 0 || lattice[n - 1] - lattice[0] == n - 1;
+    }
+}
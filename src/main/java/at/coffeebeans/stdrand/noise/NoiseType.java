@@ -0,0 +1,18 @@
+package at.coffeebeans.stdrand.noise;
+
+/**
+ * Kind of the value at each lattice corner.
+ */
+public enum NoiseType {
+
+    /**
+     * Every corner has a random value in [-1, 1), interpolated smoothly between the corners.
+     */
+    VALUE,
+
+    /**
+     * Every corner has a random gradient (Perlin noise). The noise is 0 at the corners, which avoids the blocky look of
+     * value noise. The result is scaled to roughly [-1, 1].
+     */
+    GRADIENT
+}
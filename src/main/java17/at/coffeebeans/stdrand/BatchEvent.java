@@ -0,0 +1,34 @@
+package at.coffeebeans.stdrand;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder event for one bulk batch, duration and thread are recorded by JFR. Disabled by default, enable
+ * it in the recording settings, for example {@code jfr configure at.coffeebeans.stdrand.Batch#enabled=true}.
+ */
+@Name("at.coffeebeans.stdrand.Batch")
+@Label("BigRand Batch")
+@Category("BigRand")
+@Description("Bulk generation of random numbers")
+@Enabled(false)
+@StackTrace(false)
+final class BatchEvent extends Event {
+
+    @Label("Generator")
+    String generator;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Values")
+    long values;
+
+    @Label("Dimensions")
+    int dimensions;
+}
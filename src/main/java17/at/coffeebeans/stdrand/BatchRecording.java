@@ -0,0 +1,70 @@
+package at.coffeebeans.stdrand;
+
+import jdk.jfr.EventType;
+
+/**
+ * One batch recorded for {@link BigRandMetrics} and as {@link BatchEvent}. This is the Java 17 version from
+ * META-INF/versions/17 of the multi-release jar.
+ */
+final class BatchRecording {
+
+    private static final EventType EVENT_TYPE = EventType.getEventType(BatchEvent.class);
+
+    private final long start;
+    private final boolean metrics;
+    private final BatchEvent event;
+
+    private BatchRecording(
+            final long start,
+            final boolean metrics,
+            final BatchEvent event
+    ) {
+        this.start = start;
+        this.metrics = metrics;
+        this.event = event;
+    }
+
+    /**
+     * @return recording of a batch starting now, null if neither the metrics nor the event are enabled
+     */
+    static BatchRecording begin() {
+        final boolean metrics = BigRandMetrics.isEnabled();
+        final boolean events = EVENT_TYPE.isEnabled();
+        if (!metrics && !events) {
+            return null;
+        }
+        BatchEvent event = null;
+        if (events) {
+            event = new BatchEvent();
+            event.begin();
+        }
+        return new BatchRecording(System.nanoTime(), metrics, event);
+    }
+
+    /**
+     * @param counters   Counters of the generator.
+     * @param operation  Name of the bulk function.
+     * @param values     Number of values generated.
+     * @param dimensions Number of dimensions of the coordinates.
+     */
+    void end(
+            final BigRandMetrics.Counters counters,
+            final String operation,
+            final long values,
+            final int dimensions
+    ) {
+        if (metrics) {
+            BigRandMetrics.record(counters, values, System.nanoTime() - start);
+        }
+        if (null != event) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.generator = counters.getGenerator();
+                event.operation = operation;
+                event.values = values;
+                event.dimensions = dimensions;
+                event.commit();
+            }
+        }
+    }
+}
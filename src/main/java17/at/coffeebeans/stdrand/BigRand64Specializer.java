@@ -0,0 +1,148 @@
+package at.coffeebeans.stdrand;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandles;
+import java.nio.ByteBuffer;
+
+/**
+ * Creates {@link BigRand64} instances with custom constants compiled in. This is the Java 17 version from
+ * META-INF/versions/17 of the multi-release jar: the class file of {@link BigRand64Template} gets its placeholder
+ * constants replaced in the constant pool and is defined as hidden class, so the JIT sees the custom values as
+ * constants just like the static defaults. If the template can't be read or defined the full constructor is used.
+ */
+final class BigRand64Specializer {
+
+    private static final String TEMPLATE = "BigRand64Template.class";
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+
+    private BigRand64Specializer() {
+    }
+
+    /**
+     * @see BigRand64#withConstants(long, long, long, long, long, long)
+     */
+    static BigRand64 create(
+            final long defaultSeed,
+            final long bitNoise1,
+            final long bitNoise2,
+            final long bitNoise3,
+            final long prime1,
+            final long prime2
+    ) {
+        final byte[] template = Template.BYTES;
+        if (null != template) {
+            final byte[] patched = patch(template, new long[]{
+                    BigRand64Template.BIT_NOISE_1, bitNoise1,
+                    BigRand64Template.BIT_NOISE_2, bitNoise2,
+                    BigRand64Template.BIT_NOISE_3, bitNoise3,
+                    BigRand64Template.PRIME_1, prime1,
+                    BigRand64Template.PRIME_2, prime2,
+            });
+            try {
+                final Class<?> specialized = MethodHandles.lookup().defineHiddenClass(patched, true).lookupClass();
+                return (BigRand64) specialized.getDeclaredConstructor(long.class).newInstance(defaultSeed);
+            } catch (ReflectiveOperationException e) {
+                // not allowed to define or instantiate the class, use the plain generator
+            }
+        }
+        return new BigRand64(defaultSeed, bitNoise1, bitNoise2, bitNoise3, prime1, prime2);
+    }
+
+    /**
+     * Copy of classFile with the CONSTANT_Long entries of the constant pool replaced.
+     *
+     * @param replacements Pairs of placeholder and new value.
+     * @throws IllegalArgumentException if a placeholder is not found exactly once
+     */
+    static byte[] patch(
+            final byte[] classFile,
+            final long[] replacements
+    ) {
+        final byte[] result = classFile.clone();
+        final ByteBuffer buffer = ByteBuffer.wrap(result);
+        final int[] found = new int[replacements.length / 2];
+        // skip magic, minor and major version
+        buffer.position(8);
+        final int count = buffer.getShort() & 0xFFFF;
+        for (int i = 1; i < count; i++) {
+            final int tag = buffer.get() & 0xFF;
+            if (CONSTANT_UTF8 == tag) {
+                final int length = buffer.getShort() & 0xFFFF;
+                buffer.position(buffer.position() + length);
+            } else if (CONSTANT_LONG == tag) {
+                final long value = buffer.getLong(buffer.position());
+                for (int r = 0; r < found.length; r++) {
+                    if (replacements[2 * r] == value) {
+                        buffer.putLong(buffer.position(), replacements[2 * r + 1]);
+                        found[r]++;
+                    }
+                }
+                buffer.position(buffer.position() + Long.BYTES);
+            } else {
+                buffer.position(buffer.position() + constantSize(tag));
+            }
+            if (CONSTANT_LONG == tag || CONSTANT_DOUBLE == tag) {
+                // 8-byte constants take two entries
+                i++;
+            }
+        }
+        for (int r = 0; r < found.length; r++) {
+            if (1 != found[r]) {
+                throw new IllegalArgumentException(String.format(
+                        "placeholder 0x%X found %d times", replacements[2 * r], found[r]
+                ));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return size in bytes after the tag of the fixed size constant pool entries, JVMS 4.4
+     */
+    private static int constantSize(final int tag) {
+        switch (tag) {
+            case 7: // Class
+            case 8: // String
+            case 16: // MethodType
+            case 19: // Module
+            case 20: // Package
+                return 2;
+            case CONSTANT_METHOD_HANDLE:
+                return 3;
+            case 3: // Integer
+            case 4: // Float
+            case 9: // Fieldref
+            case 10: // Methodref
+            case 11: // InterfaceMethodref
+            case 12: // NameAndType
+            case 17: // Dynamic
+            case 18: // InvokeDynamic
+                return 4;
+            case CONSTANT_DOUBLE:
+                return 8;
+            default:
+                throw new IllegalArgumentException("unknown constant pool tag " + tag);
+        }
+    }
+
+    /**
+     * Class file of the template, read once on first use. null if it is not available.
+     */
+    private static final class Template {
+
+        private static final byte[] BYTES = read();
+
+        private static byte[] read() {
+            try (InputStream in = BigRand64Specializer.class.getResourceAsStream(TEMPLATE)) {
+                return null == in ? null : in.readAllBytes();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+    }
+}
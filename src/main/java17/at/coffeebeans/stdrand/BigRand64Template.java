@@ -0,0 +1,47 @@
+package at.coffeebeans.stdrand;
+
+/**
+ * Byte code template for {@link BigRand64Specializer}, never loaded itself. The constants below are placeholders:
+ * javac puts every constant into the constant pool once and loads it with ldc2_w wherever it is used, so replacing the
+ * placeholder values in the constant pool of the class file gives a class with the custom values compiled into every
+ * method. The placeholders must stay distinct and must not appear as other long constants in this class.
+ */
+final class BigRand64Template extends BigRand64 {
+
+    static final long BIT_NOISE_1 = 0x7E3A_0001_C0DE_5EEDL;
+    static final long BIT_NOISE_2 = 0x7E3A_0002_C0DE_5EEDL;
+    static final long BIT_NOISE_3 = 0x7E3A_0003_C0DE_5EEDL;
+    static final long PRIME_1 = 0x7E3A_0004_C0DE_5EEDL;
+    static final long PRIME_2 = 0x7E3A_0005_C0DE_5EEDL;
+
+    BigRand64Template(final long defaultSeed) {
+        super(defaultSeed, BIT_NOISE_1, BIT_NOISE_2, BIT_NOISE_3, PRIME_1, PRIME_2);
+    }
+
+    @Override
+    public long randSeeded(
+            final long x,
+            final long seed
+    ) {
+        return mix(x, seed, BIT_NOISE_1, BIT_NOISE_2, BIT_NOISE_3);
+    }
+
+    @Override
+    public long randSeeded(
+            final long x,
+            final long y,
+            final long seed
+    ) {
+        return mix(x + (PRIME_1 * y), seed, BIT_NOISE_1, BIT_NOISE_2, BIT_NOISE_3);
+    }
+
+    @Override
+    public long randSeeded(
+            final long x,
+            final long y,
+            final long z,
+            final long seed
+    ) {
+        return mix(x + (PRIME_1 * y) + (PRIME_2 * z), seed, BIT_NOISE_1, BIT_NOISE_2, BIT_NOISE_3);
+    }
+}
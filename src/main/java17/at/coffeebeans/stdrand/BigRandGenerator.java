@@ -0,0 +1,217 @@
+package at.coffeebeans.stdrand;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.Stream;
+
+/**
+ * {@link RandomGenerator} on top of {@link BigRand64}. The state is just the counter x, every nextLong() returns
+ * randSeeded(x++, seed). Jumping ahead is plain index arithmetic and splitting creates a generator with a new seed, both
+ * in O(1). Only available on Java 17+ (META-INF/versions/17 of the multi-release jar).<br/>
+ * <br/>
+ * randSeeded only sees x through x * bitNoise1, so the period is 2^(64 - trailing zero bits of bitNoise1): 2^62 with
+ * the default constants, 2^64 with an odd bitNoise1. Jumps are reduced modulo the period, see
+ * {@link BigRandGenerator#getLogPeriod()}.<br/>
+ * <br/>
+ * Instances are not thread safe, use {@link BigRandGenerator#split()} or {@link BigRandGenerator#copyAndJump()} to
+ * hand out generators to other threads.<br/>
+ * <br/>
+ * The class is registered as java.util.random.RandomGenerator service, so {@link java.util.ServiceLoader} finds it. The
+ * RandomGeneratorFactory of Java 17 only lists the algorithms of the JDK itself, so use the constructors or
+ * {@link BigRandGenerator#of(long)} instead of RandomGenerator.of(String).<br/>
+ * <br/>
+ * <b>!!! Don't use this for security applications as this is NOT a real RNG!!!</b>
+ */
+public final class BigRandGenerator implements RandomGenerator.SplittableGenerator,
+        RandomGenerator.ArbitrarilyJumpableGenerator {
+
+    private static final double TWO_POW_64 = 0x1.0p64;
+    private static final int JUMP_LOG_DISTANCE = 32;
+    private static final int LEAP_LOG_DISTANCE = 48;
+
+    private final BigRand64 rand;
+    private final long seed;
+    private final int logPeriod;
+    private long x;
+
+    /**
+     * Default constructor with a random seed and the default constants, used by the ServiceLoader.
+     */
+    public BigRandGenerator() {
+        this(new BigRand64(), ThreadLocalRandom.current().nextLong(), 0);
+    }
+
+    /**
+     * Generator starting at x=0 with the default constants.
+     */
+    public BigRandGenerator(final long seed) {
+        this(new BigRand64(), seed, 0);
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param rand Generator with the constants to use.
+     * @param seed Seed for all values.
+     * @param x    Base number for the next value.
+     */
+    public BigRandGenerator(
+            final BigRand64 rand,
+            final long seed,
+            final long x
+    ) {
+        this.rand = rand;
+        this.seed = seed;
+        this.logPeriod = logPeriod(rand.getBitNoise1());
+        this.x = x;
+    }
+
+    /**
+     * @see BigRandGenerator#BigRandGenerator(long)
+     */
+    public static BigRandGenerator of(final long seed) {
+        return new BigRandGenerator(seed);
+    }
+
+    /**
+     * @return base number of the next value
+     */
+    public long getX() {
+        return x;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return log2 of the period, x and x + 2^logPeriod give the same values
+     */
+    public int getLogPeriod() {
+        return logPeriod;
+    }
+
+    @Override
+    public long nextLong() {
+        return rand.randSeeded(x++, seed);
+    }
+
+    // ======================= jumps =======================
+
+    @Override
+    public BigRandGenerator copy() {
+        return new BigRandGenerator(rand, seed, x);
+    }
+
+    @Override
+    public double jumpDistance() {
+        return 0x1.0p32;
+    }
+
+    @Override
+    public double leapDistance() {
+        return 0x1.0p48;
+    }
+
+    @Override
+    public void jump() {
+        jumpPowerOfTwo(JUMP_LOG_DISTANCE);
+    }
+
+    @Override
+    public void leap() {
+        jumpPowerOfTwo(LEAP_LOG_DISTANCE);
+    }
+
+    /**
+     * Move x ahead by distance. Only the integral part of distance modulo the period matters.
+     *
+     * @throws IllegalArgumentException if distance is negative, NaN or infinite
+     */
+    @Override
+    public void jump(final double distance) {
+        if (!(distance >= 0) || Double.isInfinite(distance)) {
+            throw new IllegalArgumentException("distance must be finite and not negative: " + distance);
+        }
+        double steps = Math.floor(distance % Math.scalb(1.0, logPeriod));
+        if (steps >= 0x1.0p63) {
+            // cast saturates at Long.MAX_VALUE, wrap to the negative range which is the same modulo 2^64
+            steps -= TWO_POW_64;
+        }
+        x += (long) steps;
+    }
+
+    /**
+     * Move x ahead by 2^logDistance, no-op from {@link BigRandGenerator#getLogPeriod()} on as that is a multiple of
+     * the period.
+     *
+     * @throws IllegalArgumentException if logDistance is negative
+     */
+    @Override
+    public void jumpPowerOfTwo(final int logDistance) {
+        if (logDistance < 0) {
+            throw new IllegalArgumentException("logDistance must not be negative: " + logDistance);
+        }
+        if (logDistance < logPeriod) {
+            x += 1L << logDistance;
+        }
+    }
+
+    /**
+     * @return 64 minus the trailing zero bits of bitNoise1, 0 if it is 0 and every x gives the same value
+     */
+    private static int logPeriod(final long bitNoise1) {
+        return 0 == bitNoise1 ? 0 : Long.SIZE - Long.numberOfTrailingZeros(bitNoise1);
+    }
+
+    @Override
+    public Stream<RandomGenerator> rngs() {
+        return jumps().map(RandomGenerator.class::cast);
+    }
+
+    @Override
+    public Stream<RandomGenerator> rngs(final long streamSize) {
+        return jumps(streamSize).map(RandomGenerator.class::cast);
+    }
+
+    // ======================= splits =======================
+
+    @Override
+    public BigRandGenerator split() {
+        return split(this);
+    }
+
+    /**
+     * New generator with the same constants starting at x=0 with a seed taken from source.
+     */
+    @Override
+    public BigRandGenerator split(final SplittableGenerator source) {
+        return new BigRandGenerator(rand, source.nextLong(), 0);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits() {
+        return splits(this);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(final long streamSize) {
+        return splits(streamSize, this);
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(final SplittableGenerator source) {
+        return Stream.generate(() -> (SplittableGenerator) split(source)).sequential();
+    }
+
+    @Override
+    public Stream<SplittableGenerator> splits(
+            final long streamSize,
+            final SplittableGenerator source
+    ) {
+        if (streamSize < 0) {
+            throw new IllegalArgumentException("streamSize must not be negative: " + streamSize);
+        }
+        return splits(source).limit(streamSize);
+    }
+}
@@ -0,0 +1,344 @@
+package at.coffeebeans.stdrand;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link Flow.Publisher} of blocks of randSeeded(x, seed) values for streaming consumers. Every subscriber gets its
+ * own cold stream from startX on, split into blocks of blockSize values. Blocks are only generated when the subscriber
+ * requested them, so a slow consumer never makes the producer buffer. The blocks of a subscription come from a small
+ * pool: call {@link Block#release()} when done with a block to get its array reused, unreleased blocks are just left
+ * to the garbage collector. Only available on Java 17+ (META-INF/versions/17 of the multi-release jar).<br/>
+ * <br/>
+ * Generation runs on the executor, at most one task per subscription at a time and never more than
+ * {@link BigRandPublisher#BLOCKS_PER_TASK} blocks per task, so many streams can share a small pool. On Java 21+
+ * {@link BigRandPublisher#newVirtualThreadExecutor()} runs every task on a virtual thread instead, which scales to
+ * thousands of concurrent streams even if the subscribers block in onNext.<br/>
+ * <br/>
+ * As every value only depends on x a cancelled or broken stream can be resumed with
+ * {@link BigRandPublisher#from(long)} and {@link Block#getEndX()} of the last block processed.
+ */
+public final class BigRandPublisher implements Flow.Publisher<BigRandPublisher.Block> {
+
+    /**
+     * Default number of values per block.
+     */
+    public static final int BLOCK_SIZE = 4096;
+
+    /**
+     * Maximum number of blocks emitted by one task before it hands the thread back to the executor.
+     */
+    public static final int BLOCKS_PER_TASK = 16;
+
+    private static final int POOL_SIZE = 8;
+
+    private final BigRand64 rand;
+    private final long seed;
+    private final long startX;
+    private final long count;
+    private final int blockSize;
+    private final Executor executor;
+
+    /**
+     * Endless stream starting at x=0 with the default block size on the common pool.
+     */
+    public BigRandPublisher(
+            final BigRand64 rand,
+            final long seed
+    ) {
+        this(rand, seed, 0, Long.MAX_VALUE, BLOCK_SIZE, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Full constructor.
+     *
+     * @param rand      Generator with the constants to use.
+     * @param seed      Seed for all values.
+     * @param startX    x of the first value.
+     * @param count     Number of values before the stream completes, Long.MAX_VALUE for an endless stream.
+     * @param blockSize Number of values per block, only the last block of a finite stream can be shorter.
+     * @param executor  Executor running the generation.
+     * @throws IllegalArgumentException if count is negative or blockSize is not positive
+     */
+    public BigRandPublisher(
+            final BigRand64 rand,
+            final long seed,
+            final long startX,
+            final long count,
+            final int blockSize,
+            final Executor executor
+    ) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive: " + blockSize);
+        }
+        this.rand = Objects.requireNonNull(rand, "rand");
+        this.seed = seed;
+        this.startX = startX;
+        this.count = count;
+        this.blockSize = blockSize;
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /**
+     * @return executor starting a new virtual thread per task
+     * @throws UnsupportedOperationException before Java 21
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            // Java 21 API, looked up by reflection as this layer is compiled for Java 17
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException("virtual threads need Java 21+", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("failed to create virtual thread executor", e);
+        }
+    }
+
+    /**
+     * @return true if {@link BigRandPublisher#newVirtualThreadExecutor()} is available
+     */
+    public static boolean isVirtualThreadSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Publisher of the same stream resumed at x. A finite stream keeps its end, so the new count is the number of
+     * values left from x on.
+     *
+     * @throws IllegalArgumentException if x is outside of [startX, startX + count] of a finite stream
+     */
+    public BigRandPublisher from(final long x) {
+        long remaining = Long.MAX_VALUE;
+        if (count != Long.MAX_VALUE) {
+            final long done = x - startX;
+            if (done < 0 || done > count) {
+                throw new IllegalArgumentException(String.format(
+                        "x=%d outside of stream [%d, %d]", x, startX, startX + count
+                ));
+            }
+            remaining = count - done;
+        }
+        return new BigRandPublisher(rand, seed, x, remaining, blockSize, executor);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public long getStartX() {
+        return startX;
+    }
+
+    /**
+     * @return number of values of the stream, Long.MAX_VALUE for an endless stream
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super Block> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        final BlockSubscription subscription = new BlockSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (0 == count) {
+            // complete without waiting for a request
+            subscription.schedule();
+        }
+    }
+
+    // ======================= block =======================
+
+    /**
+     * Block of consecutive values. The array is reused after {@link Block#release()}, so don't keep a reference to it
+     * after releasing the block.
+     */
+    public static final class Block {
+
+        private final long[] values;
+        private final ConcurrentLinkedQueue<Block> pool;
+        private int length;
+        private long startX;
+
+        private Block(
+                final int capacity,
+                final ConcurrentLinkedQueue<Block> pool
+        ) {
+            this.values = new long[capacity];
+            this.pool = pool;
+        }
+
+        /**
+         * @return array with the values in [0, length), the rest is undefined
+         */
+        public long[] values() {
+            return values;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        /**
+         * @return x of values()[0]
+         */
+        public long getStartX() {
+            return startX;
+        }
+
+        /**
+         * @return x of the first value after this block, where a resumed stream continues
+         */
+        public long getEndX() {
+            return startX + length;
+        }
+
+        /**
+         * Hand the block back to the pool of its subscription. Must be called at most once per onNext.
+         */
+        public void release() {
+            if (pool.size() < POOL_SIZE) {
+                pool.offer(this);
+            }
+        }
+    }
+
+    // ======================= subscription =======================
+
+    private final class BlockSubscription implements Flow.Subscription {
+
+        private final ConcurrentLinkedQueue<Block> pool = new ConcurrentLinkedQueue<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private Flow.Subscriber<? super Block> subscriber;
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+        // only touched by the drain task
+        private long x = startX;
+        private long remaining = count;
+
+        private BlockSubscription(final Flow.Subscriber<? super Block> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                // reactive streams rule 3.9, signalled by the drain task to keep the signals serial
+                invalidRequest = new IllegalArgumentException("request must be positive: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, add) -> {
+                    final long sum = current + add;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (0 == wip.getAndIncrement()) {
+                execute();
+            }
+        }
+
+        private void execute() {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                final Flow.Subscriber<? super Block> s = subscriber;
+                cancelled = true;
+                if (null != s) {
+                    subscriber = null;
+                    s.onError(e);
+                }
+            }
+        }
+
+        private void drain() {
+            int missed = wip.get();
+            int emitted = 0;
+            while (true) {
+                while (!cancelled && remaining > 0 && demand.get() > 0) {
+                    if (BLOCKS_PER_TASK == emitted) {
+                        // wip stays positive, so no other task starts until the continuation ran
+                        execute();
+                        return;
+                    }
+                    emit();
+                    emitted++;
+                }
+                if (!cancelled) {
+                    final Throwable error = invalidRequest;
+                    if (null != error) {
+                        terminate().onError(error);
+                    } else if (0 == remaining) {
+                        terminate().onComplete();
+                    }
+                }
+                if (cancelled) {
+                    subscriber = null;
+                    pool.clear();
+                }
+                missed = wip.addAndGet(-missed);
+                if (0 == missed) {
+                    return;
+                }
+            }
+        }
+
+        private void emit() {
+            Block block = pool.poll();
+            if (null == block) {
+                block = new Block(blockSize, pool);
+            }
+            final int length = (int) Math.min(blockSize, remaining);
+            BigRandVector.fillSeeded(rand, block.values, 0, length, x, seed);
+            block.length = length;
+            block.startX = x;
+            x += length;
+            if (Long.MAX_VALUE != remaining) {
+                remaining -= length;
+            }
+            demand.decrementAndGet();
+            try {
+                subscriber.onNext(block);
+            } catch (RuntimeException | Error e) {
+                // rule 2.13 forbids throwing from onNext, treat the subscription as cancelled
+                cancelled = true;
+                throw e;
+            }
+        }
+
+        private Flow.Subscriber<? super Block> terminate() {
+            final Flow.Subscriber<? super Block> s = subscriber;
+            cancelled = true;
+            return s;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package at.coffeebeans.stdrand;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Multi-byte writes into byte arrays. This is the Java 17 version from META-INF/versions/17 of the multi-release jar
+ * writing all 8 bytes at once with a byte array view VarHandle.
+ */
+final class ByteArrays {
+
+    private static final VarHandle LONGS_LE =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private ByteArrays() {
+    }
+
+    /**
+     * Write v to a[index, index + 8) in little-endian order.
+     */
+    static void putLongLE(
+            final byte[] a,
+            final int index,
+            final long v
+    ) {
+        LONGS_LE.set(a, index, v);
+    }
+}
@@ -0,0 +1,32 @@
+package at.coffeebeans.stdrand;
+
+/**
+ * 128-bit multiplication helpers. This is the Java 17 version from META-INF/versions/17 of the multi-release jar using
+ * the intrinsic Math.multiplyHigh.
+ */
+final class LongMath {
+
+    private LongMath() {
+    }
+
+    /**
+     * @return the upper 64 bits of the signed 128-bit product of x and y
+     */
+    static long multiplyHigh(
+            final long x,
+            final long y
+    ) {
+        return Math.multiplyHigh(x, y);
+    }
+
+    /**
+     * @return the upper 64 bits of the unsigned 128-bit product of x and y
+     */
+    static long unsignedMultiplyHigh(
+            final long x,
+            final long y
+    ) {
+        // a negative operand is 2^64 too small when read as unsigned, add the other operand back
+        return multiplyHigh(x, y) + ((x >> 63) & y) + ((y >> 63) & x);
+    }
+}
@@ -0,0 +1,154 @@
+package at.coffeebeans.stdrand;
+
+import at.coffeebeans.stdrand.internal.Preconditions;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API versions of the bulk functions. The mixing chain is the same as {@link BigRand64#mix} and
+ * {@link BigRand32#mix}, just lane-wise. Only referenced by {@link BigRandVector} after checking that
+ * jdk.incubator.vector is available, so this class is never loaded without it.
+ */
+final class VectorKernels {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+
+    private VectorKernels() {
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    static LongVector mix(
+            final LongVector x,
+            final long seed,
+            final long bitNoise1,
+            final long bitNoise2,
+            final long bitNoise3
+    ) {
+        LongVector result = x;
+        result = result.mul(bitNoise1);
+        result = result.add(seed);
+        result = result.lanewise(VectorOperators.XOR, result.lanewise(VectorOperators.ASHR, 8));
+        result = result.add(bitNoise2);
+        result = result.lanewise(VectorOperators.XOR, result.lanewise(VectorOperators.LSHL, 8));
+        result = result.mul(bitNoise3);
+        result = result.lanewise(VectorOperators.XOR, result.lanewise(VectorOperators.ASHR, 8));
+        return result;
+    }
+
+    @SuppressWarnings("DuplicatedCode")
+    static IntVector mix(
+            final IntVector x,
+            final int seed,
+            final int bitNoise1,
+            final int bitNoise2,
+            final int bitNoise3
+    ) {
+        IntVector result = x;
+        result = result.mul(bitNoise1);
+        result = result.add(seed);
+        result = result.lanewise(VectorOperators.XOR, result.lanewise(VectorOperators.ASHR, 8));
+        result = result.add(bitNoise2);
+        result = result.lanewise(VectorOperators.XOR, result.lanewise(VectorOperators.LSHL, 8));
+        result = result.mul(bitNoise3);
+        result = result.lanewise(VectorOperators.XOR, result.lanewise(VectorOperators.ASHR, 8));
+        return result;
+    }
+
+    static void fillSeeded(
+            final BigRand64 rand,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long startX,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final long n1 = rand.getBitNoise1();
+        final long n2 = rand.getBitNoise2();
+        final long n3 = rand.getBitNoise3();
+        final int lanes = LONGS.length();
+        final int upper = LONGS.loopBound(length);
+        final LongVector index = LongVector.zero(LONGS).addIndex(1);
+        int i = 0;
+        for (; i < upper; i += lanes) {
+            mix(index.add(startX + i), seed, n1, n2, n3).intoArray(dst, offset + i);
+        }
+        // scalar tail
+        rand.fillScalar(dst, offset + i, length - i, startX + i, seed);
+    }
+
+    static void gatherSeeded(
+            final BigRand64 rand,
+            final long[] xs,
+            final int xOffset,
+            final long[] dst,
+            final int offset,
+            final int length,
+            final long seed
+    ) {
+        Preconditions.checkFromIndexSize(xOffset, length, xs.length);
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final long n1 = rand.getBitNoise1();
+        final long n2 = rand.getBitNoise2();
+        final long n3 = rand.getBitNoise3();
+        final int lanes = LONGS.length();
+        final int upper = LONGS.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += lanes) {
+            mix(LongVector.fromArray(LONGS, xs, xOffset + i), seed, n1, n2, n3).intoArray(dst, offset + i);
+        }
+        // scalar tail
+        rand.gatherScalar(xs, xOffset + i, dst, offset + i, length - i, seed);
+    }
+
+    static void fillSeeded(
+            final BigRand32 rand,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int startX,
+            final int seed
+    ) {
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final int n1 = rand.getBitNoise1();
+        final int n2 = rand.getBitNoise2();
+        final int n3 = rand.getBitNoise3();
+        final int lanes = INTS.length();
+        final int upper = INTS.loopBound(length);
+        final IntVector index = IntVector.zero(INTS).addIndex(1);
+        int i = 0;
+        for (; i < upper; i += lanes) {
+            mix(index.add(startX + i), seed, n1, n2, n3).intoArray(dst, offset + i);
+        }
+        // scalar tail
+        rand.fillScalar(dst, offset + i, length - i, startX + i, seed);
+    }
+
+    static void gatherSeeded(
+            final BigRand32 rand,
+            final int[] xs,
+            final int xOffset,
+            final int[] dst,
+            final int offset,
+            final int length,
+            final int seed
+    ) {
+        Preconditions.checkFromIndexSize(xOffset, length, xs.length);
+        Preconditions.checkFromIndexSize(offset, length, dst.length);
+        final int n1 = rand.getBitNoise1();
+        final int n2 = rand.getBitNoise2();
+        final int n3 = rand.getBitNoise3();
+        final int lanes = INTS.length();
+        final int upper = INTS.loopBound(length);
+        int i = 0;
+        for (; i < upper; i += lanes) {
+            mix(IntVector.fromArray(INTS, xs, xOffset + i), seed, n1, n2, n3).intoArray(dst, offset + i);
+        }
+        // scalar tail
+        rand.gatherScalar(xs, xOffset + i, dst, offset + i, length - i, seed);
+    }
+}
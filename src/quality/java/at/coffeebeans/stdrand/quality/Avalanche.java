@@ -0,0 +1,85 @@
+package at.coffeebeans.stdrand.quality;
+
+import java.util.Locale;
+
+/**
+ * Strict avalanche criterion: flipping any single bit of x has to flip every output bit with probability 1/2. Counts
+ * the flips for every pair of input and output bit and compares the matrix with the binomial distribution. The
+ * inputs are spread over the input range instead of being consecutive.
+ */
+final class Avalanche implements QualityTest {
+
+    /**
+     * Spreads the indices over the whole input range. With consecutive inputs x ^ (1 << i) would be another input, so
+     * the same pair would be counted twice.
+     */
+    private static final long STRIDE = 0x9E3779B97F4A7C15L;
+
+    @Override
+    public String name() {
+        return "strict avalanche (x bits)";
+    }
+
+    /**
+     * Every index needs one value plus one per input bit.
+     */
+    @Override
+    public long indices(
+            final Source source,
+            final long values
+    ) {
+        return values / (source.inputBits() + 1);
+    }
+
+    @Override
+    public Tally newTally(final Source source) {
+        // flip counts per input and output bit, last counter is the number of processed indices
+        return new Tally(source.inputBits() * source.bits() + 1, 0);
+    }
+
+    @Override
+    public void accumulate(
+            final Source source,
+            final long first,
+            final int length,
+            final Tally tally
+    ) {
+        final int inputBits = source.inputBits();
+        final int bits = source.bits();
+        final long[] counts = tally.counts;
+        for (long index = first; index < first + length; index++) {
+            final long x = index * STRIDE;
+            final long base = source.value(x);
+            for (int i = 0; i < inputBits; i++) {
+                long diff = base ^ source.value(x ^ (1L << i));
+                while (diff != 0) {
+                    counts[i * bits + Long.numberOfTrailingZeros(diff)]++;
+                    diff &= diff - 1;
+                }
+            }
+        }
+        counts[counts.length - 1] += length;
+    }
+
+    @Override
+    public Result evaluate(
+            final Source source,
+            final Tally tally
+    ) {
+        final long[] counts = tally.counts;
+        final int cells = counts.length - 1;
+        final double n = counts[cells];
+        double chi = 0;
+        double worst = 0;
+        for (int i = 0; i < cells; i++) {
+            final double deviation = counts[i] - n / 2;
+            chi += deviation * deviation / (n / 4);
+            worst = Math.max(worst, Math.abs(deviation) / n);
+        }
+        return new Result(
+                name(),
+                String.format(Locale.ROOT, "chi2=%.1f df=%d max bias=%.4f", chi, cells, worst),
+                Statistics.chiSquarePValue(chi, cells)
+        );
+    }
+}
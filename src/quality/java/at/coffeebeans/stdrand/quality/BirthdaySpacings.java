@@ -0,0 +1,90 @@
+package at.coffeebeans.stdrand.quality;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Marsaglia's birthday spacings test: m birthdays are picked from a year of 2^k days, the number of repeated spacings
+ * between the sorted birthdays is Poisson distributed with lambda = m^3 / (4 * 2^k). Lattice structure in the output
+ * shows up as too many repeated spacings.
+ */
+final class BirthdaySpacings implements QualityTest {
+
+    private static final int MAX_REPEATS = 16;
+
+    @Override
+    public String name() {
+        return "birthday spacings";
+    }
+
+    @Override
+    public Tally newTally(final Source source) {
+        return new Tally(MAX_REPEATS + 1, 0);
+    }
+
+    /**
+     * @return log2 of the days per year, lambda is 2 for both generators
+     */
+    private static int dayBits(final Source source) {
+        return source.bits() > 32 ? 36 : 24;
+    }
+
+    private static int birthdays(final Source source) {
+        return source.bits() > 32 ? 1 << 13 : 1 << 9;
+    }
+
+    @Override
+    public void accumulate(
+            final Source source,
+            final long first,
+            final int length,
+            final Tally tally
+    ) {
+        final int m = birthdays(source);
+        final int dayBits = dayBits(source);
+        final long[] days = new long[m];
+        for (int block = 0; block + m <= length; block += m) {
+            source.fill(days, m, first + block);
+            for (int i = 0; i < m; i++) {
+                days[i] = source.top(days[i], dayBits);
+            }
+            Arrays.sort(days);
+            long previous = 0;
+            for (int i = 0; i < m; i++) {
+                final long spacing = days[i] - previous;
+                previous = days[i];
+                days[i] = spacing;
+            }
+            Arrays.sort(days);
+            int repeats = 0;
+            for (int i = 1; i < m; i++) {
+                if (days[i] == days[i - 1]) {
+                    repeats++;
+                }
+            }
+            tally.counts[Math.min(repeats, MAX_REPEATS)]++;
+        }
+    }
+
+    @Override
+    public Result evaluate(
+            final Source source,
+            final Tally tally
+    ) {
+        final double m = birthdays(source);
+        final double lambda = m * m * m / (4 * Math.scalb(1.0, dayBits(source)));
+        final double[] probabilities = new double[MAX_REPEATS + 1];
+        double rest = 1;
+        for (int k = 0; k < MAX_REPEATS; k++) {
+            probabilities[k] = Statistics.poisson(lambda, k);
+            rest -= probabilities[k];
+        }
+        probabilities[MAX_REPEATS] = rest;
+        final double[] chi = Statistics.chiSquare(tally.counts, probabilities);
+        return new Result(
+                name(),
+                String.format(Locale.ROOT, "chi2=%.1f df=%d samples=%d", chi[0], (int) chi[1], tally.total()),
+                Statistics.chiSquarePValue(chi[0], chi[1])
+        );
+    }
+}
@@ -0,0 +1,61 @@
+package at.coffeebeans.stdrand.quality;
+
+import java.util.Locale;
+
+/**
+ * Chi-square test of consecutive values counted in 2^12 equally likely buckets, either by their highest or their
+ * lowest bits. Weak low bits are a common flaw of simple generators.
+ */
+final class BucketChiSquare implements QualityTest {
+
+    private static final int BUCKET_BITS = 12;
+    private static final int BUCKETS = 1 << BUCKET_BITS;
+
+    private final boolean highBits;
+
+    BucketChiSquare(final boolean highBits) {
+        this.highBits = highBits;
+    }
+
+    @Override
+    public String name() {
+        return String.format(Locale.ROOT, "chi-square %s %d bits", highBits ? "high" : "low", BUCKET_BITS);
+    }
+
+    @Override
+    public Tally newTally(final Source source) {
+        return new Tally(BUCKETS, 0);
+    }
+
+    @Override
+    public void accumulate(
+            final Source source,
+            final long first,
+            final int length,
+            final Tally tally
+    ) {
+        final long[] values = new long[length];
+        source.fill(values, length, first);
+        final long[] counts = tally.counts;
+        for (final long value : values) {
+            counts[(int) (highBits ? source.top(value, BUCKET_BITS) : value & (BUCKETS - 1))]++;
+        }
+    }
+
+    @Override
+    public Result evaluate(
+            final Source source,
+            final Tally tally
+    ) {
+        final double expected = (double) tally.total() / BUCKETS;
+        double chi = 0;
+        for (final long count : tally.counts) {
+            chi += (count - expected) * (count - expected) / expected;
+        }
+        return new Result(
+                name(),
+                String.format(Locale.ROOT, "chi2=%.1f df=%d", chi, BUCKETS - 1),
+                Statistics.chiSquarePValue(chi, BUCKETS - 1)
+        );
+    }
+}
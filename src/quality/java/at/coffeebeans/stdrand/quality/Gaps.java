@@ -0,0 +1,73 @@
+package at.coffeebeans.stdrand.quality;
+
+import java.util.Locale;
+
+/**
+ * Knuth's gap test: a value hits if its highest 3 bits are 0 (probability 1/8). The number of misses between two hits
+ * is geometrically distributed. Gaps that start in a chunk are finished with values after the chunk, so every gap is
+ * counted exactly once.
+ */
+final class Gaps implements QualityTest {
+
+    private static final int HIT_BITS = 3;
+    private static final double P = 1.0 / (1 << HIT_BITS);
+    private static final int MAX_GAP = 64;
+
+    @Override
+    public String name() {
+        return "gap test p=1/8";
+    }
+
+    @Override
+    public Tally newTally(final Source source) {
+        return new Tally(MAX_GAP + 1, 0);
+    }
+
+    @Override
+    public void accumulate(
+            final Source source,
+            final long first,
+            final int length,
+            final Tally tally
+    ) {
+        final long[] values = new long[length];
+        source.fill(values, length, first);
+        int last = -1;
+        for (int i = 0; i < length; i++) {
+            if (source.top(values[i], HIT_BITS) == 0) {
+                if (last >= 0) {
+                    tally.counts[Math.min(i - last - 1, MAX_GAP)]++;
+                }
+                last = i;
+            }
+        }
+        if (last >= 0) {
+            // finish the gap of the last hit after the end of the chunk
+            int gap = length - last - 1;
+            long x = first + length;
+            while (gap < MAX_GAP && source.top(source.value(x), HIT_BITS) != 0) {
+                gap++;
+                x++;
+            }
+            tally.counts[Math.min(gap, MAX_GAP)]++;
+        }
+    }
+
+    @Override
+    public Result evaluate(
+            final Source source,
+            final Tally tally
+    ) {
+        final double[] probabilities = new double[MAX_GAP + 1];
+        for (int k = 0; k < MAX_GAP; k++) {
+            probabilities[k] = P * Math.pow(1 - P, k);
+        }
+        probabilities[MAX_GAP] = Math.pow(1 - P, MAX_GAP);
+        final double[] chi = Statistics.chiSquare(tally.counts, probabilities);
+        return new Result(
+                name(),
+                String.format(Locale.ROOT, "chi2=%.1f df=%d", chi[0], (int) chi[1]),
+                Statistics.chiSquarePValue(chi[0], chi[1])
+        );
+    }
+}
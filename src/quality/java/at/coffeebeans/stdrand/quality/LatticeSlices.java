@@ -0,0 +1,90 @@
+package at.coffeebeans.stdrand.quality;
+
+import java.util.Locale;
+
+/**
+ * Uniformity of neighbours in the 2D and 3D lattice. y and z only enter the hash as x + prime1 * y + prime2 * z, so
+ * bad primes show up as dependence between a value and its neighbours in y or z direction. The highest bits of the
+ * value and its neighbours form one cell of a 2^12 cell grid that is tested with chi-square.
+ */
+final class LatticeSlices implements QualityTest {
+
+    private static final int CELL_BITS = 12;
+    private static final int CELLS = 1 << CELL_BITS;
+    private static final int PLANE_BITS = 12;
+    private static final int VOLUME_BITS = 8;
+
+    private final int dimensions;
+
+    /**
+     * @param dimensions 2 for pairs (x, y), (x, y + 1) or 3 for triples (x, y, z), (x, y + 1, z), (x, y, z + 1)
+     */
+    LatticeSlices(final int dimensions) {
+        this.dimensions = dimensions;
+    }
+
+    @Override
+    public String name() {
+        return dimensions == 2 ? "2D slices y/y+1" : "3D slices y/y+1/z+1";
+    }
+
+    /**
+     * Every index needs one value per dimension.
+     */
+    @Override
+    public long indices(
+            final Source source,
+            final long values
+    ) {
+        return values / dimensions;
+    }
+
+    @Override
+    public Tally newTally(final Source source) {
+        return new Tally(CELLS, 0);
+    }
+
+    @Override
+    public void accumulate(
+            final Source source,
+            final long first,
+            final int length,
+            final Tally tally
+    ) {
+        final long[] counts = tally.counts;
+        for (long index = first; index < first + length; index++) {
+            final int cell;
+            if (dimensions == 2) {
+                final long x = index & ((1 << PLANE_BITS) - 1);
+                final long y = index >>> PLANE_BITS;
+                cell = (int) ((source.top(source.value(x, y), CELL_BITS / 2) << (CELL_BITS / 2))
+                        | source.top(source.value(x, y + 1), CELL_BITS / 2));
+            } else {
+                final long x = index & ((1 << VOLUME_BITS) - 1);
+                final long y = (index >>> VOLUME_BITS) & ((1 << VOLUME_BITS) - 1);
+                final long z = index >>> (2 * VOLUME_BITS);
+                cell = (int) ((source.top(source.value(x, y, z), CELL_BITS / 3) << (2 * CELL_BITS / 3))
+                        | (source.top(source.value(x, y + 1, z), CELL_BITS / 3) << (CELL_BITS / 3))
+                        | source.top(source.value(x, y, z + 1), CELL_BITS / 3));
+            }
+            counts[cell]++;
+        }
+    }
+
+    @Override
+    public Result evaluate(
+            final Source source,
+            final Tally tally
+    ) {
+        final double expected = (double) tally.total() / CELLS;
+        double chi = 0;
+        for (final long count : tally.counts) {
+            chi += (count - expected) * (count - expected) / expected;
+        }
+        return new Result(
+                name(),
+                String.format(Locale.ROOT, "chi2=%.1f df=%d", chi, CELLS - 1),
+                Statistics.chiSquarePValue(chi, CELLS - 1)
+        );
+    }
+}
@@ -0,0 +1,191 @@
+package at.coffeebeans.stdrand.quality;
+
+import at.coffeebeans.stdrand.BigRand32;
+import at.coffeebeans.stdrand.BigRand64;
+import at.coffeebeans.stdrand.BigRandParallel;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Streams the output of {@link BigRand64} and {@link BigRand32} through a set of statistical tests and prints a
+ * report. Every test runs in parallel over chunks of the index range with fixed size tallies, so the memory stays
+ * constant no matter how many values are tested. Use it to check custom constants before using them.<br/>
+ * <br/>
+ * Options:
+ * <ul>
+ *     <li>--bits 32|64: generator to test, both if missing</li>
+ *     <li>--values n: values per test with optional suffix k, m or g, default 256m</li>
+ *     <li>--seed n: seed of the values, default 1</li>
+ *     <li>--constants bitNoise1,bitNoise2,bitNoise3,prime1,prime2: constants for the full constructor, 64-bit values
+ *     for BigRand64 of which BigRand32 uses the lower 32 bits</li>
+ *     <li>--threads n: parallelism, default number of cores</li>
+ *     <li>--report file: also write the report to file</li>
+ * </ul>
+ * The exit code is 1 if any test failed.
+ */
+public final class QualitySuite {
+
+    private static final int CHUNK_SIZE = 1 << 16;
+
+    private final ForkJoinPool pool;
+    private final long values;
+
+    QualitySuite(
+            final ForkJoinPool pool,
+            final long values
+    ) {
+        this.pool = pool;
+        this.values = values;
+    }
+
+    public static void main(final String[] args) throws IOException {
+        String bits = null;
+        long values = 1L << 28;
+        long seed = 1;
+        long[] constants = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String report = null;
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            final String value = args[i + 1];
+            switch (args[i]) {
+                case "--bits":
+                    bits = value;
+                    break;
+                case "--values":
+                    values = parseSize(value);
+                    break;
+                case "--seed":
+                    seed = Long.decode(value);
+                    break;
+                case "--constants":
+                    constants = Arrays.stream(value.split(",")).mapToLong(c -> parseConstant(c.trim()))
+                            .toArray();
+                    if (constants.length != 5) {
+                        throw new IllegalArgumentException("expected 5 constants: " + value);
+                    }
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "--report":
+                    report = value;
+                    break;
+                default:
+                    throw new IllegalArgumentException("unknown option " + args[i]);
+            }
+        }
+
+        final List<Source> sources = new ArrayList<>();
+        if (null == bits || "64".equals(bits)) {
+            final BigRand64 rand = null == constants ? new BigRand64() : new BigRand64(
+                    0, constants[0], constants[1], constants[2], constants[3], constants[4]
+            );
+            sources.add(Source.of(rand, seed));
+        }
+        if (null == bits || "32".equals(bits)) {
+            // the 32-bit generator uses the lower halves
+            final BigRand32 rand = null == constants ? new BigRand32() : new BigRand32(
+                    0, (int) constants[0], (int) constants[1], (int) constants[2], (int) constants[3],
+                    (int) constants[4]
+            );
+            sources.add(Source.of(rand, (int) seed));
+        }
+
+        final ForkJoinPool pool = new ForkJoinPool(threads);
+        final List<String> lines = new ArrayList<>();
+        boolean failed = false;
+        try {
+            final QualitySuite suite = new QualitySuite(pool, values);
+            for (final Source source : sources) {
+                print(lines, String.format(Locale.ROOT, "%s, %d values per test, %d threads", source.name(), values,
+                        threads));
+                for (final QualityTest test : tests()) {
+                    final long start = System.nanoTime();
+                    final Result result = suite.run(source, test);
+                    failed |= result.failed();
+                    print(lines, String.format(Locale.ROOT, "  %s %6.1fs", result,
+                            (System.nanoTime() - start) / 1e9));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        if (null != report) {
+            Files.write(Paths.get(report), lines, StandardCharsets.UTF_8);
+        }
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * @return all tests of the suite
+     */
+    static List<QualityTest> tests() {
+        return Arrays.asList(
+                new BucketChiSquare(true),
+                new BucketChiSquare(false),
+                new Avalanche(),
+                new BirthdaySpacings(),
+                new Gaps(),
+                new SerialCorrelation(1),
+                new SerialCorrelation(2),
+                new LatticeSlices(2),
+                new LatticeSlices(3)
+        );
+    }
+
+    /**
+     * Accumulate the test over its index range in parallel and evaluate the merged tally.
+     */
+    Result run(
+            final Source source,
+            final QualityTest test
+    ) {
+        final Tally total = test.newTally(source);
+        BigRandParallel.forEachChunk(pool, test.indices(source, values), CHUNK_SIZE, (index, length) -> {
+            final Tally tally = test.newTally(source);
+            test.accumulate(source, index, length, tally);
+            synchronized (total) {
+                total.add(tally);
+            }
+        });
+        return test.evaluate(source, total);
+    }
+
+    private static void print(
+            final List<String> lines,
+            final String line
+    ) {
+        final PrintStream out = System.out;
+        out.println(line);
+        lines.add(line);
+    }
+
+    private static long parseSize(final String value) {
+        final String lower = value.toLowerCase(Locale.ROOT);
+        final char unit = lower.charAt(lower.length() - 1);
+        final int shift = unit == 'k' ? 10 : unit == 'm' ? 20 : unit == 'g' ? 30 : 0;
+        final String number = shift == 0 ? lower : lower.substring(0, lower.length() - 1);
+        return Long.parseLong(number) << shift;
+    }
+
+    /**
+     * Decimal or 0x hex value, hex values may have the top bit set.
+     */
+    private static long parseConstant(final String value) {
+        if (value.startsWith("0x") || value.startsWith("0X")) {
+            return Long.parseUnsignedLong(value.substring(2), 16);
+        }
+        return Long.decode(value);
+    }
+}
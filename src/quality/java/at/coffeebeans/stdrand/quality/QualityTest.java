@@ -0,0 +1,38 @@
+package at.coffeebeans.stdrand.quality;
+
+/**
+ * One statistical test. The suite splits the index range into chunks, lets the test accumulate every chunk into its
+ * own {@link Tally}, merges the tallies and finally evaluates the merged one. Tests may read values outside of their
+ * chunk, for example the successor of the last value.
+ */
+interface QualityTest {
+
+    String name();
+
+    /**
+     * @return number of indices to process when the suite should consume about values generator calls
+     */
+    default long indices(
+            final Source source,
+            final long values
+    ) {
+        return values;
+    }
+
+    Tally newTally(Source source);
+
+    /**
+     * Process the indices [first, first + length).
+     */
+    void accumulate(
+            Source source,
+            long first,
+            int length,
+            Tally tally
+    );
+
+    Result evaluate(
+            Source source,
+            Tally tally
+    );
+}
@@ -0,0 +1,44 @@
+package at.coffeebeans.stdrand.quality;
+
+import java.util.Locale;
+
+/**
+ * Outcome of one test. A good generator gives p-values that are uniform in [0, 1], so only extreme values on either
+ * side count as failure.
+ */
+final class Result {
+
+    static final double FAIL = 1e-6;
+    static final double SUSPECT = 1e-3;
+
+    final String name;
+    final String statistic;
+    final double pValue;
+
+    Result(
+            final String name,
+            final String statistic,
+            final double pValue
+    ) {
+        this.name = name;
+        this.statistic = statistic;
+        this.pValue = pValue;
+    }
+
+    String verdict() {
+        final double tail = Math.min(pValue, 1 - pValue);
+        if (!(tail >= FAIL)) {
+            return "FAIL";
+        }
+        return tail < SUSPECT ? "SUSPECT" : "PASS";
+    }
+
+    boolean failed() {
+        return "FAIL".equals(verdict());
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%-34s %-36s p=%-12.6g %s", name, statistic, pValue, verdict());
+    }
+}
@@ -0,0 +1,75 @@
+package at.coffeebeans.stdrand.quality;
+
+import java.util.Locale;
+
+/**
+ * Correlation between value x and value x + lag mapped to [0, 1). For independent values r * sqrt(n) is standard
+ * normal distributed.
+ */
+final class SerialCorrelation implements QualityTest {
+
+    private static final int SUM_X = 0;
+    private static final int SUM_Y = 1;
+    private static final int SUM_XX = 2;
+    private static final int SUM_YY = 3;
+    private static final int SUM_XY = 4;
+
+    private final int lag;
+
+    SerialCorrelation(final int lag) {
+        this.lag = lag;
+    }
+
+    @Override
+    public String name() {
+        return "serial correlation lag " + lag;
+    }
+
+    @Override
+    public Tally newTally(final Source source) {
+        return new Tally(1, 5);
+    }
+
+    @Override
+    public void accumulate(
+            final Source source,
+            final long first,
+            final int length,
+            final Tally tally
+    ) {
+        // the pairs of the last values reach lag values into the next chunk
+        final long[] values = new long[length + lag];
+        source.fill(values, values.length, first);
+        final double[] sums = tally.sums;
+        for (int i = 0; i < length; i++) {
+            // centered to avoid cancellation in the final sums
+            final double x = source.uniform(values[i]) - 0.5;
+            final double y = source.uniform(values[i + lag]) - 0.5;
+            sums[SUM_X] += x;
+            sums[SUM_Y] += y;
+            sums[SUM_XX] += x * x;
+            sums[SUM_YY] += y * y;
+            sums[SUM_XY] += x * y;
+        }
+        tally.counts[0] += length;
+    }
+
+    @Override
+    public Result evaluate(
+            final Source source,
+            final Tally tally
+    ) {
+        final double n = tally.counts[0];
+        final double[] s = tally.sums;
+        final double covariance = n * s[SUM_XY] - s[SUM_X] * s[SUM_Y];
+        final double varianceX = n * s[SUM_XX] - s[SUM_X] * s[SUM_X];
+        final double varianceY = n * s[SUM_YY] - s[SUM_Y] * s[SUM_Y];
+        final double r = covariance / Math.sqrt(varianceX * varianceY);
+        final double z = r * Math.sqrt(n);
+        return new Result(
+                name(),
+                String.format(Locale.ROOT, "r=%.3g z=%.3f", r, z),
+                Statistics.normalPValue(z)
+        );
+    }
+}
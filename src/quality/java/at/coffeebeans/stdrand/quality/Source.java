@@ -0,0 +1,170 @@
+package at.coffeebeans.stdrand.quality;
+
+import at.coffeebeans.stdrand.BigRand32;
+import at.coffeebeans.stdrand.BigRand64;
+
+/**
+ * Generator under test with a fixed seed. Values are returned as long no matter which implementation is used,
+ * {@link Source#bits()} tells how many of the lower bits carry random data.
+ */
+abstract class Source {
+
+    private final String name;
+
+    Source(final String name) {
+        this.name = name;
+    }
+
+    static Source of(
+            final BigRand64 rand,
+            final long seed
+    ) {
+        return new Source("BigRand64 seed=" + seed) {
+            @Override
+            int bits() {
+                return 63;
+            }
+
+            @Override
+            int inputBits() {
+                return Long.SIZE;
+            }
+
+            @Override
+            long value(final long x) {
+                return rand.randSeeded(x, seed);
+            }
+
+            @Override
+            long value(
+                    final long x,
+                    final long y
+            ) {
+                return rand.randSeeded(x, y, seed);
+            }
+
+            @Override
+            long value(
+                    final long x,
+                    final long y,
+                    final long z
+            ) {
+                return rand.randSeeded(x, y, z, seed);
+            }
+
+            @Override
+            void fill(
+                    final long[] dst,
+                    final int length,
+                    final long startX
+            ) {
+                rand.fillSeeded(dst, 0, length, startX, seed);
+            }
+        };
+    }
+
+    static Source of(
+            final BigRand32 rand,
+            final int seed
+    ) {
+        return new Source("BigRand32 seed=" + seed) {
+            @Override
+            int bits() {
+                return 31;
+            }
+
+            @Override
+            int inputBits() {
+                return Integer.SIZE;
+            }
+
+            @Override
+            long value(final long x) {
+                return rand.randSeeded((int) x, seed);
+            }
+
+            @Override
+            long value(
+                    final long x,
+                    final long y
+            ) {
+                return rand.randSeeded((int) x, (int) y, seed);
+            }
+
+            @Override
+            long value(
+                    final long x,
+                    final long y,
+                    final long z
+            ) {
+                return rand.randSeeded((int) x, (int) y, (int) z, seed);
+            }
+
+            @Override
+            void fill(
+                    final long[] dst,
+                    final int length,
+                    final long startX
+            ) {
+                final int[] values = new int[length];
+                rand.fillSeeded(values, 0, length, (int) startX, seed);
+                for (int i = 0; i < length; i++) {
+                    dst[i] = values[i];
+                }
+            }
+        };
+    }
+
+    String name() {
+        return name;
+    }
+
+    /**
+     * @return number of random bits per value, the sign bit is always 0
+     */
+    abstract int bits();
+
+    /**
+     * @return number of bits of the x coordinate
+     */
+    abstract int inputBits();
+
+    abstract long value(long x);
+
+    abstract long value(
+            long x,
+            long y
+    );
+
+    abstract long value(
+            long x,
+            long y,
+            long z
+    );
+
+    /**
+     * Write value(startX + i) to dst[i] for i in [0, length).
+     */
+    abstract void fill(
+            long[] dst,
+            int length,
+            long startX
+    );
+
+    /**
+     * @return the highest k random bits of value
+     */
+    long top(
+            final long value,
+            final int k
+    ) {
+        return value >>> (bits() - k);
+    }
+
+    /**
+     * @return value mapped to [0, 1)
+     */
+    double uniform(final long value) {
+        return value * Math.scalb(1.0, -bits());
+    }
+}
@@ -0,0 +1,163 @@
+package at.coffeebeans.stdrand.quality;
+
+/**
+ * Distribution functions for the p-values, based on the regularized incomplete gamma function.
+ */
+final class Statistics {
+
+    private static final int MAX_ITERATIONS = 1_000_000;
+    private static final double EPSILON = 1e-15;
+    private static final double TINY = 1e-300;
+    private static final double[] LANCZOS = {
+            0.99999999999980993, 676.5203681218851, -1259.1392167224028, 771.32342877765313,
+            -176.61502916214059, 12.507343278686905, -0.13857109526572012, 9.9843695780195716e-6,
+            1.5056327351493116e-7,
+    };
+
+    private Statistics() {
+    }
+
+    /**
+     * @return probability that a chi-square distributed variable with df degrees of freedom is at least chiSquare
+     */
+    static double chiSquarePValue(
+            final double chiSquare,
+            final double df
+    ) {
+        return gammaQ(df / 2, chiSquare / 2);
+    }
+
+    /**
+     * @return two-sided probability that a standard normal variable is at least |z| away from 0
+     */
+    static double normalPValue(final double z) {
+        return gammaQ(0.5, z * z / 2);
+    }
+
+    /**
+     * @return probability that a Poisson distributed variable with mean lambda is k
+     */
+    static double poisson(
+            final double lambda,
+            final int k
+    ) {
+        return Math.exp(k * Math.log(lambda) - lambda - logGamma(k + 1.0));
+    }
+
+    /**
+     * Chi-square statistic of observed counts against expected probabilities. Bins with an expected count below 5 are
+     * merged with their neighbours.
+     *
+     * @return chi-square statistic and degrees of freedom
+     */
+    static double[] chiSquare(
+            final long[] observed,
+            final double[] probabilities
+    ) {
+        long n = 0;
+        for (final long count : observed) {
+            n += count;
+        }
+        double chi = 0;
+        int bins = 0;
+        double expected = 0;
+        long actual = 0;
+        for (int i = 0; i < observed.length; i++) {
+            expected += n * probabilities[i];
+            actual += observed[i];
+            if (expected >= 5 || i == observed.length - 1) {
+                chi += (actual - expected) * (actual - expected) / expected;
+                bins++;
+                expected = 0;
+                actual = 0;
+            }
+        }
+        return new double[]{chi, bins - 1};
+    }
+
+    /**
+     * Upper regularized incomplete gamma function Q(a, x) = 1 - P(a, x).
+     */
+    static double gammaQ(
+            final double a,
+            final double x
+    ) {
+        if (x <= 0) {
+            return 1;
+        }
+        if (x < a + 1) {
+            return 1 - gammaSeries(a, x);
+        }
+        return gammaContinuedFraction(a, x);
+    }
+
+    /**
+     * P(a, x) as power series, converges quickly for x < a + 1.
+     */
+    private static double gammaSeries(
+            final double a,
+            final double x
+    ) {
+        double ap = a;
+        double term = 1 / a;
+        double sum = term;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            ap++;
+            term *= x / ap;
+            sum += term;
+            if (Math.abs(term) < Math.abs(sum) * EPSILON) {
+                break;
+            }
+        }
+        return sum * Math.exp(-x + a * Math.log(x) - logGamma(a));
+    }
+
+    /**
+     * Q(a, x) as continued fraction with the modified Lentz method, converges quickly for x >= a + 1.
+     */
+    private static double gammaContinuedFraction(
+            final double a,
+            final double x
+    ) {
+        double b = x + 1 - a;
+        double c = 1 / TINY;
+        double d = 1 / b;
+        double h = d;
+        for (int i = 1; i < MAX_ITERATIONS; i++) {
+            final double an = -i * (i - a);
+            b += 2;
+            d = an * d + b;
+            if (Math.abs(d) < TINY) {
+                d = TINY;
+            }
+            c = b + an / c;
+            if (Math.abs(c) < TINY) {
+                c = TINY;
+            }
+            d = 1 / d;
+            final double delta = d * c;
+            h *= delta;
+            if (Math.abs(delta - 1) < EPSILON) {
+                break;
+            }
+        }
+        return Math.exp(-x + a * Math.log(x) - logGamma(a)) * h;
+    }
+
+    /**
+     * @return ln(Gamma(x)) for x > 0 with the Lanczos approximation (g=7)
+     */
+    static double logGamma(final double x) {
+        if (x < 0.5) {
+            // reflection formula
+            return Math.log(Math.PI / Math.abs(Math.sin(Math.PI * x))) - logGamma(1 - x);
+        }
+        final double z = x - 1;
+        double sum = LANCZOS[0];
+        for (int i = 1; i < LANCZOS.length; i++) {
+            sum += LANCZOS[i] / (z + i);
+        }
+        final double t = z + 7.5;
+        return 0.5 * Math.log(2 * Math.PI) + (z + 0.5) * Math.log(t) - t + Math.log(sum);
+    }
+}
@@ -0,0 +1,35 @@
+package at.coffeebeans.stdrand.quality;
+
+/**
+ * Fixed size state of a test: counters and sums that are collected per chunk and merged by adding them up.
+ */
+final class Tally {
+
+    final long[] counts;
+    final double[] sums;
+
+    Tally(
+            final int counts,
+            final int sums
+    ) {
+        this.counts = new long[counts];
+        this.sums = new double[sums];
+    }
+
+    void add(final Tally other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        for (int i = 0; i < sums.length; i++) {
+            sums[i] += other.sums[i];
+        }
+    }
+
+    long total() {
+        long result = 0;
+        for (final long count : counts) {
+            result += count;
+        }
+        return result;
+    }
+}
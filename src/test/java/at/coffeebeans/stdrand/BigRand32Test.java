@@ -4,8 +4,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.security.SecureRandom;
+import java.util.Spliterator;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 
 class BigRand32Test {
 
@@ -109,6 +112,307 @@ class BigRand32Test {
         }
     }
 
+    @Test
+    void testFillSeeded() {
+        final int[] dst = new int[20];
+        bean.fillSeeded(dst, 2, 16, -8, 6);
+        assertThat(dst[0]).isZero();
+        assertThat(dst[1]).isZero();
+        for (int i = 0; i < 16; i++) {
+            assertThat(dst[2 + i]).isEqualTo(bean.randSeeded(-8 + i, 6));
+        }
+        assertThat(dst[18]).isZero();
+        assertThat(dst[19]).isZero();
+    }
+
+    @Test
+    void testFillSeededXYZ() {
+        final int[] xy = new int[10];
+        final int[] xyz = new int[10];
+        bean.fillSeeded(xy, 0, xy.length, 1, 1, 6);
+        bean.fillSeeded(xyz, 0, xyz.length, 1, 1, 1, 6);
+        assertThat(xy[0]).isEqualTo(1716393388);
+        assertThat(xyz[0]).isEqualTo(795614444);
+        for (int i = 0; i < xy.length; i++) {
+            assertThat(xy[i]).isEqualTo(bean.randSeeded(1 + i, 1, 6));
+            assertThat(xyz[i]).isEqualTo(bean.randSeeded(1 + i, 1, 1, 6));
+        }
+    }
+
+    @Test
+    void testFill() {
+        final int[] seeded = new int[10];
+        final int[] unseeded = new int[10];
+        bean.fillSeeded(seeded, 0, 10, 5, 7, 9, BigRand32.DEFAULT_SEED);
+        bean.fill(unseeded, 0, 10, 5, 7, 9);
+        assertThat(unseeded).isEqualTo(seeded);
+        bean.fill(unseeded, 0, 10, 5);
+        assertThat(unseeded[3]).isEqualTo(bean.rand(8));
+        bean.fill(unseeded, 0, 10, 5, 7);
+        assertThat(unseeded[3]).isEqualTo(bean.rand(8, 7));
+    }
+
+    @Test
+    void testGatherSeeded() {
+        final int[] xs = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE};
+        final int[] ys = {3, 1, 4, 1, 5};
+        final int[] zs = {9, 2, 6, 5, 3};
+        final int[] dst = new int[xs.length];
+        bean.gatherSeeded(xs, 1, dst, 0, 4, 6);
+        for (int i = 0; i < 4; i++) {
+            assertThat(dst[i]).isEqualTo(bean.randSeeded(xs[i + 1], 6));
+        }
+        bean.gatherSeeded(xs, ys, 0, dst, 0, xs.length, 6);
+        for (int i = 0; i < xs.length; i++) {
+            assertThat(dst[i]).isEqualTo(bean.randSeeded(xs[i], ys[i], 6));
+        }
+        bean.gatherSeeded(xs, ys, zs, 0, dst, 0, xs.length, 6);
+        for (int i = 0; i < xs.length; i++) {
+            assertThat(dst[i]).isEqualTo(bean.randSeeded(xs[i], ys[i], zs[i], 6));
+        }
+        final int[] inPlace = xs.clone();
+        bean.gather(inPlace, 0, inPlace, 0, inPlace.length);
+        for (int i = 0; i < xs.length; i++) {
+            assertThat(inPlace[i]).isEqualTo(bean.rand(xs[i]));
+        }
+    }
+
+    @Test
+    void testBulkOutOfBounds() {
+        final int[] dst = new int[4];
+        assertThatThrownBy(() -> bean.fill(dst, 1, 4, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> bean.fill(dst, -1, 1, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> bean.gather(new int[2], 0, dst, 0, 3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testInts() {
+        final int[] expected = new int[1000];
+        bean.fillSeeded(expected, 0, expected.length, -500, 6);
+        assertThat(bean.ints(-500, 1000, 6).toArray()).isEqualTo(expected);
+        assertThat(bean.ints(-500, 1000, 6).parallel().toArray()).isEqualTo(expected);
+        assertThat(bean.ints(-500, 0, 6).count()).isZero();
+
+        bean.fillSeeded(expected, 0, expected.length, -500, 3, 6);
+        assertThat(bean.ints(-500, 3, 1000, 6).parallel().toArray()).isEqualTo(expected);
+        bean.fillSeeded(expected, 0, expected.length, -500, 3, 4, 6);
+        assertThat(bean.ints(-500, 3, 4, 1000, 6).toArray()).isEqualTo(expected);
+
+        assertThatThrownBy(() -> bean.ints(0, -1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testIntsSpliterator() {
+        final Spliterator.OfInt spliterator = bean.ints(10, 101, 6).spliterator();
+        assertThat(spliterator.hasCharacteristics(
+                Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED | Spliterator.IMMUTABLE
+        )).isTrue();
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(101L);
+
+        final Spliterator.OfInt prefix = spliterator.trySplit();
+        assertThat(prefix.getExactSizeIfKnown()).isEqualTo(50L);
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(51L);
+        assertThat(prefix.tryAdvance((int value) -> assertThat(value).isEqualTo(bean.randSeeded(10, 6)))).isTrue();
+        assertThat(spliterator.tryAdvance((int value) -> assertThat(value).isEqualTo(bean.randSeeded(60, 6))))
+                .isTrue();
+
+        final Spliterator.OfInt single = bean.ints(0, 1, 6).spliterator();
+        assertThat(single.trySplit()).isNull();
+    }
+
+    @Test
+    void testFillTileSeeded2D() {
+        for (final TileLayout layout : TileLayout.values()) {
+            final int width = 16;
+            final int height = layout == TileLayout.MORTON ? 16 : 5;
+            final int[] dst = new int[width * height + 2];
+            bean.fillTileSeeded(dst, 1, layout, -7, 3, width, height, 6);
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    assertThat(dst[1 + layout.index(i, j, width, height)])
+                            .isEqualTo(bean.randSeeded(i - 7, j + 3, 0, 6));
+                }
+            }
+            assertThat(dst[0]).isZero();
+            assertThat(dst[dst.length - 1]).isZero();
+        }
+        final int[] single = new int[1];
+        bean.fillTile(single, 0, TileLayout.MORTON, 2, 3, 1, 1);
+        assertThat(single[0]).isEqualTo(bean.rand(2, 3));
+    }
+
+    @Test
+    void testFillTileSeeded3D() {
+        for (final TileLayout layout : TileLayout.values()) {
+            final int width = 8;
+            final int height = layout == TileLayout.MORTON ? 8 : 3;
+            final int depth = layout == TileLayout.MORTON ? 8 : 5;
+            final int[] dst = new int[width * height * depth];
+            bean.fillTileSeeded(dst, 0, layout, 100, -3, Integer.MAX_VALUE, width, height, depth, 6);
+            for (int k = 0; k < depth; k++) {
+                for (int j = 0; j < height; j++) {
+                    for (int i = 0; i < width; i++) {
+                        assertThat(dst[layout.index(i, j, k, width, height, depth)])
+                                .isEqualTo(bean.randSeeded(i + 100, j - 3, Integer.MAX_VALUE + k, 6));
+                    }
+                }
+            }
+        }
+        final int[] dst = new int[8];
+        bean.fillTile(dst, 0, TileLayout.MORTON, 0, 0, 0, 2, 2, 2);
+        assertThat(dst[7]).isEqualTo(bean.rand(1, 1, 1));
+    }
+
+    @Test
+    void testFillTileInvalid() {
+        final int[] dst = new int[64];
+        assertThatThrownBy(() -> bean.fillTile(dst, 0, TileLayout.MORTON, 0, 0, 8, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bean.fillTile(dst, 0, TileLayout.MORTON, 0, 0, 0, 3, 3, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bean.fillTile(dst, 1, TileLayout.ROW_MAJOR, 0, 0, 8, 8))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testRandBoundedSeeded() {
+        final int[] bounds = {1, 3, 10, 1000, (1 << 30) + 1, Integer.MAX_VALUE};
+        for (final int bound : bounds) {
+            for (int x = 0; x < 1000; x++) {
+                final int actual = bean.randBoundedSeeded(bound, x, 6);
+                assertThat(actual)
+                        .withFailMessage("bound=%d, x=%d, actual=%d", bound, x, actual)
+                        .isEqualTo(referenceBounded(bound, x, 6));
+            }
+        }
+        assertThat(bean.randBoundedSeeded(10, 1, 1, 6)).isEqualTo(referenceBounded(10, 1 + BigRand32.PRIME_1, 6));
+        assertThat(bean.randBounded(10, 1, 1, 1))
+                .isEqualTo(referenceBounded(10, 1 + BigRand32.PRIME_1 + BigRand32.PRIME_2, 0));
+        assertThatThrownBy(() -> bean.randBounded(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bean.randBounded(-1, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Lemire's multiply-shift on 31 bits, redrawing rejected samples with subSeed.
+     */
+    private int referenceBounded(final int bound, final int x, final int seed) {
+        final long threshold = (1L << 31) % bound;
+        for (int attempt = 0; ; attempt++) {
+            final long m = (long) bean.randSeeded(x, BigRand32.subSeed(seed, attempt)) * bound;
+            if (m % (1L << 31) >= threshold) {
+                return (int) (m >> 31);
+            }
+        }
+    }
+
+    @Test
+    void testRandBoundedUniform() {
+        final int[] buckets = new int[7];
+        final int count = 70_000;
+        for (int x = 0; x < count; x++) {
+            buckets[bean.randBounded(buckets.length, x)]++;
+        }
+        for (final int bucket : buckets) {
+            assertThat(bucket).isBetween(9_500, 10_500);
+        }
+    }
+
+    @Test
+    void testRandRangeSeeded() {
+        final boolean[] seen = new boolean[10];
+        for (int x = 0; x < 1000; x++) {
+            final int value = bean.randRangeSeeded(-5, 5, x, 6);
+            assertThat(value).isBetween(-5, 4);
+            seen[(int) value + 5] = true;
+        }
+        for (final boolean b : seen) {
+            assertThat(b).isTrue();
+        }
+        // range wider than Integer.MAX_VALUE
+        long negative = 0;
+        for (int x = 0; x < 1000; x++) {
+            final int value = bean.randRange(Integer.MIN_VALUE, Integer.MAX_VALUE, x);
+            assertThat(value).isNotEqualTo(Integer.MAX_VALUE);
+            negative += value < 0 ? 1 : 0;
+        }
+        assertThat(negative).isBetween(400L, 600L);
+        assertThat(bean.randRange(7, 8, 1, 2, 3)).isEqualTo(7);
+        assertThatThrownBy(() -> bean.randRange(5, 5, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRandDoubleAndFloat() {
+        double sum = 0;
+        for (int x = 0; x < 100_000; x++) {
+            final double d = bean.randDoubleSeeded(x, 6);
+            final float f = bean.randFloatSeeded(x, 6);
+            assertThat(d).isGreaterThanOrEqualTo(0.0).isLessThan(1.0);
+            assertThat(f).isGreaterThanOrEqualTo(0.0f).isLessThan(1.0f);
+            assertThat(d).isCloseTo(f, within(0x1.0p-24));
+            sum += d;
+        }
+        assertThat(sum / 100_000).isCloseTo(0.5, within(0.01));
+        assertThat(bean.randDouble(1, 2, 3)).isEqualTo(bean.randDoubleSeeded(1, 2, 3, BigRand32.DEFAULT_SEED));
+        assertThat(bean.randFloat(1, 2)).isEqualTo(bean.randFloatSeeded(1, 2, BigRand32.DEFAULT_SEED));
+    }
+
+    @Test
+    void testFillDerivedSeeded() {
+        final int[] ints = new int[100];
+        final double[] doubles = new double[100];
+        final float[] floats = new float[100];
+        bean.fillBoundedSeeded(ints, 0, 100, (1 << 30) + 1, -50, 6);
+        for (int i = 0; i < 100; i++) {
+            assertThat(ints[i]).isEqualTo(bean.randBoundedSeeded((1 << 30) + 1, -50 + i, 6));
+        }
+        bean.fillBoundedSeeded(ints, 0, 100, 10, -50, 2, 6);
+        for (int i = 0; i < 100; i++) {
+            assertThat(ints[i]).isEqualTo(bean.randBoundedSeeded(10, -50 + i, 2, 6));
+        }
+        bean.fillRangeSeeded(ints, 0, 100, -3, 3, -50, 2, 3, 6);
+        for (int i = 0; i < 100; i++) {
+            assertThat(ints[i]).isEqualTo(bean.randRangeSeeded(-3, 3, -50 + i, 2, 3, 6));
+        }
+        bean.fillDoubleSeeded(doubles, 0, 100, -50, 2, 3, 6);
+        bean.fillFloatSeeded(floats, 0, 100, -50, 2, 6);
+        for (int i = 0; i < 100; i++) {
+            assertThat(doubles[i]).isEqualTo(bean.randDoubleSeeded(-50 + i, 2, 3, 6));
+            assertThat(floats[i]).isEqualTo(bean.randFloatSeeded(-50 + i, 2, 6));
+        }
+        assertThatThrownBy(() -> bean.fillBoundedSeeded(ints, 0, 100, 0, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSubSeed() {
+        assertThat(BigRand32.subSeed(6, 0)).isEqualTo(6);
+        assertThat(BigRand32.subSeed(6, 1)).isNotEqualTo(BigRand32.subSeed(6, 2));
+    }
+
+    @Test
+    void testIdSeeded() {
+        // bijective: 2^24 consecutive counters round trip, so they all have different ids
+        for (int counter = -(1 << 23); counter < (1 << 23); counter++) {
+            assertThat(bean.inverseIdSeeded(bean.idSeeded(counter, 6), 6) == counter).isTrue();
+        }
+        final SecureRandom random = new SecureRandom();
+        for (int i = 0; i < 100_000; i++) {
+            final int counter = random.nextInt();
+            final int seed = random.nextInt();
+            assertThat(bean.inverseIdSeeded(bean.idSeeded(counter, seed), seed)).isEqualTo(counter);
+        }
+        assertThat(bean.inverseId(bean.id(42))).isEqualTo(42);
+        assertThat(bean.idSeeded(1, 6)).isNotEqualTo(bean.idSeeded(1, 7));
+
+        final BigRand32 custom = new BigRand32(3, 0x12345678, 0x2468ACE0, -0x10000, 31, 37);
+        for (int counter = -1000; counter < 1000; counter++) {
+            assertThat(custom.inverseIdSeeded(custom.idSeeded(counter, 9), 9)).isEqualTo(counter);
+        }
+        for (int odd = -999; odd < 1000; odd += 2) {
+            assertThat(odd * BigRand32.inverseOdd(odd)).isEqualTo(1);
+        }
+    }
+
     @Test
     void testRandSeededWithRandNumbers() {
         final int count = 10_000_000;
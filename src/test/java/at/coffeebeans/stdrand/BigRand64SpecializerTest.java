@@ -0,0 +1,65 @@
+package at.coffeebeans.stdrand;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BigRand64SpecializerTest {
+
+    private static final long NOISE_1 = 0xA0761D6478BD642FL;
+    private static final long NOISE_2 = 0xE7037ED1A0B428DBL;
+    private static final long NOISE_3 = 0x8EBC6AF09C88C6E3L;
+    private static final long PRIME_1 = 0x589965CC75374CC3L;
+    private static final long PRIME_2 = 0x1D8E4E27C47D124FL;
+
+    @Test
+    void testSameValuesAsFullConstructor() {
+        final BigRand64 specialized = BigRand64.withConstants(5L, NOISE_1, NOISE_2, NOISE_3, PRIME_1, PRIME_2);
+        final BigRand64 plain = new BigRand64(5L, NOISE_1, NOISE_2, NOISE_3, PRIME_1, PRIME_2);
+        assertThat(specialized.getClass().isHidden()).isTrue();
+        assertThat(specialized.getBitNoise1()).isEqualTo(NOISE_1);
+        assertThat(specialized.getPrime2()).isEqualTo(PRIME_2);
+        for (long x = -100; x < 100; x++) {
+            assertThat(specialized.randSeeded(x, 6L)).isEqualTo(plain.randSeeded(x, 6L));
+            assertThat(specialized.randSeeded(x, 3 * x, 6L)).isEqualTo(plain.randSeeded(x, 3 * x, 6L));
+            assertThat(specialized.randSeeded(x, 3 * x, -x, 6L)).isEqualTo(plain.randSeeded(x, 3 * x, -x, 6L));
+            assertThat(specialized.rand(x)).isEqualTo(plain.rand(x));
+            assertThat(specialized.rand(x, 2, 3)).isEqualTo(plain.rand(x, 2, 3));
+            assertThat(specialized.idSeeded(x, 6L)).isEqualTo(plain.idSeeded(x, 6L));
+        }
+        final long[] a = new long[50];
+        final long[] b = new long[50];
+        specialized.fillSeeded(a, 0, a.length, 10L, 6L);
+        plain.fillSeeded(b, 0, b.length, 10L, 6L);
+        assertThat(a).isEqualTo(b);
+        // with the default values it matches the default generator
+        assertThat(BigRand64.withConstants(0L, BigRand64.BIT_NOISE_1, BigRand64.BIT_NOISE_2, BigRand64.BIT_NOISE_3,
+                BigRand64.PRIME_1, BigRand64.PRIME_2).randSeeded(7L, 8L)).isEqualTo(new BigRand64().randSeeded(7L, 8L));
+    }
+
+    @Test
+    void testIndependentClasses() {
+        final BigRand64 first = BigRand64.withConstants(0L, 11, 13, 17, 19, 23);
+        final BigRand64 second = BigRand64.withConstants(0L, 29, 31, 37, 41, 43);
+        assertThat(first.getClass()).isNotEqualTo(second.getClass());
+        assertThat(first.randSeeded(1L, 2L)).isEqualTo(new BigRand64(0L, 11, 13, 17, 19, 23).randSeeded(1L, 2L));
+        assertThat(second.randSeeded(1L, 2L)).isEqualTo(new BigRand64(0L, 29, 31, 37, 41, 43).randSeeded(1L, 2L));
+    }
+
+    @Test
+    void testPatch() throws IOException {
+        final byte[] template;
+        try (InputStream in = BigRand64Specializer.class.getResourceAsStream("BigRand64Template.class")) {
+            template = in.readAllBytes();
+        }
+        final byte[] patched = BigRand64Specializer.patch(template, new long[]{BigRand64Template.PRIME_1, 42L});
+        assertThat(patched.length).isEqualTo(template.length);
+        assertThat(patched).isNotEqualTo(template);
+        assertThatThrownBy(() -> BigRand64Specializer.patch(template, new long[]{42L, 43L}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -3,9 +3,18 @@ package at.coffeebeans.stdrand;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ReadOnlyBufferException;
 import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 
 class BigRand64Test {
 
@@ -109,6 +118,472 @@ class BigRand64Test {
         }
     }
 
+    @Test
+    void testFillSeeded() {
+        final long[] dst = new long[20];
+        bean.fillSeeded(dst, 2, 16, -8L, 6L);
+        assertThat(dst[0]).isZero();
+        assertThat(dst[1]).isZero();
+        for (int i = 0; i < 16; i++) {
+            assertThat(dst[2 + i]).isEqualTo(bean.randSeeded(-8L + i, 6L));
+        }
+        assertThat(dst[18]).isZero();
+        assertThat(dst[19]).isZero();
+    }
+
+    @Test
+    void testFillSeededXYZ() {
+        final long[] xy = new long[10];
+        final long[] xyz = new long[10];
+        bean.fillSeeded(xy, 0, xy.length, 1L, 1L, 6L);
+        bean.fillSeeded(xyz, 0, xyz.length, 1L, 1L, 1L, 6L);
+        assertThat(xy[0]).isEqualTo(9200914567271084271L);
+        assertThat(xyz[0]).isEqualTo(1463478602993761526L);
+        for (int i = 0; i < xy.length; i++) {
+            assertThat(xy[i]).isEqualTo(bean.randSeeded(1L + i, 1L, 6L));
+            assertThat(xyz[i]).isEqualTo(bean.randSeeded(1L + i, 1L, 1L, 6L));
+        }
+    }
+
+    @Test
+    void testFill() {
+        final long[] seeded = new long[10];
+        final long[] unseeded = new long[10];
+        bean.fillSeeded(seeded, 0, 10, 5L, 7L, 9L, BigRand64.DEFAULT_SEED);
+        bean.fill(unseeded, 0, 10, 5L, 7L, 9L);
+        assertThat(unseeded).isEqualTo(seeded);
+        bean.fill(unseeded, 0, 10, 5L);
+        assertThat(unseeded[3]).isEqualTo(bean.rand(8L));
+        bean.fill(unseeded, 0, 10, 5L, 7L);
+        assertThat(unseeded[3]).isEqualTo(bean.rand(8L, 7L));
+    }
+
+    @Test
+    void testGatherSeeded() {
+        final long[] xs = {Long.MIN_VALUE, -1L, 0L, 1L, Long.MAX_VALUE};
+        final long[] ys = {3L, 1L, 4L, 1L, 5L};
+        final long[] zs = {9L, 2L, 6L, 5L, 3L};
+        final long[] dst = new long[xs.length];
+        bean.gatherSeeded(xs, 1, dst, 0, 4, 6L);
+        for (int i = 0; i < 4; i++) {
+            assertThat(dst[i]).isEqualTo(bean.randSeeded(xs[i + 1], 6L));
+        }
+        bean.gatherSeeded(xs, ys, 0, dst, 0, xs.length, 6L);
+        for (int i = 0; i < xs.length; i++) {
+            assertThat(dst[i]).isEqualTo(bean.randSeeded(xs[i], ys[i], 6L));
+        }
+        bean.gatherSeeded(xs, ys, zs, 0, dst, 0, xs.length, 6L);
+        for (int i = 0; i < xs.length; i++) {
+            assertThat(dst[i]).isEqualTo(bean.randSeeded(xs[i], ys[i], zs[i], 6L));
+        }
+        final long[] inPlace = xs.clone();
+        bean.gather(inPlace, 0, inPlace, 0, inPlace.length);
+        for (int i = 0; i < xs.length; i++) {
+            assertThat(inPlace[i]).isEqualTo(bean.rand(xs[i]));
+        }
+    }
+
+    @Test
+    void testBulkOutOfBounds() {
+        final long[] dst = new long[4];
+        assertThatThrownBy(() -> bean.fill(dst, 1, 4, 0L)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> bean.fill(dst, -1, 1, 0L)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> bean.gather(new long[2], 0, dst, 0, 3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testLongs() {
+        final long[] expected = new long[1000];
+        bean.fillSeeded(expected, 0, expected.length, -500L, 6L);
+        assertThat(bean.longs(-500L, 1000, 6L).toArray()).isEqualTo(expected);
+        assertThat(bean.longs(-500L, 1000, 6L).parallel().toArray()).isEqualTo(expected);
+        assertThat(bean.longs(-500L, 0, 6L).count()).isZero();
+
+        bean.fillSeeded(expected, 0, expected.length, -500L, 3L, 6L);
+        assertThat(bean.longs(-500L, 3L, 1000, 6L).parallel().toArray()).isEqualTo(expected);
+        bean.fillSeeded(expected, 0, expected.length, -500L, 3L, 4L, 6L);
+        assertThat(bean.longs(-500L, 3L, 4L, 1000, 6L).toArray()).isEqualTo(expected);
+
+        assertThatThrownBy(() -> bean.longs(0L, -1, 0L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testLongsSpliterator() {
+        final Spliterator.OfLong spliterator = bean.longs(10L, 101, 6L).spliterator();
+        assertThat(spliterator.hasCharacteristics(
+                Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED | Spliterator.IMMUTABLE
+        )).isTrue();
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(101L);
+
+        final Spliterator.OfLong prefix = spliterator.trySplit();
+        assertThat(prefix.getExactSizeIfKnown()).isEqualTo(50L);
+        assertThat(spliterator.getExactSizeIfKnown()).isEqualTo(51L);
+        assertThat(prefix.tryAdvance((long value) -> assertThat(value).isEqualTo(bean.randSeeded(10L, 6L)))).isTrue();
+        assertThat(spliterator.tryAdvance((long value) -> assertThat(value).isEqualTo(bean.randSeeded(60L, 6L))))
+                .isTrue();
+
+        final Spliterator.OfLong single = bean.longs(0L, 1, 6L).spliterator();
+        assertThat(single.trySplit()).isNull();
+    }
+
+    @Test
+    void testFillTileSeeded2D() {
+        for (final TileLayout layout : TileLayout.values()) {
+            final int width = 16;
+            final int height = layout == TileLayout.MORTON ? 16 : 5;
+            final long[] dst = new long[width * height + 2];
+            bean.fillTileSeeded(dst, 1, layout, -7L, 3L, width, height, 6L);
+            for (int j = 0; j < height; j++) {
+                for (int i = 0; i < width; i++) {
+                    assertThat(dst[1 + layout.index(i, j, width, height)])
+                            .isEqualTo(bean.randSeeded(i - 7L, j + 3L, 0L, 6L));
+                }
+            }
+            assertThat(dst[0]).isZero();
+            assertThat(dst[dst.length - 1]).isZero();
+        }
+        final long[] single = new long[1];
+        bean.fillTile(single, 0, TileLayout.MORTON, 2L, 3L, 1, 1);
+        assertThat(single[0]).isEqualTo(bean.rand(2L, 3L));
+    }
+
+    @Test
+    void testFillTileSeeded3D() {
+        for (final TileLayout layout : TileLayout.values()) {
+            final int width = 8;
+            final int height = layout == TileLayout.MORTON ? 8 : 3;
+            final int depth = layout == TileLayout.MORTON ? 8 : 5;
+            final long[] dst = new long[width * height * depth];
+            bean.fillTileSeeded(dst, 0, layout, 100L, -3L, Long.MAX_VALUE, width, height, depth, 6L);
+            for (int k = 0; k < depth; k++) {
+                for (int j = 0; j < height; j++) {
+                    for (int i = 0; i < width; i++) {
+                        assertThat(dst[layout.index(i, j, k, width, height, depth)])
+                                .isEqualTo(bean.randSeeded(i + 100L, j - 3L, Long.MAX_VALUE + k, 6L));
+                    }
+                }
+            }
+        }
+        final long[] dst = new long[8];
+        bean.fillTile(dst, 0, TileLayout.MORTON, 0L, 0L, 0L, 2, 2, 2);
+        assertThat(dst[7]).isEqualTo(bean.rand(1L, 1L, 1L));
+    }
+
+    @Test
+    void testFillTileInvalid() {
+        final long[] dst = new long[64];
+        assertThatThrownBy(() -> bean.fillTile(dst, 0, TileLayout.MORTON, 0L, 0L, 8, 4))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bean.fillTile(dst, 0, TileLayout.MORTON, 0L, 0L, 0L, 3, 3, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bean.fillTile(dst, 1, TileLayout.ROW_MAJOR, 0L, 0L, 8, 8))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testSampleSeeded() {
+        final long[] sample = bean.sampleSeeded(10_000_000_000L, 1000, 6L).toArray();
+        assertThat(sample).hasSize(1000);
+        for (int i = 1; i < sample.length; i++) {
+            assertThat(sample[i]).isGreaterThan(sample[i - 1]);
+        }
+        assertThat(sample[0]).isGreaterThanOrEqualTo(0L);
+        assertThat(sample[999]).isLessThan(10_000_000_000L);
+        assertThat(bean.sampleSeeded(10_000_000_000L, 1000, 6L).toArray()).isEqualTo(sample);
+        assertThat(bean.sampleSeeded(10_000_000_000L, 1000, 7L).toArray()).isNotEqualTo(sample);
+
+        assertThat(bean.sample(5, 5).toArray()).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(bean.sample(5, 0).count()).isZero();
+        assertThat(bean.sample(0, 0).count()).isZero();
+        assertThatThrownBy(() -> bean.sample(5, 6)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSampleUniform() {
+        // Algorithm A for small populations
+        final int[] counts = new int[20];
+        for (long seed = 0; seed < 20_000; seed++) {
+            bean.sampleSeeded(20, 5, seed).forEach(i -> counts[(int) i]++);
+        }
+        for (final int count : counts) {
+            assertThat(count).isBetween(4700, 5300);
+        }
+
+        // Algorithm D, the first index has mean (n - k) / (k + 1) = 90
+        final int[] hits = new int[1000];
+        long firstSum = 0;
+        for (long seed = 0; seed < 10_000; seed++) {
+            final long[] sample = bean.sampleSeeded(1000, 10, seed).toArray();
+            assertThat(sample).hasSize(10);
+            firstSum += sample[0];
+            for (final long i : sample) {
+                hits[(int) i]++;
+            }
+        }
+        assertThat(firstSum / 10_000.0).isBetween(87.0, 93.0);
+        for (final int hit : hits) {
+            assertThat(hit).isBetween(40, 160);
+        }
+    }
+
+    @Test
+    void testRandBoundedSeeded() {
+        final long[] bounds = {1L, 3L, 10L, 1000L, (1L << 62) + 1, Long.MAX_VALUE};
+        for (final long bound : bounds) {
+            for (long x = 0; x < 1000; x++) {
+                final long actual = bean.randBoundedSeeded(bound, x, 6L);
+                assertThat(actual)
+                        .withFailMessage("bound=%d, x=%d, actual=%d", bound, x, actual)
+                        .isEqualTo(referenceBounded(bound, x, 6L));
+            }
+        }
+        assertThat(bean.randBoundedSeeded(10L, 1L, 1L, 6L))
+                .isEqualTo(referenceBounded(10L, 1L + BigRand64.PRIME_1, 6L));
+        assertThat(bean.randBounded(10L, 1L, 1L, 1L))
+                .isEqualTo(referenceBounded(10L, 1L + BigRand64.PRIME_1 + BigRand64.PRIME_2, 0L));
+        assertThatThrownBy(() -> bean.randBounded(0L, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> bean.randBounded(-1L, 1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Lemire's multiply-shift on 63 bits with BigInteger, redrawing rejected samples with subSeed.
+     */
+    private long referenceBounded(final long bound, final long x, final long seed) {
+        final BigInteger n = BigInteger.valueOf(bound);
+        final BigInteger threshold = BigInteger.ONE.shiftLeft(63).mod(n);
+        for (long attempt = 0; ; attempt++) {
+            final BigInteger m = BigInteger.valueOf(bean.randSeeded(x, BigRand64.subSeed(seed, attempt))).multiply(n);
+            if (m.mod(BigInteger.ONE.shiftLeft(63)).compareTo(threshold) >= 0) {
+                return m.shiftRight(63).longValueExact();
+            }
+        }
+    }
+
+    @Test
+    void testRandBoundedUniform() {
+        final int[] buckets = new int[7];
+        final int count = 70_000;
+        for (long x = 0; x < count; x++) {
+            buckets[(int) bean.randBounded(buckets.length, x)]++;
+        }
+        for (final int bucket : buckets) {
+            assertThat(bucket).isBetween(9_500, 10_500);
+        }
+    }
+
+    @Test
+    void testRandRangeSeeded() {
+        final boolean[] seen = new boolean[10];
+        for (long x = 0; x < 1000; x++) {
+            final long value = bean.randRangeSeeded(-5L, 5L, x, 6L);
+            assertThat(value).isBetween(-5L, 4L);
+            seen[(int) value + 5] = true;
+        }
+        for (final boolean b : seen) {
+            assertThat(b).isTrue();
+        }
+        // range wider than Long.MAX_VALUE
+        long negative = 0;
+        for (long x = 0; x < 1000; x++) {
+            final long value = bean.randRange(Long.MIN_VALUE, Long.MAX_VALUE, x);
+            assertThat(value).isNotEqualTo(Long.MAX_VALUE);
+            negative += value < 0 ? 1 : 0;
+        }
+        assertThat(negative).isBetween(400L, 600L);
+        assertThat(bean.randRange(7L, 8L, 1L, 2L, 3L)).isEqualTo(7L);
+        assertThatThrownBy(() -> bean.randRange(5L, 5L, 1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRandDoubleAndFloat() {
+        double sum = 0;
+        for (long x = 0; x < 100_000; x++) {
+            final double d = bean.randDoubleSeeded(x, 6L);
+            final float f = bean.randFloatSeeded(x, 6L);
+            assertThat(d).isGreaterThanOrEqualTo(0.0).isLessThan(1.0);
+            assertThat(f).isGreaterThanOrEqualTo(0.0f).isLessThan(1.0f);
+            assertThat(d).isCloseTo(f, within(0x1.0p-24));
+            sum += d;
+        }
+        assertThat(sum / 100_000).isCloseTo(0.5, within(0.01));
+        assertThat(bean.randDouble(1L, 2L, 3L)).isEqualTo(bean.randDoubleSeeded(1L, 2L, 3L, BigRand64.DEFAULT_SEED));
+        assertThat(bean.randFloat(1L, 2L)).isEqualTo(bean.randFloatSeeded(1L, 2L, BigRand64.DEFAULT_SEED));
+    }
+
+    @Test
+    void testFillDerivedSeeded() {
+        final long[] longs = new long[100];
+        final double[] doubles = new double[100];
+        final float[] floats = new float[100];
+        bean.fillBoundedSeeded(longs, 0, 100, (1L << 62) + 1, -50L, 6L);
+        for (int i = 0; i < 100; i++) {
+            assertThat(longs[i]).isEqualTo(bean.randBoundedSeeded((1L << 62) + 1, -50L + i, 6L));
+        }
+        bean.fillBoundedSeeded(longs, 0, 100, 10L, -50L, 2L, 6L);
+        for (int i = 0; i < 100; i++) {
+            assertThat(longs[i]).isEqualTo(bean.randBoundedSeeded(10L, -50L + i, 2L, 6L));
+        }
+        bean.fillRangeSeeded(longs, 0, 100, -3L, 3L, -50L, 2L, 3L, 6L);
+        for (int i = 0; i < 100; i++) {
+            assertThat(longs[i]).isEqualTo(bean.randRangeSeeded(-3L, 3L, -50L + i, 2L, 3L, 6L));
+        }
+        bean.fillDoubleSeeded(doubles, 0, 100, -50L, 2L, 3L, 6L);
+        bean.fillFloatSeeded(floats, 0, 100, -50L, 2L, 6L);
+        for (int i = 0; i < 100; i++) {
+            assertThat(doubles[i]).isEqualTo(bean.randDoubleSeeded(-50L + i, 2L, 3L, 6L));
+            assertThat(floats[i]).isEqualTo(bean.randFloatSeeded(-50L + i, 2L, 6L));
+        }
+        assertThatThrownBy(() -> bean.fillBoundedSeeded(longs, 0, 100, 0L, 0L, 0L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testRand128Seeded() {
+        final BigInteger multiplier = new BigInteger("A0761D6478BD642F", 16);
+        final long[] pair = new long[3];
+        final long[] pairs = new long[200];
+        bean.fill128Seeded(pairs, 0, 100, -50L, 6L);
+        for (int i = 0; i < 100; i++) {
+            bean.rand128Seeded(-50L + i, 6L, pair, 1);
+            assertThat(pairs[2 * i]).isEqualTo(pair[1]);
+            assertThat(pairs[2 * i + 1]).isEqualTo(pair[2]);
+            // reference with BigInteger for the unsigned 128-bit products
+            final long a = bean.randSeeded(-50L + i, 6L);
+            final long b = bean.idSeeded(-50L + i, BigRand64.subSeed(6L, 1L));
+            final long high = new BigInteger(Long.toUnsignedString(b)).multiply(multiplier).shiftRight(64).longValue()
+                    ^ (a * multiplier.longValue());
+            final long low = BigInteger.valueOf(a).multiply(multiplier).shiftRight(64).longValue()
+                    ^ (b * multiplier.longValue());
+            assertThat(pair[1]).isEqualTo(high);
+            assertThat(pair[2]).isEqualTo(low);
+        }
+        final long[] seeded = new long[2];
+        bean.rand128Seeded(3L, BigRand64.DEFAULT_SEED, seeded, 0);
+        bean.rand128(3L, pair, 0);
+        assertThat(pair[0]).isEqualTo(seeded[0]);
+        assertThat(pair[1]).isEqualTo(seeded[1]);
+        assertThat(LongMath.unsignedMultiplyHigh(-1L, -1L)).isEqualTo(-2L);
+        assertThat(LongMath.unsignedMultiplyHigh(Long.MIN_VALUE, 4L)).isEqualTo(2L);
+        assertThatThrownBy(() -> bean.rand128Seeded(0L, 0L, pair, 2)).isInstanceOf(IndexOutOfBoundsException.class);
+
+        // randSeeded repeats at x + 2^62, the 128-bit value doesn't
+        final long[] wrapped = new long[2];
+        bean.rand128Seeded(5L + (1L << 62), 6L, wrapped, 0);
+        bean.rand128Seeded(5L, 6L, pair, 0);
+        assertThat(bean.randSeeded(5L + (1L << 62), 6L)).isEqualTo(bean.randSeeded(5L, 6L));
+        assertThat(wrapped[0]).isNotEqualTo(pair[0]);
+        assertThat(wrapped[1]).isNotEqualTo(pair[1]);
+    }
+
+    @Test
+    void testUuidSeeded() {
+        final long[] bits = new long[2000];
+        bean.fillUuidSeeded(bits, 0, 1000, 0L, 9L);
+        for (int i = 0; i < 1000; i++) {
+            final UUID uuid = bean.uuidSeeded(i, 9L);
+            assertThat(uuid.version()).isEqualTo(4);
+            assertThat(uuid.variant()).isEqualTo(2);
+            assertThat(uuid.getMostSignificantBits()).isEqualTo(bits[2 * i]);
+            assertThat(uuid.getLeastSignificantBits()).isEqualTo(bits[2 * i + 1]);
+        }
+        final long[] pair = new long[2];
+        bean.uuidSeeded(999L, 9L, pair, 0);
+        assertThat(pair[0]).isEqualTo(bits[1998]);
+        assertThat(bean.uuid(5L)).isEqualTo(bean.uuidSeeded(5L, BigRand64.DEFAULT_SEED));
+        assertThat(bean.uuid(5L)).isNotEqualTo(bean.uuid(6L));
+    }
+
+    @Test
+    void testFillBytesSeeded() {
+        final byte[] all = new byte[1000];
+        bean.fillBytesSeeded(all, 0, 1000, 0L, 4L);
+        final long[] pair = new long[2];
+        bean.rand128Seeded(2L, 4L, pair, 0);
+        assertThat(all[32]).isEqualTo((byte) pair[1]);
+        assertThat(all[47]).isEqualTo((byte) (pair[0] >>> 56));
+
+        // any part of the stream on its own, unaligned and shorter than a block
+        for (final int[] range : new int[][]{{0, 1000}, {3, 5}, {17, 300}, {999, 1}, {100, 0}}) {
+            final byte[] part = new byte[range[1] + 2];
+            bean.fillBytesSeeded(part, 2, range[1], range[0], 4L);
+            assertThat(Arrays.copyOfRange(part, 2, part.length))
+                    .isEqualTo(Arrays.copyOfRange(all, range[0], range[0] + range[1]));
+        }
+
+        for (final ByteBuffer buffer : new ByteBuffer[]{
+                ByteBuffer.allocate(600),
+                ByteBuffer.allocate(600).order(ByteOrder.LITTLE_ENDIAN),
+                ByteBuffer.allocateDirect(600),
+                ByteBuffer.allocateDirect(600).order(ByteOrder.LITTLE_ENDIAN),
+        }) {
+            buffer.position(7).limit(507);
+            bean.fillBytesSeeded(buffer, 21L, 4L);
+            assertThat(buffer.position()).isEqualTo(507);
+            final byte[] written = new byte[500];
+            buffer.position(7);
+            buffer.get(written);
+            assertThat(written).isEqualTo(Arrays.copyOfRange(all, 21, 521));
+        }
+
+        // negative positions continue the stream and position + i wraps from Long.MAX_VALUE to Long.MIN_VALUE
+        final byte[] negative = new byte[40];
+        bean.fillBytesSeeded(negative, 0, 40, -8L, 4L);
+        assertThat(Arrays.copyOfRange(negative, 8, 40)).isEqualTo(Arrays.copyOfRange(all, 0, 32));
+        bean.rand128Seeded(-1L, 4L, pair, 0);
+        assertThat(negative[7]).isEqualTo((byte) (pair[0] >>> 56));
+        final byte[] wrapped = new byte[40];
+        bean.fillBytesSeeded(wrapped, 0, 40, Long.MAX_VALUE - 19, 4L);
+        final byte[] head = new byte[20];
+        bean.fillBytesSeeded(head, 0, 20, Long.MAX_VALUE - 19, 4L);
+        final byte[] tail = new byte[20];
+        bean.fillBytesSeeded(tail, 0, 20, Long.MIN_VALUE, 4L);
+        assertThat(Arrays.copyOfRange(wrapped, 0, 20)).isEqualTo(head);
+        assertThat(Arrays.copyOfRange(wrapped, 20, 40)).isEqualTo(tail);
+
+        final byte[] defaults = new byte[40];
+        bean.fillBytes(defaults, 0, 40, 8L);
+        final ByteBuffer buffer = ByteBuffer.allocate(40);
+        bean.fillBytes(buffer, 8L);
+        assertThat(buffer.array()).isEqualTo(defaults);
+        assertThatThrownBy(() -> bean.fillBytes(ByteBuffer.allocate(8).asReadOnlyBuffer(), 0L))
+                .isInstanceOf(ReadOnlyBufferException.class);
+        assertThatThrownBy(() -> bean.fillBytes(defaults, 1, 40, 0L)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testSubSeed() {
+        assertThat(BigRand64.subSeed(6L, 0L)).isEqualTo(6L);
+        assertThat(BigRand64.subSeed(6L, 1L)).isNotEqualTo(BigRand64.subSeed(6L, 2L));
+    }
+
+    @Test
+    void testIdSeeded() {
+        final SecureRandom random = new SecureRandom();
+        for (int i = 0; i < 100_000; i++) {
+            final long counter = random.nextLong();
+            final long seed = random.nextLong();
+            assertThat(bean.inverseIdSeeded(bean.idSeeded(counter, seed), seed)).isEqualTo(counter);
+        }
+        for (long counter = -1000; counter < 1000; counter++) {
+            assertThat(bean.inverseId(bean.id(counter))).isEqualTo(counter);
+        }
+        // all 64 bits are used, randSeeded always has the sign bit cleared
+        boolean negative = false;
+        for (long counter = 0; counter < 100 && !negative; counter++) {
+            negative = bean.id(counter) < 0;
+        }
+        assertThat(negative).isTrue();
+        assertThat(bean.idSeeded(1, 6L)).isNotEqualTo(bean.idSeeded(1, 7L));
+
+        final BigRand64 custom = new BigRand64(3, 0x12345678, 0x2468ACE0, -0x10000, 31, 37);
+        for (long counter = -1000; counter < 1000; counter++) {
+            assertThat(custom.inverseIdSeeded(custom.idSeeded(counter, 9L), 9L)).isEqualTo(counter);
+        }
+        for (long odd = -999; odd < 1000; odd += 2) {
+            assertThat(odd * BigRand64.inverseOdd(odd)).isEqualTo(1L);
+        }
+    }
+
     @Test
     void testRandSeededWithRandNumbers() {
         final int count = 10_000_000;
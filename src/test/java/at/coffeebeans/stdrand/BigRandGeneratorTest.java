@@ -0,0 +1,96 @@
+package at.coffeebeans.stdrand;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ServiceLoader;
+import java.util.random.RandomGenerator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BigRandGeneratorTest {
+
+    private final BigRand64 rand = new BigRand64();
+    private BigRandGenerator bean;
+
+    @BeforeEach
+    void setUp() {
+        bean = BigRandGenerator.of(6L);
+    }
+
+    @Test
+    void testNextLong() {
+        for (long x = 0; x < 10; x++) {
+            assertThat(bean.nextLong()).isEqualTo(rand.randSeeded(x, 6L));
+        }
+        assertThat(bean.getX()).isEqualTo(10L);
+        assertThat(bean.getSeed()).isEqualTo(6L);
+    }
+
+    @Test
+    void testJump() {
+        final BigRandGenerator copy = bean.copy();
+        bean.jump();
+        assertThat(bean.getX()).isEqualTo(1L << 32);
+        bean.leap();
+        assertThat(bean.getX()).isEqualTo((1L << 32) + (1L << 48));
+        assertThat(copy.getX()).isZero();
+
+        copy.jump(1000.9);
+        assertThat(copy.getX()).isEqualTo(1000L);
+        copy.jump(0x1.0p64 + 8192);
+        assertThat(copy.getX()).isEqualTo(9192L);
+        // the default constants have a period of 2^62
+        assertThat(copy.getLogPeriod()).isEqualTo(62);
+        assertThat(rand.randSeeded(5L + (1L << 62), 6L)).isEqualTo(rand.randSeeded(5L, 6L));
+        copy.jump(0x1.8p63 + 0x1.0p61);
+        assertThat(copy.getX()).isEqualTo(9192L + (1L << 61));
+        copy.jumpPowerOfTwo(62);
+        copy.jumpPowerOfTwo(64);
+        assertThat(copy.getX()).isEqualTo(9192L + (1L << 61));
+
+        // an odd bitNoise1 has the full period of 2^64
+        final BigRandGenerator odd = new BigRandGenerator(new BigRand64(0L, 11, 13, 17, 19, 23), 6L, 0);
+        assertThat(odd.getLogPeriod()).isEqualTo(64);
+        odd.jump(0x1.8p63);
+        assertThat(odd.getX()).isEqualTo(3L << 62);
+        odd.jumpPowerOfTwo(63);
+        assertThat(odd.getX()).isEqualTo(1L << 62);
+
+        assertThatThrownBy(() -> copy.jump(-1.0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> copy.jump(Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> copy.jump(Double.POSITIVE_INFINITY)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> copy.jumpPowerOfTwo(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testCopyAndJump() {
+        final BigRandGenerator first = (BigRandGenerator) bean.copyAndJump();
+        assertThat(first.getX()).isZero();
+        assertThat(bean.getX()).isEqualTo(1L << 32);
+        assertThat(bean.nextLong()).isEqualTo(rand.randSeeded(1L << 32, 6L));
+        assertThat(bean.rngs(3).count()).isEqualTo(3L);
+    }
+
+    @Test
+    void testSplit() {
+        final BigRandGenerator source = BigRandGenerator.of(1L);
+        final long expectedSeed = source.copy().nextLong();
+        final BigRandGenerator split = bean.split(source);
+        assertThat(split.getSeed()).isEqualTo(expectedSeed);
+        assertThat(split.getX()).isZero();
+        assertThat(split.nextLong()).isEqualTo(rand.randSeeded(0L, expectedSeed));
+        assertThat(bean.splits(5).count()).isEqualTo(5L);
+        assertThat(bean.getX()).isEqualTo(5L);
+    }
+
+    @Test
+    void testServiceLoader() {
+        boolean found = false;
+        for (final RandomGenerator generator : ServiceLoader.load(RandomGenerator.class)) {
+            found |= generator instanceof BigRandGenerator;
+        }
+        assertThat(found).isTrue();
+    }
+}
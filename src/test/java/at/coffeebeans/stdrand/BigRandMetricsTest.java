@@ -0,0 +1,137 @@
+package at.coffeebeans.stdrand;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BigRandMetricsTest {
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void tearDown() {
+        BigRandMetrics.setEnabled(false);
+    }
+
+    @Test
+    void testCountersPerInstance() {
+        final BigRand64 rand64 = new BigRand64();
+        final BigRand32 rand32 = new BigRand32();
+        BigRandVector.fillSeeded(rand64, new long[100], 0, 100, 0L, 0L);
+        assertThat(BigRandMetrics.snapshot(rand64).getValues()).isZero();
+
+        BigRandMetrics.setEnabled(true);
+        final long total = BigRandMetrics.total().getValues();
+        BigRandVector.fillSeeded(rand64, new long[100], 0, 100, 0L, 0L);
+        BigRandVector.gatherSeeded(rand64, new long[10], 0, new long[10], 0, 10, 0L);
+        rand64.fillTile(new long[64], 0, TileLayout.MORTON, 0L, 0L, 8, 8);
+        BigRandParallel.fillSeeded(rand32, new int[100_000], 0, 100_000, 0, 0);
+        BigRandMetrics.setEnabled(false);
+        BigRandVector.fillSeeded(rand64, new long[100], 0, 100, 0L, 0L);
+
+        final BigRandMetrics.Snapshot snapshot64 = BigRandMetrics.snapshot(rand64);
+        assertThat(snapshot64.getValues()).isEqualTo(174);
+        assertThat(snapshot64.getBatches()).isEqualTo(3);
+        assertThat(snapshot64.getNanos()).isPositive();
+        assertThat(snapshot64.valuesPerSecond()).isGreaterThan(0.0);
+        final BigRandMetrics.Snapshot snapshot32 = BigRandMetrics.snapshot(rand32);
+        assertThat(snapshot32.getValues()).isEqualTo(100_000);
+        // the parallel fill is one batch, not one per chunk
+        assertThat(snapshot32.getBatches()).isEqualTo(1);
+        assertThat(BigRandMetrics.total().getValues()).isGreaterThanOrEqualTo(total + 100_174);
+
+        assertThat(snapshot64.getGenerator()).startsWith("BigRand64#");
+        assertThat(snapshot32.getGenerator()).startsWith("BigRand32#");
+        assertThat(BigRandMetrics.snapshot(new BigRand64()).getGenerator()).isNotEqualTo(snapshot64.getGenerator());
+    }
+
+    @Test
+    void testBulkFunctions() {
+        final BigRand64 rand64 = new BigRand64();
+        final BigRand32 rand32 = new BigRand32();
+        BigRandMetrics.setEnabled(true);
+        rand64.fillSeeded(new long[10], 0, 10, 0L, 1L, 0L);
+        rand64.gatherSeeded(new long[10], new long[10], 0, new long[10], 0, 10, 0L);
+        rand64.fillRangeSeeded(new long[10], 0, 10, -5L, 5L, 0L, 0L);
+        rand64.fillBoundedSeeded(new long[10], 0, 10, 7L, 0L, 0L);
+        rand64.fillDoubleSeeded(new double[10], 0, 10, 0L, 0L);
+        rand64.fillFloatSeeded(new float[10], 0, 10, 0L, 0L);
+        rand64.fillUuidSeeded(new long[20], 0, 10, 0L, 0L);
+        rand64.fillBytesSeeded(new byte[10], 0, 10, 0L, 0L);
+        rand32.fillSeeded(new int[10], 0, 10, 0, 0);
+        rand32.fillRangeSeeded(new int[10], 0, 10, -5, 5, 0, 0);
+        BigRandParallel.generateSeeded(rand64, 0L, 100_000L, 0L, (index, block, length) -> {
+        });
+        final BigRandPermutation permutation = new BigRandPermutation(rand64, 100_000L, 1L);
+        BigRandParallel.fillPermuted(permutation, new long[100_000], 0, 100_000, 0L);
+        permutation.permute(new long[10], 0, 10, 0L);
+        BigRandMetrics.setEnabled(false);
+
+        final BigRandMetrics.Snapshot snapshot64 = BigRandMetrics.snapshot(rand64);
+        // every function once, the parallel operations as a whole
+        assertThat(snapshot64.getBatches()).isEqualTo(11);
+        assertThat(snapshot64.getValues()).isEqualTo(80 + 100_000 + 100_000 + 10);
+        assertThat(BigRandMetrics.snapshot(rand32).getBatches()).isEqualTo(2);
+    }
+
+    @Test
+    void testMBean() throws Exception {
+        final ObjectName name = BigRandMetrics.registerMBean();
+        assertThat(BigRandMetrics.registerMBean()).isEqualTo(name);
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.setAttribute(name, new Attribute("Enabled", true));
+        assertThat(BigRandMetrics.isEnabled()).isTrue();
+        BigRandVector.fillSeeded(new BigRand64(), new long[10], 0, 10, 0L, 0L);
+        final long values = (Long) server.getAttribute(name, "Values");
+        assertThat(values).isGreaterThanOrEqualTo(10L);
+        server.invoke(name, "reset", new Object[0], new String[0]);
+        assertThat(BigRandMetrics.total().getBatches()).isZero();
+    }
+
+    @Test
+    void testFlightRecorderEvents() throws Exception {
+        final BigRand64 rand = new BigRand64();
+        final Path file = dir.resolve("batches.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("at.coffeebeans.stdrand.Batch").withThreshold(Duration.ZERO);
+            recording.start();
+            BigRandVector.fillSeeded(rand, new long[1000], 0, 1000, 0L, 0L);
+            rand.fillTile(new long[512], 0, TileLayout.ROW_MAJOR, 0L, 0L, 0L, 8, 8, 8);
+            rand.fillSeeded(new long[100], 0, 100, 0L, 1L, 0L);
+            rand.fillRangeSeeded(new long[100], 0, 100, -5L, 5L, 0L, 1L, 2L, 0L);
+            recording.stop();
+            recording.dump(file);
+        }
+        final List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(e -> "at.coffeebeans.stdrand.Batch".equals(e.getEventType().getName()))
+                .collect(Collectors.toList());
+        assertThat(events).hasSize(4);
+        assertThat(events.get(0).getString("generator")).isEqualTo(BigRandMetrics.snapshot(rand).getGenerator());
+        assertThat(events.get(0).getString("operation")).isEqualTo("fillSeeded");
+        assertThat(events.get(0).getLong("values")).isEqualTo(1000L);
+        assertThat(events.get(1).getString("operation")).isEqualTo("fillTileSeeded");
+        assertThat(events.get(1).getInt("dimensions")).isEqualTo(3);
+        assertThat(events.get(1).getThread()).isNotNull();
+        assertThat(events.get(2).getString("operation")).isEqualTo("fillSeeded");
+        assertThat(events.get(2).getInt("dimensions")).isEqualTo(2);
+        assertThat(events.get(3).getString("operation")).isEqualTo("fillRangeSeeded");
+        assertThat(events.get(3).getInt("dimensions")).isEqualTo(3);
+        // metrics stay off unless enabled
+        assertThat(BigRandMetrics.snapshot(rand).getBatches()).isZero();
+    }
+}
@@ -0,0 +1,151 @@
+package at.coffeebeans.stdrand;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BigRandParallelTest {
+
+    private static final int COUNT = 3 * BigRandParallel.CHUNK_SIZE + 17;
+
+    private final BigRand64 bean64 = new BigRand64();
+    private final BigRand32 bean32 = new BigRand32();
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testFillSeeded64() {
+        final long[] expected = new long[COUNT + 2];
+        final long[] actual = new long[COUNT + 2];
+        bean64.fillSeeded(expected, 1, COUNT, -100L, 6L);
+        BigRandParallel.fillSeeded(pool, bean64, actual, 1, COUNT, -100L, 6L);
+        assertThat(actual).isEqualTo(expected);
+
+        final long[] common = new long[COUNT + 2];
+        BigRandParallel.fillSeeded(bean64, common, 1, COUNT, -100L, 6L);
+        assertThat(common).isEqualTo(expected);
+    }
+
+    @Test
+    void testFillSeeded32() {
+        final int[] expected = new int[COUNT];
+        final int[] actual = new int[COUNT];
+        bean32.fillSeeded(expected, 0, COUNT, Integer.MAX_VALUE - 1000, 6);
+        BigRandParallel.fillSeeded(pool, bean32, actual, 0, COUNT, Integer.MAX_VALUE - 1000, 6);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void testGenerateSeeded64() {
+        final long[] expected = new long[COUNT];
+        final long[] actual = new long[COUNT];
+        bean64.fillSeeded(expected, 0, COUNT, 5L, 6L);
+        BigRandParallel.generateSeeded(pool, bean64, 5L, COUNT, 6L, (index, block, length) -> {
+            assertThat(length).isBetween(1, BigRandParallel.CHUNK_SIZE);
+            assertThat(index % BigRandParallel.CHUNK_SIZE).isZero();
+            System.arraycopy(block, 0, actual, (int) index, length);
+        });
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void testGenerateSeeded32() {
+        final int[] expected = new int[COUNT];
+        final int[] actual = new int[COUNT];
+        bean32.fillSeeded(expected, 0, COUNT, 5, 6);
+        BigRandParallel.generateSeeded(pool, bean32, 5, COUNT, 6, (index, block, length) ->
+                System.arraycopy(block, 0, actual, (int) index, length)
+        );
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void testNestedOperationInSink() {
+        // a sink waiting for a nested operation in the same pool runs other chunks on its thread meanwhile
+        final long[] expected = new long[COUNT];
+        bean64.fillSeeded(expected, 0, COUNT, 5L, 6L);
+        final long[] actual = new long[COUNT];
+        final AtomicLong nested = new AtomicLong();
+        BigRandParallel.generateSeeded(pool, bean64, 5L, COUNT, 6L, (index, block, length) -> {
+            BigRandParallel.generateSeeded(pool, bean64, 0L, COUNT, 7L, (i, b, l) -> nested.addAndGet(l));
+            System.arraycopy(block, 0, actual, (int) index, length);
+        });
+        assertThat(actual).isEqualTo(expected);
+        assertThat(nested.get()).isEqualTo(4L * COUNT);
+
+        final BigRandPermutation permutation = new BigRandPermutation(bean64, COUNT, 6L);
+        final long[] permuted = new long[COUNT];
+        permutation.permute(permuted, 0, COUNT, 0L);
+        final long[] generated = new long[COUNT];
+        BigRandParallel.generatePermuted(pool, permutation, 0L, COUNT, (index, block, length) -> {
+            BigRandParallel.generatePermuted(pool, permutation, 0L, COUNT, (i, b, l) -> {
+            });
+            System.arraycopy(block, 0, generated, (int) index, length);
+        });
+        assertThat(generated).isEqualTo(permuted);
+    }
+
+    @Test
+    void testFillPermuted() {
+        final BigRandPermutation permutation = new BigRandPermutation(bean64, 10L * COUNT, 6L);
+        final long[] expected = new long[COUNT + 2];
+        final long[] actual = new long[COUNT + 2];
+        permutation.permute(expected, 1, COUNT, 1000L);
+        BigRandParallel.fillPermuted(pool, permutation, actual, 1, COUNT, 1000L);
+        assertThat(actual).isEqualTo(expected);
+
+        final long[] all = new long[COUNT];
+        BigRandParallel.generatePermuted(pool, new BigRandPermutation(bean64, COUNT, 6L), 0L, COUNT,
+                (index, block, length) -> System.arraycopy(block, 0, all, (int) index, length)
+        );
+        Arrays.sort(all);
+        for (int i = 0; i < COUNT; i++) {
+            assertThat(all[i]).isEqualTo(i);
+        }
+        assertThatThrownBy(() -> BigRandParallel.fillPermuted(permutation, actual, 0, COUNT, 9L * COUNT + 1))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testForEachChunk() {
+        final AtomicLong positions = new AtomicLong();
+        final AtomicLong chunks = new AtomicLong();
+        BigRandParallel.forEachChunk(pool, 1000, 7, (index, length) -> {
+            assertThat(index % 7).isZero();
+            assertThat(length).isEqualTo((int) Math.min(7, 1000 - index));
+            positions.addAndGet(length);
+            chunks.incrementAndGet();
+        });
+        assertThat(positions.get()).isEqualTo(1000L);
+        assertThat(chunks.get()).isEqualTo(143L);
+
+        BigRandParallel.forEachChunk(pool, 0, 7, (index, length) -> chunks.incrementAndGet());
+        assertThat(chunks.get()).isEqualTo(143L);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> BigRandParallel.forEachChunk(pool, -1, 7, (index, length) -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BigRandParallel.forEachChunk(pool, 10, 0, (index, length) -> {
+        })).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BigRandParallel.fillSeeded(pool, bean64, new long[10], 5, 6, 0L, 0L))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
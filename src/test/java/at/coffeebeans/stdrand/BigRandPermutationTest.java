@@ -0,0 +1,78 @@
+package at.coffeebeans.stdrand;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BigRandPermutationTest {
+
+    private final BigRand64 bean = new BigRand64();
+
+    @Test
+    void testBijective() {
+        for (final long size : new long[]{1, 2, 3, 7, 64, 1000, 4096, 100_003}) {
+            final BigRandPermutation permutation = new BigRandPermutation(bean, size, 6L);
+            final boolean[] seen = new boolean[(int) size];
+            for (long i = 0; i < size; i++) {
+                final long j = permutation.permute(i);
+                assertThat(j).isBetween(0L, size - 1);
+                assertThat(seen[(int) j]).isFalse();
+                seen[(int) j] = true;
+                assertThat(permutation.inverse(j)).isEqualTo(i);
+            }
+        }
+    }
+
+    @Test
+    void testHugeSizes() {
+        final SplittableRandom random = new SplittableRandom(42);
+        for (final long size : new long[]{10_000_000_000L, (1L << 62) + 1, Long.MAX_VALUE}) {
+            final BigRandPermutation permutation = new BigRandPermutation(bean, size, 6L);
+            for (int n = 0; n < 1000; n++) {
+                final long i = random.nextLong(size);
+                final long j = permutation.permute(i);
+                assertThat(j).isBetween(0L, size - 1);
+                assertThat(permutation.inverse(j)).isEqualTo(i);
+            }
+        }
+    }
+
+    @Test
+    void testBulk() {
+        final BigRandPermutation permutation = new BigRandPermutation(bean, 5000, 6L, 8);
+        final long[] dst = new long[102];
+        permutation.permute(dst, 1, 100, 4900L);
+        for (int i = 0; i < 100; i++) {
+            assertThat(dst[1 + i]).isEqualTo(permutation.permute(4900L + i));
+        }
+        assertThatThrownBy(() -> permutation.permute(dst, 0, 101, 4900L))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testSeedsDiffer() {
+        final BigRandPermutation a = new BigRandPermutation(bean, 1000, 6L);
+        final BigRandPermutation b = new BigRandPermutation(bean, 1000, 7L);
+        int same = 0;
+        int fixed = 0;
+        for (long i = 0; i < 1000; i++) {
+            same += a.permute(i) == b.permute(i) ? 1 : 0;
+            fixed += a.permute(i) == i ? 1 : 0;
+        }
+        // a random permutation has one fixed point on average
+        assertThat(same).isLessThan(10);
+        assertThat(fixed).isLessThan(10);
+    }
+
+    @Test
+    void testInvalid() {
+        final BigRandPermutation permutation = new BigRandPermutation(bean, 10, 6L);
+        assertThatThrownBy(() -> permutation.permute(10)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> permutation.inverse(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> new BigRandPermutation(bean, 0, 6L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BigRandPermutation(bean, 10, 6L, 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,228 @@
+package at.coffeebeans.stdrand;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BigRandPublisherTest {
+
+    private final BigRand64 rand = new BigRand64();
+
+    @Test
+    void testFiniteStream() throws InterruptedException {
+        final BigRandPublisher publisher = new BigRandPublisher(rand, 6L, 100, 1000, 64, Runnable::run);
+        final Collector collector = new Collector(1, Long.MAX_VALUE);
+        publisher.subscribe(collector);
+        assertThat(collector.done.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(collector.error).isNull();
+        assertThat(collector.completed).isTrue();
+        assertThat(collector.values).hasSize(1000);
+        for (int i = 0; i < 1000; i++) {
+            assertThat(collector.values.get(i)).isEqualTo(rand.randSeeded(100L + i, 6L));
+        }
+        // every block was released before the next one was requested
+        assertThat(collector.arrays).hasSize(1);
+        assertThat(collector.lastEndX).isEqualTo(1100L);
+    }
+
+    @Test
+    void testBackpressure() throws InterruptedException {
+        final BigRandPublisher publisher = new BigRandPublisher(rand, 6L, 0, Long.MAX_VALUE, 16, Runnable::run);
+        final AtomicLong blocks = new AtomicLong();
+        final Flow.Subscription[] subscription = new Flow.Subscription[1];
+        publisher.subscribe(new Flow.Subscriber<BigRandPublisher.Block>() {
+            @Override
+            public void onSubscribe(final Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(final BigRandPublisher.Block item) {
+                blocks.incrementAndGet();
+                item.release();
+            }
+
+            @Override
+            public void onError(final Throwable throwable) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        assertThat(blocks.get()).isZero();
+        subscription[0].request(3);
+        assertThat(blocks.get()).isEqualTo(3L);
+        subscription[0].request(40);
+        assertThat(blocks.get()).isEqualTo(43L);
+        subscription[0].cancel();
+        subscription[0].request(5);
+        assertThat(blocks.get()).isEqualTo(43L);
+    }
+
+    @Test
+    void testCancelAndResume() throws InterruptedException {
+        final BigRandPublisher publisher = new BigRandPublisher(rand, 7L, 0, 10_000, 100, Runnable::run);
+        final Collector first = new Collector(2, 5);
+        publisher.subscribe(first);
+        assertThat(first.done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(first.completed).isFalse();
+        assertThat(first.values).hasSize(500);
+
+        final BigRandPublisher resumed = publisher.from(first.lastEndX);
+        assertThat(resumed.getStartX()).isEqualTo(500L);
+        assertThat(resumed.getCount()).isEqualTo(9500L);
+        final Collector second = new Collector(Long.MAX_VALUE, Long.MAX_VALUE);
+        resumed.subscribe(second);
+        assertThat(second.done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(second.completed).isTrue();
+        assertThat(second.values).hasSize(9500);
+        assertThat(second.values.get(0)).isEqualTo(rand.randSeeded(500L, 7L));
+        assertThat(second.values.get(9499)).isEqualTo(rand.randSeeded(9999L, 7L));
+
+        assertThatThrownBy(() -> publisher.from(10_001)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> publisher.from(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testEmptyStream() throws InterruptedException {
+        final Collector collector = new Collector(0, Long.MAX_VALUE);
+        new BigRandPublisher(rand, 6L, 0, 0, 16, Runnable::run).subscribe(collector);
+        assertThat(collector.done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(collector.completed).isTrue();
+        assertThat(collector.values).isEmpty();
+    }
+
+    @Test
+    void testInvalidRequest() throws InterruptedException {
+        final Collector collector = new Collector(0, Long.MAX_VALUE);
+        new BigRandPublisher(rand, 6L).subscribe(collector);
+        collector.subscription.request(0);
+        assertThat(collector.done.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(collector.error).isInstanceOf(IllegalArgumentException.class);
+        assertThat(collector.completed).isFalse();
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> new BigRandPublisher(rand, 6L, 0, -1, 16, Runnable::run))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BigRandPublisher(rand, 6L, 0, 10, 0, Runnable::run))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testManyStreams() throws InterruptedException {
+        final ExecutorService executor = BigRandPublisher.isVirtualThreadSupported()
+                ? BigRandPublisher.newVirtualThreadExecutor()
+                : Executors.newFixedThreadPool(4);
+        try {
+            final List<Collector> collectors = new ArrayList<>();
+            for (int seed = 0; seed < 1000; seed++) {
+                final Collector collector = new Collector(1, Long.MAX_VALUE);
+                new BigRandPublisher(rand, seed, 0, 300, 32, executor).subscribe(collector);
+                collectors.add(collector);
+            }
+            for (int seed = 0; seed < collectors.size(); seed++) {
+                final Collector collector = collectors.get(seed);
+                assertThat(collector.done.await(30, TimeUnit.SECONDS)).isTrue();
+                assertThat(collector.completed).isTrue();
+                assertThat(collector.values).hasSize(300);
+                assertThat(collector.values.get(299)).isEqualTo(rand.randSeeded(299L, seed));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void testVirtualThreadExecutor() {
+        if (BigRandPublisher.isVirtualThreadSupported()) {
+            BigRandPublisher.newVirtualThreadExecutor().shutdown();
+        } else {
+            assertThatThrownBy(BigRandPublisher::newVirtualThreadExecutor)
+                    .isInstanceOf(UnsupportedOperationException.class);
+        }
+    }
+
+    /**
+     * Collects the values, requests batch blocks at a time and cancels after limit blocks.
+     */
+    private static final class Collector implements Flow.Subscriber<BigRandPublisher.Block> {
+
+        private final long batch;
+        private final long limit;
+        private final List<Long> values = Collections.synchronizedList(new ArrayList<>());
+        private final Set<long[]> arrays = Collections.newSetFromMap(new IdentityHashMap<>());
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile boolean completed;
+        private volatile Throwable error;
+        private volatile long lastEndX;
+        private long received;
+        private long requested;
+
+        private Collector(
+                final long batch,
+                final long limit
+        ) {
+            this.batch = batch;
+            this.limit = limit;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription s) {
+            subscription = s;
+            if (batch > 0) {
+                requested = batch;
+                s.request(batch);
+            }
+        }
+
+        @Override
+        public void onNext(final BigRandPublisher.Block item) {
+            synchronized (arrays) {
+                arrays.add(item.values());
+            }
+            for (int i = 0; i < item.length(); i++) {
+                values.add(item.values()[i]);
+            }
+            lastEndX = item.getEndX();
+            item.release();
+            received++;
+            if (received == limit) {
+                subscription.cancel();
+                done.countDown();
+            } else if (received == requested) {
+                requested += batch;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package at.coffeebeans.stdrand;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BigRandReservoirTest {
+
+    private final BigRand64 bean = new BigRand64();
+
+    @Test
+    void testBottomK() {
+        final BigRandReservoir reservoir = new BigRandReservoir(bean, 10, 6L);
+        for (long i = 0; i < 1000; i++) {
+            reservoir.offer(i);
+        }
+        assertThat(reservoir.size()).isEqualTo(10);
+        final long[] indices = reservoir.indices();
+        assertThat(indices).isSorted();
+
+        // the sample are the 10 items with the smallest keys
+        final long[] keys = new long[1000];
+        bean.fillSeeded(keys, 0, 1000, 0L, 6L);
+        final long[] sorted = keys.clone();
+        Arrays.sort(sorted);
+        for (final long index : indices) {
+            assertThat(keys[(int) index]).isLessThanOrEqualTo(sorted[9]);
+        }
+    }
+
+    @Test
+    void testOfferRange() {
+        final BigRandReservoir single = new BigRandReservoir(bean, 50, 6L);
+        final BigRandReservoir range = new BigRandReservoir(bean, 50, 6L);
+        for (long i = 100; i < 100_100; i++) {
+            single.offer(i);
+        }
+        range.offerRange(100, 100_000);
+        assertThat(range.indices()).isEqualTo(single.indices());
+
+        final BigRandReservoir small = new BigRandReservoir(bean, 50, 6L);
+        small.offerRange(0, 20);
+        assertThat(small.size()).isEqualTo(20);
+        assertThat(small.offer(20)).isTrue();
+    }
+
+    @Test
+    void testMergePartitions() {
+        final BigRandReservoir whole = new BigRandReservoir(bean, 100, 6L);
+        whole.offerRange(0, 50_000);
+        final BigRandReservoir merged = new BigRandReservoir(bean, 100, 6L);
+        for (int partition = 0; partition < 7; partition++) {
+            final BigRandReservoir part = new BigRandReservoir(bean, 100, 6L);
+            // interleaved partitions in reverse order
+            for (long i = 49_999 - partition; i >= 0; i -= 7) {
+                part.offer(i);
+            }
+            merged.merge(part);
+        }
+        assertThat(merged.indices()).isEqualTo(whole.indices());
+        assertThatThrownBy(() -> merged.merge(new BigRandReservoir(bean, 100, 7L)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testUniform() {
+        final int[] counts = new int[20];
+        for (long seed = 0; seed < 20_000; seed++) {
+            final BigRandReservoir reservoir = new BigRandReservoir(bean, 5, seed);
+            reservoir.offerRange(0, 20);
+            for (final long index : reservoir.indices()) {
+                counts[(int) index]++;
+            }
+        }
+        for (final int count : counts) {
+            assertThat(count).isBetween(4700, 5300);
+        }
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThatThrownBy(() -> new BigRandReservoir(bean, 0, 6L)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,81 @@
+package at.coffeebeans.stdrand;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BigRandVectorTest {
+
+    // covers empty, shorter than one vector, whole vectors and vectors plus scalar tail for up to 16 lanes
+    private static final int MAX_LENGTH = 67;
+
+    private final BigRand64 bean64 = new BigRand64();
+    private final BigRand32 bean32 = new BigRand32();
+
+    @Test
+    void testFillSeeded64() {
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            final long[] expected = new long[length + 3];
+            final long[] actual = new long[length + 3];
+            bean64.fillSeeded(expected, 3, length, Long.MAX_VALUE - 20, 6L);
+            BigRandVector.fillSeeded(bean64, actual, 3, length, Long.MAX_VALUE - 20, 6L);
+            assertThat(actual).withFailMessage("length=%d", length).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testGatherSeeded64() {
+        final long[] xs = new long[MAX_LENGTH];
+        bean64.fill(xs, 0, xs.length, 0L);
+        for (int length = 0; length < MAX_LENGTH; length++) {
+            final long[] expected = new long[length];
+            final long[] actual = new long[length];
+            bean64.gatherSeeded(xs, MAX_LENGTH - length, expected, 0, length, 6L);
+            BigRandVector.gatherSeeded(bean64, xs, MAX_LENGTH - length, actual, 0, length, 6L);
+            assertThat(actual).withFailMessage("length=%d", length).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testFillSeeded32() {
+        for (int length = 0; length <= MAX_LENGTH; length++) {
+            final int[] expected = new int[length + 3];
+            final int[] actual = new int[length + 3];
+            bean32.fillSeeded(expected, 3, length, Integer.MAX_VALUE - 20, 6);
+            BigRandVector.fillSeeded(bean32, actual, 3, length, Integer.MAX_VALUE - 20, 6);
+            assertThat(actual).withFailMessage("length=%d", length).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testGatherSeeded32() {
+        final int[] xs = new int[MAX_LENGTH];
+        bean32.fill(xs, 0, xs.length, 0);
+        for (int length = 0; length < MAX_LENGTH; length++) {
+            final int[] expected = new int[length];
+            final int[] actual = new int[length];
+            bean32.gatherSeeded(xs, MAX_LENGTH - length, expected, 0, length, 6);
+            BigRandVector.gatherSeeded(bean32, xs, MAX_LENGTH - length, actual, 0, length, 6);
+            assertThat(actual).withFailMessage("length=%d", length).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void testCustomConstants() {
+        final BigRand64 custom = new BigRand64(0L, 11, 13, 17, 19, 23);
+        final long[] expected = new long[MAX_LENGTH];
+        final long[] actual = new long[MAX_LENGTH];
+        custom.fillSeeded(expected, 0, MAX_LENGTH, -3L, 0L);
+        BigRandVector.fillSeeded(custom, actual, 0, MAX_LENGTH, -3L, 0L);
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void testOutOfBounds() {
+        assertThatThrownBy(() -> BigRandVector.fillSeeded(bean64, new long[32], 1, 32, 0L, 0L))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> BigRandVector.fillSeeded(bean32, new int[32], 1, 32, 0, 0))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
@@ -0,0 +1,102 @@
+package at.coffeebeans.stdrand;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BigRandWalkTest {
+
+    private final BigRand64 rand = new BigRand64();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testPositions() {
+        final int steps = 10_000;
+        final BigRandWalk walk = new BigRandWalk(ForkJoinPool.commonPool(), rand, -5, 6, steps, 3L, 97);
+        long expected = 0;
+        for (int t = 0; t <= steps; t++) {
+            assertThat(walk.position(t)).isEqualTo(expected);
+            if (t < steps) {
+                final long increment = walk.increment(t);
+                assertThat(increment).isBetween(-5L, 5L);
+                assertThat(increment).isEqualTo(rand.randRangeSeeded(-5, 6, t, 3L));
+                expected += increment;
+            }
+        }
+        // the default interval gives the same positions
+        assertThat(new BigRandWalk(rand, -5, 6, steps, 3L).position(steps)).isEqualTo(expected);
+        assertThatThrownBy(() -> walk.position(-1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> walk.position(steps + 1)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testFillAndGenerate() {
+        final int steps = 100_000;
+        final BigRandWalk walk = new BigRandWalk(ForkJoinPool.commonPool(), rand, 0, 1000, steps, 4L, 1000);
+        final long[] all = new long[steps + 1];
+        walk.fill(all, 0, 0, all.length);
+        for (int t = 0; t <= steps; t += 777) {
+            assertThat(all[t]).isEqualTo(walk.position(t));
+        }
+        for (int t = 1; t <= steps; t++) {
+            assertThat(all[t]).isGreaterThanOrEqualTo(all[t - 1]);
+        }
+
+        final long[] part = new long[5000];
+        walk.fill(part, 0, 12_345, part.length);
+        for (int i = 0; i < part.length; i++) {
+            assertThat(part[i]).isEqualTo(all[12_345 + i]);
+        }
+
+        final long[] parallel = new long[steps - 10];
+        walk.generate(ForkJoinPool.commonPool(), 10, parallel.length,
+                (index, block, length) -> System.arraycopy(block, 0, parallel, (int) index, length));
+        for (int i = 0; i < parallel.length; i++) {
+            assertThat(parallel[i]).isEqualTo(all[10 + i]);
+        }
+
+        assertThatThrownBy(() -> walk.fill(part, 0, steps - 100, part.length))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> walk.fill(part, 1, 0, part.length)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> walk.generate(ForkJoinPool.commonPool(), 0, steps + 2, (index, block, length) -> {
+        })).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testMapped() throws IOException {
+        final Path file = dir.resolve("walk.bin");
+        final long steps = 50_000;
+        final BigRandWalk heap = new BigRandWalk(ForkJoinPool.commonPool(), rand, -100, 100, steps, 5L, 128);
+        final BigRandWalk mapped = BigRandWalk.mapped(ForkJoinPool.commonPool(), rand, -100, 100, steps, 5L, 128,
+                file);
+        final BigRandWalk reopened = BigRandWalk.openMapped(rand, -100, 100, steps, 5L, 128, file);
+        for (long t = 0; t <= steps; t += 333) {
+            assertThat(mapped.position(t)).isEqualTo(heap.position(t));
+            assertThat(reopened.position(t)).isEqualTo(heap.position(t));
+        }
+        assertThatThrownBy(() -> BigRandWalk.openMapped(rand, -100, 100, steps, 5L, 64, file))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        assertThat(new BigRandWalk(pool, rand, 0, 1, 0, 1L, 1).position(0)).isZero();
+        assertThatThrownBy(() -> new BigRandWalk(pool, rand, 0, 1, -1, 1L, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BigRandWalk(pool, rand, 0, 1, 10, 1L, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BigRandWalk(pool, rand, 1, 1, 10, 1L, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BigRandWalk(pool, rand, 0, 1, Long.MAX_VALUE, 1L, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
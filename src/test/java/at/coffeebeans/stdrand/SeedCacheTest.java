@@ -0,0 +1,52 @@
+package at.coffeebeans.stdrand;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeedCacheTest {
+
+    @Test
+    void testSameAsSeedHash() {
+        final SeedCache cache = new SeedCache(100);
+        assertThat(cache.seed64("player")).isEqualTo(SeedHash.hash64("player"));
+        assertThat(cache.seed64("player")).isEqualTo(SeedHash.hash64("player"));
+        assertThat(cache.seed32("player")).isEqualTo(SeedHash.hash32("player"));
+        assertThat(cache.size()).isEqualTo(1);
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testBounded() {
+        final SeedCache cache = new SeedCache(1000);
+        for (int i = 0; i < 10_000; i++) {
+            cache.seed64("key-" + i);
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(1000);
+        assertThat(cache.size()).isGreaterThan(500);
+
+        final SeedCache single = new SeedCache(1);
+        single.seed64("a");
+        single.seed64("b");
+        assertThat(single.size()).isEqualTo(1);
+    }
+
+    @Test
+    void testConcurrent() {
+        final SeedCache cache = new SeedCache(256);
+        final long mismatches = IntStream.range(0, 200_000).parallel()
+                .filter(i -> cache.seed64("key-" + (i % 500)) != SeedHash.hash64("key-" + (i % 500)))
+                .count();
+        assertThat(mismatches).isZero();
+        assertThat(cache.size()).isLessThanOrEqualTo(256);
+    }
+
+    @Test
+    void testInvalidCapacity() {
+        assertThatThrownBy(() -> new SeedCache(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package at.coffeebeans.stdrand;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SeedHashTest {
+
+    @Test
+    void testAnagrams() {
+        assertThat(SeedHash.hash64("ab")).isNotEqualTo(SeedHash.hash64("ba"));
+        assertThat(SeedHash.hash32("listen")).isNotEqualTo(SeedHash.hash32("silent"));
+        assertThat(SeedHash.hash64("a")).isNotEqualTo(SeedHash.hash64("a\0"));
+        assertThat(SeedHash.hash64("")).isZero();
+    }
+
+    @Test
+    void testCharSequenceEqualsUtf16Bytes() {
+        final String[] strings = {"", "x", "abc", "abcd", "entity-42", "Gr\u00fc\u00dfe \ud83d\ude00 aus Wien"};
+        for (final String s : strings) {
+            final byte[] bytes = s.getBytes(StandardCharsets.UTF_16LE);
+            assertThat(SeedHash.hash64(s)).isEqualTo(SeedHash.hash64(bytes));
+            assertThat(SeedHash.hash64(new StringBuilder(s))).isEqualTo(SeedHash.hash64(s));
+            assertThat(SeedHash.hash32(s)).isEqualTo(SeedHash.hash32(bytes));
+        }
+    }
+
+    @Test
+    void testByteBuffer() {
+        final byte[] bytes = new byte[37];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i * 31);
+        }
+        final long expected = SeedHash.hash64(bytes, 3, 30);
+        final ByteBuffer big = ByteBuffer.wrap(bytes, 3, 30);
+        final ByteBuffer little = ByteBuffer.allocateDirect(40).order(ByteOrder.LITTLE_ENDIAN);
+        little.position(5);
+        little.put(bytes, 3, 30).flip().position(5);
+        assertThat(SeedHash.hash64(big)).isEqualTo(expected);
+        assertThat(SeedHash.hash64(little)).isEqualTo(expected);
+        assertThat(SeedHash.hash32(little)).isEqualTo(SeedHash.fold(expected));
+        assertThat(little.position()).isEqualTo(5);
+        assertThatThrownBy(() -> SeedHash.hash64(bytes, 30, 10)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testNoCollisionsAndAvalanche() {
+        final Set<Long> seeds = new HashSet<>();
+        long flipped = 0;
+        for (int i = 0; i < 100_000; i++) {
+            final long h = SeedHash.hash64("entity-" + i);
+            seeds.add(h);
+            flipped += Long.bitCount(h ^ SeedHash.hash64("entity-" + (i ^ 1)));
+        }
+        assertThat(seeds).hasSize(100_000);
+        // about half of the bits change between neighbouring names
+        assertThat(flipped / 100_000.0).isBetween(31.0, 33.0);
+    }
+}
@@ -0,0 +1,73 @@
+package at.coffeebeans.stdrand;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TileLayoutTest {
+
+    @Test
+    void testRowMajorIndex() {
+        assertThat(TileLayout.ROW_MAJOR.index(3, 2, 10, 4)).isEqualTo(23);
+        assertThat(TileLayout.ROW_MAJOR.index(3, 2, 1, 10, 4, 5)).isEqualTo(63);
+    }
+
+    @Test
+    void testMortonIndex() {
+        assertThat(TileLayout.MORTON.index(1, 0, 4, 4)).isEqualTo(1);
+        assertThat(TileLayout.MORTON.index(0, 1, 4, 4)).isEqualTo(2);
+        assertThat(TileLayout.MORTON.index(3, 3, 4, 4)).isEqualTo(15);
+        assertThat(TileLayout.MORTON.index(0, 0, 1, 4, 4, 4)).isEqualTo(4);
+        assertThat(TileLayout.MORTON.index(3, 3, 3, 4, 4, 4)).isEqualTo(63);
+    }
+
+    @Test
+    void testMortonIsPermutation() {
+        final int n = 32;
+        final boolean[] seen2 = new boolean[n * n];
+        for (int j = 0; j < n; j++) {
+            for (int i = 0; i < n; i++) {
+                seen2[TileLayout.MORTON.index(i, j, n, n)] = true;
+            }
+        }
+        assertThat(seen2).doesNotContain(false);
+
+        final boolean[] seen3 = new boolean[n * n * n];
+        for (int k = 0; k < n; k++) {
+            for (int j = 0; j < n; j++) {
+                for (int i = 0; i < n; i++) {
+                    seen3[TileLayout.MORTON.index(i, j, k, n, n, n)] = true;
+                }
+            }
+        }
+        assertThat(seen3).doesNotContain(false);
+    }
+
+    @Test
+    void testSpreadCompact() {
+        final int[] values = {0, 1, 2, 3, 5, 511, 1023};
+        for (final int v : values) {
+            assertThat(TileLayout.compact2(TileLayout.spread2(v))).isEqualTo(v);
+            assertThat(TileLayout.compact3(TileLayout.spread3(v))).isEqualTo(v);
+            assertThat(TileLayout.compact2(TileLayout.spread2(v) << 1)).isZero();
+            assertThat(TileLayout.compact3(TileLayout.spread3(v) << 2)).isZero();
+        }
+        assertThat(TileLayout.compact2(TileLayout.spread2(0xFFFF))).isEqualTo(0xFFFF);
+        assertThat(Arrays.stream(values).map(TileLayout::spread2).toArray()).containsExactly(0, 1, 4, 5, 17, 0x15555,
+                0x55555);
+    }
+
+    @Test
+    void testSize() {
+        assertThat(TileLayout.ROW_MAJOR.size(3, 5)).isEqualTo(15);
+        assertThat(TileLayout.MORTON.size(0, 0, 0)).isZero();
+        assertThat(TileLayout.MORTON.size(32, 32, 32)).isEqualTo(32768);
+        assertThatThrownBy(() -> TileLayout.ROW_MAJOR.size(-1, 5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TileLayout.MORTON.size(6, 6)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TileLayout.ROW_MAJOR.size(1 << 16, 1 << 16))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
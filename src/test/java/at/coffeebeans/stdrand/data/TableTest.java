@@ -0,0 +1,130 @@
+package at.coffeebeans.stdrand.data;
+
+import at.coffeebeans.stdrand.BigRand64;
+import at.coffeebeans.stdrand.SeedHash;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class TableTest {
+
+    private static final BigRand64 RAND = new BigRand64();
+    private static final Instant FROM = Instant.parse("2024-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-01-01T00:00:00Z");
+
+    static Table customers() {
+        return new Table(RAND, "customers", 1_000_000_000L,
+                Column.longs("id", 1, 1L << 40),
+                Column.strings("country", new String[]{"AT", "DE", "CH"}, new double[]{1, 8, 1}),
+                Column.timestamps("created", FROM, TO).withNullRatio(0.1)
+        );
+    }
+
+    static Table orders(final Table customers) {
+        return new Table(RAND, "orders", 5_000_000_000L,
+                Column.foreignKey("customer", customers),
+                Column.decimals("amount", -10_000, 1_000_000, 2),
+                Column.strings("note", "plain", "with, comma", "with \"quote\"").withNullRatio(0.5)
+        );
+    }
+
+    @Test
+    void testSeedFromName() {
+        final Table table = customers();
+        assertThat(table.getSeed()).isEqualTo(SeedHash.hash64("customers"));
+        assertThat(table.raw(123_456_789L, 0)).isEqualTo(customers().raw(123_456_789L, 0));
+        assertThat(table.raw(5L, 0)).isEqualTo(RAND.randRangeSeeded(1, 1L << 40, 5L, 0L, table.getSeed()));
+        assertThat(table.indexOf("created")).isEqualTo(2);
+        assertThat(table.indexOf("missing")).isEqualTo(-1);
+    }
+
+    @Test
+    void testBatchMatchesRandomAccess() {
+        final Table customers = customers();
+        final Table orders = orders(customers);
+        for (final Table table : new Table[]{customers, orders}) {
+            final TableBatch batch = table.newBatch(1000);
+            final long fromRow = table.getRows() - 700;
+            table.fill(batch, fromRow, 700);
+            assertThat(batch.size()).isEqualTo(700);
+            assertThat(batch.getFromRow()).isEqualTo(fromRow);
+            for (int column = 0; column < table.getColumnCount(); column++) {
+                for (int i = 0; i < 700; i++) {
+                    assertThat(batch.values(column)[i]).isEqualTo(table.raw(fromRow + i, column));
+                    assertThat(batch.isNull(column, i)).isEqualTo(table.isNull(fromRow + i, column));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testTypedValues() {
+        final Table customers = customers();
+        final Table orders = orders(customers);
+        final int n = 100_000;
+        final TableBatch batch = orders.newBatch(n);
+        orders.fill(batch, 42L, n);
+        int nulls = 0;
+        for (int i = 0; i < n; i++) {
+            assertThat(batch.values(0)[i]).isBetween(0L, customers.getRows() - 1);
+            assertThat(batch.values(1)[i]).isBetween(-10_000L, 999_999L);
+            assertThat(batch.isNull(0, i)).isFalse();
+            nulls += batch.isNull(2, i) ? 1 : 0;
+        }
+        assertThat(nulls / (double) n).isCloseTo(0.5, within(0.01));
+
+        final TableBatch countries = customers.newBatch(n);
+        customers.fill(countries, 0L, n);
+        int germany = 0;
+        for (int i = 0; i < n; i++) {
+            germany += countries.values(1)[i] == 1 ? 1 : 0;
+        }
+        assertThat(germany / (double) n).isCloseTo(0.8, within(0.01));
+
+        final long row = 7L;
+        assertThat(orders.get(row, 1)).isEqualTo(BigDecimal.valueOf(orders.raw(row, 1), 2));
+        final Object created = customers.get(row, 2);
+        if (null != created) {
+            assertThat(((Instant) created).isBefore(TO)).isTrue();
+            assertThat(((Instant) created).isBefore(FROM)).isFalse();
+        }
+        assertThat(customers.get(row, 1)).isIn("AT", "DE", "CH");
+    }
+
+    @Test
+    void testAppendDecimal() {
+        for (final long unscaled : new long[]{0, 5, -5, 123, -123, 1_000_000, Long.MIN_VALUE, Long.MAX_VALUE}) {
+            for (final int scale : new int[]{0, 1, 2, 5, 18}) {
+                final StringBuilder sb = new StringBuilder();
+                Column.appendDecimal(sb, unscaled, scale);
+                assertThat(sb.toString()).isEqualTo(BigDecimal.valueOf(unscaled, scale).toPlainString());
+            }
+        }
+    }
+
+    @Test
+    void testInvalid() {
+        final Table table = customers();
+        assertThatThrownBy(() -> table.raw(table.getRows(), 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> table.raw(-1L, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        final TableBatch batch = table.newBatch(10);
+        assertThatThrownBy(() -> table.fill(batch, 0L, 11)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> table.fill(batch, table.getRows() - 5, 10))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> orders(table).fill(batch, 0L, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Table(RAND, "t", 10, Column.longs("a", 0, 1), Column.longs("a", 0, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Table(RAND, "t", 0, Column.longs("a", 0, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Column.longs("a", 5, 5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Column.longs("a", 0, 5).withNullRatio(1.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Column.strings("a", new String[]{"x"}, new double[]{1, 2}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
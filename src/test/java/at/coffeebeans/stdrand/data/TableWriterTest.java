@@ -0,0 +1,81 @@
+package at.coffeebeans.stdrand.data;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TableWriterTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testCsv() throws IOException {
+        final Table customers = TableTest.customers();
+        final Table orders = TableTest.orders(customers);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final TableWriter writer = new TableWriter(pool, 100);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writer.writeCsv(orders, 1000L, 1050L, out);
+            final String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n", -1);
+            assertThat(lines).hasSize(1052);
+            assertThat(lines[0]).isEqualTo("customer,amount,note");
+            assertThat(lines[1051]).isEmpty();
+            for (int i = 0; i < 1050; i++) {
+                final long row = 1000L + i;
+                final StringBuilder expected = new StringBuilder();
+                expected.append(orders.get(row, 0)).append(',').append(orders.get(row, 1)).append(',');
+                final Object note = orders.get(row, 2);
+                if (null != note) {
+                    expected.append(TableWriter.escape((String) note));
+                }
+                assertThat(lines[1 + i]).isEqualTo(expected.toString());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(TableWriter.escape("with \"quote\"")).isEqualTo("\"with \"\"quote\"\"\"");
+        assertThat(TableWriter.escape("plain")).isEqualTo("plain");
+    }
+
+    @Test
+    void testBinary() throws IOException {
+        final Table customers = TableTest.customers();
+        final Path file = dir.resolve("customers.bin");
+        final int rowBytes = TableWriter.rowBytes(customers);
+        assertThat(rowBytes).isEqualTo(1 + 3 * 8);
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final TableWriter writer = new TableWriter(pool, 64);
+            // two separate ranges, the second one written first
+            writer.writeBinary(customers, 500L, 500L, file);
+            writer.writeBinary(customers, 0L, 500L, file);
+        } finally {
+            pool.shutdown();
+        }
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(bytes.remaining()).isEqualTo(1000 * rowBytes);
+        for (int row = 0; row < 1000; row++) {
+            final int at = row * rowBytes;
+            final byte bitmap = bytes.get(at);
+            for (int column = 0; column < 3; column++) {
+                assertThat((bitmap >>> column & 1) == 1).isEqualTo(customers.isNull(row, column));
+                assertThat(bytes.getLong(at + 1 + 8 * column)).isEqualTo(customers.raw(row, column));
+            }
+        }
+        assertThatThrownBy(() -> new TableWriter().writeBinary(customers, -1L, 10L, file))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package at.coffeebeans.stdrand.dist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AliasTableCacheTest {
+
+    @Test
+    void testKeyedByIdentity() {
+        final AliasTableCache cache = new AliasTableCache(10);
+        final double[] weights = {1, 2, 3};
+        final AliasTable table = cache.get(weights);
+        assertThat(cache.get(weights)).isSameAs(table);
+        assertThat(cache.get(new double[]{1, 2, 3})).isNotSameAs(table);
+        // a changed array keeps its table until it is removed
+        weights[0] = 5;
+        assertThat(cache.get(weights)).isSameAs(table);
+        cache.remove(weights);
+        assertThat(cache.get(weights).probability(0)).isEqualTo(0.5);
+        assertThat(cache.size()).isEqualTo(2);
+        cache.clear();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsed() {
+        final AliasTableCache cache = new AliasTableCache(2);
+        final double[] a = {1, 1};
+        final double[] b = {1, 2};
+        final double[] c = {1, 3};
+        final AliasTable tableA = cache.get(a);
+        final AliasTable tableB = cache.get(b);
+        assertThat(cache.get(a)).isSameAs(tableA);
+        assertThat(cache.get(c).probability(1)).isEqualTo(0.75);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(a)).isSameAs(tableA);
+        assertThat(cache.get(b)).isNotSameAs(tableB);
+        assertThat(cache.size()).isEqualTo(2);
+        assertThatThrownBy(() -> new AliasTableCache(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testConcurrent() {
+        final AliasTableCache cache = new AliasTableCache(100);
+        final double[][] weights = new double[50][];
+        final AliasTable[] first = new AliasTable[weights.length];
+        for (int i = 0; i < first.length; i++) {
+            weights[i] = new double[]{1, i};
+            first[i] = cache.get(weights[i]);
+        }
+        final long mismatches = IntStream.range(0, 100_000).parallel()
+                .filter(i -> cache.get(weights[i % 50]) != first[i % 50])
+                .count();
+        assertThat(mismatches).isZero();
+        assertThat(cache.size()).isEqualTo(50);
+
+        // the bound holds while many threads add tables
+        final AliasTableCache small = new AliasTableCache(8);
+        IntStream.range(0, 10_000).parallel().forEach(i -> small.get(new double[]{1, i}));
+        assertThat(small.size()).isEqualTo(8);
+    }
+}
@@ -0,0 +1,108 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand32;
+import at.coffeebeans.stdrand.BigRand64;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class AliasTableTest {
+
+    private static final double[] WEIGHTS = {1, 0, 2.5, 0.5, 6};
+    private static final int DRAWS = 1_000_000;
+
+    @Test
+    void testProbabilities() {
+        final AliasTable table = new AliasTable(WEIGHTS);
+        assertThat(table.size()).isEqualTo(5);
+        assertThat(table.probability(0)).isCloseTo(0.1, within(1e-12));
+        assertThat(table.probability(1)).isZero();
+        assertThat(table.probability(4)).isCloseTo(0.6, within(1e-12));
+    }
+
+    @Test
+    void testDistribution64() {
+        final AliasTable table = new AliasTable(WEIGHTS);
+        final BigRand64 rand = new BigRand64();
+        final int[] counts = new int[WEIGHTS.length];
+        for (int x = 0; x < DRAWS; x++) {
+            counts[table.draw(rand, x, 42L)]++;
+        }
+        assertFrequencies(table, counts);
+    }
+
+    @Test
+    void testDistribution32() {
+        final AliasTable table = new AliasTable(WEIGHTS);
+        final BigRand32 rand = new BigRand32();
+        final int[] counts = new int[WEIGHTS.length];
+        for (int x = 0; x < DRAWS; x++) {
+            counts[table.draw(rand, x, 42)]++;
+        }
+        assertFrequencies(table, counts);
+    }
+
+    @Test
+    void testFillMatchesDraw() {
+        final AliasTable table = new AliasTable(WEIGHTS);
+        final BigRand64 rand64 = new BigRand64();
+        final BigRand32 rand32 = new BigRand32();
+        final int[] dst = new int[10_003];
+        table.fill(rand64, dst, 3, 10_000, -500L, 7L);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(dst[3 + i]).isEqualTo(table.draw(rand64, -500L + i, 7L));
+        }
+        table.fill(rand32, dst, 2, 10_000, -500, 7);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(dst[2 + i]).isEqualTo(table.draw(rand32, -500 + i, 7));
+        }
+        assertThatThrownBy(() -> table.fill(rand32, dst, 4, 10_000, 0, 0))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testSingleAndUniform() {
+        final AliasTable single = new AliasTable(new double[]{3});
+        assertThat(single.draw(new BigRand64(), 123L, 0L)).isZero();
+
+        final double[] ones = new double[1000];
+        Arrays.fill(ones, 1);
+        final AliasTable uniform = new AliasTable(ones);
+        final int[] counts = new int[1000];
+        final BigRand64 rand = new BigRand64();
+        for (int x = 0; x < DRAWS; x++) {
+            counts[uniform.draw(rand, x, 1L)]++;
+        }
+        assertFrequencies(uniform, counts);
+    }
+
+    @Test
+    void testInvalidWeights() {
+        assertThatThrownBy(() -> new AliasTable(new double[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{1, -1})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{1, Double.NaN}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{Double.POSITIVE_INFINITY}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AliasTable(new double[]{Double.MAX_VALUE, Double.MAX_VALUE}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Every count within 5 standard deviations of the expectation.
+     */
+    private static void assertFrequencies(
+            final AliasTable table,
+            final int[] counts
+    ) {
+        for (int i = 0; i < counts.length; i++) {
+            final double expected = DRAWS * table.probability(i);
+            final double deviation = Math.sqrt(expected * (1 - table.probability(i)));
+            assertThat((double) counts[i]).isCloseTo(expected, within(5 * deviation + 1e-9));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand64;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.DoublePredicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+class ContinuousDistributionTest {
+
+    private static final int N = 1_000_000;
+    private static final BigRand64 RAND = new BigRand64();
+
+    @Test
+    void testFillMatchesSample() {
+        final ContinuousDistribution[] distributions = {
+                new NormalDistribution(3, 2),
+                new ExponentialDistribution(0.5),
+                new LogNormalDistribution(1, 0.25),
+                new GammaDistribution(0.7, 3),
+                new GammaDistribution(4, 1),
+        };
+        // long enough to hit the tails and wedges of the ziggurat
+        final double[] dst = new double[20_003];
+        for (final ContinuousDistribution distribution : distributions) {
+            distribution.fill(RAND, dst, 2, 20_000, -1000L, 77L);
+            for (int i = 0; i < 20_000; i++) {
+                assertThat(dst[2 + i]).isEqualTo(distribution.sample(RAND, -1000L + i, 77L));
+            }
+            assertThatThrownBy(() -> distribution.fill(RAND, dst, 4, 20_000, 0L, 0L))
+                    .isInstanceOf(IndexOutOfBoundsException.class);
+        }
+    }
+
+    @Test
+    void testNormal() {
+        final double[] values = new double[N];
+        new NormalDistribution().fill(RAND, values, 0, N, 0L, 1L);
+        assertMoments(values, 0, 1);
+        // tails and wedges
+        assertThat(fraction(values, v -> v > 3)).isCloseTo(0.0013499, within(0.0002));
+        assertThat(fraction(values, v -> v < -2)).isCloseTo(0.0227501, within(0.0008));
+        assertThat(fraction(values, v -> Math.abs(v) < 0.5)).isCloseTo(0.3829249, within(0.003));
+
+        new NormalDistribution(-5, 0.5).fill(RAND, values, 0, N, 0L, 2L);
+        assertMoments(values, -5, 0.25);
+    }
+
+    @Test
+    void testExponential() {
+        final double[] values = new double[N];
+        new ExponentialDistribution().fill(RAND, values, 0, N, 0L, 1L);
+        assertMoments(values, 1, 1);
+        assertThat(fraction(values, v -> v < 0)).isZero();
+        assertThat(fraction(values, v -> v > 1)).isCloseTo(Math.exp(-1), within(0.003));
+        // beyond the base strip
+        assertThat(fraction(values, v -> v > 8)).isCloseTo(Math.exp(-8), within(0.0001));
+
+        new ExponentialDistribution(4).fill(RAND, values, 0, N, 0L, 2L);
+        assertMoments(values, 0.25, 0.0625);
+    }
+
+    @Test
+    void testLogNormal() {
+        final double[] values = new double[N];
+        new LogNormalDistribution(1, 0.5).fill(RAND, values, 0, N, 0L, 1L);
+        assertMoments(values, Math.exp(1.125), (Math.exp(0.25) - 1) * Math.exp(2.25));
+        assertThat(fraction(values, v -> v < Math.E)).isCloseTo(0.5, within(0.003));
+    }
+
+    @Test
+    void testGamma() {
+        for (final double shape : new double[]{0.2, 1, 3.5, 50}) {
+            final GammaDistribution gamma = new GammaDistribution(shape, 2);
+            final double[] values = new double[N / 4];
+            gamma.fill(RAND, values, 0, values.length, 0L, 1L);
+            assertMoments(values, 2 * shape, 4 * shape);
+            assertThat(fraction(values, v -> v < 0)).isZero();
+        }
+    }
+
+    @Test
+    void testInvalidParameters() {
+        assertThatThrownBy(() -> new NormalDistribution(0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new NormalDistribution(Double.NaN, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ExponentialDistribution(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LogNormalDistribution(0, Double.POSITIVE_INFINITY))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GammaDistribution(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new GammaDistribution(1, Double.NaN)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Mean and variance within 5 standard errors, the error of the variance estimated from the fourth moment.
+     */
+    private static void assertMoments(
+            final double[] values,
+            final double mean,
+            final double variance
+    ) {
+        final int n = values.length;
+        double sum = 0;
+        for (final double v : values) {
+            sum += v;
+        }
+        final double actualMean = sum / n;
+        double m2 = 0;
+        double m4 = 0;
+        for (final double v : values) {
+            final double d = (v - actualMean) * (v - actualMean);
+            m2 += d;
+            m4 += d * d;
+        }
+        m2 /= n;
+        m4 /= n;
+        assertThat(actualMean).isCloseTo(mean, within(5 * Math.sqrt(variance / n)));
+        assertThat(m2).isCloseTo(variance, within(5 * Math.sqrt((m4 - m2 * m2) / n)));
+    }
+
+    private static double fraction(
+            final double[] values,
+            final DoublePredicate predicate
+    ) {
+        int count = 0;
+        for (final double v : values) {
+            if (predicate.test(v)) {
+                count++;
+            }
+        }
+        return (double) count / values.length;
+    }
+}
@@ -0,0 +1,120 @@
+package at.coffeebeans.stdrand.dist;
+
+import at.coffeebeans.stdrand.BigRand64;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SortedUniformsTest {
+
+    private final BigRand64 rand = new BigRand64();
+
+    @Test
+    void testSortedAndUniform() {
+        final int n = 200_000;
+        final SortedUniforms sorted = new SortedUniforms(rand, n, 1000, 6L);
+        assertThat(sorted.getBlockCount()).isEqualTo(200L);
+        final double[] values = new double[n];
+        sorted.fill(values, 0, 0, n);
+        final int[] buckets = new int[20];
+        for (int i = 0; i < n; i++) {
+            assertThat(values[i]).isBetween(0.0, 1.0);
+            if (i > 0) {
+                assertThat(values[i]).isGreaterThanOrEqualTo(values[i - 1]);
+            }
+            // order statistic i has mean (i + 1) / (n + 1) and a standard deviation of at most 0.5 / sqrt(n)
+            assertThat(Math.abs(values[i] - (i + 1.0) / (n + 1))).isLessThan(6 * 0.5 / Math.sqrt(n));
+            buckets[(int) (values[i] * buckets.length)]++;
+        }
+        for (int bucket : buckets) {
+            assertThat(Math.abs(bucket - n / buckets.length)).isLessThan(n / buckets.length / 20);
+        }
+    }
+
+    @Test
+    void testSpacingsAreExponential() {
+        // n * spacing of uniform order statistics is about standard exponential
+        final int n = 100_000;
+        final double[] values = new double[n];
+        new SortedUniforms(rand, n, 512, 7L).fill(values, 0, 0, n);
+        double sum = 0;
+        double sumSquares = 0;
+        for (int i = 1; i < n; i++) {
+            final double spacing = n * (values[i] - values[i - 1]);
+            sum += spacing;
+            sumSquares += spacing * spacing;
+        }
+        final double mean = sum / (n - 1);
+        assertThat(mean).isBetween(0.97, 1.03);
+        assertThat(sumSquares / (n - 1) - mean * mean).isBetween(0.9, 1.1);
+    }
+
+    @Test
+    void testRandomAccess() {
+        final SortedUniforms sorted = new SortedUniforms(rand, 10_007, 100, 8L);
+        final double[] all = new double[10_007];
+        sorted.fill(all, 0, 0, all.length);
+
+        final double[] part = new double[1234];
+        sorted.fill(part, 0, 4321, part.length);
+        for (int i = 0; i < part.length; i++) {
+            assertThat(part[i]).isEqualTo(all[4321 + i]);
+        }
+        for (long block = 0; block < sorted.getBlockCount() - 1; block++) {
+            assertThat(sorted.boundary(block)).isEqualTo(all[(int) (block * 100 + 99)]);
+        }
+        assertThat(sorted.get(10_006)).isEqualTo(all[10_006]);
+        assertThat(sorted.get(0)).isEqualTo(all[0]);
+
+        final double[] streamed = sorted.doubles().toArray();
+        assertThat(streamed).isEqualTo(all);
+
+        assertThatThrownBy(() -> sorted.boundary(100)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> sorted.get(10_007)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> sorted.fill(part, 0, 9000, part.length))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testKeys() {
+        final SortedUniforms sorted = new SortedUniforms(rand, 50_000, 256, 9L);
+        final long[] expected = new long[50_000];
+        sorted.fillKeys(expected, 0, 0, expected.length, -1000, 1_000_000);
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(expected[i]).isBetween(-1000L, 999_999L);
+            if (i > 0) {
+                assertThat(expected[i]).isGreaterThanOrEqualTo(expected[i - 1]);
+            }
+        }
+        final long[] parallel = new long[expected.length];
+        sorted.generateKeys(-1000, 1_000_000,
+                (index, block, length) -> System.arraycopy(block, 0, parallel, (int) index, length));
+        assertThat(parallel).isEqualTo(expected);
+
+        final long[] wide = new long[1000];
+        new SortedUniforms(rand, 1000, 64, 9L).fillKeys(wide, 0, 0, 1000, Long.MIN_VALUE / 2, Long.MAX_VALUE / 2);
+        for (int i = 1; i < wide.length; i++) {
+            assertThat(wide[i]).isGreaterThanOrEqualTo(wide[i - 1]);
+        }
+        assertThatThrownBy(() -> sorted.fillKeys(expected, 0, 0, 10, 5, 5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> sorted.fillKeys(expected, 0, 0, 10, Long.MIN_VALUE, Long.MAX_VALUE))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testSmallSequences() {
+        assertThat(new SortedUniforms(rand, 0, 6L).doubles().count()).isZero();
+        final double[] single = new SortedUniforms(rand, 10, 6L).doubles().toArray();
+        assertThat(single).hasSize(10);
+        final SortedUniforms ones = new SortedUniforms(rand, 20, 1, 6L);
+        final double[] values = ones.doubles().toArray();
+        for (int i = 1; i < values.length; i++) {
+            assertThat(values[i]).isGreaterThanOrEqualTo(values[i - 1]);
+        }
+        assertThat(new SortedUniforms(rand, 20, 1, 6L).doubles().toArray()).isEqualTo(values);
+        assertThatThrownBy(() -> new SortedUniforms(rand, -1, 6L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SortedUniforms(rand, 1, 0, 6L)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,89 @@
+package at.coffeebeans.stdrand.hash;
+
+import at.coffeebeans.stdrand.BigRand64;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    private final BigRand64 rand = new BigRand64();
+
+    @Test
+    void testFalsePositiveRate() {
+        final BloomFilter filter = BloomFilter.create(rand, 10_000, 0.01, 6L);
+        assertThat(filter.getK()).isEqualTo(7);
+        assertThat(filter.bitSize() % 64).isZero();
+        for (long key = 0; key < 10_000; key++) {
+            filter.put(key);
+        }
+        for (long key = 0; key < 10_000; key++) {
+            assertThat(filter.mightContain(key)).isTrue();
+        }
+        int falsePositives = 0;
+        for (long key = 10_000; key < 110_000; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isBetween(500, 1500);
+        assertThat(filter.expectedFpp()).isBetween(0.005, 0.015);
+    }
+
+    @Test
+    void testPut() {
+        final BloomFilter filter = new BloomFilter(rand, 1000, 3, 6L);
+        assertThat(filter.bitSize()).isEqualTo(1024);
+        assertThat(filter.put(42)).isTrue();
+        assertThat(filter.put(42)).isFalse();
+        assertThat(filter.bitCount()).isBetween(1L, 3L);
+        filter.clear();
+        assertThat(filter.bitCount()).isZero();
+        assertThat(filter.mightContain(42)).isFalse();
+    }
+
+    @Test
+    void testBulk() {
+        final long[] keys = LongStream.range(0, 2000).map(i -> i * 31).toArray();
+        final BloomFilter bulk = new BloomFilter(rand, 1 << 16, 5, 7L);
+        final BloomFilter single = new BloomFilter(rand, 1 << 16, 5, 7L);
+        bulk.putAll(keys, 0, 1000);
+        for (int i = 0; i < 1000; i++) {
+            single.put(keys[i]);
+        }
+        final boolean[] contained = new boolean[2001];
+        final int found = bulk.mightContainAll(keys, 0, 2000, contained, 1);
+        int expected = 0;
+        for (int i = 0; i < 2000; i++) {
+            assertThat(contained[1 + i]).isEqualTo(single.mightContain(keys[i]));
+            if (contained[1 + i]) {
+                expected++;
+            }
+        }
+        assertThat(found).isEqualTo(expected);
+        assertThat(bulk.bitCount()).isEqualTo(single.bitCount());
+    }
+
+    @Test
+    void testConcurrentPut() {
+        final BloomFilter filter = new BloomFilter(rand, 1 << 12, 4, 8L);
+        LongStream.range(0, 100_000).parallel().forEach(key -> filter.put(key % 500));
+        final BloomFilter sequential = new BloomFilter(rand, 1 << 12, 4, 8L);
+        for (long key = 0; key < 500; key++) {
+            sequential.put(key);
+        }
+        assertThat(filter.bitCount()).isEqualTo(sequential.bitCount());
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> new BloomFilter(rand, 0, 3, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(rand, 0, 0.1, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(rand, 10, 1, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.create(rand, 1L << 40, 0.01, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+package at.coffeebeans.stdrand.hash;
+
+import at.coffeebeans.stdrand.BigRand64;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountMinSketchTest {
+
+    private final BigRand64 rand = new BigRand64();
+
+    @Test
+    void testEstimate() {
+        final CountMinSketch sketch = CountMinSketch.create(rand, 0.001, 0.01, 6L);
+        assertThat(sketch.getWidth()).isEqualTo(2719);
+        assertThat(sketch.getDepth()).isEqualTo(5);
+        // key i is added i times
+        for (long key = 1; key <= 300; key++) {
+            sketch.add(key, key);
+        }
+        final long total = 300 * 301 / 2;
+        assertThat(sketch.totalCount()).isEqualTo(total);
+        int outliers = 0;
+        for (long key = 1; key <= 300; key++) {
+            final long estimate = sketch.estimate(key);
+            assertThat(estimate).isGreaterThanOrEqualTo(key);
+            if (estimate - key > 0.001 * total) {
+                outliers++;
+            }
+        }
+        assertThat(outliers).isLessThan(10);
+        sketch.clear();
+        assertThat(sketch.estimate(300)).isZero();
+        assertThat(sketch.totalCount()).isZero();
+    }
+
+    @Test
+    void testBulkAndConcurrent() {
+        final long[] keys = new long[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i % 100;
+        }
+        final CountMinSketch bulk = new CountMinSketch(rand, 4, 64, 7L);
+        bulk.addAll(keys, 0, keys.length);
+        final CountMinSketch concurrent = new CountMinSketch(rand, 4, 64, 7L);
+        IntStream.range(0, keys.length).parallel().forEach(i -> concurrent.add(keys[i]));
+        for (long key = 0; key < 100; key++) {
+            assertThat(bulk.estimate(key)).isGreaterThanOrEqualTo(100L).isEqualTo(concurrent.estimate(key));
+        }
+        assertThat(bulk.totalCount()).isEqualTo(10_000L);
+        assertThat(concurrent.totalCount()).isEqualTo(10_000L);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> new CountMinSketch(rand, 0, 10, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CountMinSketch(rand, 1 << 16, 1 << 16, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CountMinSketch.create(rand, 0, 0.1, 1L)).isInstanceOf(IllegalArgumentException.class);
+        final CountMinSketch sketch = new CountMinSketch(rand, 2, 10, 1L);
+        assertThatThrownBy(() -> sketch.add(1, -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,95 @@
+package at.coffeebeans.stdrand.hash;
+
+import at.coffeebeans.stdrand.BigRand64;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HashFamilyTest {
+
+    private final BigRand64 rand = new BigRand64();
+
+    @Test
+    void testIndices() {
+        final HashFamily family = new HashFamily(rand, 7, 1000, 6L);
+        final int[] indices = new int[9];
+        for (long key = -50; key < 50; key++) {
+            family.indices(key, indices, 2);
+            final long h1 = rand.randSeeded(key, 6L) >>> 31;
+            final long h2 = (rand.randSeeded(key, BigRand64.subSeed(6L, 1)) >>> 32) + (1L << 30);
+            for (int i = 0; i < 7; i++) {
+                final long g = (h1 + i * h2 + (i * i * i - i) / 6) & 0xFFFFFFFFL;
+                assertThat(indices[2 + i]).isEqualTo((int) ((g * 1000) >>> 32));
+                assertThat(family.index(key, i)).isEqualTo(indices[2 + i]);
+            }
+        }
+        assertThatThrownBy(() -> family.index(1, 7)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> family.indices(1, indices, 3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testStepNeverCollapses() {
+        // the step is at least a quarter of the range, so consecutive indices never share a slot
+        final HashFamily family = new HashFamily(rand, 4, 16, 8L);
+        final int[] indices = new int[4];
+        for (long key = 0; key < 100_000; key++) {
+            family.indices(key, indices, 0);
+            for (int i = 1; i < indices.length; i++) {
+                assertThat(indices[i]).isNotEqualTo(indices[i - 1]);
+            }
+        }
+    }
+
+    @Test
+    void testBulkIndices() {
+        final HashFamily family = new HashFamily(rand, 3, 1 << 20, 7L);
+        final long[] keys = new long[1000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = i * 0x9E3779B97F4A7C15L;
+        }
+        final int[] bulk = new int[3 + 998 * 3];
+        family.indices(keys, 1, 998, bulk, 3);
+        final int[] single = new int[3];
+        for (int j = 0; j < 998; j++) {
+            family.indices(keys[1 + j], single, 0);
+            for (int i = 0; i < 3; i++) {
+                assertThat(bulk[3 + j * 3 + i]).isEqualTo(single[i]);
+            }
+        }
+        assertThatThrownBy(() -> family.indices(keys, 1, 998, bulk, 4))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void testUniform() {
+        final int range = 10;
+        final HashFamily family = new HashFamily(rand, 4, range, 8L);
+        final int[] counts = new int[range * 4];
+        final int[] indices = new int[4];
+        final int n = 100_000;
+        for (long key = 0; key < n; key++) {
+            family.indices(key, indices, 0);
+            for (int i = 0; i < 4; i++) {
+                counts[i * range + indices[i]]++;
+            }
+        }
+        for (int count : counts) {
+            assertThat(Math.abs(count - n / range)).isLessThan(n / range / 20);
+        }
+    }
+
+    @Test
+    void testReduce() {
+        assertThat(HashFamily.reduce(0, 7)).isZero();
+        assertThat(HashFamily.reduce(-1, 7)).isEqualTo(6);
+        assertThat(HashFamily.reduce(Integer.MIN_VALUE, 10)).isEqualTo(5);
+        assertThat(HashFamily.reduce(-1, Integer.MAX_VALUE)).isEqualTo(Integer.MAX_VALUE - 1);
+    }
+
+    @Test
+    void testInvalidArguments() {
+        assertThatThrownBy(() -> new HashFamily(rand, 0, 10, 1L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HashFamily(rand, 2, 0, 1L)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,109 @@
+package at.coffeebeans.stdrand.io;
+
+import at.coffeebeans.stdrand.BigRand64;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MappedDataset64Test {
+
+    private static final int REGION_VALUES = 1000;
+    private static final int COUNT = 4321;
+
+    @TempDir
+    Path tempDir;
+
+    private final BigRand64 rand = new BigRand64();
+    private ForkJoinPool pool;
+    private Path file;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        file = tempDir.resolve("data.bin");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    private MappedDataset64 dataset(final DatasetLayout layout, final ByteOrder order) {
+        return new MappedDataset64(rand, layout, 6L, order, pool, REGION_VALUES);
+    }
+
+    @Test
+    void testWriteLinear() throws IOException {
+        dataset(DatasetLayout.linear(-10L), ByteOrder.LITTLE_ENDIAN).write(file, 0, COUNT);
+
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+        assertThat(bytes.remaining()).isEqualTo(COUNT * Long.BYTES);
+        for (int i = 0; i < COUNT; i++) {
+            assertThat(bytes.getLong()).isEqualTo(rand.randSeeded(-10L + i, 6L));
+        }
+    }
+
+    @Test
+    void testWriteVolume() throws IOException {
+        final MappedDataset64 dataset = dataset(DatasetLayout.volume(3L, 4L, 5L, 7L, 11L), ByteOrder.BIG_ENDIAN);
+        dataset.write(file, 0, COUNT);
+
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        for (int i = 0; i < COUNT; i++) {
+            final long expected = rand.randSeeded(3L + i % 7, 4L + (i / 7) % 11, 5L + i / 77, 6L);
+            assertThat(dataset.value(i)).isEqualTo(expected);
+            assertThat(bytes.getLong()).isEqualTo(expected);
+        }
+        assertThat(dataset.verify(file, 0, COUNT)).isEqualTo(-1L);
+    }
+
+    @Test
+    void testResume() throws IOException {
+        final MappedDataset64 dataset = dataset(DatasetLayout.plane(0L, 0L, 100L), ByteOrder.BIG_ENDIAN);
+        dataset.write(file, 0, 1234);
+        dataset.write(file, 1234, COUNT - 1234);
+
+        final Path single = tempDir.resolve("single.bin");
+        dataset.write(single, 0, COUNT);
+        assertThat(Files.readAllBytes(file)).isEqualTo(Files.readAllBytes(single));
+        assertThat(dataset.verify(file, 0, COUNT)).isEqualTo(-1L);
+    }
+
+    @Test
+    void testVerify() throws IOException {
+        final MappedDataset64 dataset = dataset(DatasetLayout.linear(0L), ByteOrder.BIG_ENDIAN);
+        dataset.write(file, 0, COUNT);
+        flipByte(3000L * Long.BYTES + 1);
+        flipByte(4000L * Long.BYTES);
+        assertThat(dataset.verify(file, 0, COUNT)).isEqualTo(3000L);
+        assertThat(dataset.verify(file, 3001, 500)).isEqualTo(-1L);
+        assertThat(dataset.verify(file, 3001, 1000)).isEqualTo(4000L);
+        // missing values count as mismatch
+        assertThat(dataset.verify(file, 4100, 1000)).isEqualTo(COUNT);
+        assertThat(dataset.verify(file, 0, 0)).isEqualTo(-1L);
+        assertThatThrownBy(() -> dataset.verify(file, -1, 10)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void flipByte(final long position) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, position);
+            b.put(0, (byte) ~b.get(0));
+            b.rewind();
+            channel.write(b, position);
+        }
+    }
+}
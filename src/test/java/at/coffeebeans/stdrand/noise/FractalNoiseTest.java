@@ -0,0 +1,67 @@
+package at.coffeebeans.stdrand.noise;
+
+import at.coffeebeans.stdrand.BigRand32;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FractalNoiseTest {
+
+    private final Noise noise = new Noise(new BigRand32(), NoiseType.GRADIENT, 6);
+
+    @Test
+    void testSingleOctave() {
+        final FractalNoise fbm = new FractalNoise(noise, Fractal.FBM, 1, 2.0, 0.5);
+        assertThat(fbm.sample(0.3)).isEqualTo(noise.sample(0.3));
+        assertThat(fbm.sample(0.3, 1.7)).isEqualTo(noise.sample(0.3, 1.7));
+        assertThat(fbm.sample(0.3, 1.7, -2.2)).isEqualTo(noise.sample(0.3, 1.7, -2.2));
+    }
+
+    @Test
+    void testFillEqualsSample() {
+        for (final Fractal fractal : Fractal.values()) {
+            final FractalNoise fractalNoise = new FractalNoise(noise, fractal, 5, 2.0, 0.5);
+            final float[] line = new float[40];
+            fractalNoise.fill(line, 0, -1.5, 0.3, line.length);
+            for (int i = 0; i < line.length; i++) {
+                assertThat(line[i]).isEqualTo(fractalNoise.sample(-1.5 + i * 0.3));
+            }
+
+            final float[] plane = new float[16 * 16];
+            fractalNoise.fill(plane, 0, 10.0, 20.0, 0.125, 16, 16);
+            for (int j = 0; j < 16; j++) {
+                for (int i = 0; i < 16; i++) {
+                    assertThat(plane[i + 16 * j]).isEqualTo(fractalNoise.sample(10.0 + i * 0.125, 20.0 + j * 0.125));
+                }
+            }
+
+            final float[] volume = new float[8 * 8 * 8];
+            fractalNoise.fill(volume, 0, 0.0, 0.0, 0.0, 0.2, 8, 8, 8);
+            assertThat(volume[7 + 8 * 3 + 64 * 5]).isEqualTo(fractalNoise.sample(7 * 0.2, 3 * 0.2, 5 * 0.2));
+        }
+    }
+
+    @Test
+    void testRange() {
+        final FractalNoise fbm = new FractalNoise(noise, Fractal.FBM, 6, 2.0, 0.5);
+        final FractalNoise ridged = new FractalNoise(noise, Fractal.RIDGED, 6, 2.0, 0.5);
+        final float[] dst = new float[128 * 128];
+        fbm.fill(dst, 0, 0.0, 0.0, 0.05, 128, 128);
+        for (final float value : dst) {
+            assertThat(value).isBetween(-1.01f, 1.01f);
+        }
+        ridged.fill(dst, 0, 0.0, 0.0, 0.05, 128, 128);
+        for (final float value : dst) {
+            assertThat(value).isBetween(0f, 1.0001f);
+        }
+    }
+
+    @Test
+    void testInvalid() {
+        assertThatThrownBy(() -> new FractalNoise(noise, Fractal.FBM, 0, 2.0, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FractalNoise(noise, Fractal.FBM, 3, 0.0, 0.5))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,108 @@
+package at.coffeebeans.stdrand.noise;
+
+import at.coffeebeans.stdrand.BigRand32;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class NoiseTest {
+
+    private static final double[] STEPS = {0.1, 0.25, 1.0, 2.7};
+
+    private final BigRand32 rand = new BigRand32();
+
+    @Test
+    void testFill1D() {
+        for (final NoiseType type : NoiseType.values()) {
+            final Noise noise = new Noise(rand, type, 6);
+            for (final double step : STEPS) {
+                final float[] dst = new float[50];
+                noise.fill(dst, 0, -3.3, step, dst.length);
+                for (int i = 0; i < dst.length; i++) {
+                    assertThat(dst[i]).isEqualTo(noise.sample(-3.3 + i * step));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFill2D() {
+        for (final NoiseType type : NoiseType.values()) {
+            final Noise noise = new Noise(rand, type, 6);
+            for (final double step : STEPS) {
+                final float[] dst = new float[2 + 17 * 9];
+                noise.fill(dst, 2, 100.5, -7.25, step, 17, 9);
+                for (int j = 0; j < 9; j++) {
+                    for (int i = 0; i < 17; i++) {
+                        assertThat(dst[2 + i + 17 * j]).isEqualTo(noise.sample(100.5 + i * step, -7.25 + j * step));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFill3D() {
+        for (final NoiseType type : NoiseType.values()) {
+            final Noise noise = new Noise(rand, type, 6);
+            for (final double step : STEPS) {
+                final float[] dst = new float[8 * 5 * 6];
+                noise.fill(dst, 0, 1.0, -2.5, 1e6, step, 8, 5, 6);
+                int o = 0;
+                for (int k = 0; k < 6; k++) {
+                    for (int j = 0; j < 5; j++) {
+                        for (int i = 0; i < 8; i++) {
+                            assertThat(dst[o++])
+                                    .isEqualTo(noise.sample(1.0 + i * step, -2.5 + j * step, 1e6 + k * step));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLatticePoints() {
+        final Noise value = new Noise(rand, NoiseType.VALUE, 6);
+        final Noise gradient = new Noise(rand, NoiseType.GRADIENT, 6);
+        assertThat(value.sample(3.0, -4.0)).isEqualTo(Noise.value(rand.randSeeded(3, -4, 6)));
+        assertThat(value.sample(3.0, -4.0, 5.0)).isEqualTo(Noise.value(rand.randSeeded(3, -4, 5, 6)));
+        assertThat(Math.abs(gradient.sample(3.0))).isZero();
+        assertThat(Math.abs(gradient.sample(3.0, -4.0))).isZero();
+        assertThat(Math.abs(gradient.sample(3.0, -4.0, 5.0))).isZero();
+    }
+
+    @Test
+    void testRangeAndContinuity() {
+        for (final NoiseType type : NoiseType.values()) {
+            final Noise noise = new Noise(rand, type, 6);
+            final float[] dst = new float[64 * 64];
+            noise.fill(dst, 0, 0.0, 0.0, 0.01, 64, 64);
+            for (int i = 0; i < dst.length; i++) {
+                assertThat(dst[i]).isBetween(-1.01f, 1.01f);
+                if (i % 64 != 0) {
+                    assertThat(Math.abs(dst[i] - dst[i - 1])).isLessThan(0.1f);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSeed() {
+        final Noise a = new Noise(rand, NoiseType.GRADIENT, 6);
+        final Noise b = new Noise(rand, NoiseType.GRADIENT, 7);
+        assertThat(a.sample(0.5, 0.5)).isEqualTo(new Noise(rand, NoiseType.GRADIENT, 6).sample(0.5, 0.5));
+        assertThat(a.sample(0.5, 0.5)).isNotEqualTo(b.sample(0.5, 0.5));
+    }
+
+    @Test
+    void testInvalidChunk() {
+        final Noise noise = new Noise(rand, NoiseType.VALUE, 6);
+        final float[] dst = new float[10];
+        assertThatThrownBy(() -> noise.fill(dst, 0, 0.0, 0.0, 0.0, 2, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> noise.fill(dst, 0, 0.0, Double.NaN, 4)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> noise.fill(dst, 0, 0.0, 0.0, 1.0, 4, 3))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
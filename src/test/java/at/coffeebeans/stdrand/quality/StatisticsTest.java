@@ -0,0 +1,78 @@
+package at.coffeebeans.stdrand.quality;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class StatisticsTest {
+
+    @Test
+    void testLogGamma() {
+        assertThat(Statistics.logGamma(1)).isCloseTo(0, within(1e-14));
+        assertThat(Statistics.logGamma(0.5)).isCloseTo(0.5 * Math.log(Math.PI), within(1e-14));
+        assertThat(Statistics.logGamma(10)).isCloseTo(Math.log(362_880), within(1e-12));
+        // reflection formula: Gamma(0.25) = 3.625609908221908...
+        assertThat(Statistics.logGamma(0.25)).isCloseTo(Math.log(3.625609908221908), within(1e-12));
+    }
+
+    @Test
+    void testGammaQ() {
+        for (final double x : new double[]{0.01, 0.5, 1.9, 2.1, 10, 50}) {
+            // Q(1, x) = e^-x and Q(2, x) = (1 + x) e^-x, on both sides of the series/continued fraction switch
+            assertThat(Statistics.gammaQ(1, x)).isCloseTo(Math.exp(-x), within(1e-14));
+            assertThat(Statistics.gammaQ(2, x)).isCloseTo((1 + x) * Math.exp(-x), within(1e-14));
+        }
+        assertThat(Statistics.gammaQ(3, 0)).isEqualTo(1.0);
+        // chi-square with 3 degrees of freedom at 4
+        assertThat(Statistics.gammaQ(1.5, 2)).isCloseTo(0.26146412994911055, within(1e-13));
+    }
+
+    @Test
+    void testChiSquarePValue() {
+        // 5% critical values of the chi-square tables
+        assertThat(Statistics.chiSquarePValue(3.841458820694124, 1)).isCloseTo(0.05, within(1e-12));
+        assertThat(Statistics.chiSquarePValue(18.307038053275146, 10)).isCloseTo(0.05, within(1e-12));
+        assertThat(Statistics.chiSquarePValue(124.34211340400407, 100)).isCloseTo(0.05, within(1e-12));
+        assertThat(Statistics.chiSquarePValue(1074.679452284, 1000)).isCloseTo(0.04999999234882019, within(1e-12));
+    }
+
+    @Test
+    void testChiSquarePValueOfBuckets() {
+        // degrees of freedom of the 12 bit bucket test, odd and even
+        assertThat(Statistics.chiSquarePValue(4095, 4095)).isCloseTo(0.4970611458525347, within(1e-10));
+        assertThat(Statistics.chiSquarePValue(4250, 4095)).isCloseTo(0.04466596173783163, within(1e-10));
+        assertThat(Statistics.chiSquarePValue(3900, 4095)).isCloseTo(0.9854643159076033, within(1e-10));
+        assertThat(Statistics.chiSquarePValue(4096, 4096)).isCloseTo(0.49706150462322004, within(1e-10));
+        assertThat(Statistics.chiSquarePValue(4300, 4096)).isCloseTo(0.01304494752092737, within(1e-10));
+    }
+
+    @Test
+    void testNormalPValue() {
+        assertThat(Statistics.normalPValue(0)).isEqualTo(1.0);
+        assertThat(Statistics.normalPValue(1.959963984540054)).isCloseTo(0.05, within(1e-12));
+        assertThat(Statistics.normalPValue(-2.5758293035489004)).isCloseTo(0.01, within(1e-12));
+    }
+
+    @Test
+    void testPoisson() {
+        assertThat(Statistics.poisson(2, 0)).isCloseTo(Math.exp(-2), within(1e-15));
+        assertThat(Statistics.poisson(2, 3)).isCloseTo(Math.exp(-2) * 8 / 6, within(1e-15));
+        double sum = 0;
+        for (int k = 0; k < 100; k++) {
+            sum += Statistics.poisson(20, k);
+        }
+        assertThat(sum).isCloseTo(1, within(1e-12));
+    }
+
+    @Test
+    void testChiSquare() {
+        final double[] even = Statistics.chiSquare(new long[]{10, 20, 30, 40}, new double[]{0.25, 0.25, 0.25, 0.25});
+        assertThat(even[0]).isCloseTo(20, within(1e-12));
+        assertThat(even[1]).isEqualTo(3.0);
+        // expected counts of 2, 3 and 5 merge the first two bins
+        final double[] merged = Statistics.chiSquare(new long[]{1, 4, 5}, new double[]{0.2, 0.3, 0.5});
+        assertThat(merged[0]).isCloseTo(0, within(1e-12));
+        assertThat(merged[1]).isEqualTo(1.0);
+    }
+}